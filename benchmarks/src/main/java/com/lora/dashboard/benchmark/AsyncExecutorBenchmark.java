@@ -0,0 +1,90 @@
+package com.lora.dashboard.benchmark;
+
+import com.lora.dashboard.config.RejectionPolicy;
+import com.lora.dashboard.config.TaskExecutors;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * taskExecutor 모드 비교: 작업 1000개를 제출하고 모두 끝날 때까지의 시간
+ * PLATFORM은 application.yml 기본값(2~8 스레드, 큐 1000, CALLER_RUNS), VIRTUAL은 동시 실행 한도 64의 가상 스레드.
+ * blockMicros는 작업 안의 블로킹 대기(DB/소켓 I/O 흉내)이고, 0이면 CPU 작업만 한다.
+ * VIRTUAL은 Java 21 이상에서만 실행된다 (Java 17에서는 -p mode=PLATFORM).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AsyncExecutorBenchmark {
+
+    private static final int TASKS = 1000;
+    private static final int CPU_TOKENS = 2000;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public String mode;
+
+    @Param({"0", "1000"})
+    public long blockMicros;
+
+    private Executor executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if ("VIRTUAL".equals(mode)) {
+            if (!TaskExecutors.virtualThreadsSupported()) {
+                throw new IllegalStateException("가상 스레드는 Java 21 이상 필요 (현재 " + Runtime.version().feature() + ")");
+            }
+            executor = TaskExecutors.virtual("taskExecutor", "bench-vt-", 64, new SimpleMeterRegistry());
+        } else {
+            executor = TaskExecutors.platform("taskExecutor", "bench-", 2, 8, 1000, RejectionPolicy.CALLER_RUNS,
+                    new SimpleMeterRegistry());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        } else if (executor instanceof SimpleAsyncTaskExecutor virtual) {
+            virtual.close();
+        }
+    }
+
+    @Benchmark
+    public void submitAndAwait() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(TASKS);
+        long blockNanos = TimeUnit.MICROSECONDS.toNanos(blockMicros);
+        for (int i = 0; i < TASKS; i++) {
+            executor.execute(() -> {
+                Blackhole.consumeCPU(CPU_TOKENS);
+                if (blockNanos > 0) {
+                    LockSupport.parkNanos(blockNanos);
+                }
+                done.countDown();
+            });
+        }
+        done.await();
+    }
+}
@@ -0,0 +1,212 @@
+package com.lora.dashboard.benchmark;
+
+import com.lora.dashboard.config.AsyncConfig;
+import com.lora.dashboard.entity.UplinkMessage;
+import com.lora.dashboard.websocket.MessageWebSocketHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.Principal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MessageWebSocketHandler.broadcastMessage 팬아웃 (전체 구독 세션 N개)
+ * 측정값은 tailer 스레드가 부담하는 비용(수신자 조회, 직렬화 1회, 세션별 큐 적재)이고,
+ * 실제 전송은 송신 executor가 가짜 세션에 바이트 수만 세며 처리한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BroadcastBenchmark {
+
+    private static final int INPUTS = 1024;
+
+    @Param({"1", "10", "100", "1000"})
+    public int sessions;
+
+    @Param({"false", "true"})
+    public boolean batch;
+
+    private AnnotationConfigApplicationContext context;
+    private MessageWebSocketHandler handler;
+    private UplinkMessage[] messages;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = new AnnotationConfigApplicationContext(AsyncConfig.class, MessageWebSocketHandler.class,
+                HandlerConfig.class);
+        handler = context.getBean(MessageWebSocketHandler.class);
+        messages = SyntheticData.uplinkMessages(INPUTS, 1);
+        for (int i = 0; i < sessions; i++) {
+            handler.afterConnectionEstablished(new CountingSession("bench-" + i, batch));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void broadcastMessage() {
+        handler.broadcastMessage(messages[next++ & (INPUTS - 1)]);
+    }
+
+    /**
+     * 핸들러에 필요한 나머지 빈 (설정값은 @Value 기본값)
+     * StatisticsBenchmark의 컴포넌트 스캔에 잡히지 않도록 @Configuration을 붙이지 않는다.
+     */
+    static class HandlerConfig {
+
+        @Bean
+        static PropertySourcesPlaceholderConfigurer propertySourcesPlaceholderConfigurer() {
+            return new PropertySourcesPlaceholderConfigurer();
+        }
+
+        @Bean
+        ThreadPoolTaskScheduler taskScheduler() {
+            ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+            scheduler.setPoolSize(2);
+            scheduler.setThreadNamePrefix("bench-scheduler-");
+            return scheduler;
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    /**
+     * 보낸 메시지의 바이트 수만 세는 세션
+     */
+    static class CountingSession implements WebSocketSession {
+
+        private final String id;
+        private final URI uri;
+        private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+        private final AtomicLong sentBytes = new AtomicLong();
+        private volatile boolean open = true;
+
+        CountingSession(String id, boolean batch) {
+            this.id = id;
+            this.uri = URI.create("ws://localhost/api/ws/messages" + (batch ? "?batch=true" : ""));
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public URI getUri() {
+            return uri;
+        }
+
+        @Override
+        public HttpHeaders getHandshakeHeaders() {
+            return new HttpHeaders();
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public Principal getPrincipal() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public String getAcceptedProtocol() {
+            return null;
+        }
+
+        @Override
+        public void setTextMessageSizeLimit(int messageSizeLimit) {
+        }
+
+        @Override
+        public int getTextMessageSizeLimit() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public void setBinaryMessageSizeLimit(int messageSizeLimit) {
+        }
+
+        @Override
+        public int getBinaryMessageSizeLimit() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public List<WebSocketExtension> getExtensions() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) {
+            sentBytes.addAndGet(message.getPayloadLength());
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+
+        @Override
+        public void close(CloseStatus status) {
+            open = false;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.lora.dashboard.benchmark;
+
+import com.lora.dashboard.util.SignalQualityClassifier;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 부하 도구의 가상 LoRa 플릿
+ * 디바이스마다 소속 애플리케이션/게이트웨이, 게이트웨이까지의 평균 RSSI, 전송 주기가 고정 시드로 정해지고,
+ * 업링크마다 RSSI/SNR 잡음과 가끔의 페이딩, 평균 RSSI에 맞춘 ADR 데이터 레이트, 증가하는 프레임 카운터를 붙인다.
+ * JOIN하면 프레임 카운터가 0으로 돌아가고 DevAddr가 바뀐다.
+ */
+final class Fleet {
+
+    static final String INSERT_UPLINK = "INSERT INTO uplink_messages (timestamp, application_id, device_id, " +
+            "dev_eui, payload_base64, payload_hex, payload_text, payload_size, frame_count, f_port, frequency, " +
+            "data_rate, rssi, snr, latitude, longitude, hostname, raw_topic) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    static final String INSERT_JOIN = "INSERT INTO join_events (timestamp, application_id, device_id, dev_eui, " +
+            "join_eui, dev_addr, rssi, snr, frequency, data_rate, hostname, raw_topic) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String JOIN_EUI = "70B3D57ED0000001";
+    // KR920 업링크 채널 (922.1 ~ 923.3MHz, 200kHz 간격)
+    private static final int BASE_FREQUENCY = 922_100_000;
+    private static final int CHANNELS = 7;
+
+    private final List<Device> devices = new ArrayList<>();
+    private final int gateways;
+
+    Fleet(LoadOptions options) {
+        Random random = new Random(options.integer("seed"));
+        int applications = options.integer("applications");
+        this.gateways = options.integer("gateways");
+        long intervalMillis = options.integer("uplink-interval-s") * 1000L;
+        for (int i = 0; i < options.integer("devices"); i++) {
+            // 평균 RSSI -65 ~ -115dBm (게이트웨이와의 거리), 전송 주기는 평균의 0.5 ~ 1.5배
+            devices.add(new Device(i, "app-" + (i % applications), "gateway-" + (1 + i % gateways),
+                    -65 - random.nextFloat() * 50,
+                    (long) (intervalMillis * (0.5 + random.nextDouble())),
+                    1 + random.nextInt(4)));
+        }
+    }
+
+    /**
+     * INSERT 문 (derived면 대시보드 컬럼 timestamp_ms, signal_quality까지 채움)
+     */
+    static String insertSql(String insert, boolean derived) {
+        return derived
+                ? insert.replace(") VALUES (", ", timestamp_ms, signal_quality) VALUES (").replaceFirst("\\)$", ", ?, ?)")
+                : insert;
+    }
+
+    List<Device> devices() {
+        return devices;
+    }
+
+    int gateways() {
+        return gateways;
+    }
+
+    /**
+     * 기존 DB에서 디바이스별 마지막 프레임 카운터를 이어받음 (실시간 삽입 전)
+     */
+    void resume(Connection connection) throws SQLException {
+        Map<String, Device> byId = new HashMap<>();
+        devices.forEach(device -> byId.put(device.deviceId, device));
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(
+                     "SELECT device_id, MAX(frame_count) FROM uplink_messages GROUP BY device_id")) {
+            while (rows.next()) {
+                Device device = byId.get(rows.getString(1));
+                if (device != null) {
+                    device.frameCount = rows.getInt(2) + 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * 업링크 한 건을 insertSql(INSERT_UPLINK)에 바인딩
+     */
+    void bindUplink(PreparedStatement insert, Device device, long epochMillis, Random random, boolean derived)
+            throws SQLException {
+        float rssi = device.sampleRssi(random);
+        float snr = sampleSnr(rssi, random);
+        byte[] payload = String.format("{\"t\":%.1f,\"h\":%d,\"b\":%d}", 15 + random.nextGaussian() * 5,
+                40 + random.nextInt(40), 3000 + random.nextInt(600)).getBytes(StandardCharsets.UTF_8);
+
+        insert.setString(1, SyntheticData.gatewayTimestamp(epochMillis, random));
+        insert.setString(2, device.applicationId);
+        insert.setString(3, device.deviceId);
+        insert.setString(4, device.devEui);
+        insert.setString(5, Base64.getEncoder().encodeToString(payload));
+        insert.setString(6, SyntheticData.hex(payload));
+        insert.setString(7, new String(payload, StandardCharsets.UTF_8));
+        insert.setInt(8, payload.length);
+        insert.setInt(9, device.frameCount++);
+        insert.setInt(10, device.fPort);
+        insert.setInt(11, BASE_FREQUENCY + 200_000 * random.nextInt(CHANNELS));
+        insert.setInt(12, device.dataRate);
+        insert.setFloat(13, rssi);
+        insert.setFloat(14, snr);
+        insert.setFloat(15, device.latitude);
+        insert.setFloat(16, device.longitude);
+        insert.setString(17, device.gateway);
+        insert.setString(18, "application/" + device.applicationId + "/device/" + device.devEui + "/event/up");
+        if (derived) {
+            insert.setLong(19, epochMillis);
+            insert.setInt(20, SignalQualityClassifier.classify(rssi, snr).getCode());
+        }
+    }
+
+    /**
+     * JOIN 한 건을 insertSql(INSERT_JOIN)에 바인딩 (프레임 카운터 초기화, 새 DevAddr)
+     */
+    void bindJoin(PreparedStatement insert, Device device, long epochMillis, Random random, boolean derived)
+            throws SQLException {
+        float rssi = device.sampleRssi(random);
+        float snr = sampleSnr(rssi, random);
+        device.frameCount = 0;
+        device.devAddr = String.format("%08x", random.nextInt());
+
+        insert.setString(1, SyntheticData.gatewayTimestamp(epochMillis, random));
+        insert.setString(2, device.applicationId);
+        insert.setString(3, device.deviceId);
+        insert.setString(4, device.devEui);
+        insert.setString(5, JOIN_EUI);
+        insert.setString(6, device.devAddr);
+        insert.setFloat(7, rssi);
+        insert.setFloat(8, snr);
+        insert.setInt(9, BASE_FREQUENCY + 200_000 * random.nextInt(CHANNELS));
+        // JOIN은 가장 느린 레이트로 시작
+        insert.setInt(10, 0);
+        insert.setString(11, device.gateway);
+        insert.setString(12, "application/" + device.applicationId + "/device/" + device.devEui + "/event/join");
+        if (derived) {
+            insert.setLong(13, epochMillis);
+            insert.setInt(14, SignalQualityClassifier.classify(rssi, snr).getCode());
+        }
+    }
+
+    // SNR은 RSSI에 비례 (-115dBm 근처 약 -4dB, -65dBm 이상 13dB에서 포화)
+    private static float sampleSnr(float rssi, Random random) {
+        double snr = (rssi + 120) * 0.35 - 6 + random.nextGaussian() * 2;
+        return (float) Math.max(-20, Math.min(13, snr));
+    }
+
+    /**
+     * 가상 디바이스 (frameCount/devAddr는 시드나 실시간 삽입 스레드 하나에서만 변경)
+     */
+    static final class Device {
+        final String deviceId;
+        final String applicationId;
+        final String gateway;
+        final String devEui;
+        final float meanRssi;
+        final long intervalMillis;
+        final int fPort;
+        final int dataRate;
+        final float latitude;
+        final float longitude;
+        int frameCount;
+        String devAddr;
+
+        Device(int index, String applicationId, String gateway, float meanRssi, long intervalMillis, int fPort) {
+            this.deviceId = String.format("sensor-%04d", index);
+            this.applicationId = applicationId;
+            this.gateway = gateway;
+            this.devEui = String.format("%016X", 0x70B3D57ED0000000L + index);
+            this.meanRssi = meanRssi;
+            this.intervalMillis = intervalMillis;
+            this.fPort = fPort;
+            this.dataRate = adrDataRate(meanRssi);
+            this.latitude = 37.45f + (index % 97) * 0.002f;
+            this.longitude = 126.9f + (index % 89) * 0.003f;
+        }
+
+        // 평균 ±4dB 잡음, 5% 확률로 10 ~ 20dB 페이딩
+        float sampleRssi(Random random) {
+            double rssi = meanRssi + random.nextGaussian() * 4;
+            if (random.nextInt(20) == 0) {
+                rssi -= 10 + random.nextInt(10);
+            }
+            return (float) Math.max(-137, rssi);
+        }
+
+        // ADR: 신호가 강할수록 빠른 데이터 레이트 (DR0 ~ DR5)
+        private static int adrDataRate(float meanRssi) {
+            if (meanRssi > -80) return 5;
+            if (meanRssi > -90) return 4;
+            if (meanRssi > -100) return 3;
+            if (meanRssi > -105) return 2;
+            if (meanRssi > -110) return 1;
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.lora.dashboard.benchmark;
+
+import com.lora.dashboard.util.TimestampUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * 부하 도구용 SQLite 파일 생성
+ * months × 30일 전부터 지금까지 디바이스별 주기(±10% 지터)로 업링크를, 시작 시점과 join-burst-days마다
+ * 게이트웨이 하나가 재시작된 것처럼 그 게이트웨이의 디바이스가 5분 안에 모두 재JOIN하는 이벤트를 시각 순으로 기록한다.
+ * Gateway Logger처럼 id가 시각 순으로 증가한다.
+ */
+final class FleetSeeder {
+
+    private static final int COMMIT_ROWS = 50_000;
+    private static final int PROGRESS_ROWS = 1_000_000;
+    private static final long JOIN_SPREAD_MILLIS = 5 * TimestampUtils.MINUTE_MILLIS;
+
+    private static final int UPLINK = 0;
+    private static final int JOIN = 1;
+
+    private FleetSeeder() {
+    }
+
+    /**
+     * options.db 위치에 DB 생성 (tmp 파일에 쓴 뒤 이동)
+     */
+    static void seed(LoadOptions options, Fleet fleet, long untilMillis) throws Exception {
+        Path file = options.path("db");
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.createDirectories(file.getParent());
+        Files.deleteIfExists(tmp);
+
+        boolean derived = options.flag("backfilled");
+        long fromMillis = untilMillis - options.integer("months") * 30L * TimestampUtils.DAY_MILLIS;
+        long burstMillis = options.integer("join-burst-days") * TimestampUtils.DAY_MILLIS;
+        Random random = new Random(options.integer("seed"));
+        List<Fleet.Device> devices = fleet.devices();
+
+        // {시각, 디바이스 번호, 종류}
+        PriorityQueue<long[]> events = new PriorityQueue<>(Comparator.comparingLong(event -> event[0]));
+        for (int d = 0; d < devices.size(); d++) {
+            long joinedAt = fromMillis + (long) (random.nextDouble() * JOIN_SPREAD_MILLIS);
+            events.add(new long[]{joinedAt, d, JOIN});
+            events.add(new long[]{joinedAt + (long) (random.nextDouble() * devices.get(d).intervalMillis), d, UPLINK});
+        }
+        if (burstMillis > 0) {
+            for (long burstAt = fromMillis + burstMillis; burstAt < untilMillis; burstAt += burstMillis) {
+                String gateway = "gateway-" + (1 + random.nextInt(fleet.gateways()));
+                for (int d = 0; d < devices.size(); d++) {
+                    if (devices.get(d).gateway.equals(gateway)) {
+                        events.add(new long[]{burstAt + (long) (random.nextDouble() * JOIN_SPREAD_MILLIS), d, JOIN});
+                    }
+                }
+            }
+        }
+
+        long startedAt = System.currentTimeMillis();
+        long uplinks = 0;
+        long joins = 0;
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + tmp)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode = OFF");
+                statement.execute("PRAGMA synchronous = OFF");
+                String derivedColumns = derived ? SyntheticData.DERIVED_COLUMNS_DDL : "";
+                statement.execute(SyntheticData.UPLINK_MESSAGES_DDL + derivedColumns + ")");
+                statement.execute(SyntheticData.JOIN_EVENTS_DDL + derivedColumns + ")");
+            }
+            connection.setAutoCommit(false);
+
+            try (PreparedStatement insertUplink = connection.prepareStatement(Fleet.insertSql(Fleet.INSERT_UPLINK, derived));
+                 PreparedStatement insertJoin = connection.prepareStatement(Fleet.insertSql(Fleet.INSERT_JOIN, derived))) {
+                while (!events.isEmpty()) {
+                    long[] event = events.poll();
+                    if (event[0] >= untilMillis) {
+                        break;
+                    }
+                    Fleet.Device device = devices.get((int) event[1]);
+                    if (event[2] == JOIN) {
+                        fleet.bindJoin(insertJoin, device, event[0], random, derived);
+                        insertJoin.executeUpdate();
+                        joins++;
+                        continue;
+                    }
+                    fleet.bindUplink(insertUplink, device, event[0], random, derived);
+                    insertUplink.executeUpdate();
+                    uplinks++;
+                    event[0] += (long) (device.intervalMillis * (0.9 + random.nextDouble() * 0.2));
+                    events.add(event);
+
+                    if (uplinks % COMMIT_ROWS == 0) {
+                        connection.commit();
+                    }
+                    if (uplinks % PROGRESS_ROWS == 0) {
+                        System.out.printf("# 시드: 업링크 %,d행 (%ds)%n", uplinks,
+                                (System.currentTimeMillis() - startedAt) / 1000);
+                    }
+                }
+            }
+            connection.commit();
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                // 대시보드와 실시간 삽입이 함께 쓰므로 WAL로 전환 (파일에 유지됨)
+                statement.execute("PRAGMA journal_mode = WAL");
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        System.out.printf("# 시드 완료: %s (업링크 %,d행, JOIN %,d행, %ds)%n", file, uplinks, joins,
+                (System.currentTimeMillis() - startedAt) / 1000);
+    }
+}
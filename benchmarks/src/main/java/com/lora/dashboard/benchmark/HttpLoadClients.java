@@ -0,0 +1,147 @@
+package com.lora.dashboard.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * MessageController/JoinEventController를 호출하는 HTTP 클라이언트 스레드
+ * 대시보드 화면이 부르는 조회를 가중치에 따라 섞어 보내고, 엔드포인트별 응답 시간을 기록한다 (2xx 외에는 오류).
+ * 응답 본문은 끝까지 읽어 버린다 (직렬화/전송 시간 포함).
+ */
+final class HttpLoadClients {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final int clients;
+    private final long thinkMillis;
+    private final List<Fleet.Device> devices;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final List<Endpoint> endpoints = new ArrayList<>();
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    HttpLoadClients(LoadOptions options, Fleet fleet) {
+        this.baseUrl = options.string("base-url");
+        this.clients = options.integer("http-clients");
+        this.thinkMillis = options.integer("http-think-ms");
+        this.devices = fleet.devices();
+
+        endpoints.add(new Endpoint("messages/recent", 20, device -> "/messages/recent?size=20&count=none"));
+        endpoints.add(new Endpoint("messages/statistics", 15, device -> "/messages/statistics"));
+        endpoints.add(new Endpoint("messages/device", 15, device -> "/messages/device/" + device.deviceId + "?size=50"));
+        endpoints.add(new Endpoint("messages/device/latest", 10,
+                device -> "/messages/device/" + device.deviceId + "/latest"));
+        endpoints.add(new Endpoint("messages/timeseries", 10,
+                device -> "/messages/timeseries?applicationId=" + device.applicationId));
+        endpoints.add(new Endpoint("messages/range", 10, device -> {
+            // /range는 ISO 시각만 받음
+            Instant now = Instant.now();
+            return "/messages/range?startTime=" + now.minus(Duration.ofHours(1)) + "&endTime=" + now + "&limit=500";
+        }));
+        endpoints.add(new Endpoint("messages/signal-quality", 5, device -> "/messages/signal-quality?window=24h"));
+        endpoints.add(new Endpoint("join-events/recent", 10, device -> "/join-events/recent?size=20"));
+        endpoints.add(new Endpoint("join-events/device", 5, device -> "/join-events/device/" + device.deviceId));
+    }
+
+    void start() {
+        running = true;
+        for (int i = 0; i < clients; i++) {
+            Random random = new Random(i);
+            Thread thread = new Thread(() -> run(random), "load-http-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+    }
+
+    void resetStats() {
+        endpoints.forEach(endpoint -> endpoint.latency.reset());
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        for (Thread thread : threads) {
+            thread.join(REQUEST_TIMEOUT.toMillis());
+        }
+    }
+
+    /**
+     * 엔드포인트별 요약 (LatencyRecorder.summary)
+     */
+    Map<String, Map<String, Object>> summary(double seconds) {
+        Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+        for (Endpoint endpoint : endpoints) {
+            summary.put(endpoint.name, endpoint.latency.summary(seconds));
+        }
+        return summary;
+    }
+
+    private void run(Random random) {
+        int totalWeight = endpoints.stream().mapToInt(endpoint -> endpoint.weight).sum();
+        while (running) {
+            int pick = random.nextInt(totalWeight);
+            Endpoint endpoint = endpoints.get(0);
+            for (Endpoint candidate : endpoints) {
+                pick -= candidate.weight;
+                if (pick < 0) {
+                    endpoint = candidate;
+                    break;
+                }
+            }
+            Fleet.Device device = devices.get(random.nextInt(devices.size()));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + endpoint.path.apply(device)))
+                    .timeout(REQUEST_TIMEOUT)
+                    .GET()
+                    .build();
+            long startNanos = System.nanoTime();
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() / 100 == 2) {
+                    endpoint.latency.record((System.nanoTime() - startNanos) / 1000);
+                } else {
+                    endpoint.latency.recordError();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                endpoint.latency.recordError();
+            }
+            if (thinkMillis > 0) {
+                try {
+                    Thread.sleep(thinkMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class Endpoint {
+        private final String name;
+        private final int weight;
+        private final Function<Fleet.Device, String> path;
+        private final LatencyRecorder latency = new LatencyRecorder();
+
+        Endpoint(String name, int weight, Function<Fleet.Device, String> path) {
+            this.name = name;
+            this.weight = weight;
+            this.path = path;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.lora.dashboard.benchmark;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 지연 시간 표본 (마이크로초) 기록과 백분위 계산
+ * 부하 도구의 표본 수(수십만 건 이하)에서는 전부 보관했다가 정렬하는 편이 간단하고 정확하다.
+ */
+final class LatencyRecorder {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+
+    synchronized void record(long micros) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = micros;
+    }
+
+    synchronized void recordError() {
+        errors++;
+    }
+
+    synchronized void reset() {
+        count = 0;
+        errors = 0;
+    }
+
+    synchronized int count() {
+        return count;
+    }
+
+    /**
+     * count, errors, 초당 건수, p50/p90/p99/p99.9/max/평균 (ms)
+     */
+    synchronized Map<String, Object> summary(double seconds) {
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", count);
+        summary.put("errors", errors);
+        summary.put("perSecond", round(count / seconds));
+        for (double percentile : PERCENTILES) {
+            long value = count == 0 ? 0 : sorted[Math.min(count - 1, (int) Math.ceil(percentile / 100 * count) - 1)];
+            summary.put("p" + (percentile == (long) percentile ? String.valueOf((long) percentile)
+                    : String.valueOf(percentile)) + "Ms", round(value / 1000.0));
+        }
+        summary.put("maxMs", round(count == 0 ? 0 : sorted[count - 1] / 1000.0));
+        summary.put("meanMs", round(count == 0 ? 0 : Arrays.stream(sorted).sum() / 1000.0 / count));
+        return summary;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,233 @@
+package com.lora.dashboard.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lora.dashboard.LoraWebDashboardApplication;
+import com.lora.dashboard.service.StatisticsEngine;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 종단간 부하 도구
+ * 1. 플릿 설정대로 몇 달치 업링크/JOIN이 든 SQLite 파일을 만들고 (이미 있으면 재사용)
+ * 2. Gateway Logger처럼 목표 속도로 행을 넣으면서 HTTP 조회 클라이언트와 WebSocket 구독 클라이언트를 동시에 돌린 뒤
+ * 3. 엔드포인트별 응답 시간 백분위/처리량, 삽입 커밋 시간, WebSocket 전달 지연/전달률을 출력하고 JSON으로 저장한다.
+ *
+ * 대시보드는 따로 실행하거나(같은 DB 파일을 가리키도록) --start-app=true로 같은 JVM에서 띄운다.
+ */
+public final class LoadHarness {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(30);
+    // 측정 종료 후 남은 WebSocket 전달을 기다리는 최대 시간
+    private static final long DRAIN_MILLIS = 10_000;
+
+    private LoadHarness() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (Arrays.asList(args).contains("--help")) {
+            System.out.print(LoadOptions.usage());
+            return;
+        }
+        LoadOptions options;
+        try {
+            options = new LoadOptions(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        Fleet fleet = new Fleet(options);
+        Path database = options.path("db");
+        if (options.flag("reseed") || !Files.exists(database)) {
+            FleetSeeder.seed(options, fleet, System.currentTimeMillis());
+        } else {
+            System.out.println("# 기존 DB 사용: " + database);
+        }
+
+        ConfigurableApplicationContext application = null;
+        if (options.flag("start-app")) {
+            application = startApplication(options, database);
+        } else {
+            System.out.println("# 대시보드를 --spring.datasource.url=jdbc:sqlite:" + database + " 로 실행해 두세요");
+            waitForHealth(options.string("base-url"));
+        }
+
+        try {
+            Map<String, Object> report = run(options, fleet);
+            Path reportFile = options.path("report");
+            Files.createDirectories(reportFile.getParent());
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(reportFile.toFile(), report);
+            System.out.println("# 결과 저장: " + reportFile);
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    private static Map<String, Object> run(LoadOptions options, Fleet fleet) throws Exception {
+        long warmupMillis = options.integer("warmup-s") * 1000L;
+        long durationMillis = options.integer("duration-s") * 1000L;
+        double seconds = durationMillis / 1000.0;
+
+        TrafficReplayer replayer = new TrafficReplayer(options, fleet);
+        HttpLoadClients http = new HttpLoadClients(options, fleet);
+        WebSocketLoadClients webSocket = new WebSocketLoadClients(options);
+
+        webSocket.start();
+        replayer.start();
+        http.start();
+
+        long measureFrom = System.currentTimeMillis() + warmupMillis;
+        long measureUntil = measureFrom + durationMillis;
+        replayer.measure(measureFrom, measureUntil);
+        webSocket.measure(measureFrom, measureUntil);
+        if (options.flag("live-join-burst")) {
+            replayer.scheduleJoinBurst(measureFrom + durationMillis / 2);
+        }
+        System.out.printf("# 워밍업 %ds, 측정 %ds (업링크 %s/s, HTTP %d, WebSocket %d)%n", warmupMillis / 1000,
+                durationMillis / 1000, options.string("rate"), options.integer("http-clients"),
+                options.integer("ws-clients"));
+
+        sleepUntil(measureFrom);
+        http.resetStats();
+        sleepUntil(measureUntil);
+        http.stop();
+        Map<String, Map<String, Object>> httpSummary = http.summary(seconds);
+
+        // 측정 구간 안에 시작한 삽입이 모두 끝난 뒤, 그 행이 모두 전달되거나 더 늘지 않을 때까지 대기
+        replayer.stop();
+        long expectedUplinks = replayer.getUplinks() * webSocket.getConnected();
+        long drainUntil = System.currentTimeMillis() + DRAIN_MILLIS;
+        long lastReceived = -1;
+        while (webSocket.getUplinksReceived() < expectedUplinks && System.currentTimeMillis() < drainUntil &&
+                webSocket.getUplinksReceived() != lastReceived) {
+            lastReceived = webSocket.getUplinksReceived();
+            Thread.sleep(1000);
+        }
+
+        Map<String, Object> inserts = new LinkedHashMap<>();
+        inserts.put("uplinks", replayer.getUplinks());
+        inserts.put("joins", replayer.getJoins());
+        inserts.put("uplinksPerSecond", Math.round(replayer.getUplinks() / seconds * 100) / 100.0);
+        inserts.put("commit", replayer.getCommitLatency().summary(seconds));
+
+        Map<String, Object> webSocketSummary = webSocket.summary(seconds);
+        long expectedJoins = replayer.getJoins() * webSocket.getConnected();
+        webSocketSummary.put("uplinksExpected", expectedUplinks);
+        webSocketSummary.put("uplinksReceived", webSocket.getUplinksReceived());
+        webSocketSummary.put("uplinkDeliveryRatio", ratio(webSocket.getUplinksReceived(), expectedUplinks));
+        webSocketSummary.put("joinsExpected", expectedJoins);
+        webSocketSummary.put("joinsReceived", webSocket.getJoinsReceived());
+        webSocketSummary.put("joinDeliveryRatio", ratio(webSocket.getJoinsReceived(), expectedJoins));
+        webSocket.stop();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("measuredFrom", Instant.ofEpochMilli(measureFrom).toString());
+        report.put("durationSeconds", seconds);
+        report.put("options", options.asMap());
+        report.put("inserts", inserts);
+        report.put("http", httpSummary);
+        report.put("websocket", webSocketSummary);
+        print(report);
+        return report;
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadOptions options, Path database)
+            throws InterruptedException {
+        int port = URI.create(options.string("base-url")).getPort();
+        System.out.println("# 대시보드 시작 (포트 " + port + ")");
+        ConfigurableApplicationContext application = new SpringApplicationBuilder(LoraWebDashboardApplication.class)
+                .run("--spring.datasource.url=jdbc:sqlite:" + database,
+                        "--server.port=" + port,
+                        "--spring.main.banner-mode=off",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.lora.dashboard=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        StatisticsEngine statisticsEngine = application.getBean(StatisticsEngine.class);
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT.toMillis();
+        while (!statisticsEngine.isInitialized()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("통계 엔진 초기화가 " + STARTUP_TIMEOUT + " 안에 끝나지 않음");
+            }
+            Thread.sleep(500);
+        }
+        return application;
+    }
+
+    private static void waitForHealth(String baseUrl) throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/health"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT.toMillis();
+        while (true) {
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // 아직 기동 중
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException(baseUrl + "/health 응답 없음");
+            }
+            Thread.sleep(1000);
+        }
+    }
+
+    private static void sleepUntil(long epochMillis) throws InterruptedException {
+        long remaining = epochMillis - System.currentTimeMillis();
+        if (remaining > 0) {
+            Thread.sleep(remaining);
+        }
+    }
+
+    private static double ratio(long actual, long expected) {
+        return expected == 0 ? 1.0 : Math.round(actual * 10000.0 / expected) / 10000.0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> report) {
+        Map<String, Object> inserts = (Map<String, Object>) report.get("inserts");
+        Map<String, Object> commit = (Map<String, Object>) inserts.get("commit");
+        System.out.printf("%n== 삽입 ==%n업링크 %s건 (%s/s), JOIN %s건, 커밋 p50 %sms p99 %sms max %sms, 실패 %s%n",
+                inserts.get("uplinks"), inserts.get("uplinksPerSecond"), inserts.get("joins"),
+                commit.get("p50Ms"), commit.get("p99Ms"), commit.get("maxMs"), commit.get("errors"));
+
+        System.out.printf("%n== HTTP (ms) ==%n%-26s %8s %6s %8s %8s %8s %8s %8s %8s%n",
+                "endpoint", "count", "err", "req/s", "p50", "p90", "p99", "p99.9", "max");
+        ((Map<String, Map<String, Object>>) report.get("http")).forEach((endpoint, summary) ->
+                System.out.printf("%-26s %8s %6s %8s %8s %8s %8s %8s %8s%n", endpoint, summary.get("count"),
+                        summary.get("errors"), summary.get("perSecond"), summary.get("p50Ms"), summary.get("p90Ms"),
+                        summary.get("p99Ms"), summary.get("p99.9Ms"), summary.get("maxMs")));
+
+        Map<String, Object> webSocket = (Map<String, Object>) report.get("websocket");
+        System.out.printf("%n== WebSocket (클라이언트 %s, 연결 끊김 %s) ==%n", webSocket.get("clients"),
+                webSocket.get("disconnects"));
+        for (String kind : new String[]{"uplink", "join"}) {
+            Map<String, Object> lag = (Map<String, Object>) webSocket.get(kind + "Lag");
+            System.out.printf("%-6s 전달 %s/%s (%s), 지연 p50 %sms p90 %sms p99 %sms max %sms%n", kind,
+                    webSocket.get(kind + "sReceived"), webSocket.get(kind + "sExpected"),
+                    webSocket.get(kind + "DeliveryRatio"), lag.get("p50Ms"), lag.get("p90Ms"), lag.get("p99Ms"),
+                    lag.get("maxMs"));
+        }
+    }
+}
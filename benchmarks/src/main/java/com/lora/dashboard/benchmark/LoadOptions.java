@@ -0,0 +1,84 @@
+package com.lora.dashboard.benchmark;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 부하 도구 옵션 (--name=value 형식, 생략시 기본값)
+ */
+final class LoadOptions {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        // 시드 DB
+        DEFAULTS.put("db", "target/load-data/lora_gateway.db");
+        DEFAULTS.put("reseed", "false");            // true면 기존 DB를 지우고 다시 생성
+        DEFAULTS.put("seed", "42");                 // 난수 시드 (같은 값이면 같은 플릿/데이터)
+        DEFAULTS.put("devices", "300");
+        DEFAULTS.put("applications", "5");
+        DEFAULTS.put("gateways", "3");
+        DEFAULTS.put("months", "3");                // 지금부터 과거로 채울 기간 (30일 단위)
+        DEFAULTS.put("uplink-interval-s", "600");   // 디바이스당 평균 전송 주기
+        DEFAULTS.put("join-burst-days", "7");       // 게이트웨이 재시작으로 인한 재JOIN 주기
+        DEFAULTS.put("backfilled", "true");         // timestamp_ms/signal_quality를 미리 채움 (false면 대시보드가 백필)
+        // 실시간 부하
+        DEFAULTS.put("base-url", "http://localhost:8081/api");
+        DEFAULTS.put("start-app", "false");         // true면 같은 JVM에서 대시보드를 base-url 포트로 실행
+        DEFAULTS.put("rate", "50");                 // 초당 업링크 삽입 수
+        DEFAULTS.put("join-ratio", "0.005");        // 업링크 대비 JOIN 비율
+        DEFAULTS.put("live-join-burst", "true");    // 측정 중간에 게이트웨이 하나의 디바이스가 모두 재JOIN
+        DEFAULTS.put("http-clients", "8");
+        DEFAULTS.put("http-think-ms", "0");         // 클라이언트별 요청 간격 (0이면 응답 즉시 다음 요청)
+        DEFAULTS.put("ws-clients", "20");
+        DEFAULTS.put("ws-batch", "false");
+        DEFAULTS.put("warmup-s", "10");
+        DEFAULTS.put("duration-s", "60");
+        DEFAULTS.put("report", "target/load-report.json");
+    }
+
+    private final Map<String, String> values = new LinkedHashMap<>(DEFAULTS);
+
+    LoadOptions(String[] args) {
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String name = arg.startsWith("--") && separator > 2 ? arg.substring(2, separator) : null;
+            if (name == null || !DEFAULTS.containsKey(name)) {
+                throw new IllegalArgumentException("알 수 없는 옵션: " + arg + "\n" + usage());
+            }
+            values.put(name, arg.substring(separator + 1));
+        }
+    }
+
+    String string(String name) {
+        return values.get(name);
+    }
+
+    int integer(String name) {
+        return Integer.parseInt(values.get(name));
+    }
+
+    double decimal(String name) {
+        return Double.parseDouble(values.get(name));
+    }
+
+    boolean flag(String name) {
+        return Boolean.parseBoolean(values.get(name));
+    }
+
+    Path path(String name) {
+        return Paths.get(values.get(name)).toAbsolutePath();
+    }
+
+    Map<String, String> asMap() {
+        return values;
+    }
+
+    static String usage() {
+        StringBuilder usage = new StringBuilder("옵션 (기본값):\n");
+        DEFAULTS.forEach((name, value) -> usage.append("  --").append(name).append('=').append(value).append('\n'));
+        return usage.toString();
+    }
+}
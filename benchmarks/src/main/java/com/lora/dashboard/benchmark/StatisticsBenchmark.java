@@ -0,0 +1,109 @@
+package com.lora.dashboard.benchmark;
+
+import com.lora.dashboard.LoraWebDashboardApplication;
+import com.lora.dashboard.cache.WatermarkCache;
+import com.lora.dashboard.dto.StatisticsDto;
+import com.lora.dashboard.repository.TimeSeriesRollupRepository;
+import com.lora.dashboard.service.DeviceRegistry;
+import com.lora.dashboard.service.MessageService;
+import com.lora.dashboard.service.StatisticsEngine;
+import com.lora.dashboard.service.TimeSeriesRollupService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MessageService.getStatistics() (대시보드 첫 화면)
+ * 합성 DB로 애플리케이션 컨텍스트를 띄우고 통계 엔진/디바이스 레지스트리 초기화와 롤업 따라잡기가 끝난 뒤 측정한다.
+ * cached는 워터마크가 그대로일 때의 캐시 적중, uncached는 매번 캐시를 비워 스냅샷에서 DTO를 다시 만드는 비용이다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StatisticsBenchmark {
+
+    // 초기 적재 대기 한도 (10M행은 수 분이 걸림)
+    private static final long STARTUP_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    @Param({"10000", "1000000", "10000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private MessageService messageService;
+    private WatermarkCache watermarkCache;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Path database = SyntheticData.database(rows);
+        context = new SpringApplicationBuilder(LoraWebDashboardApplication.class)
+                .web(WebApplicationType.NONE)
+                // application.yml보다 우선하도록 명령행 인자로 전달
+                .run("--spring.datasource.url=jdbc:sqlite:" + database,
+                        "--spring.main.banner-mode=off",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.lora.dashboard=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        // 측정 전에 롤업을 빨리 따라잡도록 (청크가 너무 크면 쓰기 잠금이 busy-timeout을 넘김)
+                        "--dashboard.rollups.chunk-size=50000",
+                        "--dashboard.rollups.max-chunks-per-run=100");
+        messageService = context.getBean(MessageService.class);
+        watermarkCache = context.getBean(WatermarkCache.class);
+
+        StatisticsEngine statisticsEngine = context.getBean(StatisticsEngine.class);
+        DeviceRegistry deviceRegistry = context.getBean(DeviceRegistry.class);
+        TimeSeriesRollupService rollupService = context.getBean(TimeSeriesRollupService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        long maxUplinkId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM uplink_messages", Long.class);
+        long maxJoinId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM join_events", Long.class);
+
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+        while (!statisticsEngine.isInitialized() || !deviceRegistry.isInitialized() ||
+                rollupService.getRolledUpTo(TimeSeriesRollupRepository.Source.UPLINK) < maxUplinkId ||
+                rollupService.getRolledUpTo(TimeSeriesRollupRepository.Source.JOIN) < maxJoinId) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("초기 적재가 " + STARTUP_TIMEOUT_MILLIS + "ms 안에 끝나지 않음");
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public StatisticsDto cached() {
+        return messageService.getStatistics();
+    }
+
+    @Benchmark
+    public StatisticsDto uncached() {
+        watermarkCache.invalidateAll();
+        return messageService.getStatistics();
+    }
+}
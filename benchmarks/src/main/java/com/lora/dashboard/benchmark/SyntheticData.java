@@ -0,0 +1,230 @@
+package com.lora.dashboard.benchmark;
+
+import com.lora.dashboard.entity.UplinkMessage;
+import com.lora.dashboard.util.SignalQualityClassifier;
+import com.lora.dashboard.util.TimestampUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.Random;
+
+/**
+ * 벤치마크용 합성 데이터
+ * Gateway Logger가 저장하는 것과 같은 모양의 업링크/JOIN 이벤트를 고정 시드로 만든다.
+ * 행 수별 SQLite 파일은 target/bench-data에 한 번 만들어 두고 다음 실행에서 재사용한다.
+ */
+public final class SyntheticData {
+
+    public static final int DEVICES = 200;
+    public static final int APPLICATIONS = 4;
+
+    // 최근 30일에 고르게 분포
+    private static final long SPAN_MILLIS = 30 * TimestampUtils.DAY_MILLIS;
+    // Gateway Logger 형식 (예: 2025-08-01T13:52:22.048925+09:00)
+    private static final DateTimeFormatter GATEWAY_TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSSSSXXX").withZone(TimestampUtils.KST);
+    private static final Path DATA_DIR = Paths.get("target", "bench-data");
+
+    // Gateway Logger 스키마 (닫는 괄호 전, 대시보드가 추가하는 컬럼은 DERIVED_COLUMNS_DDL)
+    static final String UPLINK_MESSAGES_DDL = "CREATE TABLE uplink_messages (id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+            "timestamp DATETIME NOT NULL, application_id VARCHAR(50) NOT NULL, device_id VARCHAR(100) NOT NULL, " +
+            "dev_eui VARCHAR(16), payload_base64 TEXT, payload_hex TEXT, payload_text TEXT, payload_size INTEGER, " +
+            "frame_count INTEGER, f_port INTEGER, frequency INTEGER, data_rate INTEGER, rssi REAL, snr REAL, " +
+            "latitude REAL, longitude REAL, hostname VARCHAR(100), raw_topic TEXT, " +
+            "created_at DATETIME DEFAULT CURRENT_TIMESTAMP";
+    static final String JOIN_EVENTS_DDL = "CREATE TABLE join_events (id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+            "timestamp DATETIME NOT NULL, application_id VARCHAR(50) NOT NULL, device_id VARCHAR(100) NOT NULL, " +
+            "dev_eui VARCHAR(16), join_eui VARCHAR(16), dev_addr VARCHAR(8), rssi REAL, snr REAL, " +
+            "frequency INTEGER, data_rate INTEGER, hostname VARCHAR(100), raw_topic TEXT, " +
+            "created_at DATETIME DEFAULT CURRENT_TIMESTAMP";
+    static final String DERIVED_COLUMNS_DDL = ", timestamp_ms INTEGER, signal_quality INTEGER";
+    private static final int BATCH_SIZE = 10_000;
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    private SyntheticData() {
+    }
+
+    /**
+     * 업링크 메시지 엔티티 (id 순으로 시각이 증가)
+     */
+    public static UplinkMessage[] uplinkMessages(int count, long seed) {
+        Random random = new Random(seed);
+        long now = System.currentTimeMillis();
+        UplinkMessage[] messages = new UplinkMessage[count];
+        for (int i = 0; i < count; i++) {
+            messages[i] = uplinkMessage(i + 1, now - SPAN_MILLIS + SPAN_MILLIS * i / count, random);
+        }
+        return messages;
+    }
+
+    /**
+     * Gateway Logger 형식의 timestamp 문자열
+     */
+    public static String gatewayTimestamp(long epochMillis, Random random) {
+        return GATEWAY_TIMESTAMP.format(Instant.ofEpochMilli(epochMillis).plusNanos(random.nextInt(1000) * 1000L));
+    }
+
+    /**
+     * rows개의 업링크와 rows/100개의 JOIN 이벤트가 있는 DB 파일 (없으면 생성)
+     * timestamp_ms와 signal_quality도 채워 두어 시작 후 백필할 행이 없다.
+     */
+    public static synchronized Path database(int rows) throws Exception {
+        Path file = DATA_DIR.resolve("uplinks-" + rows + ".db").toAbsolutePath();
+        if (Files.exists(file)) {
+            return file;
+        }
+        Files.createDirectories(DATA_DIR);
+        Path tmp = DATA_DIR.resolve("uplinks-" + rows + ".db.tmp").toAbsolutePath();
+        Files.deleteIfExists(tmp);
+
+        long startedAt = System.currentTimeMillis();
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + tmp)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode = OFF");
+                statement.execute("PRAGMA synchronous = OFF");
+                statement.execute(UPLINK_MESSAGES_DDL + DERIVED_COLUMNS_DDL + ")");
+                statement.execute(JOIN_EVENTS_DDL + DERIVED_COLUMNS_DDL + ")");
+            }
+            connection.setAutoCommit(false);
+
+            Random random = new Random(rows);
+            long from = startedAt - SPAN_MILLIS;
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO uplink_messages (timestamp, " +
+                    "application_id, device_id, dev_eui, payload_base64, payload_hex, payload_text, payload_size, " +
+                    "frame_count, f_port, frequency, data_rate, rssi, snr, latitude, longitude, hostname, raw_topic, " +
+                    "timestamp_ms, signal_quality) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                for (int i = 0; i < rows; i++) {
+                    UplinkMessage message = uplinkMessage(i + 1, from + SPAN_MILLIS * i / rows, random);
+                    insert.setString(1, message.getTimestamp());
+                    insert.setString(2, message.getApplicationId());
+                    insert.setString(3, message.getDeviceId());
+                    insert.setString(4, message.getDevEui());
+                    insert.setString(5, message.getPayloadBase64());
+                    insert.setString(6, message.getPayloadHex());
+                    insert.setString(7, message.getPayloadText());
+                    insert.setInt(8, message.getPayloadSize());
+                    insert.setInt(9, message.getFrameCount());
+                    insert.setInt(10, message.getfPort());
+                    insert.setInt(11, message.getFrequency());
+                    insert.setInt(12, message.getDataRate());
+                    insert.setFloat(13, message.getRssi());
+                    insert.setFloat(14, message.getSnr());
+                    insert.setFloat(15, message.getLatitude());
+                    insert.setFloat(16, message.getLongitude());
+                    insert.setString(17, message.getHostname());
+                    insert.setString(18, message.getRawTopic());
+                    insert.setLong(19, message.getTimestampMs());
+                    insert.setInt(20, message.getSignalQualityCode());
+                    insert.addBatch();
+                    if ((i + 1) % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+
+            int joins = Math.max(1, rows / 100);
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO join_events (timestamp, " +
+                    "application_id, device_id, dev_eui, join_eui, dev_addr, rssi, snr, frequency, data_rate, hostname, " +
+                    "raw_topic, timestamp_ms, signal_quality) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                for (int i = 0; i < joins; i++) {
+                    long epochMillis = from + SPAN_MILLIS * i / joins;
+                    int device = random.nextInt(DEVICES);
+                    float rssi = rssi(random);
+                    float snr = snr(random);
+                    insert.setString(1, gatewayTimestamp(epochMillis, random));
+                    insert.setString(2, applicationId(device));
+                    insert.setString(3, deviceId(device));
+                    insert.setString(4, devEui(device));
+                    insert.setString(5, "0000000000000000");
+                    insert.setString(6, String.format("%08x", random.nextInt()));
+                    insert.setFloat(7, rssi);
+                    insert.setFloat(8, snr);
+                    insert.setInt(9, 922_100_000);
+                    insert.setInt(10, 5);
+                    insert.setString(11, "gateway-1");
+                    insert.setString(12, "application/" + applicationId(device) + "/device/" + devEui(device) + "/event/join");
+                    insert.setLong(13, epochMillis);
+                    insert.setInt(14, SignalQualityClassifier.classify(rssi, snr).getCode());
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+        System.out.printf("# 합성 DB 생성: %s (%d행, %dms)%n", file, rows, System.currentTimeMillis() - startedAt);
+        return file;
+    }
+
+    private static UplinkMessage uplinkMessage(long id, long epochMillis, Random random) {
+        int device = random.nextInt(DEVICES);
+        byte[] payload = String.format("{\"t\":%.1f,\"h\":%d}", 15 + random.nextFloat() * 15, 30 + random.nextInt(60))
+                .getBytes(StandardCharsets.UTF_8);
+        float rssi = rssi(random);
+        float snr = snr(random);
+
+        UplinkMessage message = new UplinkMessage();
+        message.setId(id);
+        message.setTimestamp(gatewayTimestamp(epochMillis, random));
+        message.setTimestampMs(epochMillis);
+        message.setApplicationId(applicationId(device));
+        message.setDeviceId(deviceId(device));
+        message.setDevEui(devEui(device));
+        message.setPayloadBase64(Base64.getEncoder().encodeToString(payload));
+        message.setPayloadHex(hex(payload));
+        message.setPayloadText(new String(payload, StandardCharsets.UTF_8));
+        message.setPayloadSize(payload.length);
+        message.setFrameCount((int) (id / DEVICES));
+        message.setfPort(1 + device % 4);
+        message.setFrequency(922_100_000 + 200_000 * random.nextInt(8));
+        message.setDataRate(random.nextInt(6));
+        message.setRssi(rssi);
+        message.setSnr(snr);
+        message.setLatitude(37.5f + device * 0.001f);
+        message.setLongitude(127.0f + device * 0.001f);
+        message.setHostname("gateway-" + (1 + device % 3));
+        message.setRawTopic("application/" + message.getApplicationId() + "/device/" + message.getDevEui() + "/event/up");
+        message.setSignalQualityCode(SignalQualityClassifier.classify(rssi, snr).getCode());
+        return message;
+    }
+
+    private static String applicationId(int device) {
+        return "app-" + (device % APPLICATIONS);
+    }
+
+    private static String deviceId(int device) {
+        return String.format("sensor-%03d", device);
+    }
+
+    private static String devEui(int device) {
+        return String.format("%016x", 0x70B3D57ED0000000L + device);
+    }
+
+    private static float rssi(Random random) {
+        return -120 + random.nextFloat() * 65;
+    }
+
+    private static float snr(Random random) {
+        return -10 + random.nextFloat() * 22;
+    }
+
+    static String hex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(hex);
+    }
+}
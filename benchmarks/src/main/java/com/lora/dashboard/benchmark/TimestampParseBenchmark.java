@@ -0,0 +1,65 @@
+package com.lora.dashboard.benchmark;
+
+import com.lora.dashboard.util.TimestampUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gateway Logger timestamp 문자열 파싱
+ * parseOffset은 백필과 DTO 변환이 타는 ISO_OFFSET_DATE_TIME 경로, parseLocal은 offset이 없어 예외 후 KST로 다시 파싱하는 경로,
+ * isoOffsetDateTime은 TimestampUtils 없이 JDK 파서만 호출한 기준값이다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimestampParseBenchmark {
+
+    private static final int INPUTS = 1024;
+
+    private final String[] offsetTimestamps = new String[INPUTS];
+    private final String[] localTimestamps = new String[INPUTS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < INPUTS; i++) {
+            String timestamp = SyntheticData.gatewayTimestamp(now - random.nextInt(Integer.MAX_VALUE), random);
+            offsetTimestamps[i] = timestamp;
+            // "2025-08-01 13:52:22.048925" (offset 없는 SQLite 기본 형식)
+            localTimestamps[i] = timestamp.substring(0, 26).replace('T', ' ');
+        }
+    }
+
+    @Benchmark
+    public Long parseOffset() {
+        return TimestampUtils.parseEpochMillis(offsetTimestamps[next++ & (INPUTS - 1)]);
+    }
+
+    @Benchmark
+    public Long parseLocal() {
+        return TimestampUtils.parseEpochMillis(localTimestamps[next++ & (INPUTS - 1)]);
+    }
+
+    @Benchmark
+    public OffsetDateTime isoOffsetDateTime() {
+        return OffsetDateTime.parse(offsetTimestamps[next++ & (INPUTS - 1)], DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+}
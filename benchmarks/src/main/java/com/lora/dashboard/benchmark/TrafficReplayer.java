@@ -0,0 +1,169 @@
+package com.lora.dashboard.benchmark;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gateway Logger 역할의 실시간 삽입
+ * 20ms마다 목표 속도(rate)까지 밀린 업링크를 한 트랜잭션으로 넣고, join-ratio 비율로 JOIN을 섞는다.
+ * 대시보드가 채우는 timestamp_ms/signal_quality는 비워 두어 운영과 같은 백필/조회 경로를 탄다.
+ * 측정 구간 안의 gateway timestamp를 가진 행만 센다.
+ */
+final class TrafficReplayer {
+
+    private static final long TICK_MILLIS = 20;
+    private static final long BURST_SPREAD_MILLIS = 10_000;
+
+    private final Fleet fleet;
+    private final Path database;
+    private final double rate;
+    private final double joinRatio;
+    private final Random random;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "load-replayer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // 예약된 JOIN {시각, 디바이스 번호} (버스트)
+    private final PriorityQueue<long[]> pendingJoins = new PriorityQueue<>(Comparator.comparingLong(join -> join[0]));
+
+    private final LatencyRecorder commitLatency = new LatencyRecorder();
+    private final AtomicLong uplinks = new AtomicLong();
+    private final AtomicLong joins = new AtomicLong();
+    private volatile long windowFrom = Long.MAX_VALUE;
+    private volatile long windowUntil = Long.MAX_VALUE;
+
+    private Connection connection;
+    private PreparedStatement insertUplink;
+    private PreparedStatement insertJoin;
+    private long startedAt;
+    private long sent;
+
+    TrafficReplayer(LoadOptions options, Fleet fleet) {
+        this.fleet = fleet;
+        this.database = options.path("db");
+        this.rate = options.decimal("rate");
+        this.joinRatio = options.decimal("join-ratio");
+        this.random = new Random(options.integer("seed") + 1L);
+    }
+
+    void start() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:sqlite:" + database);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA busy_timeout = 5000");
+        }
+        fleet.resume(connection);
+        connection.setAutoCommit(false);
+        insertUplink = connection.prepareStatement(Fleet.INSERT_UPLINK);
+        insertJoin = connection.prepareStatement(Fleet.INSERT_JOIN);
+        startedAt = System.currentTimeMillis();
+        scheduler.scheduleAtFixedRate(this::tick, 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 게이트웨이 하나를 골라 그 디바이스가 atMillis부터 10초 안에 모두 재JOIN하도록 예약
+     */
+    void scheduleJoinBurst(long atMillis) {
+        String gateway = "gateway-" + (1 + random.nextInt(fleet.gateways()));
+        List<Fleet.Device> devices = fleet.devices();
+        synchronized (pendingJoins) {
+            for (int d = 0; d < devices.size(); d++) {
+                if (devices.get(d).gateway.equals(gateway)) {
+                    pendingJoins.add(new long[]{atMillis + (long) (random.nextDouble() * BURST_SPREAD_MILLIS), d});
+                }
+            }
+        }
+    }
+
+    /**
+     * [fromMillis, untilMillis) 시각으로 삽입한 행만 세도록 측정 구간 설정
+     */
+    void measure(long fromMillis, long untilMillis) {
+        uplinks.set(0);
+        joins.set(0);
+        commitLatency.reset();
+        windowFrom = fromMillis;
+        windowUntil = untilMillis;
+    }
+
+    void stop() throws SQLException, InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        connection.close();
+    }
+
+    long getUplinks() {
+        return uplinks.get();
+    }
+
+    long getJoins() {
+        return joins.get();
+    }
+
+    LatencyRecorder getCommitLatency() {
+        return commitLatency;
+    }
+
+    private void tick() {
+        long now = System.currentTimeMillis();
+        long due = (long) ((now - startedAt) * rate / 1000) - sent;
+        List<Fleet.Device> devices = fleet.devices();
+        long startNanos = System.nanoTime();
+        int windowUplinks = 0;
+        int windowJoins = 0;
+        try {
+            for (long i = 0; i < due; i++) {
+                fleet.bindUplink(insertUplink, devices.get(random.nextInt(devices.size())), now, random, false);
+                insertUplink.addBatch();
+                if (random.nextDouble() < joinRatio) {
+                    fleet.bindJoin(insertJoin, devices.get(random.nextInt(devices.size())), now, random, false);
+                    insertJoin.addBatch();
+                    windowJoins++;
+                }
+            }
+            synchronized (pendingJoins) {
+                while (!pendingJoins.isEmpty() && pendingJoins.peek()[0] <= now) {
+                    fleet.bindJoin(insertJoin, devices.get((int) pendingJoins.poll()[1]), now, random, false);
+                    insertJoin.addBatch();
+                    windowJoins++;
+                }
+            }
+            if (due == 0 && windowJoins == 0) {
+                return;
+            }
+            insertUplink.executeBatch();
+            insertJoin.executeBatch();
+            connection.commit();
+            sent += due;
+            windowUplinks = (int) due;
+        } catch (SQLException e) {
+            // 대시보드 쓰기와 충돌하면 업링크는 다음 틱에서 다시 보냄 (꺼낸 버스트 JOIN은 버림)
+            commitLatency.recordError();
+            try {
+                insertUplink.clearBatch();
+                insertJoin.clearBatch();
+                connection.rollback();
+            } catch (SQLException ignored) {
+                // 연결이 닫히는 중
+            }
+            return;
+        }
+        if (now >= windowFrom && now < windowUntil) {
+            uplinks.addAndGet(windowUplinks);
+            joins.addAndGet(windowJoins);
+            commitLatency.record((System.nanoTime() - startNanos) / 1000);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.lora.dashboard.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lora.dashboard.dto.UplinkMessageDto;
+import com.lora.dashboard.entity.UplinkMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔티티 -> UplinkMessageDto 변환과 Jackson 직렬화 (목록 API와 WebSocket 브로드캐스트의 행당 비용)
+ * backfilled=false는 timestamp_ms와 signal_quality가 아직 없어 문자열 파싱과 분류를 하는 행이다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UplinkMessageDtoBenchmark {
+
+    private static final int INPUTS = 1024;
+
+    @Param({"true", "false"})
+    public boolean backfilled;
+
+    // MessageWebSocketHandler와 같은 기본 설정
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private UplinkMessage[] messages;
+    private UplinkMessageDto[] dtos;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        messages = SyntheticData.uplinkMessages(INPUTS, 1);
+        dtos = new UplinkMessageDto[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            if (!backfilled) {
+                messages[i].setTimestampMs(null);
+                messages[i].setSignalQualityCode(null);
+            }
+            dtos[i] = new UplinkMessageDto(messages[i]);
+        }
+    }
+
+    @Benchmark
+    public UplinkMessageDto construct() {
+        return new UplinkMessageDto(messages[next++ & (INPUTS - 1)]);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(dtos[next++ & (INPUTS - 1)]);
+    }
+
+    @Benchmark
+    public byte[] constructAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(new UplinkMessageDto(messages[next++ & (INPUTS - 1)]));
+    }
+}
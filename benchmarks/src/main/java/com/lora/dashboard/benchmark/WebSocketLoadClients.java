@@ -0,0 +1,152 @@
+package com.lora.dashboard.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lora.dashboard.util.TimestampUtils;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * /ws/messages에 연결해 전체 메시지를 받는 WebSocket 클라이언트
+ * 받은 업링크/JOIN마다 gateway timestamp부터 수신까지의 지연(전달 지연)을 기록하고,
+ * 측정 구간에 삽입된 행 수와 비교할 수 있도록 구간 안의 수신 건수를 센다.
+ */
+final class WebSocketLoadClients {
+
+    private final URI uri;
+    private final int clients;
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<WebSocket> sockets = new ArrayList<>();
+
+    private final LatencyRecorder uplinkLag = new LatencyRecorder();
+    private final LatencyRecorder joinLag = new LatencyRecorder();
+    private final AtomicLong uplinksReceived = new AtomicLong();
+    private final AtomicLong joinsReceived = new AtomicLong();
+    private final AtomicInteger disconnects = new AtomicInteger();
+    private volatile long windowFrom = Long.MAX_VALUE;
+    private volatile long windowUntil = Long.MAX_VALUE;
+
+    WebSocketLoadClients(LoadOptions options) {
+        // http://host:port/api -> ws://host:port/api/ws/messages
+        this.uri = URI.create(options.string("base-url").replaceFirst("^http", "ws") + "/ws/messages" +
+                (options.flag("ws-batch") ? "?batch=true" : ""));
+        this.clients = options.integer("ws-clients");
+    }
+
+    void start() throws Exception {
+        for (int i = 0; i < clients; i++) {
+            sockets.add(httpClient.newWebSocketBuilder().buildAsync(uri, new Listener()).get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    /**
+     * gateway timestamp가 [fromMillis, untilMillis)인 메시지만 세도록 측정 구간 설정
+     */
+    void measure(long fromMillis, long untilMillis) {
+        uplinkLag.reset();
+        joinLag.reset();
+        uplinksReceived.set(0);
+        joinsReceived.set(0);
+        windowFrom = fromMillis;
+        windowUntil = untilMillis;
+    }
+
+    void stop() {
+        for (WebSocket socket : sockets) {
+            socket.sendClose(WebSocket.NORMAL_CLOSURE, "load test finished");
+        }
+    }
+
+    int getConnected() {
+        return sockets.size() - disconnects.get();
+    }
+
+    long getUplinksReceived() {
+        return uplinksReceived.get();
+    }
+
+    long getJoinsReceived() {
+        return joinsReceived.get();
+    }
+
+    Map<String, Object> summary(double seconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("clients", clients);
+        summary.put("disconnects", disconnects.get());
+        summary.put("uplinkLag", uplinkLag.summary(seconds));
+        summary.put("joinLag", joinLag.summary(seconds));
+        return summary;
+    }
+
+    // 배치 모드 배열 프레임은 요소별로 처리
+    private void onFrame(String frame, long receivedAt) throws Exception {
+        JsonNode root = objectMapper.readTree(frame);
+        if (root.isArray()) {
+            for (JsonNode node : root) {
+                onMessage(node, receivedAt);
+            }
+        } else {
+            onMessage(root, receivedAt);
+        }
+    }
+
+    // 업링크는 DTO 그대로, JOIN은 {"type":"join","data":{...}}, 나머지(connected 등)는 무시
+    private void onMessage(JsonNode node, long receivedAt) {
+        boolean join = "join".equals(node.path("type").asText());
+        if (node.has("type") && !join) {
+            return;
+        }
+        Long timestampMs = TimestampUtils.parseEpochMillis((join ? node.path("data") : node).path("timestamp").asText());
+        if (timestampMs == null || timestampMs < windowFrom || timestampMs >= windowUntil) {
+            return;
+        }
+        if (join) {
+            joinsReceived.incrementAndGet();
+            joinLag.record((receivedAt - timestampMs) * 1000);
+        } else {
+            uplinksReceived.incrementAndGet();
+            uplinkLag.record((receivedAt - timestampMs) * 1000);
+        }
+    }
+
+    private final class Listener implements WebSocket.Listener {
+        private final StringBuilder frame = new StringBuilder();
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            frame.append(data);
+            if (last) {
+                try {
+                    onFrame(frame.toString(), System.currentTimeMillis());
+                } catch (Exception e) {
+                    System.err.println("# WebSocket 프레임 파싱 실패: " + e.getMessage());
+                }
+                frame.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            disconnects.incrementAndGet();
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            disconnects.incrementAndGet();
+        }
+    }
+}
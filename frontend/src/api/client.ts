@@ -1,5 +1,5 @@
 import axios from 'axios';
-import { UplinkMessage, JoinEvent, Statistics, ApiResponse } from '../types';
+import { UplinkMessage, UplinkMessageField, JoinEvent, Statistics, Device, SignalQualityStats, TimeSeries, TimeSeriesQuery, ExportQuery, ApiResponse } from '../types';
 
 const API_BASE_URL = process.env.REACT_APP_API_URL || 'http://localhost:8081/api';
 
@@ -33,15 +33,27 @@ apiClient.interceptors.response.use(
   }
 );
 
+// 내보내기 다운로드 링크 (응답이 파일이라 axios 대신 <a href>로 사용)
+const exportUrl = (path: string, query: ExportQuery) => {
+  const params = new URLSearchParams();
+  Object.entries(query).forEach(([key, value]) => {
+    if (value !== undefined) params.append(key, String(value));
+  });
+  return `${API_BASE_URL}${path}?${params.toString()}`;
+};
+
+// 필요한 필드만 조회 (생략시 전체 필드)
+const fieldsParam = (fields?: UplinkMessageField[]) => (fields ? { fields: fields.join(',') } : undefined);
+
 export const messageAPI = {
-  getRecentMessages: (page = 0, size = 20) => 
-    apiClient.get<ApiResponse<UplinkMessage>>(`/messages/recent?page=${page}&size=${size}`),
+  getRecentMessages: (page = 0, size = 20, fields?: UplinkMessageField[]) => 
+    apiClient.get<ApiResponse<UplinkMessage>>(`/messages/recent?page=${page}&size=${size}`, { params: fieldsParam(fields) }),
   
-  getDeviceMessages: (deviceId: string, page = 0, size = 20) => 
-    apiClient.get<ApiResponse<UplinkMessage>>(`/messages/device/${deviceId}?page=${page}&size=${size}`),
+  getDeviceMessages: (deviceId: string, page = 0, size = 20, fields?: UplinkMessageField[]) => 
+    apiClient.get<ApiResponse<UplinkMessage>>(`/messages/device/${deviceId}?page=${page}&size=${size}`, { params: fieldsParam(fields) }),
   
-  getApplicationMessages: (applicationId: string, page = 0, size = 20) => 
-    apiClient.get<ApiResponse<UplinkMessage>>(`/messages/application/${applicationId}?page=${page}&size=${size}`),
+  getApplicationMessages: (applicationId: string, page = 0, size = 20, fields?: UplinkMessageField[]) => 
+    apiClient.get<ApiResponse<UplinkMessage>>(`/messages/application/${applicationId}?page=${page}&size=${size}`, { params: fieldsParam(fields) }),
   
   getMessagesInRange: (startTime: string, endTime: string) => 
     apiClient.get<UplinkMessage[]>(`/messages/range?startTime=${startTime}&endTime=${endTime}`),
@@ -49,11 +61,26 @@ export const messageAPI = {
   getLatestDeviceMessage: (deviceId: string) => 
     apiClient.get<UplinkMessage>(`/messages/device/${deviceId}/latest`),
   
+  getLatestMessages: (deviceIds: string[]) => 
+    apiClient.get<UplinkMessage[]>(`/messages/latest?deviceIds=${deviceIds.map(encodeURIComponent).join(',')}`),
+  
+  getLatestApplicationMessages: (applicationId: string) => 
+    apiClient.get<UplinkMessage[]>(`/messages/latest?applicationId=${encodeURIComponent(applicationId)}`),
+  
   getStatistics: () => 
     apiClient.get<Statistics>('/messages/statistics'),
   
+  getSignalQuality: (window = '24h', scope: { deviceId?: string; applicationId?: string } = {}) => 
+    apiClient.get<SignalQualityStats>('/messages/signal-quality', { params: { window, ...scope } }),
+  
+  getTimeSeries: (query: TimeSeriesQuery = {}) => 
+    apiClient.get<TimeSeries>('/messages/timeseries', { params: query }),
+  
   getApplications: () => 
     apiClient.get<string[]>('/messages/applications'),
+  
+  getExportUrl: (query: ExportQuery) => 
+    exportUrl('/messages/export', query),
 };
 
 export const joinEventAPI = {
@@ -71,6 +98,23 @@ export const joinEventAPI = {
   
   getJoinEventApplications: () => 
     apiClient.get<string[]>('/join-events/applications'),
+  
+  getTimeSeries: (query: TimeSeriesQuery = {}) => 
+    apiClient.get<TimeSeries>('/join-events/timeseries', { params: query }),
+  
+  getExportUrl: (query: ExportQuery) => 
+    exportUrl('/join-events/export', query),
+};
+
+export const deviceAPI = {
+  getDevices: (activeOnly = false) => 
+    apiClient.get<Device[]>(`/devices?active=${activeOnly}`),
+  
+  getApplicationDevices: (applicationId: string, activeOnly = false) => 
+    apiClient.get<Device[]>(`/devices?applicationId=${encodeURIComponent(applicationId)}&active=${activeOnly}`),
+  
+  getDevice: (deviceId: string) => 
+    apiClient.get<Device>(`/devices/${deviceId}`),
 };
 
 export const healthAPI = {
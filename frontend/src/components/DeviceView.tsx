@@ -1,7 +1,10 @@
 import React, { useState, useEffect } from 'react';
 import { useParams } from 'react-router-dom';
 import { messageAPI, joinEventAPI } from '../api/client';
-import { UplinkMessage, JoinEvent, ApiResponse, SignalQuality } from '../types';
+import { UplinkMessage, UplinkMessageField, JoinEvent, ApiResponse, SignalQuality } from '../types';
+
+// 메시지 표에 표시하는 필드만 조회
+const LIST_FIELDS: UplinkMessageField[] = ['id', 'timestamp', 'payloadText', 'rssi', 'snr', 'signalQuality', 'frameCount'];
 
 const DeviceView: React.FC = () => {
   const { deviceId } = useParams<{ deviceId: string }>();
@@ -26,7 +29,7 @@ const DeviceView: React.FC = () => {
       
       // 병렬로 데이터 조회
       const [messagesResponse, joinEventsResponse, latestResponse] = await Promise.allSettled([
-        messageAPI.getDeviceMessages(deviceId, 0, 50),
+        messageAPI.getDeviceMessages(deviceId, 0, 50, LIST_FIELDS),
         joinEventAPI.getDeviceJoinEvents(deviceId, 0, 20),
         messageAPI.getLatestDeviceMessage(deviceId)
       ]);
@@ -1,8 +1,13 @@
 import React, { useState, useEffect } from 'react';
 import { messageAPI } from '../api/client';
-import { UplinkMessage, ApiResponse, SignalQuality } from '../types';
+import { UplinkMessage, UplinkMessageField, ApiResponse, SignalQuality } from '../types';
 import ApplicationList from './ApplicationList';
 
+// 표에 표시하는 필드만 조회 (페이로드 사본, rawTopic 제외)
+const LIST_FIELDS: UplinkMessageField[] = [
+  'id', 'timestamp', 'applicationId', 'deviceId', 'payloadText', 'rssi', 'snr', 'signalQuality', 'frameCount'
+];
+
 interface MessageListProps {
   applicationId?: string;
 }
@@ -27,7 +32,7 @@ const MessageList: React.FC<MessageListProps> = ({ applicationId }) => {
     
     try {
       setLoading(true);
-      const response = await messageAPI.getApplicationMessages(selectedApplicationId, page, 20);
+      const response = await messageAPI.getApplicationMessages(selectedApplicationId, page, 20, LIST_FIELDS);
       const data: ApiResponse<UplinkMessage> = response.data;
       
       setMessages(data.content);
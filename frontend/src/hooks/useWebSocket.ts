@@ -1,9 +1,18 @@
 import { useState, useEffect, useRef } from 'react';
-import { UplinkMessage } from '../types';
+import { UplinkMessage, JoinEvent } from '../types';
+
+// 서버측 구독 필터 (생략시 모든 메시지 수신)
+export interface WebSocketSubscription {
+  applicationIds?: string[];
+  deviceIds?: string[];
+  joinEvents?: boolean;
+}
 
 interface UseWebSocketProps {
   url: string;
+  subscription?: WebSocketSubscription;
   onMessage?: (message: UplinkMessage) => void;
+  onJoinEvent?: (event: JoinEvent) => void;
   onConnect?: () => void;
   onDisconnect?: () => void;
   onError?: (error: Event) => void;
@@ -19,7 +28,9 @@ interface UseWebSocketReturn {
 
 export const useWebSocket = ({
   url,
+  subscription,
   onMessage,
+  onJoinEvent,
   onConnect,
   onDisconnect,
   onError
@@ -46,23 +57,47 @@ export const useWebSocket = ({
         setIsConnected(true);
         setError(null);
         reconnectAttempts.current = 0;
+        if (subscription) {
+          ws.send(JSON.stringify({ action: 'subscribe', ...subscription }));
+        }
         onConnect?.();
       };
 
+      const handleFrame = (data: any) => {
+        // 연결 확인 메시지는 무시
+        if (data.type === 'connected') {
+          console.log('WebSocket 연결 확인:', data.message);
+          return;
+        }
+
+        // 구독 응답/오류
+        if (data.type === 'subscription' || data.type === 'error') {
+          console.log('WebSocket 구독:', data);
+          return;
+        }
+
+        // JOIN 이벤트는 {"type":"join","data":{...}} 형식
+        if (data.type === 'join') {
+          onJoinEvent?.(data.data as JoinEvent);
+          return;
+        }
+
+        // UplinkMessage로 파싱
+        const message: UplinkMessage = data;
+        setLastMessage(message);
+        onMessage?.(message);
+      };
+
       ws.onmessage = (event) => {
         try {
           const data = JSON.parse(event.data);
-          
-          // 연결 확인 메시지는 무시
-          if (data.type === 'connected') {
-            console.log('WebSocket 연결 확인:', data.message);
-            return;
-          }
 
-          // UplinkMessage로 파싱
-          const message: UplinkMessage = data;
-          setLastMessage(message);
-          onMessage?.(message);
+          // 배치 모드(?batch=true)에서는 여러 메시지가 배열 프레임 하나로 도착
+          if (Array.isArray(data)) {
+            data.forEach(handleFrame);
+          } else {
+            handleFrame(data);
+          }
         } catch (error) {
           console.error('WebSocket 메시지 파싱 오류:', error);
         }
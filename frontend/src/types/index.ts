@@ -22,6 +22,9 @@ export interface UplinkMessage {
   signalQuality: SignalQuality;
 }
 
+// 목록 API의 fields 파라미터로 고를 수 있는 필드 (지정하지 않은 필드는 응답에 없음)
+export type UplinkMessageField = keyof UplinkMessage | 'timestampMs';
+
 export interface JoinEvent {
   id: number;
   timestamp: string;
@@ -65,6 +68,26 @@ export interface DeviceCount {
   count: number;
 }
 
+export interface Device {
+  deviceId: string;
+  devEui?: string;
+  applicationId?: string;
+  firstSeenMs?: number;
+  lastSeenMs?: number;
+  messageCount: number;
+  joinCount: number;
+  lastJoinMs?: number;
+  lastFrameCount?: number;
+  rssiAvg?: number;
+  rssiMin?: number;
+  rssiMax?: number;
+  snrAvg?: number;
+  snrMin?: number;
+  snrMax?: number;
+  signalQuality: SignalQualityStats;
+  active: boolean;
+}
+
 export interface SignalQualityStats {
   excellent: number;
   good: number;
@@ -72,6 +95,45 @@ export interface SignalQualityStats {
   poor: number;
 }
 
+export interface TimeSeriesPoint {
+  bucketStart: number;
+  count: number;
+  payloadBytes: number;
+  rssiAvg?: number;
+  rssiMin?: number;
+  rssiMax?: number;
+  snrAvg?: number;
+  snrMin?: number;
+  snrMax?: number;
+}
+
+export interface TimeSeries {
+  from: number;
+  to: number;
+  bucketMs: number;
+  resolution: 'minute' | 'hour' | 'day';
+  points: TimeSeriesPoint[];
+}
+
+export interface TimeSeriesQuery {
+  from?: string | number;
+  to?: string | number;
+  bucket?: string;
+  deviceId?: string;
+  applicationId?: string;
+}
+
+export interface ExportQuery {
+  format?: 'csv' | 'ndjson';
+  from?: string | number;
+  to?: string | number;
+  afterId?: number;
+  toId?: number;
+  deviceId?: string;
+  applicationId?: string;
+  gzip?: boolean;
+}
+
 export interface HourlyCount {
   hour: string;
   count: number;
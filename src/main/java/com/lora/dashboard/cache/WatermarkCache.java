@@ -0,0 +1,162 @@
+package com.lora.dashboard.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 워터마크 기반 결과 캐시
+ * 항목마다 계산 당시의 버전(테이블 최대 id 등)을 저장하고, 요청 시점의 버전과 같을 때만 적중으로 처리한다.
+ * TTL이 없으므로 적중은 항상 정확하며, 같은 키를 동시에 요청하면 한 번만 계산하고 나머지는 그 결과를 기다린다.
+ * 항목 수는 LRU로 제한한다.
+ */
+@Component
+public class WatermarkCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(WatermarkCache.class);
+
+    private final int maxEntries;
+    private final Map<String, Entry> entries;
+    private final Map<String, CacheStats> stats = new ConcurrentHashMap<>();
+
+    public WatermarkCache(@Value("${dashboard.cache.max-entries:256}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > WatermarkCache.this.maxEntries) {
+                    statsFor(eldest.getKey()).evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 버전이 같은 항목이 있으면 반환하고, 없으면 loader로 계산하여 저장한다
+     * @param version 결과를 결정하는 워터마크 값들 (예: 업링크 최대 id, JOIN 최대 id)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, long[] version, Supplier<T> loader) {
+        CacheStats keyStats = statsFor(key);
+        Entry entry;
+        boolean owner = false;
+
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null || !Arrays.equals(entry.version, version)) {
+                entry = new Entry(version);
+                entries.put(key, entry);
+                owner = true;
+            }
+        }
+
+        if (!owner) {
+            keyStats.hits.incrementAndGet();
+            return (T) join(entry.value);
+        }
+
+        keyStats.misses.incrementAndGet();
+        long startNanos = System.nanoTime();
+        try {
+            T value = loader.get();
+            entry.value.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            entry.value.completeExceptionally(e);
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            throw e;
+        } finally {
+            keyStats.loadNanos.addAndGet(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * 워터마크로 감지할 수 없는 변경(삭제 등) 후 전체 무효화
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        logger.debug("결과 캐시 전체 무효화");
+    }
+
+    public Map<String, CacheStats> getStats() {
+        return new TreeMap<>(stats);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    private CacheStats statsFor(String key) {
+        // 파라미터가 붙은 키(예: device:abc)는 접두어 단위로 집계
+        int separator = key.indexOf(':');
+        String name = separator > 0 ? key.substring(0, separator) : key;
+        return stats.computeIfAbsent(name, k -> new CacheStats());
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static class Entry {
+        private final long[] version;
+        private final CompletableFuture<Object> value = new CompletableFuture<>();
+
+        private Entry(long[] version) {
+            this.version = version.clone();
+        }
+    }
+
+    /**
+     * 캐시 적중/실패 통계
+     */
+    public static class CacheStats {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+        private final AtomicLong evictions = new AtomicLong();
+        private final AtomicLong loadNanos = new AtomicLong();
+
+        public long getHits() { return hits.get(); }
+        public long getMisses() { return misses.get(); }
+        public long getEvictions() { return evictions.get(); }
+
+        public double getHitRatio() {
+            long total = hits.get() + misses.get();
+            return total > 0 ? (double) hits.get() / total : 0.0;
+        }
+
+        public double getAverageLoadMs() {
+            long loads = misses.get();
+            return loads > 0 ? loadNanos.get() / 1_000_000.0 / loads : 0.0;
+        }
+    }
+}
@@ -1,10 +1,16 @@
 package com.lora.dashboard.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
 
@@ -13,14 +19,53 @@ import java.util.concurrent.Executor;
 @EnableScheduling
 public class AsyncConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(AsyncConfig.class);
+
+    /**
+     * @Async 작업용 executor (실시간 브로드캐스트 등)
+     * spring.threads.virtual.enabled=true이고 Java 21 이상이면 작업마다 가상 스레드를 쓰고
+     * (Tomcat 요청 스레드와 스케줄러도 Spring Boot가 같은 설정으로 전환), 아니면 설정 범위의 스레드 풀을 쓴다.
+     */
     @Bean("taskExecutor")
-    public Executor taskExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(5);
-        executor.setQueueCapacity(100);
-        executor.setThreadNamePrefix("LoRa-");
-        executor.initialize();
+    public Executor taskExecutor(@Value("${dashboard.async.task-executor.core-size:2}") int coreSize,
+                                 @Value("${dashboard.async.task-executor.max-size:8}") int maxSize,
+                                 @Value("${dashboard.async.task-executor.queue-capacity:1000}") int queueCapacity,
+                                 @Value("${dashboard.async.task-executor.rejection-policy:CALLER_RUNS}") RejectionPolicy rejectionPolicy,
+                                 @Value("${dashboard.async.task-executor.virtual-concurrency-limit:64}") int virtualConcurrencyLimit,
+                                 Environment environment, MeterRegistry meterRegistry) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            logger.info("taskExecutor: 가상 스레드 (동시 실행 한도 {})", virtualConcurrencyLimit);
+            return TaskExecutors.virtual("taskExecutor", "LoRa-vt-", virtualConcurrencyLimit, meterRegistry);
+        }
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            logger.warn("가상 스레드는 Java 21 이상에서만 사용 가능 (현재 {}), 스레드 풀로 실행", Runtime.version().feature());
+        }
+        logger.info("taskExecutor: 스레드 풀 {}~{}, 큐 {}, 거부시 {}", coreSize, maxSize, queueCapacity, rejectionPolicy);
+        return TaskExecutors.platform("taskExecutor", "LoRa-", coreSize, maxSize, queueCapacity, rejectionPolicy,
+                meterRegistry);
+    }
+
+    /**
+     * WebSocket 세션 송신 전용 executor
+     * 작업은 비동기 전송을 시작만 하고 바로 끝나므로(완료는 컨테이너 콜백) 느린 클라이언트가 스레드를 붙잡지 않는다.
+     * 세션마다 동시에 최대 하나의 작업만 올라오므로 큐 길이는 세션 수를 넘지 않는다.
+     * 브로드캐스트 스레드가 제출하다 막히지 않도록 가상 스레드 모드에서도 고정 스레드 풀을 쓴다.
+     */
+    @Bean("webSocketSendExecutor")
+    public Executor webSocketSendExecutor(@Value("${dashboard.websocket.send-queue.sender-threads:4}") int senderThreads,
+                                          MeterRegistry meterRegistry) {
+        return TaskExecutors.platform("webSocketSendExecutor", "LoRa-ws-", senderThreads, senderThreads,
+                Integer.MAX_VALUE, RejectionPolicy.ABORT, meterRegistry);
+    }
+
+    /**
+     * 송신이 막힌 WebSocket 세션을 닫는 executor
+     * 닫기는 전송 중인 프레임을 기다리며 블로킹될 수 있어 종료마다 별도 스레드를 쓴다 (드물게 발생하므로 풀을 두지 않음).
+     */
+    @Bean("webSocketCloseExecutor")
+    public Executor webSocketCloseExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("LoRa-ws-close-");
+        executor.setDaemon(true);
         return executor;
     }
-}
\ No newline at end of file
+}
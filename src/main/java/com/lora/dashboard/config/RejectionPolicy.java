@@ -0,0 +1,9 @@
+package com.lora.dashboard.config;
+
+/**
+ * taskExecutor 큐가 가득 찼을 때의 처리 방식
+ */
+public enum RejectionPolicy {
+    CALLER_RUNS,   // 제출한 스레드에서 바로 실행 (제출 쪽이 느려지는 역압, 작업 유실 없음)
+    ABORT          // RejectedExecutionException (작업 유실)
+}
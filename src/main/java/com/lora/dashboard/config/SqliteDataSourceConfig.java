@@ -0,0 +1,129 @@
+package com.lora.dashboard.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.sqlite.SQLiteConfig;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SQLite 연결 풀 구성
+ * 모든 연결에 journal_mode, synchronous, busy_timeout, cache_size, mmap_size pragma를 적용하고,
+ * 쓰기 풀과 읽기 전용 풀을 나눈다. 읽기 전용 트랜잭션(@Transactional(readOnly = true))은 읽기 풀로,
+ * 나머지는 쓰기 풀로 보낸다. WAL에서는 읽기가 Gateway Logger의 쓰기를 막지 않으므로 읽기 풀은 코어 수만큼 늘릴 수 있다.
+ */
+@Configuration
+public class SqliteDataSourceConfig {
+
+    static final String WRITE = "write";
+    static final String READ = "read";
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${dashboard.sqlite.journal-mode:WAL}")
+    private SQLiteConfig.JournalMode journalMode;
+
+    @Value("${dashboard.sqlite.synchronous:NORMAL}")
+    private SQLiteConfig.SynchronousMode synchronous;
+
+    @Value("${dashboard.sqlite.busy-timeout-ms:5000}")
+    private int busyTimeoutMs;
+
+    // 연결당 페이지 캐시 크기 (KiB, cache_size에는 음수로 전달)
+    @Value("${dashboard.sqlite.cache-size-kb:65536}")
+    private int cacheSizeKb;
+
+    @Value("${dashboard.sqlite.mmap-size-bytes:268435456}")
+    private long mmapSizeBytes;
+
+    @Value("${dashboard.sqlite.write-pool-size:2}")
+    private int writePoolSize;
+
+    @Value("${dashboard.sqlite.read-pool-size:4}")
+    private int readPoolSize;
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource sqliteWritePool() {
+        SQLiteConfig config = baseConfig();
+        // journal_mode는 DB 파일에 저장되는 설정이라 쓰기 연결에서만 지정
+        config.setJournalMode(journalMode);
+        // 읽기로 시작한 트랜잭션이 쓰기로 바뀔 때는 busy_timeout 없이 바로 SQLITE_BUSY가 나므로 처음부터 쓰기 잠금을 기다림
+        config.setTransactionMode(SQLiteConfig.TransactionMode.IMMEDIATE);
+        return pool("LoRa-sqlite-write", config, writePoolSize, false);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource sqliteReadPool() {
+        SQLiteConfig config = baseConfig();
+        config.setReadOnly(true);
+        return pool("LoRa-sqlite-read", config, readPoolSize, true);
+    }
+
+    /**
+     * JPA, JdbcTemplate이 사용하는 DataSource
+     * 트랜잭션의 readOnly 여부는 연결을 얻은 뒤에 정해지므로, 첫 문장을 실행할 때 실제 연결을 고르도록 지연 프록시로 감싼다.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("sqliteWritePool") DataSource writePool,
+                                 @Qualifier("sqliteReadPool") DataSource readPool) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource();
+        routing.setTargetDataSources(Map.of(WRITE, writePool, READ, readPool));
+        routing.setDefaultTargetDataSource(writePool);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * 연결마다 기대하는 pragma 값 (PRAGMA 조회 결과와 같은 표기, 시작시 검증용)
+     */
+    public Map<String, String> expectedPragmas() {
+        Map<String, String> expected = new LinkedHashMap<>();
+        expected.put("journal_mode", journalMode.getValue().toLowerCase());
+        expected.put("synchronous", String.valueOf(synchronous.ordinal()));
+        expected.put("busy_timeout", String.valueOf(busyTimeoutMs));
+        expected.put("cache_size", String.valueOf(-cacheSizeKb));
+        expected.put("mmap_size", String.valueOf(mmapSizeBytes));
+        return expected;
+    }
+
+    private SQLiteConfig baseConfig() {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setSynchronous(synchronous);
+        config.setBusyTimeout(busyTimeoutMs);
+        config.setCacheSize(-cacheSizeKb);
+        config.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, String.valueOf(mmapSizeBytes));
+        return config;
+    }
+
+    private HikariDataSource pool(String name, SQLiteConfig sqliteConfig, int size, boolean readOnly) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(url);
+        config.setDriverClassName("org.sqlite.JDBC");
+        config.setDataSourceProperties(sqliteConfig.toProperties());
+        config.setMaximumPoolSize(size);
+        config.setMinimumIdle(size);
+        config.setReadOnly(readOnly);
+        return new HikariDataSource(config);
+    }
+
+    // 현재 트랜잭션이 읽기 전용이면 읽기 풀, 아니면 (트랜잭션 밖 포함) 쓰기 풀
+    static class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? READ : WRITE;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.lora.dashboard.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 시작시 쓰기/읽기 풀의 연결에서 pragma를 다시 조회해 설정이 실제로 적용되었는지 확인
+ * (예: 네트워크 파일시스템에서는 WAL로 전환되지 않고, 빌드 옵션에 따라 mmap_size가 제한됨)
+ */
+@Component
+public class SqlitePragmaVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlitePragmaVerifier.class);
+
+    @Autowired
+    private SqliteDataSourceConfig dataSourceConfig;
+
+    @Autowired
+    @Qualifier("sqliteWritePool")
+    private DataSource writePool;
+
+    @Autowired
+    @Qualifier("sqliteReadPool")
+    private DataSource readPool;
+
+    private volatile Map<String, Map<String, String>> actualPragmas = Collections.emptyMap();
+    private volatile List<String> mismatches = Collections.emptyList();
+
+    @PostConstruct
+    public void verify() {
+        Map<String, String> expected = dataSourceConfig.expectedPragmas();
+        Map<String, Map<String, String>> actual = new LinkedHashMap<>();
+        List<String> mismatched = new ArrayList<>();
+
+        Map<String, DataSource> pools = new LinkedHashMap<>();
+        pools.put(SqliteDataSourceConfig.WRITE, writePool);
+        pools.put(SqliteDataSourceConfig.READ, readPool);
+
+        for (Map.Entry<String, DataSource> pool : pools.entrySet()) {
+            Map<String, String> values = new LinkedHashMap<>();
+            try (Connection connection = pool.getValue().getConnection()) {
+                for (String pragma : expected.keySet()) {
+                    values.put(pragma, queryPragma(connection, pragma));
+                }
+                values.put("read_only", String.valueOf(connection.isReadOnly()));
+            } catch (SQLException e) {
+                mismatched.add(pool.getKey() + ": 연결 실패 (" + e.getMessage() + ")");
+                continue;
+            }
+            actual.put(pool.getKey(), values);
+
+            for (Map.Entry<String, String> entry : expected.entrySet()) {
+                String value = values.get(entry.getKey());
+                if (!entry.getValue().equalsIgnoreCase(value)) {
+                    mismatched.add(pool.getKey() + "." + entry.getKey() + "=" + value + " (설정: " + entry.getValue() + ")");
+                }
+            }
+            boolean expectReadOnly = SqliteDataSourceConfig.READ.equals(pool.getKey());
+            if (!String.valueOf(expectReadOnly).equals(values.get("read_only"))) {
+                mismatched.add(pool.getKey() + ".read_only=" + values.get("read_only"));
+            }
+        }
+
+        actualPragmas = Collections.unmodifiableMap(actual);
+        mismatches = Collections.unmodifiableList(mismatched);
+        if (mismatched.isEmpty()) {
+            logger.info("SQLite pragma 확인 완료: {}", actual);
+        } else {
+            logger.warn("SQLite pragma가 설정과 다름: {}", mismatched);
+        }
+    }
+
+    /**
+     * 풀별 실제 pragma 값
+     */
+    public Map<String, Map<String, String>> getActualPragmas() {
+        return actualPragmas;
+    }
+
+    /**
+     * 마지막 확인 결과 중 설정과 다른 항목
+     */
+    public List<String> getMismatches() {
+        return mismatches;
+    }
+
+    private static String queryPragma(Connection connection, String pragma) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("PRAGMA " + pragma)) {
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+}
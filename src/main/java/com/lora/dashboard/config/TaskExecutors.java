@@ -0,0 +1,100 @@
+package com.lora.dashboard.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 플랫폼 스레드 풀 / 가상 스레드 executor 생성 (AsyncConfig와 벤치마크에서 같이 사용)
+ * 메트릭 name 태그는 Actuator의 executor.* 메트릭과 같은 빈 이름을 쓴다.
+ */
+public final class TaskExecutors {
+
+    private TaskExecutors() {
+    }
+
+    /**
+     * 고정 범위 스레드 풀
+     * 큐 길이/활성 스레드는 Actuator가 ThreadPoolTaskExecutor 빈에 대해 executor.*로 등록하고,
+     * 거부 건수만 executor.rejected로 센 뒤 정책대로 처리한다.
+     */
+    public static ThreadPoolTaskExecutor platform(String name, String threadNamePrefix, int coreSize, int maxSize,
+                                                  int queueCapacity, RejectionPolicy rejectionPolicy,
+                                                  MeterRegistry meterRegistry) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(Math.max(coreSize, maxSize));
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setRejectedExecutionHandler(countingRejections(meterRegistry, name, rejectionPolicy));
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 작업마다 가상 스레드를 만드는 executor (Java 21 이상)
+     * 동시 실행이 concurrencyLimit에 닿으면 제출한 스레드가 자리가 날 때까지 기다린다 (거부 없음).
+     * Actuator가 측정하지 않는 종류이므로 executor.active/executor.completed를 직접 등록한다.
+     */
+    public static SimpleAsyncTaskExecutor virtual(String name, String threadNamePrefix, int concurrencyLimit,
+                                                  MeterRegistry meterRegistry) {
+        AtomicInteger active = new AtomicInteger();
+        AtomicLong completed = new AtomicLong();
+        Gauge.builder("executor.active", active, AtomicInteger::get)
+                .description("실행 중인 작업 수")
+                .baseUnit("threads")
+                .tag("name", name)
+                .register(meterRegistry);
+        FunctionCounter.builder("executor.completed", completed, AtomicLong::get)
+                .description("완료한 작업 수")
+                .baseUnit("tasks")
+                .tag("name", name)
+                .register(meterRegistry);
+
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        if (concurrencyLimit > 0) {
+            executor.setConcurrencyLimit(concurrencyLimit);
+        }
+        executor.setTaskDecorator(task -> () -> {
+            active.incrementAndGet();
+            try {
+                task.run();
+            } finally {
+                active.decrementAndGet();
+                completed.incrementAndGet();
+            }
+        });
+        return executor;
+    }
+
+    /**
+     * 현재 런타임에서 가상 스레드를 쓸 수 있는지 (Java 21 이상)
+     */
+    public static boolean virtualThreadsSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    private static RejectedExecutionHandler countingRejections(MeterRegistry meterRegistry, String name,
+                                                               RejectionPolicy rejectionPolicy) {
+        Counter rejected = Counter.builder("executor.rejected")
+                .description("executor가 거부한 작업 수 (CALLER_RUNS는 호출 스레드에서 실행됨)")
+                .tag("name", name)
+                .register(meterRegistry);
+        RejectedExecutionHandler delegate = rejectionPolicy == RejectionPolicy.CALLER_RUNS
+                ? new ThreadPoolExecutor.CallerRunsPolicy()
+                : new ThreadPoolExecutor.AbortPolicy();
+        return (task, pool) -> {
+            rejected.increment();
+            delegate.rejectedExecution(task, pool);
+        };
+    }
+}
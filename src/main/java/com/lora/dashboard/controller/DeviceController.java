@@ -0,0 +1,37 @@
+package com.lora.dashboard.controller;
+
+import com.lora.dashboard.dto.DeviceDto;
+import com.lora.dashboard.service.DeviceRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 디바이스 레지스트리 조회 (메모리에서 응답, 메시지 테이블을 스캔하지 않음)
+ */
+@RestController
+@RequestMapping("/devices")
+@CrossOrigin(origins = "*")
+public class DeviceController {
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @GetMapping
+    public ResponseEntity<List<DeviceDto>> getDevices(
+            @RequestParam(required = false) String applicationId,
+            @RequestParam(defaultValue = "false") boolean active) {
+        return ResponseEntity.ok(deviceRegistry.getDevices(applicationId, active));
+    }
+
+    @GetMapping("/{deviceId}")
+    public ResponseEntity<DeviceDto> getDevice(@PathVariable String deviceId) {
+        DeviceDto device = deviceRegistry.getDevice(deviceId);
+        if (device != null) {
+            return ResponseEntity.ok(device);
+        }
+        return ResponseEntity.notFound().build();
+    }
+}
@@ -1,5 +1,13 @@
 package com.lora.dashboard.controller;
 
+import com.lora.dashboard.cache.WatermarkCache;
+import com.lora.dashboard.config.SqlitePragmaVerifier;
+import com.lora.dashboard.migration.IndexVerifier;
+import com.lora.dashboard.migration.SchemaMigrator;
+import com.lora.dashboard.service.ColdSegmentService;
+import com.lora.dashboard.service.RetentionService;
+import com.lora.dashboard.websocket.MessageWebSocketHandler;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -12,6 +20,27 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class HealthController {
 
+    @Autowired
+    private SchemaMigrator schemaMigrator;
+
+    @Autowired
+    private IndexVerifier indexVerifier;
+
+    @Autowired
+    private MessageWebSocketHandler webSocketHandler;
+
+    @Autowired
+    private WatermarkCache watermarkCache;
+
+    @Autowired
+    private RetentionService retentionService;
+
+    @Autowired
+    private SqlitePragmaVerifier sqlitePragmaVerifier;
+
+    @Autowired
+    private ColdSegmentService coldSegmentService;
+
     @GetMapping
     public ResponseEntity<Map<String, Object>> health() {
         Map<String, Object> health = new HashMap<>();
@@ -35,4 +64,51 @@ public class HealthController {
         
         return ResponseEntity.ok(info);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/schema")
+    public ResponseEntity<Map<String, Object>> schema() {
+        Map<String, Object> schema = new HashMap<>();
+        schema.put("migrations", schemaMigrator.getAppliedMigrations());
+        schema.put("missingIndexes", indexVerifier.getMissingIndexes());
+        
+        return ResponseEntity.ok(schema);
+    }
+
+    @GetMapping("/websocket")
+    public ResponseEntity<Map<String, Object>> websocket() {
+        Map<String, Object> websocket = new HashMap<>();
+        websocket.put("sessionCount", webSocketHandler.getSessionCount());
+        websocket.put("sessions", webSocketHandler.getSessionStats());
+        
+        return ResponseEntity.ok(websocket);
+    }
+
+    @GetMapping("/cache")
+    public ResponseEntity<Map<String, Object>> cache() {
+        Map<String, Object> cache = new HashMap<>();
+        cache.put("size", watermarkCache.size());
+        cache.put("maxEntries", watermarkCache.getMaxEntries());
+        cache.put("caches", watermarkCache.getStats());
+        
+        return ResponseEntity.ok(cache);
+    }
+
+    @GetMapping("/retention")
+    public ResponseEntity<Map<String, Object>> retention() {
+        return ResponseEntity.ok(retentionService.getStatus());
+    }
+
+    @GetMapping("/sqlite")
+    public ResponseEntity<Map<String, Object>> sqlite() {
+        Map<String, Object> sqlite = new HashMap<>();
+        sqlite.put("pools", sqlitePragmaVerifier.getActualPragmas());
+        sqlite.put("mismatches", sqlitePragmaVerifier.getMismatches());
+        
+        return ResponseEntity.ok(sqlite);
+    }
+
+    @GetMapping("/segments")
+    public ResponseEntity<Map<String, Object>> segments() {
+        return ResponseEntity.ok(coldSegmentService.getStatus());
+    }
+}
@@ -1,14 +1,24 @@
 package com.lora.dashboard.controller;
 
+import com.lora.dashboard.dto.CursorPageDto;
+import com.lora.dashboard.dto.JoinEventDto;
+import com.lora.dashboard.dto.TimeSeriesDto;
 import com.lora.dashboard.entity.JoinEvent;
+import com.lora.dashboard.repository.TimeSeriesRollupRepository;
+import com.lora.dashboard.service.ExportService;
 import com.lora.dashboard.service.MessageService;
+import com.lora.dashboard.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -21,6 +31,9 @@ public class JoinEventController {
     @Autowired
     private MessageService messageService;
 
+    @Autowired
+    private ExportService exportService;
+
     @GetMapping("/recent")
     public ResponseEntity<Page<JoinEvent>> getRecentJoinEvents(
             @RequestParam(defaultValue = "0") int page,
@@ -53,9 +66,90 @@ public class JoinEventController {
         return ResponseEntity.ok(joinEvents);
     }
 
+    @GetMapping("/recent/cursor")
+    public ResponseEntity<CursorPageDto<JoinEvent>> getRecentJoinEventsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        CursorPageDto<JoinEvent> joinEvents = messageService.getJoinEventsPage(KeysetCursor.decode(cursor), size);
+        return ResponseEntity.ok(joinEvents);
+    }
+
+    @GetMapping("/device/{deviceId}/cursor")
+    public ResponseEntity<CursorPageDto<JoinEvent>> getDeviceJoinEventsByCursor(
+            @PathVariable String deviceId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        CursorPageDto<JoinEvent> joinEvents =
+                messageService.getJoinEventsPageByDevice(deviceId, KeysetCursor.decode(cursor), size);
+        return ResponseEntity.ok(joinEvents);
+    }
+
+    @GetMapping("/application/{applicationId}/cursor")
+    public ResponseEntity<CursorPageDto<JoinEvent>> getApplicationJoinEventsByCursor(
+            @PathVariable String applicationId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        
+        CursorPageDto<JoinEvent> joinEvents =
+                messageService.getJoinEventsPageByApplication(applicationId, KeysetCursor.decode(cursor), size);
+        return ResponseEntity.ok(joinEvents);
+    }
+
+    /**
+     * JOIN 이벤트 시계열 (분/시간/일 롤업에서 조회, bucket: 5m, 1h, 1d 등, 생략시 자동)
+     */
+    @GetMapping("/timeseries")
+    public ResponseEntity<TimeSeriesDto> getTimeSeries(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String bucket,
+            @RequestParam(required = false) String deviceId,
+            @RequestParam(required = false) String applicationId) {
+        
+        if (deviceId != null && applicationId != null) {
+            throw new IllegalArgumentException("deviceId와 applicationId는 함께 지정할 수 없습니다");
+        }
+        return ResponseEntity.ok(messageService.getTimeSeries(TimeSeriesRollupRepository.Source.JOIN,
+                from, to, bucket, deviceId, applicationId));
+    }
+
+    /**
+     * JOIN 이벤트 원본 행 내보내기 (CSV 또는 NDJSON, 시각 구간 from/to 또는 id 구간 afterId/toId)
+     * 전진 전용 커서로 읽으며 바로 응답에 기록하므로 행 수와 관계없이 메모리 사용량이 일정하다. gzip=true면 .gz 파일로 압축한다.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Long toId,
+            @RequestParam(required = false) String deviceId,
+            @RequestParam(required = false) String applicationId,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        
+        ExportService.Format exportFormat = ExportService.Format.parse(format);
+        ExportService.ExportQuery query = exportService.createQuery(TimeSeriesRollupRepository.Source.JOIN,
+                from, to, afterId, toId, deviceId, applicationId);
+        
+        StreamingResponseBody body = outputStream -> exportService.write(query, exportFormat, gzip, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(exportService.fileName(query, exportFormat, gzip)).build().toString())
+                .body(body);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Void> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().build();
+    }
+
     @GetMapping("/device/{deviceId}/latest")
-    public ResponseEntity<JoinEvent> getLatestDeviceJoinEvent(@PathVariable String deviceId) {
-        JoinEvent joinEvent = messageService.getLatestJoinEventByDevice(deviceId);
+    public ResponseEntity<JoinEventDto> getLatestDeviceJoinEvent(@PathVariable String deviceId) {
+        JoinEventDto joinEvent = messageService.getLatestJoinEventByDevice(deviceId);
         if (joinEvent != null) {
             return ResponseEntity.ok(joinEvent);
         }
@@ -1,70 +1,302 @@
 package com.lora.dashboard.controller;
 
+import com.lora.dashboard.dto.CursorPageDto;
+import com.lora.dashboard.dto.SliceDto;
 import com.lora.dashboard.dto.StatisticsDto;
+import com.lora.dashboard.dto.TimeSeriesDto;
 import com.lora.dashboard.dto.UplinkMessageDto;
 import com.lora.dashboard.entity.UplinkMessage;
 import com.lora.dashboard.entity.JoinEvent;
+import com.lora.dashboard.repository.TimeSeriesRollupRepository;
+import com.lora.dashboard.repository.UplinkMessageProjectionRepository.Scope;
+import com.lora.dashboard.repository.projection.UplinkMessageField;
+import com.lora.dashboard.service.ExportService;
 import com.lora.dashboard.service.MessageService;
+import com.lora.dashboard.util.KeysetCursor;
+import com.lora.dashboard.util.TimestampUtils;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/messages")
 @CrossOrigin(origins = "*")
 public class MessageController {
 
+    private static final String COUNT_EXACT = "exact";
+    private static final String COUNT_NONE = "none";
+    private static final String COUNT_APPROX = "approx";
+    private static final int MAX_LATEST_DEVICE_IDS = 1000;
+
     @Autowired
     private MessageService messageService;
 
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * count 파라미터: exact(기본, 전체 개수 COUNT), none(COUNT 없이 다음 페이지 여부만), approx(none + 근사 전체 개수)
+     * fields 파라미터: 쉼표로 구분한 필드만 조회/응답 (예: id,timestamp,deviceId,rssi,snr), 생략시 전체 필드
+     */
     @GetMapping("/recent")
-    public ResponseEntity<Page<UplinkMessageDto>> getRecentMessages(
+    public ResponseEntity<?> getRecentMessages(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "exact") String count,
+            @RequestParam(required = false) String fields) {
         
         Pageable pageable = PageRequest.of(page, size);
+        if (fields != null) {
+            return ResponseEntity.ok(projectedPage(Scope.ALL, null, fields, pageable, count));
+        }
+        if (isSliceMode(count)) {
+            SliceDto<UplinkMessageDto> messages = messageService.getAllMessagesSlice(pageable, COUNT_APPROX.equals(count));
+            return ResponseEntity.ok(messages);
+        }
         Page<UplinkMessageDto> messages = messageService.getAllMessagesDto(pageable);
         return ResponseEntity.ok(messages);
     }
 
     @GetMapping("/device/{deviceId}")
-    public ResponseEntity<Page<UplinkMessageDto>> getDeviceMessages(
+    public ResponseEntity<?> getDeviceMessages(
             @PathVariable String deviceId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "exact") String count,
+            @RequestParam(required = false) String fields) {
         
         Pageable pageable = PageRequest.of(page, size);
+        if (fields != null) {
+            return ResponseEntity.ok(projectedPage(Scope.DEVICE, deviceId, fields, pageable, count));
+        }
+        if (isSliceMode(count)) {
+            SliceDto<UplinkMessageDto> messages =
+                    messageService.getMessagesByDeviceSlice(deviceId, pageable, COUNT_APPROX.equals(count));
+            return ResponseEntity.ok(messages);
+        }
         Page<UplinkMessageDto> messages = messageService.getMessagesByDeviceDto(deviceId, pageable);
         return ResponseEntity.ok(messages);
     }
 
     @GetMapping("/application/{applicationId}")
-    public ResponseEntity<Page<UplinkMessage>> getApplicationMessages(
+    public ResponseEntity<?> getApplicationMessages(
             @PathVariable String applicationId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields) {
         
         Pageable pageable = PageRequest.of(page, size);
+        if (fields != null) {
+            return ResponseEntity.ok(projectedPage(Scope.APPLICATION, applicationId, fields, pageable, COUNT_EXACT));
+        }
         Page<UplinkMessage> messages = messageService.getMessagesByApplication(applicationId, pageable);
         return ResponseEntity.ok(messages);
     }
 
+    @GetMapping("/recent/cursor")
+    public ResponseEntity<CursorPageDto<?>> getRecentMessagesByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields) {
+        
+        if (fields != null) {
+            return ResponseEntity.ok(messageService.getMessagesPageProjected(Scope.ALL, null,
+                    UplinkMessageField.parse(fields), KeysetCursor.decode(cursor), size));
+        }
+        CursorPageDto<UplinkMessageDto> messages = messageService.getMessagesPage(KeysetCursor.decode(cursor), size);
+        return ResponseEntity.ok(messages);
+    }
+
+    @GetMapping("/device/{deviceId}/cursor")
+    public ResponseEntity<CursorPageDto<?>> getDeviceMessagesByCursor(
+            @PathVariable String deviceId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields) {
+        
+        if (fields != null) {
+            return ResponseEntity.ok(messageService.getMessagesPageProjected(Scope.DEVICE, deviceId,
+                    UplinkMessageField.parse(fields), KeysetCursor.decode(cursor), size));
+        }
+        CursorPageDto<UplinkMessageDto> messages =
+                messageService.getMessagesPageByDevice(deviceId, KeysetCursor.decode(cursor), size);
+        return ResponseEntity.ok(messages);
+    }
+
+    @GetMapping("/application/{applicationId}/cursor")
+    public ResponseEntity<CursorPageDto<?>> getApplicationMessagesByCursor(
+            @PathVariable String applicationId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String fields) {
+        
+        if (fields != null) {
+            return ResponseEntity.ok(messageService.getMessagesPageProjected(Scope.APPLICATION, applicationId,
+                    UplinkMessageField.parse(fields), KeysetCursor.decode(cursor), size));
+        }
+        CursorPageDto<UplinkMessageDto> messages =
+                messageService.getMessagesPageByApplication(applicationId, KeysetCursor.decode(cursor), size);
+        return ResponseEntity.ok(messages);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Void> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().build();
+    }
+
+    /**
+     * deviceId: 한 디바이스만, maxRssi: rssi가 이 값 이하인 행만 (약한 신호 조회)
+     * 봉인된 달(콜드 세그먼트)과 겹치거나 위 조건이 있으면 fields 경로로 조회하며, 생략시 전체 필드
+     */
+    @GetMapping("/range")
+    public ResponseEntity<List<?>> getMessagesInRange(
+            @RequestParam String startTime,
+            @RequestParam String endTime,
+            @RequestParam(defaultValue = "1000") int limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String deviceId,
+            @RequestParam(required = false) Float maxRssi) {
+        
+        Long fromMs = TimestampUtils.parseEpochMillis(startTime);
+        Long toMs = TimestampUtils.parseEpochMillis(endTime);
+        if (fromMs == null || toMs == null || fromMs > toMs) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (fields != null || deviceId != null || maxRssi != null || messageService.isColdRange(fromMs, toMs)) {
+            List<UplinkMessageField> selected = fields != null ? UplinkMessageField.parse(fields) : UplinkMessageField.all();
+            return ResponseEntity.ok(messageService.getMessagesInRangeProjected(
+                    selected, fromMs, toMs, deviceId, maxRssi, limit));
+        }
+        List<UplinkMessageDto> messages = messageService.getMessagesInRange(fromMs, toMs, limit);
+        return ResponseEntity.ok(messages);
+    }
 
     @GetMapping("/device/{deviceId}/latest")
-    public ResponseEntity<UplinkMessage> getLatestDeviceMessage(@PathVariable String deviceId) {
-        UplinkMessage message = messageService.getLatestMessageByDevice(deviceId);
+    public ResponseEntity<UplinkMessageDto> getLatestDeviceMessage(@PathVariable String deviceId) {
+        UplinkMessageDto message = messageService.getLatestMessageByDevice(deviceId);
         if (message != null) {
             return ResponseEntity.ok(message);
         }
         return ResponseEntity.notFound().build();
     }
 
+    /**
+     * 신호 품질 분포 (window: 1h, 24h, 7d 등 최근 구간 또는 all, deviceId/applicationId 중 하나로 범위 지정)
+     */
+    @GetMapping("/signal-quality")
+    public ResponseEntity<StatisticsDto.SignalQualityStatsDto> getSignalQuality(
+            @RequestParam(defaultValue = "24h") String window,
+            @RequestParam(required = false) String deviceId,
+            @RequestParam(required = false) String applicationId) {
+        
+        if (deviceId != null && applicationId != null) {
+            throw new IllegalArgumentException("deviceId와 applicationId는 함께 지정할 수 없습니다");
+        }
+        return ResponseEntity.ok(messageService.getSignalQualityDistribution(deviceId, applicationId, window));
+    }
+
+    /**
+     * 업링크 시계열 (분/시간/일 롤업에서 조회, bucket: 5m, 1h, 1d 등, 생략시 자동)
+     */
+    @GetMapping("/timeseries")
+    public ResponseEntity<TimeSeriesDto> getTimeSeries(
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String bucket,
+            @RequestParam(required = false) String deviceId,
+            @RequestParam(required = false) String applicationId) {
+        
+        if (deviceId != null && applicationId != null) {
+            throw new IllegalArgumentException("deviceId와 applicationId는 함께 지정할 수 없습니다");
+        }
+        return ResponseEntity.ok(messageService.getTimeSeries(TimeSeriesRollupRepository.Source.UPLINK,
+                from, to, bucket, deviceId, applicationId));
+    }
+
+    /**
+     * 여러 디바이스의 최신 메시지를 한 번에 조회 (deviceIds 또는 applicationId 중 하나)
+     * 결과는 디바이스 ID순 JSON 배열이며, 전체를 메모리에 모으지 않고 한 행씩 스트리밍한다.
+     */
+    @GetMapping("/latest")
+    public ResponseEntity<StreamingResponseBody> getLatestMessages(
+            @RequestParam(required = false) List<String> deviceIds,
+            @RequestParam(required = false) String applicationId) {
+        
+        boolean byDevices = deviceIds != null && !deviceIds.isEmpty();
+        if (byDevices == (applicationId != null)) {
+            throw new IllegalArgumentException("deviceIds와 applicationId 중 하나만 지정해야 합니다");
+        }
+        if (byDevices && deviceIds.size() > MAX_LATEST_DEVICE_IDS) {
+            throw new IllegalArgumentException("deviceIds는 최대 " + MAX_LATEST_DEVICE_IDS + "개까지 지정할 수 있습니다");
+        }
+        
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartArray();
+                Consumer<UplinkMessageDto> writer = message -> {
+                    try {
+                        generator.writeObject(message);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                };
+                if (byDevices) {
+                    messageService.streamLatestMessagesByDevices(deviceIds, writer);
+                } else {
+                    messageService.streamLatestMessagesByApplication(applicationId, writer);
+                }
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * 업링크 메시지 원본 행 내보내기 (CSV 또는 NDJSON, 시각 구간 from/to 또는 id 구간 afterId/toId)
+     * 전진 전용 커서로 읽으며 바로 응답에 기록하므로 행 수와 관계없이 메모리 사용량이 일정하다. gzip=true면 .gz 파일로 압축한다.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false) Long toId,
+            @RequestParam(required = false) String deviceId,
+            @RequestParam(required = false) String applicationId,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        
+        ExportService.Format exportFormat = ExportService.Format.parse(format);
+        ExportService.ExportQuery query = exportService.createQuery(TimeSeriesRollupRepository.Source.UPLINK,
+                from, to, afterId, toId, deviceId, applicationId);
+        
+        StreamingResponseBody body = outputStream -> exportService.write(query, exportFormat, gzip, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(exportService.fileName(query, exportFormat, gzip)).build().toString())
+                .body(body);
+    }
+
     @GetMapping("/count")
     public ResponseEntity<Long> getMessageCount() {
         Long count = messageService.getMessageCount();
@@ -82,4 +314,23 @@ public class MessageController {
         List<String> applications = messageService.getAllApplicationIds();
         return ResponseEntity.ok(applications);
     }
+
+    // fields를 지정한 OFFSET 페이지 (count 모드는 필드 전체 조회와 같음)
+    private Object projectedPage(Scope scope, String scopeValue, String fields, Pageable pageable, String count) {
+        List<UplinkMessageField> parsed = UplinkMessageField.parse(fields);
+        if (isSliceMode(count)) {
+            return messageService.getMessagesProjectedSlice(scope, scopeValue, parsed, pageable, COUNT_APPROX.equals(count));
+        }
+        return messageService.getMessagesProjected(scope, scopeValue, parsed, pageable);
+    }
+
+    private static boolean isSliceMode(String count) {
+        if (COUNT_NONE.equals(count) || COUNT_APPROX.equals(count)) {
+            return true;
+        }
+        if (COUNT_EXACT.equals(count)) {
+            return false;
+        }
+        throw new IllegalArgumentException("지원하지 않는 count 모드: " + count);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.lora.dashboard.dto;
+
+import com.lora.dashboard.entity.DeviceSummary;
+
+/**
+ * 디바이스 레지스트리 응답 (시각은 epoch ms, 평균은 누적 합계 / 샘플 수)
+ */
+public class DeviceDto {
+    private String deviceId;
+    private String devEui;
+    private String applicationId;
+    private Long firstSeenMs;
+    private Long lastSeenMs;
+    private Long messageCount;
+    private Long joinCount;
+    private Long lastJoinMs;
+    private Integer lastFrameCount;
+    private Double rssiAvg;
+    private Float rssiMin;
+    private Float rssiMax;
+    private Double snrAvg;
+    private Float snrMin;
+    private Float snrMax;
+    private StatisticsDto.SignalQualityStatsDto signalQuality;
+    private boolean active;
+
+    public DeviceDto() {}
+
+    public DeviceDto(DeviceSummary summary, boolean active) {
+        this.deviceId = summary.getDeviceId();
+        this.devEui = summary.getDevEui();
+        this.applicationId = summary.getApplicationId();
+        this.firstSeenMs = summary.getFirstSeenMs();
+        this.lastSeenMs = summary.getLastSeenMs();
+        this.messageCount = summary.getMessageCount();
+        this.joinCount = summary.getJoinCount();
+        this.lastJoinMs = summary.getLastJoinMs();
+        this.lastFrameCount = summary.getLastFrameCount();
+        this.rssiAvg = summary.getRssiSamples() > 0 ? summary.getRssiSum() / summary.getRssiSamples() : null;
+        this.rssiMin = summary.getRssiMin();
+        this.rssiMax = summary.getRssiMax();
+        this.snrAvg = summary.getSnrSamples() > 0 ? summary.getSnrSum() / summary.getSnrSamples() : null;
+        this.snrMin = summary.getSnrMin();
+        this.snrMax = summary.getSnrMax();
+        this.signalQuality = new StatisticsDto.SignalQualityStatsDto(summary.getExcellentCount(),
+                summary.getGoodCount(), summary.getFairCount(), summary.getPoorCount());
+        this.active = active;
+    }
+
+    // Getters and Setters
+    public String getDeviceId() { return deviceId; }
+    public void setDeviceId(String deviceId) { this.deviceId = deviceId; }
+
+    public String getDevEui() { return devEui; }
+    public void setDevEui(String devEui) { this.devEui = devEui; }
+
+    public String getApplicationId() { return applicationId; }
+    public void setApplicationId(String applicationId) { this.applicationId = applicationId; }
+
+    public Long getFirstSeenMs() { return firstSeenMs; }
+    public void setFirstSeenMs(Long firstSeenMs) { this.firstSeenMs = firstSeenMs; }
+
+    public Long getLastSeenMs() { return lastSeenMs; }
+    public void setLastSeenMs(Long lastSeenMs) { this.lastSeenMs = lastSeenMs; }
+
+    public Long getMessageCount() { return messageCount; }
+    public void setMessageCount(Long messageCount) { this.messageCount = messageCount; }
+
+    public Long getJoinCount() { return joinCount; }
+    public void setJoinCount(Long joinCount) { this.joinCount = joinCount; }
+
+    public Long getLastJoinMs() { return lastJoinMs; }
+    public void setLastJoinMs(Long lastJoinMs) { this.lastJoinMs = lastJoinMs; }
+
+    public Integer getLastFrameCount() { return lastFrameCount; }
+    public void setLastFrameCount(Integer lastFrameCount) { this.lastFrameCount = lastFrameCount; }
+
+    public Double getRssiAvg() { return rssiAvg; }
+    public void setRssiAvg(Double rssiAvg) { this.rssiAvg = rssiAvg; }
+
+    public Float getRssiMin() { return rssiMin; }
+    public void setRssiMin(Float rssiMin) { this.rssiMin = rssiMin; }
+
+    public Float getRssiMax() { return rssiMax; }
+    public void setRssiMax(Float rssiMax) { this.rssiMax = rssiMax; }
+
+    public Double getSnrAvg() { return snrAvg; }
+    public void setSnrAvg(Double snrAvg) { this.snrAvg = snrAvg; }
+
+    public Float getSnrMin() { return snrMin; }
+    public void setSnrMin(Float snrMin) { this.snrMin = snrMin; }
+
+    public Float getSnrMax() { return snrMax; }
+    public void setSnrMax(Float snrMax) { this.snrMax = snrMax; }
+
+    public StatisticsDto.SignalQualityStatsDto getSignalQuality() { return signalQuality; }
+    public void setSignalQuality(StatisticsDto.SignalQualityStatsDto signalQuality) { this.signalQuality = signalQuality; }
+
+    public boolean isActive() { return active; }
+    public void setActive(boolean active) { this.active = active; }
+}
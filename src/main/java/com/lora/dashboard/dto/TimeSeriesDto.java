@@ -0,0 +1,96 @@
+package com.lora.dashboard.dto;
+
+import java.util.List;
+
+/**
+ * 시계열 조회 응답 (시각은 epoch ms, 행이 없는 버킷은 points에서 생략)
+ */
+public class TimeSeriesDto {
+    private Long from;
+    private Long to;
+    private Long bucketMs;
+    private String resolution;
+    private List<PointDto> points;
+
+    public TimeSeriesDto() {}
+
+    public TimeSeriesDto(Long from, Long to, Long bucketMs, String resolution, List<PointDto> points) {
+        this.from = from;
+        this.to = to;
+        this.bucketMs = bucketMs;
+        this.resolution = resolution;
+        this.points = points;
+    }
+
+    // Getters and Setters
+    public Long getFrom() { return from; }
+    public void setFrom(Long from) { this.from = from; }
+
+    public Long getTo() { return to; }
+    public void setTo(Long to) { this.to = to; }
+
+    public Long getBucketMs() { return bucketMs; }
+    public void setBucketMs(Long bucketMs) { this.bucketMs = bucketMs; }
+
+    public String getResolution() { return resolution; }
+    public void setResolution(String resolution) { this.resolution = resolution; }
+
+    public List<PointDto> getPoints() { return points; }
+    public void setPoints(List<PointDto> points) { this.points = points; }
+
+    // 버킷 하나의 집계 (평균은 합계 / 샘플 수, 샘플이 없으면 null)
+    public static class PointDto {
+        private Long bucketStart;
+        private Long count;
+        private Long payloadBytes;
+        private Double rssiAvg;
+        private Double rssiMin;
+        private Double rssiMax;
+        private Double snrAvg;
+        private Double snrMin;
+        private Double snrMax;
+
+        public PointDto() {}
+
+        public PointDto(Long bucketStart, Long count, Long payloadBytes,
+                        Double rssiAvg, Double rssiMin, Double rssiMax,
+                        Double snrAvg, Double snrMin, Double snrMax) {
+            this.bucketStart = bucketStart;
+            this.count = count;
+            this.payloadBytes = payloadBytes;
+            this.rssiAvg = rssiAvg;
+            this.rssiMin = rssiMin;
+            this.rssiMax = rssiMax;
+            this.snrAvg = snrAvg;
+            this.snrMin = snrMin;
+            this.snrMax = snrMax;
+        }
+
+        public Long getBucketStart() { return bucketStart; }
+        public void setBucketStart(Long bucketStart) { this.bucketStart = bucketStart; }
+
+        public Long getCount() { return count; }
+        public void setCount(Long count) { this.count = count; }
+
+        public Long getPayloadBytes() { return payloadBytes; }
+        public void setPayloadBytes(Long payloadBytes) { this.payloadBytes = payloadBytes; }
+
+        public Double getRssiAvg() { return rssiAvg; }
+        public void setRssiAvg(Double rssiAvg) { this.rssiAvg = rssiAvg; }
+
+        public Double getRssiMin() { return rssiMin; }
+        public void setRssiMin(Double rssiMin) { this.rssiMin = rssiMin; }
+
+        public Double getRssiMax() { return rssiMax; }
+        public void setRssiMax(Double rssiMax) { this.rssiMax = rssiMax; }
+
+        public Double getSnrAvg() { return snrAvg; }
+        public void setSnrAvg(Double snrAvg) { this.snrAvg = snrAvg; }
+
+        public Double getSnrMin() { return snrMin; }
+        public void setSnrMin(Double snrMin) { this.snrMin = snrMin; }
+
+        public Double getSnrMax() { return snrMax; }
+        public void setSnrMax(Double snrMax) { this.snrMax = snrMax; }
+    }
+}
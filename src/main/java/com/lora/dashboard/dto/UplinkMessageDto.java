@@ -1,12 +1,14 @@
 package com.lora.dashboard.dto;
 
-import com.lora.dashboard.entity.SignalQuality;
 import com.lora.dashboard.entity.UplinkMessage;
+import com.lora.dashboard.util.SignalQualityClassifier;
+import com.lora.dashboard.util.TimestampUtils;
 
 
 public class UplinkMessageDto {
     private Long id;
     private String timestamp;
+    private Long timestampMs;
     private String applicationId;
     private String deviceId;
     private String devEui;
@@ -32,6 +34,9 @@ public class UplinkMessageDto {
     public UplinkMessageDto(UplinkMessage entity) {
         this.id = entity.getId();
         this.timestamp = entity.getTimestamp();
+        // 백필 전인 행은 문자열에서 계산
+        this.timestampMs = entity.getTimestampMs() != null
+                ? entity.getTimestampMs() : TimestampUtils.parseEpochMillis(entity.getTimestamp());
         this.applicationId = entity.getApplicationId();
         this.deviceId = entity.getDeviceId();
         this.devEui = entity.getDevEui();
@@ -51,22 +56,9 @@ public class UplinkMessageDto {
         this.rawTopic = entity.getRawTopic();
         this.createdAt = entity.getCreatedAt();
         
-        // 신호 품질 계산
-        if (entity.getRssi() != null && entity.getSnr() != null) {
-            Float rssi = entity.getRssi();
-            Float snr = entity.getSnr();
-            if (rssi > -70 && snr > 10) {
-                this.signalQuality = SignalQuality.EXCELLENT.name();
-            } else if (rssi > -85 && snr > 5) {
-                this.signalQuality = SignalQuality.GOOD.name();
-            } else if (rssi > -100 && snr > 0) {
-                this.signalQuality = SignalQuality.FAIR.name();
-            } else {
-                this.signalQuality = SignalQuality.POOR.name();
-            }
-        } else {
-            this.signalQuality = SignalQuality.POOR.name();
-        }
+        // 저장된 신호 품질 코드 사용 (백필 전인 행만 분류)
+        this.signalQuality = SignalQualityClassifier.resolve(
+                entity.getSignalQualityCode(), entity.getRssi(), entity.getSnr()).name();
     }
 
     // Getters and Setters
@@ -76,6 +68,9 @@ public class UplinkMessageDto {
     public String getTimestamp() { return timestamp; }
     public void setTimestamp(String timestamp) { this.timestamp = timestamp; }
 
+    public Long getTimestampMs() { return timestampMs; }
+    public void setTimestampMs(Long timestampMs) { this.timestampMs = timestampMs; }
+
     public String getApplicationId() { return applicationId; }
     public void setApplicationId(String applicationId) { this.applicationId = applicationId; }
 
@@ -0,0 +1,253 @@
+package com.lora.dashboard.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * 디바이스 레지스트리 항목 (업링크/JOIN 이벤트로 증분 갱신되는 디바이스별 요약)
+ */
+@Entity
+@Table(name = "dashboard_devices")
+public class DeviceSummary {
+    // 디바이스 ID
+    @Id
+    @Column(name = "device_id")
+    private String deviceId;
+    @Column(name = "dev_eui")
+    private String devEui;
+    @Column(name = "application_id")
+    private String applicationId;
+
+    // 처음/마지막 수신 시각 (epoch ms, 업링크와 JOIN 모두 포함)
+    @Column(name = "first_seen_ms")
+    private Long firstSeenMs;
+    @Column(name = "last_seen_ms")
+    private Long lastSeenMs;
+
+    // 업링크 수
+    @Column(name = "message_count", nullable = false)
+    private Long messageCount = 0L;
+
+    // JOIN 이벤트 수
+    @Column(name = "join_count", nullable = false)
+    private Long joinCount = 0L;
+    @Column(name = "last_join_ms")
+    private Long lastJoinMs;
+
+    // 마지막으로 반영한 업링크 id와 그 프레임 카운터
+    @Column(name = "last_message_id")
+    private Long lastMessageId;
+    @Column(name = "last_frame_count")
+    private Integer lastFrameCount;
+
+    // RSSI/SNR 누적값 (평균 = 합계 / 샘플 수)
+    @Column(name = "rssi_samples", nullable = false)
+    private Long rssiSamples = 0L;
+    @Column(name = "rssi_sum", nullable = false)
+    private Double rssiSum = 0.0;
+    @Column(name = "rssi_min")
+    private Float rssiMin;
+    @Column(name = "rssi_max")
+    private Float rssiMax;
+    @Column(name = "snr_samples", nullable = false)
+    private Long snrSamples = 0L;
+    @Column(name = "snr_sum", nullable = false)
+    private Double snrSum = 0.0;
+    @Column(name = "snr_min")
+    private Float snrMin;
+    @Column(name = "snr_max")
+    private Float snrMax;
+
+    // SignalQuality 구간별 업링크 수 (이 컬럼이 없던 때 저장된 행은 null이며 레지스트리가 다시 구성)
+    @Column(name = "excellent_count")
+    private Long excellentCount = 0L;
+    @Column(name = "good_count")
+    private Long goodCount = 0L;
+    @Column(name = "fair_count")
+    private Long fairCount = 0L;
+    @Column(name = "poor_count")
+    private Long poorCount = 0L;
+
+    // Default constructor
+    public DeviceSummary() {}
+
+    public DeviceSummary(String deviceId) {
+        this.deviceId = deviceId;
+    }
+
+    // Getters and Setters
+    public String getDeviceId() {
+        return deviceId;
+    }
+
+    public void setDeviceId(String deviceId) {
+        this.deviceId = deviceId;
+    }
+
+    public String getDevEui() {
+        return devEui;
+    }
+
+    public void setDevEui(String devEui) {
+        this.devEui = devEui;
+    }
+
+    public String getApplicationId() {
+        return applicationId;
+    }
+
+    public void setApplicationId(String applicationId) {
+        this.applicationId = applicationId;
+    }
+
+    public Long getFirstSeenMs() {
+        return firstSeenMs;
+    }
+
+    public void setFirstSeenMs(Long firstSeenMs) {
+        this.firstSeenMs = firstSeenMs;
+    }
+
+    public Long getLastSeenMs() {
+        return lastSeenMs;
+    }
+
+    public void setLastSeenMs(Long lastSeenMs) {
+        this.lastSeenMs = lastSeenMs;
+    }
+
+    public Long getMessageCount() {
+        return messageCount;
+    }
+
+    public void setMessageCount(Long messageCount) {
+        this.messageCount = messageCount;
+    }
+
+    public Long getJoinCount() {
+        return joinCount;
+    }
+
+    public void setJoinCount(Long joinCount) {
+        this.joinCount = joinCount;
+    }
+
+    public Long getLastJoinMs() {
+        return lastJoinMs;
+    }
+
+    public void setLastJoinMs(Long lastJoinMs) {
+        this.lastJoinMs = lastJoinMs;
+    }
+
+    public Long getLastMessageId() {
+        return lastMessageId;
+    }
+
+    public void setLastMessageId(Long lastMessageId) {
+        this.lastMessageId = lastMessageId;
+    }
+
+    public Integer getLastFrameCount() {
+        return lastFrameCount;
+    }
+
+    public void setLastFrameCount(Integer lastFrameCount) {
+        this.lastFrameCount = lastFrameCount;
+    }
+
+    public Long getRssiSamples() {
+        return rssiSamples;
+    }
+
+    public void setRssiSamples(Long rssiSamples) {
+        this.rssiSamples = rssiSamples;
+    }
+
+    public Double getRssiSum() {
+        return rssiSum;
+    }
+
+    public void setRssiSum(Double rssiSum) {
+        this.rssiSum = rssiSum;
+    }
+
+    public Float getRssiMin() {
+        return rssiMin;
+    }
+
+    public void setRssiMin(Float rssiMin) {
+        this.rssiMin = rssiMin;
+    }
+
+    public Float getRssiMax() {
+        return rssiMax;
+    }
+
+    public void setRssiMax(Float rssiMax) {
+        this.rssiMax = rssiMax;
+    }
+
+    public Long getSnrSamples() {
+        return snrSamples;
+    }
+
+    public void setSnrSamples(Long snrSamples) {
+        this.snrSamples = snrSamples;
+    }
+
+    public Double getSnrSum() {
+        return snrSum;
+    }
+
+    public void setSnrSum(Double snrSum) {
+        this.snrSum = snrSum;
+    }
+
+    public Float getSnrMin() {
+        return snrMin;
+    }
+
+    public void setSnrMin(Float snrMin) {
+        this.snrMin = snrMin;
+    }
+
+    public Float getSnrMax() {
+        return snrMax;
+    }
+
+    public void setSnrMax(Float snrMax) {
+        this.snrMax = snrMax;
+    }
+
+    public Long getExcellentCount() {
+        return excellentCount;
+    }
+
+    public void setExcellentCount(Long excellentCount) {
+        this.excellentCount = excellentCount;
+    }
+
+    public Long getGoodCount() {
+        return goodCount;
+    }
+
+    public void setGoodCount(Long goodCount) {
+        this.goodCount = goodCount;
+    }
+
+    public Long getFairCount() {
+        return fairCount;
+    }
+
+    public void setFairCount(Long fairCount) {
+        this.fairCount = fairCount;
+    }
+
+    public Long getPoorCount() {
+        return poorCount;
+    }
+
+    public void setPoorCount(Long poorCount) {
+        this.poorCount = poorCount;
+    }
+}
@@ -0,0 +1,54 @@
+package com.lora.dashboard.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * 테이블별로 마지막으로 처리한 id를 저장하는 워터마크
+ */
+@Entity
+@Table(name = "dashboard_watermarks")
+public class IngestWatermark {
+    @Id
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "last_id", nullable = false)
+    private Long lastId = 0L;
+
+    @Column(name = "updated_at")
+    private Long updatedAt;
+
+    // Default constructor
+    public IngestWatermark() {}
+
+    public IngestWatermark(String name, Long lastId) {
+        this.name = name;
+        this.lastId = lastId;
+        this.updatedAt = System.currentTimeMillis();
+    }
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+
+    public void setLastId(Long lastId) {
+        this.lastId = lastId;
+    }
+
+    public Long getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Long updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -1,5 +1,8 @@
 package com.lora.dashboard.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.lora.dashboard.util.SignalQualityClassifier;
+import com.lora.dashboard.util.TimestampUtils;
 import jakarta.persistence.*;
 
 @Entity
@@ -12,6 +15,15 @@ public class JoinEvent {
     @Column(name = "timestamp", nullable = false)
     private String timestamp;
     
+    // timestamp의 epoch millisecond 값 (범위 조건/정렬용, Gateway Logger가 넣은 행은 백필로 채움)
+    @Column(name = "timestamp_ms")
+    private Long timestampMs;
+    
+    // rssi/snr의 SignalQuality 코드 (목록 응답에서 다시 분류하지 않도록 저장, Gateway Logger가 넣은 행은 백필로 채움)
+    @JsonIgnore
+    @Column(name = "signal_quality")
+    private Integer signalQualityCode;
+    
     @Column(name = "application_id", nullable = false)
     private String applicationId;
     
@@ -74,6 +86,22 @@ public class JoinEvent {
         this.timestamp = timestamp;
     }
 
+    public Long getTimestampMs() {
+        return timestampMs;
+    }
+
+    public void setTimestampMs(Long timestampMs) {
+        this.timestampMs = timestampMs;
+    }
+
+    public Integer getSignalQualityCode() {
+        return signalQualityCode;
+    }
+
+    public void setSignalQualityCode(Integer signalQualityCode) {
+        this.signalQualityCode = signalQualityCode;
+    }
+
     public String getApplicationId() {
         return applicationId;
     }
@@ -186,6 +214,12 @@ public class JoinEvent {
         this.createdAt = createdAt;
     }
 
+    @PrePersist
+    @PreUpdate
+    void syncDerivedColumns() {
+        this.timestampMs = TimestampUtils.parseEpochMillis(timestamp);
+        this.signalQualityCode = SignalQualityClassifier.classify(rssi, snr).getCode();
+    }
 
     @Override
     public String toString() {
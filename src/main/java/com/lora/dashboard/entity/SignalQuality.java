@@ -1,23 +1,44 @@
 package com.lora.dashboard.entity;
 
+/**
+ * 신호 품질 구간 (code는 signal_quality 컬럼에 저장되는 값, 구간 기준은 SignalQualityClassifier)
+ */
 public enum SignalQuality {
-    EXCELLENT("매우 좋음"),
-    GOOD("좋음"),
-    FAIR("보통"),
-    POOR("나쁨");
+    EXCELLENT(0, "매우 좋음"),
+    GOOD(1, "좋음"),
+    FAIR(2, "보통"),
+    POOR(3, "나쁨");
 
+    private static final SignalQuality[] BY_CODE = values();
+
+    private final int code;
     private final String description;
 
-    SignalQuality(String description) {
+    SignalQuality(int code, String description) {
+        this.code = code;
         this.description = description;
     }
 
+    public int getCode() {
+        return code;
+    }
+
     public String getDescription() {
         return description;
     }
 
+    /**
+     * 저장된 코드로 조회 (범위 밖이면 null)
+     */
+    public static SignalQuality fromCode(Integer code) {
+        if (code == null || code < 0 || code >= BY_CODE.length) {
+            return null;
+        }
+        return BY_CODE[code];
+    }
+
     @Override
     public String toString() {
         return description;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,54 @@
+package com.lora.dashboard.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * 통계 엔진의 분 단위 카운터 (재시작시 복원용)
+ */
+@Entity
+@Table(name = "dashboard_stat_buckets")
+public class StatisticsBucket {
+    @Id
+    @Column(name = "bucket_start")
+    private Long bucketStart;
+
+    @Column(name = "uplink_count", nullable = false)
+    private Long uplinkCount = 0L;
+
+    @Column(name = "join_count", nullable = false)
+    private Long joinCount = 0L;
+
+    // Default constructor
+    public StatisticsBucket() {}
+
+    public StatisticsBucket(Long bucketStart, Long uplinkCount, Long joinCount) {
+        this.bucketStart = bucketStart;
+        this.uplinkCount = uplinkCount;
+        this.joinCount = joinCount;
+    }
+
+    // Getters and Setters
+    public Long getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(Long bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public Long getUplinkCount() {
+        return uplinkCount;
+    }
+
+    public void setUplinkCount(Long uplinkCount) {
+        this.uplinkCount = uplinkCount;
+    }
+
+    public Long getJoinCount() {
+        return joinCount;
+    }
+
+    public void setJoinCount(Long joinCount) {
+        this.joinCount = joinCount;
+    }
+}
@@ -0,0 +1,27 @@
+package com.lora.dashboard.event;
+
+import com.lora.dashboard.entity.UplinkMessage;
+
+import java.util.List;
+
+/**
+ * MessageTailer가 새로 감지한 uplink 행 (id 오름차순)
+ * previousWatermark는 이 배치 직전까지 처리된 id로, 구독자는 자신의 워터마크와 비교해 누락 여부를 판단한다.
+ */
+public class UplinkMessagesReceivedEvent {
+    private final long previousWatermark;
+    private final List<UplinkMessage> messages;
+
+    public UplinkMessagesReceivedEvent(long previousWatermark, List<UplinkMessage> messages) {
+        this.previousWatermark = previousWatermark;
+        this.messages = messages;
+    }
+
+    public long getPreviousWatermark() {
+        return previousWatermark;
+    }
+
+    public List<UplinkMessage> getMessages() {
+        return messages;
+    }
+}
@@ -0,0 +1,64 @@
+package com.lora.dashboard.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 리포지토리 쿼리 시간 (dashboard.repository.query, tag: repository, query=메서드 이름, exception)
+ * JdbcTemplate 리포지토리 클래스와 Spring Data JPA 리포지토리 인터페이스를 같은 이름으로 측정한다.
+ * (Spring Data 프록시에는 @Timed를 붙일 수 없고, Boot의 spring.data.repository 측정은 JdbcTemplate 쪽을 보지 못함)
+ * 스트리밍 메서드는 콜백 처리까지 포함한 전체 시간이다.
+ */
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+    public static final String METRIC_NAME = "dashboard.repository.query";
+
+    private static final String REPOSITORY_PACKAGE = "com.lora.dashboard.repository";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // 대상 클래스 -> 리포지토리 이름 (JPA 리포지토리는 프록시 클래스라 인터페이스 이름을 찾아 둠)
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("within(com.lora.dashboard.repository..*) || target(org.springframework.data.repository.Repository)")
+    public Object timeQuery(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .description("리포지토리 쿼리 시간")
+                    .tag("repository", repositoryName(joinPoint.getTarget()))
+                    .tag("query", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private String repositoryName(Object target) {
+        return repositoryNames.computeIfAbsent(target.getClass(), targetClass -> {
+            for (Class<?> type : targetClass.getInterfaces()) {
+                if (type.getName().startsWith(REPOSITORY_PACKAGE)) {
+                    return type.getSimpleName();
+                }
+            }
+            return AopUtils.getTargetClass(target).getSimpleName();
+        });
+    }
+}
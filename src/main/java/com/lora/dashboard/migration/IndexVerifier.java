@@ -0,0 +1,91 @@
+package com.lora.dashboard.migration;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 조회 경로에 필요한 인덱스가 실제 DB에 있는지 시작시 확인
+ * 이름이 달라도 선두 컬럼이 같은 인덱스가 있으면 존재하는 것으로 본다.
+ */
+@Component
+@DependsOn("schemaMigrator")
+public class IndexVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(IndexVerifier.class);
+
+    // 테이블, 인덱스명, 컬럼 목록
+    private static final List<RequiredIndex> REQUIRED_INDEXES = List.of(
+            new RequiredIndex("uplink_messages", "idx_uplink_messages_timestamp_ms", List.of("timestamp_ms")),
+            new RequiredIndex("uplink_messages", "idx_uplink_messages_device_ts", List.of("device_id", "timestamp_ms")),
+            new RequiredIndex("uplink_messages", "idx_uplink_messages_application_ts", List.of("application_id", "timestamp_ms")),
+            new RequiredIndex("uplink_messages", "idx_uplink_messages_dev_eui_ts", List.of("dev_eui", "timestamp_ms")),
+            new RequiredIndex("join_events", "idx_join_events_timestamp_ms", List.of("timestamp_ms")),
+            new RequiredIndex("join_events", "idx_join_events_device_ts", List.of("device_id", "timestamp_ms")),
+            new RequiredIndex("join_events", "idx_join_events_application_ts", List.of("application_id", "timestamp_ms")),
+            new RequiredIndex("join_events", "idx_join_events_dev_eui_ts", List.of("dev_eui", "timestamp_ms"))
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private volatile List<String> missingIndexes = Collections.emptyList();
+
+    @PostConstruct
+    public void verify() {
+        List<String> missing = new ArrayList<>();
+        for (RequiredIndex required : REQUIRED_INDEXES) {
+            if (!hasIndex(required)) {
+                missing.add(required.table + "." + required.name + required.columns);
+            }
+        }
+        missingIndexes = Collections.unmodifiableList(missing);
+
+        if (missing.isEmpty()) {
+            logger.info("필수 인덱스 확인 완료: {}개", REQUIRED_INDEXES.size());
+        } else {
+            logger.warn("누락된 인덱스 {}개 - 해당 조회는 전체 스캔/정렬로 실행됨: {}", missing.size(), missing);
+        }
+    }
+
+    /**
+     * 마지막 확인 결과 중 누락된 인덱스 목록
+     */
+    public List<String> getMissingIndexes() {
+        return missingIndexes;
+    }
+
+    private boolean hasIndex(RequiredIndex required) {
+        List<String> indexNames = jdbcTemplate.query("SELECT name FROM pragma_index_list(?)",
+                (rs, rowNum) -> rs.getString(1), required.table);
+        for (String indexName : indexNames) {
+            List<String> columns = jdbcTemplate.query("SELECT name FROM pragma_index_info(?) ORDER BY seqno",
+                    (rs, rowNum) -> rs.getString(1), indexName);
+            if (columns.size() >= required.columns.size()
+                    && columns.subList(0, required.columns.size()).equals(required.columns)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class RequiredIndex {
+        private final String table;
+        private final String name;
+        private final List<String> columns;
+
+        private RequiredIndex(String table, String name, List<String> columns) {
+            this.table = table;
+            this.name = name;
+            this.columns = columns;
+        }
+    }
+}
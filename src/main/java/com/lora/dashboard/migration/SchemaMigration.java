@@ -0,0 +1,84 @@
+package com.lora.dashboard.migration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+/**
+ * 버전이 붙은 마이그레이션 스크립트 (파일명 규칙: V{버전}__{설명}.sql)
+ */
+public class SchemaMigration implements Comparable<SchemaMigration> {
+
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+    private final int version;
+    private final String description;
+    private final String script;
+    private final String checksum;
+
+    public SchemaMigration(int version, String description, String script) {
+        this.version = version;
+        this.description = description;
+        this.script = script.replace("\r\n", "\n");
+        this.checksum = checksumOf(this.script);
+    }
+
+    /**
+     * 파일명과 내용으로 마이그레이션 생성 (규칙에 맞지 않으면 IllegalArgumentException)
+     */
+    public static SchemaMigration fromFile(String fileName, String script) {
+        Matcher matcher = FILE_NAME.matcher(fileName);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("마이그레이션 파일명 규칙 위반: " + fileName);
+        }
+        return new SchemaMigration(Integer.parseInt(matcher.group(1)),
+                matcher.group(2).replace('_', ' '), script);
+    }
+
+    /**
+     * 주석을 제거하고 ';' 기준으로 분리한 SQL 문 목록
+     */
+    public List<String> statements() {
+        StringBuilder sql = new StringBuilder();
+        for (String line : script.split("\n")) {
+            String trimmed = line.trim();
+            if (!trimmed.startsWith("--")) {
+                sql.append(line).append('\n');
+            }
+        }
+
+        List<String> statements = new ArrayList<>();
+        for (String statement : sql.toString().split(";")) {
+            if (!statement.isBlank()) {
+                statements.add(statement.trim());
+            }
+        }
+        return statements;
+    }
+
+    private static String checksumOf(String script) {
+        CRC32 crc = new CRC32();
+        crc.update(script.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getChecksum() {
+        return checksum;
+    }
+
+    @Override
+    public int compareTo(SchemaMigration other) {
+        return Integer.compare(version, other.version);
+    }
+}
@@ -0,0 +1,183 @@
+package com.lora.dashboard.migration;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 버전 관리 스키마 마이그레이션
+ * Hibernate(ddl-auto: update)가 테이블/컬럼을 맞춘 뒤 실행되며,
+ * 적용 이력과 체크섬은 schema_migrations 테이블에 기록한다.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class SchemaMigrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${dashboard.migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${dashboard.migration.locations:classpath:db/migration/V*__*.sql}")
+    private String locations;
+
+    @Value("${dashboard.migration.fail-on-checksum-mismatch:true}")
+    private boolean failOnChecksumMismatch;
+
+    private final List<AppliedMigration> appliedMigrations = new ArrayList<>();
+
+    @PostConstruct
+    public void migrate() throws IOException {
+        if (!enabled) {
+            logger.info("스키마 마이그레이션 비활성화됨");
+            return;
+        }
+
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS schema_migrations (" +
+                "version INTEGER PRIMARY KEY, " +
+                "description TEXT NOT NULL, " +
+                "checksum TEXT NOT NULL, " +
+                "applied_at INTEGER NOT NULL, " +
+                "execution_ms INTEGER NOT NULL)");
+
+        Map<Integer, AppliedMigration> applied = new HashMap<>();
+        jdbcTemplate.query("SELECT version, description, checksum, applied_at, execution_ms FROM schema_migrations",
+                rs -> {
+                    applied.put(rs.getInt(1), new AppliedMigration(rs.getInt(1), rs.getString(2),
+                            rs.getString(3), rs.getLong(4), rs.getLong(5)));
+                });
+
+        int appliedNow = 0;
+        for (SchemaMigration migration : loadMigrations()) {
+            AppliedMigration record = applied.get(migration.getVersion());
+            if (record != null) {
+                verifyChecksum(migration, record);
+                continue;
+            }
+            applied.put(migration.getVersion(), apply(migration));
+            appliedNow++;
+        }
+
+        synchronized (appliedMigrations) {
+            appliedMigrations.clear();
+            applied.values().stream().sorted().forEach(appliedMigrations::add);
+        }
+        logger.info("스키마 마이그레이션 완료: 신규 {}개, 전체 {}개", appliedNow, applied.size());
+    }
+
+    /**
+     * 적용된 마이그레이션 이력 (버전순)
+     */
+    public List<AppliedMigration> getAppliedMigrations() {
+        synchronized (appliedMigrations) {
+            return Collections.unmodifiableList(new ArrayList<>(appliedMigrations));
+        }
+    }
+
+    List<SchemaMigration> loadMigrations() throws IOException {
+        List<SchemaMigration> migrations = new ArrayList<>();
+        Map<Integer, String> seenVersions = new HashMap<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(locations)) {
+            String fileName = resource.getFilename();
+            SchemaMigration migration = SchemaMigration.fromFile(fileName,
+                    resource.getContentAsString(StandardCharsets.UTF_8));
+            String duplicate = seenVersions.put(migration.getVersion(), fileName);
+            if (duplicate != null) {
+                throw new IllegalStateException("중복된 마이그레이션 버전: " + duplicate + ", " + fileName);
+            }
+            migrations.add(migration);
+        }
+        Collections.sort(migrations);
+        return migrations;
+    }
+
+    // 스크립트 전체를 한 트랜잭션으로 실행하고 이력 기록
+    private AppliedMigration apply(SchemaMigration migration) {
+        long startedAt = System.currentTimeMillis();
+        logger.info("마이그레이션 적용 중: V{} {}", migration.getVersion(), migration.getDescription());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (String statement : migration.statements()) {
+                jdbcTemplate.execute(statement);
+            }
+            jdbcTemplate.update("INSERT INTO schema_migrations (version, description, checksum, applied_at, execution_ms) " +
+                            "VALUES (?, ?, ?, ?, ?)",
+                    migration.getVersion(), migration.getDescription(), migration.getChecksum(), startedAt,
+                    System.currentTimeMillis() - startedAt);
+        });
+
+        long executionMs = System.currentTimeMillis() - startedAt;
+        logger.info("마이그레이션 적용 완료: V{} ({}ms)", migration.getVersion(), executionMs);
+        return new AppliedMigration(migration.getVersion(), migration.getDescription(),
+                migration.getChecksum(), startedAt, executionMs);
+    }
+
+    private void verifyChecksum(SchemaMigration migration, AppliedMigration record) {
+        if (record.getChecksum().equals(migration.getChecksum())) {
+            return;
+        }
+        String message = String.format("이미 적용된 마이그레이션 V%d의 내용이 변경됨 (기록: %s, 현재: %s)",
+                migration.getVersion(), record.getChecksum(), migration.getChecksum());
+        if (failOnChecksumMismatch) {
+            throw new IllegalStateException(message);
+        }
+        logger.warn(message);
+    }
+
+    /**
+     * schema_migrations 테이블의 한 행
+     */
+    public static class AppliedMigration implements Comparable<AppliedMigration> {
+        private final int version;
+        private final String description;
+        private final String checksum;
+        private final long appliedAt;
+        private final long executionMs;
+
+        public AppliedMigration(int version, String description, String checksum, long appliedAt, long executionMs) {
+            this.version = version;
+            this.description = description;
+            this.checksum = checksum;
+            this.appliedAt = appliedAt;
+            this.executionMs = executionMs;
+        }
+
+        public int getVersion() { return version; }
+
+        public String getDescription() { return description; }
+
+        public String getChecksum() { return checksum; }
+
+        public long getAppliedAt() { return appliedAt; }
+
+        public long getExecutionMs() { return executionMs; }
+
+        @Override
+        public int compareTo(AppliedMigration other) {
+            return Integer.compare(version, other.version);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.lora.dashboard.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 봉인된 콜드 세그먼트 목록 (V5 마이그레이션)
+ */
+@Repository
+public class ColdSegmentRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 전체 세그먼트 (오래된 순)
+     */
+    public List<ColdSegment> findAll() {
+        return jdbcTemplate.query("SELECT month, file_name, from_ms, to_ms, max_id, row_count, block_count, " +
+                        "file_bytes, sealed_at FROM dashboard_cold_segments ORDER BY from_ms",
+                (rs, rowNum) -> new ColdSegment(rs.getString("month"), rs.getString("file_name"),
+                        rs.getLong("from_ms"), rs.getLong("to_ms"), rs.getLong("max_id"), rs.getLong("row_count"),
+                        rs.getInt("block_count"), rs.getLong("file_bytes"), rs.getLong("sealed_at")));
+    }
+
+    public void insert(ColdSegment segment) {
+        jdbcTemplate.update("INSERT OR REPLACE INTO dashboard_cold_segments (month, file_name, from_ms, to_ms, max_id, " +
+                        "row_count, block_count, file_bytes, sealed_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                segment.month, segment.fileName, segment.fromMs, segment.toMs, segment.maxId, segment.rowCount,
+                segment.blockCount, segment.fileBytes, segment.sealedAt);
+    }
+
+    /**
+     * 세그먼트 한 행 - [fromMs, toMs) 구간에서 id가 maxId 이하인 업링크를 담음
+     */
+    public static class ColdSegment {
+        private final String month;
+        private final String fileName;
+        private final long fromMs;
+        private final long toMs;
+        private final long maxId;
+        private final long rowCount;
+        private final int blockCount;
+        private final long fileBytes;
+        private final long sealedAt;
+
+        public ColdSegment(String month, String fileName, long fromMs, long toMs, long maxId, long rowCount,
+                           int blockCount, long fileBytes, long sealedAt) {
+            this.month = month;
+            this.fileName = fileName;
+            this.fromMs = fromMs;
+            this.toMs = toMs;
+            this.maxId = maxId;
+            this.rowCount = rowCount;
+            this.blockCount = blockCount;
+            this.fileBytes = fileBytes;
+            this.sealedAt = sealedAt;
+        }
+
+        public String getMonth() { return month; }
+
+        public String getFileName() { return fileName; }
+
+        public long getFromMs() { return fromMs; }
+
+        public long getToMs() { return toMs; }
+
+        public long getMaxId() { return maxId; }
+
+        public long getRowCount() { return rowCount; }
+
+        public int getBlockCount() { return blockCount; }
+
+        public long getFileBytes() { return fileBytes; }
+
+        public long getSealedAt() { return sealedAt; }
+    }
+}
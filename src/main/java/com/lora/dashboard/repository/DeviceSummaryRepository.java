@@ -0,0 +1,9 @@
+package com.lora.dashboard.repository;
+
+import com.lora.dashboard.entity.DeviceSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DeviceSummaryRepository extends JpaRepository<DeviceSummary, String> {
+}
@@ -0,0 +1,62 @@
+package com.lora.dashboard.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 원본 행 내보내기용 전진 전용 커서 조회
+ * 결과를 목록으로 모으지 않고 ResultSetExtractor가 한 행씩 소비하므로 행 수와 관계없이 힙 사용량이 일정하다.
+ * 업링크/JOIN 이벤트 테이블에 같은 쿼리를 쓰므로 테이블명을 받아 JdbcTemplate으로 실행한다.
+ */
+@Repository
+public class ExportRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 조건에 맞는 행 전체 컬럼을 extractor에 전달
+     * 시각/디바이스/애플리케이션 조건이 있으면 (timestamp_ms, id) 순으로 해당 timestamp_ms 인덱스를,
+     * id 구간만 있으면 id 순으로 기본키를 따라 읽어 정렬용 임시 B-tree가 생기지 않는다.
+     * fromMs/toMs는 [fromMs, toMs), afterId/toId는 (afterId, toId] 구간이며 null이면 제한 없음
+     */
+    public <T> T stream(String table, Long fromMs, Long toMs, Long afterId, Long toId,
+                        String deviceId, String applicationId, int fetchSize, ResultSetExtractor<T> extractor) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        addCondition(conditions, args, "device_id = ?", deviceId);
+        addCondition(conditions, args, "application_id = ?", applicationId);
+        addCondition(conditions, args, "timestamp_ms >= ?", fromMs);
+        addCondition(conditions, args, "timestamp_ms < ?", toMs);
+        addCondition(conditions, args, "id > ?", afterId);
+        addCondition(conditions, args, "id <= ?", toId);
+        boolean timeOrdered = fromMs != null || toMs != null || deviceId != null || applicationId != null;
+
+        String sql = "SELECT * FROM " + table +
+                (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions)) +
+                (timeOrdered ? " ORDER BY timestamp_ms, id" : " ORDER BY id");
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            return statement;
+        }, extractor);
+    }
+
+    private static void addCondition(List<String> conditions, List<Object> args, String condition, Object value) {
+        if (value != null) {
+            conditions.add(condition);
+            args.add(value);
+        }
+    }
+}
@@ -1,37 +1,133 @@
 package com.lora.dashboard.repository;
 
 import com.lora.dashboard.entity.JoinEvent;
+import com.lora.dashboard.repository.projection.DeviceCountView;
+import com.lora.dashboard.repository.projection.DeviceJoinAggregateView;
+import com.lora.dashboard.repository.projection.DeviceLastRowView;
+import com.lora.dashboard.repository.projection.HourlyCountView;
+import com.lora.dashboard.util.SignalQualityClassifier;
+import com.lora.dashboard.util.TimestampUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+// 조회 메서드는 읽기 전용 트랜잭션으로 실행되어 읽기 풀을 사용 (@Modifying 메서드는 메서드 단위 @Transactional)
 @Repository
+@Transactional(readOnly = true)
 public interface JoinEventRepository extends JpaRepository<JoinEvent, Long> {
     
     // 디바이스별 JOIN 이벤트 조회
-    Page<JoinEvent> findByDeviceIdOrderByTimestampDesc(String deviceId, Pageable pageable);
+    Page<JoinEvent> findByDeviceIdOrderByTimestampMsDescIdDesc(String deviceId, Pageable pageable);
     
     // 애플리케이션별 JOIN 이벤트 조회  
-    Page<JoinEvent> findByApplicationIdOrderByTimestampDesc(String applicationId, Pageable pageable);
+    Page<JoinEvent> findByApplicationIdOrderByTimestampMsDescIdDesc(String applicationId, Pageable pageable);
     
     // 최근 JOIN 이벤트 조회
-    Page<JoinEvent> findAllByOrderByTimestampDesc(Pageable pageable);
+    Page<JoinEvent> findAllByOrderByTimestampMsDescIdDesc(Pageable pageable);
     
     
     // DevEUI별 JOIN 이벤트 조회
-    List<JoinEvent> findByDevEuiOrderByTimestampDesc(String devEui);
+    List<JoinEvent> findByDevEuiOrderByTimestampMsDescIdDesc(String devEui);
     
     
     
     // 특정 디바이스의 최근 JOIN 이벤트
-    JoinEvent findFirstByDeviceIdOrderByTimestampDesc(String deviceId);
+    JoinEvent findFirstByDeviceIdOrderByTimestampMsDescIdDesc(String deviceId);
     
     // 모든 애플리케이션 ID 목록
     @Query("SELECT DISTINCT j.applicationId FROM JoinEvent j ORDER BY j.applicationId")
     List<String> findDistinctApplicationIds();
-}
\ No newline at end of file
+    
+    // 디바이스별 JOIN 이벤트 수 (단일 GROUP BY 쿼리)
+    @Query("SELECT j.deviceId AS deviceId, COUNT(j) AS count FROM JoinEvent j " +
+           "GROUP BY j.deviceId ORDER BY COUNT(j) DESC")
+    List<DeviceCountView> countGroupByDeviceId();
+    
+    // 워터마크 이하 디바이스별 JOIN 이벤트 집계 (디바이스 레지스트리 재구성용)
+    @Query(value = "SELECT device_id AS deviceId, COUNT(*) AS count, MIN(ts) AS firstSeenMs, MAX(ts) AS lastSeenMs " +
+                   "FROM (SELECT device_id, COALESCE(timestamp_ms, " +
+                   TimestampUtils.SQL_EPOCH_MILLIS_EXPRESSION + ") AS ts " +
+                   "FROM join_events WHERE id <= :maxId AND device_id IS NOT NULL) GROUP BY device_id",
+           nativeQuery = true)
+    List<DeviceJoinAggregateView> aggregateByDeviceIdUpTo(@Param("maxId") Long maxId);
+    
+    // 워터마크 이하 디바이스별 마지막 JOIN 이벤트 (id 기준, frameCount는 항상 null)
+    @Query(value = "SELECT id AS id, device_id AS deviceId, dev_eui AS devEui, application_id AS applicationId, " +
+                   "NULL AS frameCount FROM join_events WHERE id IN (" +
+                   "SELECT MAX(id) FROM join_events WHERE id <= :maxId AND device_id IS NOT NULL GROUP BY device_id)",
+           nativeQuery = true)
+    List<DeviceLastRowView> findLastRowPerDeviceUpTo(@Param("maxId") Long maxId);
+    
+    // 시간대별 JOIN 이벤트 수 (KST 시간 버킷, timestamp_ms 범위 조건)
+    @Query(value = "SELECT strftime('%Y-%m-%d %H:00', timestamp_ms / 1000, 'unixepoch', '+9 hours') AS hour, " +
+                   "COUNT(*) AS count FROM join_events WHERE timestamp_ms >= :sinceMs " +
+                   "GROUP BY hour ORDER BY hour", nativeQuery = true)
+    List<HourlyCountView> countGroupByHourSince(@Param("sinceMs") Long sinceMs);
+    
+    // 워터마크 이후의 새 행 (기본키 범위 조회, 실시간 tailer용)
+    List<JoinEvent> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
+    // 최대 id (워터마크 기준점)
+    @Query("SELECT MAX(j.id) FROM JoinEvent j")
+    Long findMaxId();
+    
+    // 워터마크 이하 JOIN 이벤트 수
+    Long countByIdLessThanEqual(Long id);
+    
+    // 워터마크 이후의 (id, timestamp, timestampMs) 조회 - 통계 엔진 증분 처리용
+    @Query("SELECT j.id, j.timestamp, j.timestampMs FROM JoinEvent j WHERE j.id > :afterId ORDER BY j.id ASC")
+    List<Object[]> findIdAndTimestampAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // 특정 id 이전의 (id, timestamp, timestampMs) 역순 조회 - 통계 엔진 초기 적재용
+    @Query("SELECT j.id, j.timestamp, j.timestampMs FROM JoinEvent j WHERE j.id < :beforeId ORDER BY j.id DESC")
+    List<Object[]> findIdAndTimestampBefore(@Param("beforeId") Long beforeId, Pageable pageable);
+    
+    // 시간 범위 조회 (timestamp_ms 인덱스 범위 스캔)
+    List<JoinEvent> findByTimestampMsBetweenOrderByTimestampMsAscIdAsc(Long fromMs, Long toMs, Pageable pageable);
+    
+    // timestamp_ms 백필 - (afterId, toId] 구간에서 비어있는 값만 채움 (재실행해도 안전)
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE join_events SET timestamp_ms = " +
+                   TimestampUtils.SQL_EPOCH_MILLIS_EXPRESSION + " " +
+                   "WHERE id > :afterId AND id <= :toId AND timestamp_ms IS NULL", nativeQuery = true)
+    int backfillTimestampMs(@Param("afterId") Long afterId, @Param("toId") Long toId);
+    
+    // signal_quality 백필 - (afterId, toId] 구간에서 비어있는 값만 채움
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE join_events SET signal_quality = " + SignalQualityClassifier.SQL_CODE_EXPRESSION +
+                   " WHERE id > :afterId AND id <= :toId AND signal_quality IS NULL", nativeQuery = true)
+    int backfillSignalQuality(@Param("afterId") Long afterId, @Param("toId") Long toId);
+    
+    // 키셋 페이지 조회 - (timestamp_ms, id)가 커서보다 작은 행을 최신순으로 (OFFSET/COUNT 없음)
+    @Query(value = "SELECT * FROM join_events WHERE (timestamp_ms, id) < (:cursorTs, :cursorId) " +
+                   "ORDER BY timestamp_ms DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<JoinEvent> findPageBefore(@Param("cursorTs") Long cursorTs, @Param("cursorId") Long cursorId,
+                                   @Param("limit") int limit);
+    
+    @Query(value = "SELECT * FROM join_events WHERE device_id = :deviceId AND (timestamp_ms, id) < (:cursorTs, :cursorId) " +
+                   "ORDER BY timestamp_ms DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<JoinEvent> findPageByDeviceIdBefore(@Param("deviceId") String deviceId, @Param("cursorTs") Long cursorTs,
+                                             @Param("cursorId") Long cursorId, @Param("limit") int limit);
+    
+    @Query(value = "SELECT * FROM join_events WHERE application_id = :applicationId AND (timestamp_ms, id) < (:cursorTs, :cursorId) " +
+                   "ORDER BY timestamp_ms DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<JoinEvent> findPageByApplicationIdBefore(@Param("applicationId") String applicationId, @Param("cursorTs") Long cursorTs,
+                                                  @Param("cursorId") Long cursorId, @Param("limit") int limit);
+    
+    // 디바이스별 최신 행 (윈도 함수 한 번으로 조회) - 최신 행 인덱스 초기 적재용
+    // 백필 전 행도 정확히 비교하도록 timestamp_ms가 비어 있으면 문자열에서 계산
+    @Query(value = "SELECT * FROM join_events WHERE id IN (" +
+                   "SELECT id FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY device_id ORDER BY " +
+                   "COALESCE(timestamp_ms, " + TimestampUtils.SQL_EPOCH_MILLIS_EXPRESSION + ") DESC, " +
+                   "id DESC) AS rn FROM join_events WHERE device_id IS NOT NULL) WHERE rn = 1)", nativeQuery = true)
+    List<JoinEvent> findLatestPerDevice();
+}
@@ -0,0 +1,132 @@
+package com.lora.dashboard.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 원본 행 보존 기간 정리와 SQLite 공간 회수
+ * 업링크/JOIN 이벤트 테이블에 같은 쿼리를 쓰므로 테이블명을 받아 JdbcTemplate으로 실행한다.
+ */
+@Repository
+public class RetentionRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 애플리케이션의 [fromMs, beforeMs) 구간 행 id (maxId 이하, 오래된 순으로 최대 limit개)
+     * (application_id, timestamp_ms) 인덱스 범위만 읽으며, timestamp_ms 백필 전인 행은 제외된다.
+     */
+    public List<Long> findExpiredIds(String table, String applicationId, long fromMs, long beforeMs, long maxId,
+                                     int limit) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + table +
+                        " WHERE application_id = ? AND timestamp_ms >= ? AND timestamp_ms < ? AND id <= ? " +
+                        "ORDER BY timestamp_ms LIMIT ?",
+                Long.class, applicationId, fromMs, beforeMs, maxId, limit);
+    }
+
+    /**
+     * 보관용 원본 행 전체 컬럼 (id 순)
+     */
+    public List<Map<String, Object>> findRows(String table, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return jdbcTemplate.queryForList("SELECT * FROM " + table + " WHERE id IN (" + placeholders(ids) + ") ORDER BY id",
+                ids.toArray());
+    }
+
+    /**
+     * 삭제할 업링크의 디바이스와 신호 품질 컬럼 (디바이스 레지스트리 차감용)
+     */
+    public List<PurgedRow> findPurgedUplinks(List<Long> ids) {
+        return findPurgedRows("SELECT id, device_id, signal_quality, rssi, snr FROM uplink_messages", ids);
+    }
+
+    /**
+     * 삭제할 JOIN 이벤트의 디바이스 (신호 품질 컬럼은 null)
+     */
+    public List<PurgedRow> findPurgedJoinEvents(List<Long> ids) {
+        return findPurgedRows("SELECT id, device_id, NULL AS signal_quality, NULL AS rssi, NULL AS snr FROM join_events",
+                ids);
+    }
+
+    public int deleteByIds(String table, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update("DELETE FROM " + table + " WHERE id IN (" + placeholders(ids) + ")", ids.toArray());
+    }
+
+    /**
+     * auto_vacuum 모드 (0 NONE, 1 FULL, 2 INCREMENTAL)
+     */
+    public int getAutoVacuumMode() {
+        return jdbcTemplate.queryForObject("PRAGMA auto_vacuum", Integer.class);
+    }
+
+    public long getFreelistCount() {
+        return jdbcTemplate.queryForObject("PRAGMA freelist_count", Long.class);
+    }
+
+    public long getPageSize() {
+        return jdbcTemplate.queryForObject("PRAGMA page_size", Long.class);
+    }
+
+    /**
+     * 빈 페이지를 최대 pages개 파일 끝에서 잘라냄 (auto_vacuum=INCREMENTAL에서만 동작)
+     * incremental_vacuum은 결과 행(열 없음)을 step할 때마다 한 페이지씩 회수하는데 JDBC 드라이버는 한 번만 step하므로
+     * 한 페이지씩 반복 실행한다. 호출하는 쪽 트랜잭션 안에서 실행하면 커밋은 한 번이다.
+     */
+    public void incrementalVacuum(int pages) {
+        for (int i = 0; i < pages; i++) {
+            jdbcTemplate.execute("PRAGMA incremental_vacuum(1)");
+        }
+    }
+
+    private List<PurgedRow> findPurgedRows(String select, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return jdbcTemplate.query(select + " WHERE id IN (" + placeholders(ids) + ")", (rs, rowNum) -> {
+            PurgedRow row = new PurgedRow();
+            row.id = rs.getLong("id");
+            row.deviceId = rs.getString("device_id");
+            row.signalQualityCode = rs.getObject("signal_quality") != null ? rs.getInt("signal_quality") : null;
+            row.rssi = rs.getObject("rssi") != null ? rs.getFloat("rssi") : null;
+            row.snr = rs.getObject("snr") != null ? rs.getFloat("snr") : null;
+            return row;
+        }, ids.toArray());
+    }
+
+    private static String placeholders(List<Long> ids) {
+        return ids.stream().map(id -> "?").collect(Collectors.joining(","));
+    }
+
+    /**
+     * 보존 기간 정리로 삭제되는 행 하나
+     */
+    public static class PurgedRow {
+        private long id;
+        private String deviceId;
+        private Integer signalQualityCode;
+        private Float rssi;
+        private Float snr;
+
+        public long getId() { return id; }
+
+        public String getDeviceId() { return deviceId; }
+
+        public Integer getSignalQualityCode() { return signalQualityCode; }
+
+        public Float getRssi() { return rssi; }
+
+        public Float getSnr() { return snr; }
+    }
+}
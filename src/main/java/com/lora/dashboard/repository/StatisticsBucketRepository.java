@@ -0,0 +1,22 @@
+package com.lora.dashboard.repository;
+
+import com.lora.dashboard.entity.StatisticsBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StatisticsBucketRepository extends JpaRepository<StatisticsBucket, Long> {
+
+    // 보존 구간 내의 버킷 조회
+    List<StatisticsBucket> findByBucketStartGreaterThanEqual(Long bucketStart);
+
+    // 보존 구간 밖의 버킷 삭제
+    @Modifying
+    @Query("DELETE FROM StatisticsBucket b WHERE b.bucketStart < :bucketStart")
+    int deleteOlderThan(@Param("bucketStart") Long bucketStart);
+}
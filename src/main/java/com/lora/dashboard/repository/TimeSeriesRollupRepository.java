@@ -0,0 +1,197 @@
+package com.lora.dashboard.repository;
+
+import com.lora.dashboard.util.TimestampUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * 분/시간/일 시계열 롤업 테이블 (V3 마이그레이션)
+ * 복합키 UPSERT와 테이블명 선택이 필요해 JPA 엔티티 대신 JdbcTemplate으로 접근한다.
+ * 전체/애플리케이션/디바이스 범위는 application_id, device_id 자리의 '*'로 구분한다.
+ */
+@Repository
+public class TimeSeriesRollupRepository {
+
+    public static final String ALL = "*";
+
+    // 원본 행의 epoch ms (백필 전인 행은 문자열에서 계산)
+    private static final String EPOCH_MS_EXPRESSION =
+            "COALESCE(timestamp_ms, " + TimestampUtils.SQL_EPOCH_MILLIS_EXPRESSION + ")";
+
+    private static final String COLUMNS = "bucket_start, count, payload_bytes, " +
+            "rssi_samples, rssi_sum, rssi_min, rssi_max, snr_samples, snr_sum, snr_min, snr_max";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 롤업 원본 테이블
+     */
+    public enum Source {
+        UPLINK(0, "uplink_messages", "payload_size"),
+        JOIN(1, "join_events", "0");
+
+        private final int kind;
+        private final String table;
+        private final String payloadExpression;
+
+        Source(int kind, String table, String payloadExpression) {
+            this.kind = kind;
+            this.table = table;
+            this.payloadExpression = payloadExpression;
+        }
+
+        public String getTable() {
+            return table;
+        }
+    }
+
+    /**
+     * 롤업 해상도 (굵은 순)
+     */
+    public enum Resolution {
+        DAY("dashboard_rollup_day", TimestampUtils.DAY_MILLIS),
+        HOUR("dashboard_rollup_hour", TimestampUtils.HOUR_MILLIS),
+        MINUTE("dashboard_rollup_minute", TimestampUtils.MINUTE_MILLIS);
+
+        private final String table;
+        private final long millis;
+
+        Resolution(String table, long millis) {
+            this.table = table;
+            this.millis = millis;
+        }
+
+        public String getTable() {
+            return table;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+    }
+
+    /**
+     * 원본 테이블의 (afterId, toId] 구간을 집계해 해상도별 롤업에 더함
+     * 한 번의 INSERT ... SELECT로 전체/애플리케이션/디바이스 세 범위를 함께 갱신하며,
+     * 최소/최대는 기존 값과 비교하고 수와 합계는 누적한다.
+     */
+    public int rollUp(Source source, Resolution resolution, long afterId, long toId) {
+        String bucketExpression = "((" + EPOCH_MS_EXPRESSION + " + " + TimestampUtils.KST_OFFSET_MILLIS + ") / "
+                + resolution.millis + ") * " + resolution.millis + " - " + TimestampUtils.KST_OFFSET_MILLIS;
+        String sql = "INSERT INTO " + resolution.table + " (kind, application_id, device_id, " + COLUMNS + ") " +
+                "SELECT ?, " +
+                "CASE s.scope WHEN 1 THEN COALESCE(r.application_id, '') ELSE '" + ALL + "' END, " +
+                "CASE s.scope WHEN 2 THEN COALESCE(r.device_id, '') ELSE '" + ALL + "' END, " +
+                "r.bucket_start, COUNT(*), COALESCE(SUM(r.payload_size), 0), " +
+                "COUNT(r.rssi), TOTAL(r.rssi), MIN(r.rssi), MAX(r.rssi), " +
+                "COUNT(r.snr), TOTAL(r.snr), MIN(r.snr), MAX(r.snr) " +
+                "FROM (SELECT application_id, device_id, rssi, snr, " + source.payloadExpression + " AS payload_size, " +
+                bucketExpression + " AS bucket_start FROM " + source.table + " WHERE id > ? AND id <= ?) r " +
+                "CROSS JOIN (SELECT 0 AS scope UNION ALL SELECT 1 UNION ALL SELECT 2) s " +
+                "WHERE r.bucket_start IS NOT NULL " +
+                "GROUP BY 2, 3, 4 " +
+                "ON CONFLICT (kind, application_id, device_id, bucket_start) DO UPDATE SET " +
+                "count = count + excluded.count, " +
+                "payload_bytes = payload_bytes + excluded.payload_bytes, " +
+                "rssi_samples = rssi_samples + excluded.rssi_samples, " +
+                "rssi_sum = rssi_sum + excluded.rssi_sum, " +
+                "rssi_min = " + mergeExtreme("rssi_min", "<") + ", " +
+                "rssi_max = " + mergeExtreme("rssi_max", ">") + ", " +
+                "snr_samples = snr_samples + excluded.snr_samples, " +
+                "snr_sum = snr_sum + excluded.snr_sum, " +
+                "snr_min = " + mergeExtreme("snr_min", "<") + ", " +
+                "snr_max = " + mergeExtreme("snr_max", ">");
+        return jdbcTemplate.update(sql, source.kind, afterId, toId);
+    }
+
+    /**
+     * 한 범위의 [fromMs, toMs) 구간 롤업 행 (bucket_start 순, 읽기 풀에서 조회)
+     */
+    @Transactional(readOnly = true)
+    public List<RollupRow> findRange(Source source, Resolution resolution, String applicationId, String deviceId,
+                                     long fromMs, long toMs) {
+        String sql = "SELECT " + COLUMNS + " FROM " + resolution.table +
+                " WHERE kind = ? AND application_id = ? AND device_id = ? AND bucket_start >= ? AND bucket_start < ?" +
+                " ORDER BY bucket_start";
+        return jdbcTemplate.query(sql, TimeSeriesRollupRepository::mapRow,
+                source.kind, applicationId, deviceId, fromMs, toMs);
+    }
+
+    /**
+     * beforeMs 이전 버킷을 최대 limit행 삭제 (bucket_start 인덱스 사용, 짧은 쓰기 잠금 단위)
+     */
+    public int deleteBefore(Resolution resolution, long beforeMs, int limit) {
+        return jdbcTemplate.update("DELETE FROM " + resolution.table +
+                " WHERE (kind, application_id, device_id, bucket_start) IN (" +
+                "SELECT kind, application_id, device_id, bucket_start FROM " + resolution.table +
+                " WHERE bucket_start < ? ORDER BY bucket_start LIMIT ?)", beforeMs, limit);
+    }
+
+    // 한쪽이 NULL(샘플 없음)이면 다른 쪽 값을 유지
+    private static String mergeExtreme(String column, String operator) {
+        return "CASE WHEN " + column + " IS NULL OR excluded." + column + " " + operator + " " + column +
+                " THEN excluded." + column + " ELSE " + column + " END";
+    }
+
+    private static RollupRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+        RollupRow row = new RollupRow();
+        row.bucketStart = rs.getLong("bucket_start");
+        row.count = rs.getLong("count");
+        row.payloadBytes = rs.getLong("payload_bytes");
+        row.rssiSamples = rs.getLong("rssi_samples");
+        row.rssiSum = rs.getDouble("rssi_sum");
+        row.rssiMin = rs.getObject("rssi_min") != null ? rs.getDouble("rssi_min") : null;
+        row.rssiMax = rs.getObject("rssi_max") != null ? rs.getDouble("rssi_max") : null;
+        row.snrSamples = rs.getLong("snr_samples");
+        row.snrSum = rs.getDouble("snr_sum");
+        row.snrMin = rs.getObject("snr_min") != null ? rs.getDouble("snr_min") : null;
+        row.snrMax = rs.getObject("snr_max") != null ? rs.getDouble("snr_max") : null;
+        return row;
+    }
+
+    /**
+     * 롤업 테이블의 한 행
+     */
+    public static class RollupRow {
+        private long bucketStart;
+        private long count;
+        private long payloadBytes;
+        private long rssiSamples;
+        private double rssiSum;
+        private Double rssiMin;
+        private Double rssiMax;
+        private long snrSamples;
+        private double snrSum;
+        private Double snrMin;
+        private Double snrMax;
+
+        public long getBucketStart() { return bucketStart; }
+
+        public long getCount() { return count; }
+
+        public long getPayloadBytes() { return payloadBytes; }
+
+        public long getRssiSamples() { return rssiSamples; }
+
+        public double getRssiSum() { return rssiSum; }
+
+        public Double getRssiMin() { return rssiMin; }
+
+        public Double getRssiMax() { return rssiMax; }
+
+        public long getSnrSamples() { return snrSamples; }
+
+        public double getSnrSum() { return snrSum; }
+
+        public Double getSnrMin() { return snrMin; }
+
+        public Double getSnrMax() { return snrMax; }
+    }
+}
@@ -0,0 +1,217 @@
+package com.lora.dashboard.repository;
+
+import com.lora.dashboard.repository.projection.UplinkMessageField;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 요청한 필드만 SELECT하는 업링크 메시지 목록 조회 (fields 파라미터)
+ * 목록 화면에 필요 없는 페이로드 사본과 raw_topic을 읽지 않도록 JPA 엔티티 대신 JdbcTemplate으로 컬럼을 고른다.
+ * 정렬과 조건은 UplinkMessageRepository의 목록 쿼리와 같은 인덱스를 사용하고,
+ * timestamp_ms가 아직 비어 있는 행은 timestampMs 필드와 같은 식으로 계산한 값으로 정렬한다.
+ */
+@Repository
+@Transactional(readOnly = true)
+public class UplinkMessageProjectionRepository {
+
+    private static final String TABLE = "uplink_messages";
+
+    // 필드 목록 뒤에 항상 붙이는 키셋 커서용 컬럼 (%s는 timestamp_ms 또는 KEY_EXPRESSION)
+    private static final String KEY_COLUMNS = "id AS key_id, %s AS key_ts";
+
+    // 백필 전 행도 응답의 timestampMs와 같은 값으로 조건/정렬
+    private static final String KEY_EXPRESSION = UplinkMessageField.TIMESTAMP_MS.getExpression();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 조회 범위 (전체, 디바이스, 애플리케이션)
+     */
+    public enum Scope {
+        ALL(null),
+        DEVICE("device_id"),
+        APPLICATION("application_id");
+
+        private final String column;
+
+        Scope(String column) {
+            this.column = column;
+        }
+    }
+
+    /**
+     * 최신순 OFFSET 페이지
+     */
+    public List<ProjectedRow> findPage(List<UplinkMessageField> fields, Scope scope, String scopeValue,
+                                       int limit, long offset) {
+        return findOrdered(fields, scope, scopeValue, null, List.of(), List.of(), List.of(), "DESC", limit, offset);
+    }
+
+    /**
+     * 키셋 페이지 - (timestamp_ms, id)가 커서보다 작은 행을 최신순으로
+     */
+    public List<ProjectedRow> findPageBefore(List<UplinkMessageField> fields, Scope scope, String scopeValue,
+                                             long cursorTs, long cursorId, int limit) {
+        return findOrdered(fields, scope, scopeValue, "(%s, id) < (?, ?)", List.of(cursorTs, cursorId),
+                List.of(), List.of(), "DESC", limit, 0);
+    }
+
+    /**
+     * 시간 범위 [fromMs, toMs] 조회 (timestamp_ms 또는 (device_id, timestamp_ms) 인덱스 범위 스캔, 오래된 순)
+     * afterId, deviceId, maxRssi는 null이면 조건 없음
+     */
+    public List<ProjectedRow> findRange(List<UplinkMessageField> fields, long fromMs, long toMs, Long afterId,
+                                        String deviceId, Float maxRssi, int limit) {
+        List<String> filters = new ArrayList<>();
+        List<Object> filterArgs = new ArrayList<>();
+        if (afterId != null) {
+            filters.add("id > ?");
+            filterArgs.add(afterId);
+        }
+        if (maxRssi != null) {
+            filters.add("rssi <= ?");
+            filterArgs.add(maxRssi);
+        }
+        return findOrdered(fields, deviceId != null ? Scope.DEVICE : Scope.ALL, deviceId, "%s BETWEEN ? AND ?",
+                List.of(fromMs, toMs), filters, filterArgs, "ASC", limit, 0);
+    }
+
+    /**
+     * [fromMs, toMs) 구간에서 id가 maxId 이하인 행을 (timestamp_ms, id) 순으로 한 행씩 전달 (콜드 세그먼트 봉인용)
+     * 목록으로 모으지 않고 전진 전용 커서로 읽는다. 호출자가 트랜잭션을 열어 스냅샷을 고정한다.
+     */
+    public void stream(List<UplinkMessageField> fields, long fromMs, long toMs, long maxId, int fetchSize,
+                       Consumer<ProjectedRow> consumer) {
+        String sql = select(fields) + " WHERE timestamp_ms >= ? AND timestamp_ms < ? AND id <= ?" +
+                " ORDER BY timestamp_ms ASC, id ASC";
+        RowMapper<ProjectedRow> mapper = rowMapper(fields);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setLong(1, fromMs);
+            statement.setLong(2, toMs);
+            statement.setLong(3, maxId);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(mapper.mapRow(rs, 0)));
+    }
+
+    public long count(Scope scope, String scopeValue) {
+        List<Object> args = new ArrayList<>();
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + TABLE + where(scope, scopeValue, args, null),
+                Long.class, args.toArray());
+        return count != null ? count : 0L;
+    }
+
+    /**
+     * (timestamp_ms, id) 순 조회 - 조건과 정렬은 응답의 timestampMs와 같은 COALESCE 키 기준
+     * 백필된 행은 timestamp_ms 인덱스로 limit + offset건만 읽고, 백필 전 행(timestamp_ms IS NULL)은
+     * 같은 인덱스의 NULL 구간에서 따로 읽어 합친다. keyCondition의 %s는 키 식으로 바뀐다.
+     */
+    private List<ProjectedRow> findOrdered(List<UplinkMessageField> fields, Scope scope, String scopeValue,
+                                           String keyCondition, List<Object> keyArgs, List<String> filters,
+                                           List<Object> filterArgs, String direction, int limit, long offset) {
+        List<Object> args = new ArrayList<>();
+        String backfilled = select(fields, "timestamp_ms") +
+                keyedWhere(scope, scopeValue, "timestamp_ms IS NOT NULL", keyCondition, "timestamp_ms", keyArgs,
+                        filters, filterArgs, args) +
+                " ORDER BY timestamp_ms " + direction + ", id " + direction + " LIMIT ?";
+        args.add(limit + offset);
+        String pending = select(fields, KEY_EXPRESSION) +
+                keyedWhere(scope, scopeValue, "timestamp_ms IS NULL", keyCondition, KEY_EXPRESSION, keyArgs,
+                        filters, filterArgs, args);
+        String sql = "SELECT * FROM (SELECT * FROM (" + backfilled + ") UNION ALL " + pending + ")" +
+                " ORDER BY key_ts " + direction + ", key_id " + direction + " LIMIT ? OFFSET ?";
+        args.add(limit);
+        args.add(offset);
+        return jdbcTemplate.query(sql, rowMapper(fields), args.toArray());
+    }
+
+    private static String keyedWhere(Scope scope, String scopeValue, String nullCondition, String keyCondition,
+                                     String key, List<Object> keyArgs, List<String> filters, List<Object> filterArgs,
+                                     List<Object> args) {
+        StringBuilder condition = new StringBuilder(nullCondition);
+        if (keyCondition != null) {
+            condition.append(" AND ").append(String.format(keyCondition, key));
+        }
+        for (String filter : filters) {
+            condition.append(" AND ").append(filter);
+        }
+        String sql = where(scope, scopeValue, args, condition.toString());
+        args.addAll(keyArgs);
+        args.addAll(filterArgs);
+        return sql;
+    }
+
+    private static String select(List<UplinkMessageField> fields) {
+        return select(fields, "timestamp_ms");
+    }
+
+    private static String select(List<UplinkMessageField> fields, String key) {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (UplinkMessageField field : fields) {
+            sql.append(field.getExpression()).append(", ");
+        }
+        return sql.append(String.format(KEY_COLUMNS, key)).append(" FROM ").append(TABLE).toString();
+    }
+
+    private static String where(Scope scope, String scopeValue, List<Object> args, String condition) {
+        List<String> conditions = new ArrayList<>();
+        if (scope.column != null) {
+            conditions.add(scope.column + " = ?");
+            args.add(scopeValue);
+        }
+        if (condition != null) {
+            conditions.add(condition);
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private static RowMapper<ProjectedRow> rowMapper(List<UplinkMessageField> fields) {
+        int keyIndex = fields.size() + 1;
+        return (rs, rowNum) -> {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                values.put(fields.get(i).getName(), fields.get(i).read(rs, i + 1));
+            }
+            long timestampMs = rs.getLong(keyIndex + 1);
+            return new ProjectedRow(rs.getLong(keyIndex), rs.wasNull() ? null : timestampMs,
+                    Collections.unmodifiableMap(values));
+        };
+    }
+
+    /**
+     * 요청 필드 값(요청 순서)과 커서 계산용 키
+     */
+    public static class ProjectedRow {
+        private final long id;
+        private final Long timestampMs;
+        private final Map<String, Object> values;
+
+        public ProjectedRow(long id, Long timestampMs, Map<String, Object> values) {
+            this.id = id;
+            this.timestampMs = timestampMs;
+            this.values = values;
+        }
+
+        public Long getId() { return id; }
+
+        public Long getTimestampMs() { return timestampMs; }
+
+        public Map<String, Object> getValues() { return values; }
+    }
+}
@@ -1,33 +1,51 @@
 package com.lora.dashboard.repository;
 
 import com.lora.dashboard.entity.UplinkMessage;
+import com.lora.dashboard.repository.projection.DeviceLastRowView;
+import com.lora.dashboard.repository.projection.DeviceSignalQualityView;
+import com.lora.dashboard.repository.projection.DeviceUplinkAggregateView;
+import com.lora.dashboard.repository.projection.HourlyCountView;
+import com.lora.dashboard.util.SignalQualityClassifier;
+import com.lora.dashboard.util.TimestampUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+// 조회 메서드는 읽기 전용 트랜잭션으로 실행되어 읽기 풀을 사용 (@Modifying 메서드는 메서드 단위 @Transactional)
 @Repository
+@Transactional(readOnly = true)
 public interface UplinkMessageRepository extends JpaRepository<UplinkMessage, Long> {
     
     // 디바이스별 최근 메시지 조회
-    Page<UplinkMessage> findByDeviceIdOrderByTimestampDesc(String deviceId, Pageable pageable);
+    Page<UplinkMessage> findByDeviceIdOrderByTimestampMsDescIdDesc(String deviceId, Pageable pageable);
     
     // 애플리케이션별 메시지 조회
-    Page<UplinkMessage> findByApplicationIdOrderByTimestampDesc(String applicationId, Pageable pageable);
+    Page<UplinkMessage> findByApplicationIdOrderByTimestampMsDescIdDesc(String applicationId, Pageable pageable);
     
     
     // 최근 메시지 조회 (전체)
-    Page<UplinkMessage> findAllByOrderByTimestampDesc(Pageable pageable);
+    Page<UplinkMessage> findAllByOrderByTimestampMsDescIdDesc(Pageable pageable);
+    
+    // COUNT 없이 size+1개만 조회하는 Slice 버전
+    Slice<UplinkMessage> findSliceByOrderByTimestampMsDescIdDesc(Pageable pageable);
+    
+    Slice<UplinkMessage> findSliceByDeviceIdOrderByTimestampMsDescIdDesc(String deviceId, Pageable pageable);
     
     
     
     
     // 특정 디바이스의 최근 메시지
-    UplinkMessage findFirstByDeviceIdOrderByTimestampDesc(String deviceId);
+    UplinkMessage findFirstByDeviceIdOrderByTimestampMsDescIdDesc(String deviceId);
     
     // 디바이스별 메시지 수 계산
     Long countByDeviceId(String deviceId);
@@ -40,4 +58,124 @@ public interface UplinkMessageRepository extends JpaRepository<UplinkMessage, Lo
     @Query("SELECT DISTINCT m.applicationId FROM UplinkMessage m ORDER BY m.applicationId")
     List<String> findDistinctApplicationIds();
     
-}
\ No newline at end of file
+    // 워터마크 이하 디바이스별 업링크 집계 (디바이스 레지스트리 재구성용, 백필 전 행은 문자열 시각과 rssi/snr로 계산)
+    @Query(value = "SELECT device_id AS deviceId, COUNT(*) AS count, MIN(ts) AS firstSeenMs, MAX(ts) AS lastSeenMs, " +
+                   "COUNT(rssi) AS rssiSamples, TOTAL(rssi) AS rssiSum, MIN(rssi) AS rssiMin, MAX(rssi) AS rssiMax, " +
+                   "COUNT(snr) AS snrSamples, TOTAL(snr) AS snrSum, MIN(snr) AS snrMin, MAX(snr) AS snrMax, " +
+                   "SUM(quality = 0) AS excellentCount, SUM(quality = 1) AS goodCount, " +
+                   "SUM(quality = 2) AS fairCount, SUM(quality = 3) AS poorCount " +
+                   "FROM (SELECT device_id, rssi, snr, COALESCE(timestamp_ms, " +
+                   TimestampUtils.SQL_EPOCH_MILLIS_EXPRESSION + ") AS ts, " +
+                   "COALESCE(signal_quality, " + SignalQualityClassifier.SQL_CODE_EXPRESSION + ") AS quality " +
+                   "FROM uplink_messages WHERE id <= :maxId AND device_id IS NOT NULL) GROUP BY device_id",
+           nativeQuery = true)
+    List<DeviceUplinkAggregateView> aggregateByDeviceIdUpTo(@Param("maxId") Long maxId);
+    
+    // 워터마크 이하 디바이스별 마지막 행 (id 기준)
+    @Query(value = "SELECT id AS id, device_id AS deviceId, dev_eui AS devEui, application_id AS applicationId, " +
+                   "frame_count AS frameCount FROM uplink_messages WHERE id IN (" +
+                   "SELECT MAX(id) FROM uplink_messages WHERE id <= :maxId AND device_id IS NOT NULL GROUP BY device_id)",
+           nativeQuery = true)
+    List<DeviceLastRowView> findLastRowPerDeviceUpTo(@Param("maxId") Long maxId);
+    
+    // 시간대별 메시지 수 (KST 시간 버킷, timestamp_ms 범위 조건)
+    @Query(value = "SELECT strftime('%Y-%m-%d %H:00', timestamp_ms / 1000, 'unixepoch', '+9 hours') AS hour, " +
+                   "COUNT(*) AS count FROM uplink_messages WHERE timestamp_ms >= :sinceMs " +
+                   "GROUP BY hour ORDER BY hour", nativeQuery = true)
+    List<HourlyCountView> countGroupByHourSince(@Param("sinceMs") Long sinceMs);
+    
+    // 보존 구간 내 디바이스/애플리케이션/시간/신호 품질별 업링크 수 (신호 품질 분포 초기 적재용)
+    // timestamp_ms 인덱스 범위 조회, 백필 전 행은 문자열 시각과 rssi/snr로 계산
+    @Query(value = "SELECT device_id AS deviceId, application_id AS applicationId, ts / 3600000 * 3600000 AS hourStart, " +
+                   "quality AS quality, COUNT(*) AS count FROM (SELECT device_id, application_id, COALESCE(timestamp_ms, " +
+                   TimestampUtils.SQL_EPOCH_MILLIS_EXPRESSION + ") AS ts, " +
+                   "COALESCE(signal_quality, " + SignalQualityClassifier.SQL_CODE_EXPRESSION + ") AS quality " +
+                   "FROM uplink_messages WHERE (timestamp_ms >= :sinceMs OR timestamp_ms IS NULL) AND id <= :maxId " +
+                   "AND device_id IS NOT NULL) WHERE ts >= :sinceMs GROUP BY device_id, application_id, hourStart, quality",
+           nativeQuery = true)
+    List<DeviceSignalQualityView> countSignalQualityGroupByDeviceAndHour(@Param("sinceMs") Long sinceMs,
+                                                                         @Param("maxId") Long maxId);
+    
+    // 워터마크 이후의 새 행 (기본키 범위 조회, 실시간 tailer용)
+    List<UplinkMessage> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
+    // 최대 id (워터마크 기준점)
+    @Query("SELECT MAX(m.id) FROM UplinkMessage m")
+    Long findMaxId();
+    
+    // 가장 오래된 timestamp_ms (콜드 세그먼트 봉인 시작 월)
+    @Query("SELECT MIN(m.timestampMs) FROM UplinkMessage m")
+    Long findMinTimestampMs();
+    
+    // timestamp_ms 백필이 끝나지 않은 행 존재 여부
+    boolean existsByTimestampMsIsNull();
+    
+    // 워터마크 이하 메시지 수
+    Long countByIdLessThanEqual(Long id);
+    
+    // 워터마크 이후의 (id, timestamp, timestampMs) 조회 - 통계 엔진 증분 처리용
+    @Query("SELECT m.id, m.timestamp, m.timestampMs FROM UplinkMessage m WHERE m.id > :afterId ORDER BY m.id ASC")
+    List<Object[]> findIdAndTimestampAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // 특정 id 이전의 (id, timestamp, timestampMs) 역순 조회 - 통계 엔진 초기 적재용
+    @Query("SELECT m.id, m.timestamp, m.timestampMs FROM UplinkMessage m WHERE m.id < :beforeId ORDER BY m.id DESC")
+    List<Object[]> findIdAndTimestampBefore(@Param("beforeId") Long beforeId, Pageable pageable);
+    
+    // 시간 범위 조회 (timestamp_ms 인덱스 범위 스캔)
+    List<UplinkMessage> findByTimestampMsBetweenOrderByTimestampMsAscIdAsc(Long fromMs, Long toMs, Pageable pageable);
+    
+    // timestamp_ms 백필 - (afterId, toId] 구간에서 비어있는 값만 채움 (재실행해도 안전)
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE uplink_messages SET timestamp_ms = " +
+                   TimestampUtils.SQL_EPOCH_MILLIS_EXPRESSION + " " +
+                   "WHERE id > :afterId AND id <= :toId AND timestamp_ms IS NULL", nativeQuery = true)
+    int backfillTimestampMs(@Param("afterId") Long afterId, @Param("toId") Long toId);
+    
+    // signal_quality 백필 - (afterId, toId] 구간에서 비어있는 값만 채움
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE uplink_messages SET signal_quality = " + SignalQualityClassifier.SQL_CODE_EXPRESSION +
+                   " WHERE id > :afterId AND id <= :toId AND signal_quality IS NULL", nativeQuery = true)
+    int backfillSignalQuality(@Param("afterId") Long afterId, @Param("toId") Long toId);
+    
+    // 키셋 페이지 조회 - (timestamp_ms, id)가 커서보다 작은 행을 최신순으로 (OFFSET/COUNT 없음)
+    @Query(value = "SELECT * FROM uplink_messages WHERE (timestamp_ms, id) < (:cursorTs, :cursorId) " +
+                   "ORDER BY timestamp_ms DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<UplinkMessage> findPageBefore(@Param("cursorTs") Long cursorTs, @Param("cursorId") Long cursorId,
+                                       @Param("limit") int limit);
+    
+    @Query(value = "SELECT * FROM uplink_messages WHERE device_id = :deviceId AND (timestamp_ms, id) < (:cursorTs, :cursorId) " +
+                   "ORDER BY timestamp_ms DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<UplinkMessage> findPageByDeviceIdBefore(@Param("deviceId") String deviceId, @Param("cursorTs") Long cursorTs,
+                                                 @Param("cursorId") Long cursorId, @Param("limit") int limit);
+    
+    @Query(value = "SELECT * FROM uplink_messages WHERE application_id = :applicationId AND (timestamp_ms, id) < (:cursorTs, :cursorId) " +
+                   "ORDER BY timestamp_ms DESC, id DESC LIMIT :limit", nativeQuery = true)
+    List<UplinkMessage> findPageByApplicationIdBefore(@Param("applicationId") String applicationId, @Param("cursorTs") Long cursorTs,
+                                                      @Param("cursorId") Long cursorId, @Param("limit") int limit);
+    
+    // 디바이스별 최신 행 (윈도 함수 한 번으로 조회) - 최신 행 인덱스 초기 적재용
+    // 백필 전 행도 정확히 비교하도록 timestamp_ms가 비어 있으면 문자열에서 계산
+    @Query(value = "SELECT * FROM uplink_messages WHERE id IN (" +
+                   "SELECT id FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY device_id ORDER BY " +
+                   "COALESCE(timestamp_ms, " + TimestampUtils.SQL_EPOCH_MILLIS_EXPRESSION + ") DESC, " +
+                   "id DESC) AS rn FROM uplink_messages WHERE device_id IS NOT NULL) WHERE rn = 1)", nativeQuery = true)
+    List<UplinkMessage> findLatestPerDevice();
+    
+    // 지정한 디바이스들의 최신 행 (윈도 함수 한 번, 디바이스 ID순 스트리밍) - 트랜잭션 안에서 사용
+    @Query(value = "SELECT * FROM uplink_messages WHERE id IN (" +
+                   "SELECT id FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY device_id ORDER BY " +
+                   "COALESCE(timestamp_ms, " + TimestampUtils.SQL_EPOCH_MILLIS_EXPRESSION + ") DESC, " +
+                   "id DESC) AS rn FROM uplink_messages WHERE device_id IN (:deviceIds)) WHERE rn = 1) " +
+                   "ORDER BY device_id", nativeQuery = true)
+    Stream<UplinkMessage> streamLatestByDeviceIdIn(@Param("deviceIds") Collection<String> deviceIds);
+    
+    // 애플리케이션의 디바이스별 최신 행
+    @Query(value = "SELECT * FROM uplink_messages WHERE id IN (" +
+                   "SELECT id FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY device_id ORDER BY " +
+                   "COALESCE(timestamp_ms, " + TimestampUtils.SQL_EPOCH_MILLIS_EXPRESSION + ") DESC, " +
+                   "id DESC) AS rn FROM uplink_messages WHERE application_id = :applicationId AND device_id IS NOT NULL) " +
+                   "WHERE rn = 1) ORDER BY device_id", nativeQuery = true)
+    Stream<UplinkMessage> streamLatestByApplicationId(@Param("applicationId") String applicationId);
+}
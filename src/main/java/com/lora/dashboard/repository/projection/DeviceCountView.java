@@ -0,0 +1,10 @@
+package com.lora.dashboard.repository.projection;
+
+/**
+ * 디바이스별 행 수 집계 결과 (GROUP BY device_id)
+ */
+public interface DeviceCountView {
+    String getDeviceId();
+
+    Long getCount();
+}
@@ -0,0 +1,14 @@
+package com.lora.dashboard.repository.projection;
+
+/**
+ * 디바이스별 JOIN 이벤트 집계 결과 (디바이스 레지스트리 재구성용)
+ */
+public interface DeviceJoinAggregateView {
+    String getDeviceId();
+
+    Long getCount();
+
+    Long getFirstSeenMs();
+
+    Long getLastSeenMs();
+}
@@ -0,0 +1,16 @@
+package com.lora.dashboard.repository.projection;
+
+/**
+ * 디바이스별 마지막 행 (id 기준)의 식별 정보
+ */
+public interface DeviceLastRowView {
+    Long getId();
+
+    String getDeviceId();
+
+    String getDevEui();
+
+    String getApplicationId();
+
+    Integer getFrameCount();
+}
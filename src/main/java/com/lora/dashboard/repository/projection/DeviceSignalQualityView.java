@@ -0,0 +1,16 @@
+package com.lora.dashboard.repository.projection;
+
+/**
+ * 디바이스/애플리케이션/시간별 신호 품질 구간 집계 결과 (quality: SignalQuality 코드)
+ */
+public interface DeviceSignalQualityView {
+    String getDeviceId();
+
+    String getApplicationId();
+
+    Long getHourStart();
+
+    Integer getQuality();
+
+    Long getCount();
+}
@@ -0,0 +1,39 @@
+package com.lora.dashboard.repository.projection;
+
+/**
+ * 디바이스별 업링크 집계 결과 (디바이스 레지스트리 재구성용)
+ * 시각은 epoch ms, RSSI/SNR 샘플 수는 값이 있는 행 수, 품질별 수는 SignalQuality 구간별 행 수
+ */
+public interface DeviceUplinkAggregateView {
+    String getDeviceId();
+
+    Long getCount();
+
+    Long getFirstSeenMs();
+
+    Long getLastSeenMs();
+
+    Long getRssiSamples();
+
+    Double getRssiSum();
+
+    Double getRssiMin();
+
+    Double getRssiMax();
+
+    Long getSnrSamples();
+
+    Double getSnrSum();
+
+    Double getSnrMin();
+
+    Double getSnrMax();
+
+    Long getExcellentCount();
+
+    Long getGoodCount();
+
+    Long getFairCount();
+
+    Long getPoorCount();
+}
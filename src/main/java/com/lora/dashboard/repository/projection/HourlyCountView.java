@@ -0,0 +1,10 @@
+package com.lora.dashboard.repository.projection;
+
+/**
+ * 시간대별 행 수 집계 결과 (KST 기준 "yyyy-MM-dd HH:00")
+ */
+public interface HourlyCountView {
+    String getHour();
+
+    Long getCount();
+}
@@ -0,0 +1,148 @@
+package com.lora.dashboard.repository.projection;
+
+import com.lora.dashboard.entity.SignalQuality;
+import com.lora.dashboard.util.SignalQualityClassifier;
+import com.lora.dashboard.util.TimestampUtils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * fields 파라미터로 고를 수 있는 업링크 메시지 필드
+ * 이름은 UplinkMessageDto의 JSON 속성과 같고, 각 필드는 SELECT 목록의 한 식과 값 읽는 방법을 가진다.
+ */
+public enum UplinkMessageField {
+    ID("id", "id", Type.LONG),
+    TIMESTAMP("timestamp", "timestamp", Type.STRING),
+    // 백필 전인 행은 문자열에서 계산
+    TIMESTAMP_MS("timestampMs",
+            "COALESCE(timestamp_ms, " + TimestampUtils.SQL_EPOCH_MILLIS_EXPRESSION + ")", Type.LONG),
+    APPLICATION_ID("applicationId", "application_id", Type.STRING),
+    DEVICE_ID("deviceId", "device_id", Type.STRING),
+    DEV_EUI("devEui", "dev_eui", Type.STRING),
+    PAYLOAD_BASE64("payloadBase64", "payload_base64", Type.STRING),
+    PAYLOAD_HEX("payloadHex", "payload_hex", Type.STRING),
+    PAYLOAD_TEXT("payloadText", "payload_text", Type.STRING),
+    PAYLOAD_SIZE("payloadSize", "payload_size", Type.INTEGER),
+    FRAME_COUNT("frameCount", "frame_count", Type.INTEGER),
+    F_PORT("fPort", "f_port", Type.INTEGER),
+    FREQUENCY("frequency", "frequency", Type.INTEGER),
+    DATA_RATE("dataRate", "data_rate", Type.INTEGER),
+    RSSI("rssi", "rssi", Type.FLOAT),
+    SNR("snr", "snr", Type.FLOAT),
+    LATITUDE("latitude", "latitude", Type.FLOAT),
+    LONGITUDE("longitude", "longitude", Type.FLOAT),
+    HOSTNAME("hostname", "hostname", Type.STRING),
+    RAW_TOPIC("rawTopic", "raw_topic", Type.STRING),
+    CREATED_AT("createdAt", "created_at", Type.STRING),
+    // 저장된 코드 사용 (백필 전인 행만 분류)
+    SIGNAL_QUALITY("signalQuality",
+            "COALESCE(signal_quality, " + SignalQualityClassifier.SQL_CODE_EXPRESSION + ")", Type.SIGNAL_QUALITY);
+
+    private static final Map<String, UplinkMessageField> BY_NAME = new HashMap<>();
+    private static final List<UplinkMessageField> ALL = List.of(values());
+
+    static {
+        for (UplinkMessageField field : values()) {
+            BY_NAME.put(field.name, field);
+        }
+    }
+
+    private final String name;
+    private final String expression;
+    private final Type type;
+
+    UplinkMessageField(String name, String expression, Type type) {
+        this.name = name;
+        this.expression = expression;
+        this.type = type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * 전체 필드 (UplinkMessageDto와 같은 순서)
+     */
+    public static List<UplinkMessageField> all() {
+        return ALL;
+    }
+
+    /**
+     * 이름으로 조회 (없으면 null)
+     */
+    public static UplinkMessageField byName(String name) {
+        return BY_NAME.get(name);
+    }
+
+    /**
+     * 쉼표로 구분된 필드 이름 목록 (요청 순서 유지, 중복 제거)
+     */
+    public static List<UplinkMessageField> parse(String fields) {
+        Set<UplinkMessageField> parsed = new LinkedHashSet<>();
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            UplinkMessageField field = BY_NAME.get(trimmed);
+            if (field == null) {
+                throw new IllegalArgumentException("지원하지 않는 필드: " + trimmed);
+            }
+            parsed.add(field);
+        }
+        if (parsed.isEmpty()) {
+            throw new IllegalArgumentException("fields가 비어 있습니다");
+        }
+        return new ArrayList<>(parsed);
+    }
+
+    /**
+     * 결과 행의 columnIndex 값을 DTO와 같은 타입으로 읽음
+     */
+    public Object read(ResultSet rs, int columnIndex) throws SQLException {
+        switch (type) {
+            case LONG: {
+                long value = rs.getLong(columnIndex);
+                return rs.wasNull() ? null : value;
+            }
+            case INTEGER: {
+                int value = rs.getInt(columnIndex);
+                return rs.wasNull() ? null : value;
+            }
+            case FLOAT: {
+                float value = rs.getFloat(columnIndex);
+                return rs.wasNull() ? null : value;
+            }
+            case SIGNAL_QUALITY: {
+                int code = rs.getInt(columnIndex);
+                SignalQuality quality = rs.wasNull() ? null : SignalQuality.fromCode(code);
+                return quality != null ? quality.name() : null;
+            }
+            default:
+                return rs.getString(columnIndex);
+        }
+    }
+
+    /**
+     * 값 타입 (SIGNAL_QUALITY는 등급 이름 문자열)
+     */
+    public enum Type {
+        STRING, LONG, INTEGER, FLOAT, SIGNAL_QUALITY
+    }
+}
@@ -0,0 +1,181 @@
+package com.lora.dashboard.segment;
+
+import com.lora.dashboard.repository.projection.UplinkMessageField;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 콜드 세그먼트 파일 형식
+ *
+ * <pre>
+ * [magic][version]
+ * 블록 0: 컬럼 0 청크, 컬럼 1 청크, ...   (블록당 최대 block-rows 행, (timestamp_ms, id) 순)
+ * 블록 1: ...
+ * footer: 컬럼 이름, 전체 행 수, 블록별 행 수/시각·디바이스·RSSI 최소/최대, 컬럼 청크 위치
+ * [footer 위치(long)][footer 길이(int)][magic]
+ * </pre>
+ *
+ * 컬럼 청크는 null 비트맵 뒤에 null이 아닌 값만 이어 쓴 뒤 Deflate로 압축한다.
+ * LONG은 이전 값과의 차이, INTEGER는 값 자체를 zigzag varint로, FLOAT는 4바이트, 문자열은 길이(varint)+UTF-8로 쓴다.
+ * footer의 문자열(컬럼 이름, 블록 디바이스 최소/최대)도 길이(varint)+UTF-8이다.
+ * 버전 1은 footer 문자열을 DataOutputStream.writeUTF(2바이트 길이 + 수정 UTF-8)로 썼고, 읽기만 지원한다.
+ */
+final class SegmentFormat {
+
+    static final int MAGIC = 0x4C525347; // "LRSG"
+    static final int VERSION = 2;
+    static final int VERSION_MODIFIED_UTF = 1;
+
+    // magic, version
+    static final int HEADER_LENGTH = 8;
+    // footer 위치, footer 길이, magic
+    static final int TRAILER_LENGTH = 16;
+
+    private SegmentFormat() {
+    }
+
+    /**
+     * 한 블록의 컬럼 값을 압축 전 바이트로 인코딩
+     */
+    static byte[] encodeColumn(UplinkMessageField.Type type, Object[] values, int rows) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(rows * 4 + 16);
+        byte[] nulls = new byte[(rows + 7) / 8];
+        for (int i = 0; i < rows; i++) {
+            if (values[i] == null) {
+                nulls[i >>> 3] |= (byte) (1 << (i & 7));
+            }
+        }
+        out.write(nulls, 0, nulls.length);
+
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            switch (type) {
+                case LONG: {
+                    long current = ((Number) value).longValue();
+                    writeVarLong(out, zigzag(current - previous));
+                    previous = current;
+                    break;
+                }
+                case INTEGER:
+                    writeVarLong(out, zigzag(((Number) value).longValue()));
+                    break;
+                case FLOAT: {
+                    int bits = Float.floatToRawIntBits(((Number) value).floatValue());
+                    out.write(bits >>> 24);
+                    out.write(bits >>> 16);
+                    out.write(bits >>> 8);
+                    out.write(bits);
+                    break;
+                }
+                default: {
+                    byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+                    writeVarLong(out, bytes.length);
+                    out.write(bytes, 0, bytes.length);
+                    break;
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * encodeColumn의 역변환 (값 타입은 UplinkMessageField.read와 같음)
+     */
+    static Object[] decodeColumn(UplinkMessageField.Type type, ByteBuffer raw, int rows) {
+        Object[] values = new Object[rows];
+        int bitmap = raw.position();
+        raw.position(bitmap + (rows + 7) / 8);
+
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            if ((raw.get(bitmap + (i >>> 3)) & (1 << (i & 7))) != 0) {
+                continue;
+            }
+            switch (type) {
+                case LONG:
+                    previous += unzigzag(readVarLong(raw));
+                    values[i] = previous;
+                    break;
+                case INTEGER:
+                    values[i] = (int) unzigzag(readVarLong(raw));
+                    break;
+                case FLOAT:
+                    values[i] = Float.intBitsToFloat(raw.getInt());
+                    break;
+                default: {
+                    int length = (int) readVarLong(raw);
+                    values[i] = new String(raw.array(), raw.arrayOffset() + raw.position(), length,
+                            StandardCharsets.UTF_8);
+                    raw.position(raw.position() + length);
+                    break;
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * footer 문자열을 길이(varint)+UTF-8 바이트로 인코딩
+     */
+    static byte[] encodeString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length + 5);
+        writeVarLong(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+        return out.toByteArray();
+    }
+
+    /**
+     * footer 문자열 읽기 (버전 1 파일은 writeUTF 형식)
+     */
+    static String readString(ByteBuffer in, int version) throws IOException {
+        if (version == VERSION_MODIFIED_UTF) {
+            int start = in.position();
+            byte[] bytes = new byte[2 + (in.getShort() & 0xFFFF)];
+            in.position(start);
+            in.get(bytes);
+            return new DataInputStream(new ByteArrayInputStream(bytes)).readUTF();
+        }
+        byte[] bytes = new byte[(int) readVarLong(in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+}
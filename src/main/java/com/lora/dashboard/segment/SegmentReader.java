@@ -0,0 +1,213 @@
+package com.lora.dashboard.segment;
+
+import com.lora.dashboard.repository.UplinkMessageProjectionRepository.ProjectedRow;
+import com.lora.dashboard.repository.projection.UplinkMessageField;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * 콜드 세그먼트 파일을 메모리 매핑해 읽음
+ * footer의 블록별 최소/최대값으로 조건에 맞을 수 없는 블록은 압축을 풀지 않고 건너뛰고,
+ * 남은 블록도 조건과 요청 필드에 필요한 컬럼 청크만 푼다. 매핑은 읽기 전용이라 여러 스레드가 함께 사용한다.
+ */
+public class SegmentReader {
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final Map<UplinkMessageField, Integer> columnIndex = new EnumMap<>(UplinkMessageField.class);
+    private final long rowCount;
+    private final Block[] blocks;
+
+    private final AtomicLong blocksScanned = new AtomicLong();
+    private final AtomicLong blocksSkipped = new AtomicLong();
+
+    public SegmentReader(Path path) throws IOException {
+        this.path = path;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // 매핑은 채널을 닫아도 유지됨 (세그먼트 파일은 월 단위라 2GB 한도 안)
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        ByteBuffer in = buffer.duplicate();
+        int length = in.capacity();
+        if (length < SegmentFormat.HEADER_LENGTH + SegmentFormat.TRAILER_LENGTH ||
+                in.getInt(0) != SegmentFormat.MAGIC || in.getInt(length - 4) != SegmentFormat.MAGIC) {
+            throw new IOException("세그먼트 파일이 아님: " + path);
+        }
+        int version = in.getInt(4);
+        if (version != SegmentFormat.VERSION && version != SegmentFormat.VERSION_MODIFIED_UTF) {
+            throw new IOException("지원하지 않는 세그먼트 버전 " + version + ": " + path);
+        }
+
+        in.position((int) in.getLong(length - SegmentFormat.TRAILER_LENGTH));
+        int columnCount = in.getInt();
+        for (int c = 0; c < columnCount; c++) {
+            // 이후 버전에서 없어진 필드는 무시
+            UplinkMessageField field = UplinkMessageField.byName(SegmentFormat.readString(in, version));
+            if (field != null) {
+                columnIndex.put(field, c);
+            }
+        }
+        rowCount = in.getLong();
+        blocks = new Block[in.getInt()];
+        for (int b = 0; b < blocks.length; b++) {
+            blocks[b] = new Block(in, columnCount, version);
+        }
+    }
+
+    /**
+     * [fromMs, toMs] 구간에서 deviceId(null이면 전체), rssi <= maxRssi(null이면 조건 없음)인 행을
+     * (timestamp_ms, id) 순으로 visitor에 전달 (visitor가 false를 반환하면 중단)
+     */
+    public void scan(long fromMs, long toMs, String deviceId, Float maxRssi, List<UplinkMessageField> fields,
+                     Predicate<ProjectedRow> visitor) {
+        for (int b = 0; b < blocks.length; b++) {
+            Block block = blocks[b];
+            if (block.minTs > toMs) {
+                // 이후 블록은 모두 더 늦은 시각
+                blocksSkipped.addAndGet(blocks.length - b);
+                return;
+            }
+            if (block.maxTs < fromMs || !block.mayContain(deviceId, maxRssi)) {
+                blocksSkipped.incrementAndGet();
+                continue;
+            }
+            blocksScanned.incrementAndGet();
+
+            Object[] ids = column(block, UplinkMessageField.ID);
+            Object[] timestamps = column(block, UplinkMessageField.TIMESTAMP_MS);
+            Object[] devices = deviceId != null ? column(block, UplinkMessageField.DEVICE_ID) : null;
+            Object[] rssis = maxRssi != null ? column(block, UplinkMessageField.RSSI) : null;
+            Object[][] values = new Object[fields.size()][];
+
+            for (int i = 0; i < block.rows; i++) {
+                long timestampMs = (Long) timestamps[i];
+                if (timestampMs < fromMs) {
+                    continue;
+                }
+                if (timestampMs > toMs) {
+                    return;
+                }
+                if (devices != null && !deviceId.equals(devices[i])) {
+                    continue;
+                }
+                if (rssis != null && (rssis[i] == null || (Float) rssis[i] > maxRssi)) {
+                    continue;
+                }
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (int f = 0; f < fields.size(); f++) {
+                    if (values[f] == null) {
+                        values[f] = column(block, fields.get(f));
+                    }
+                    row.put(fields.get(f).getName(), values[f][i]);
+                }
+                if (!visitor.test(new ProjectedRow((Long) ids[i], timestampMs, Collections.unmodifiableMap(row)))) {
+                    return;
+                }
+            }
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public int getBlockCount() {
+        return blocks.length;
+    }
+
+    public long getBlocksScanned() {
+        return blocksScanned.get();
+    }
+
+    public long getBlocksSkipped() {
+        return blocksSkipped.get();
+    }
+
+    // 한 블록의 컬럼 청크를 풀어 값 배열로 (세그먼트에 없는 컬럼은 모두 null)
+    private Object[] column(Block block, UplinkMessageField field) {
+        Integer index = columnIndex.get(field);
+        if (index == null) {
+            return new Object[block.rows];
+        }
+        ByteBuffer chunk = buffer.duplicate();
+        chunk.position((int) block.offsets[index]);
+        chunk.limit((int) block.offsets[index] + block.lengths[index]);
+
+        byte[] raw = new byte[block.rawLengths[index]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(chunk);
+            int inflated = 0;
+            while (inflated < raw.length && !inflater.finished()) {
+                inflated += inflater.inflate(raw, inflated, raw.length - inflated);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("세그먼트 컬럼 손상: " + path + " " + field.getName(), e);
+        } finally {
+            inflater.end();
+        }
+        return SegmentFormat.decodeColumn(field.getType(), ByteBuffer.wrap(raw), block.rows);
+    }
+
+    /**
+     * 블록 통계와 컬럼 청크 위치
+     */
+    private static class Block {
+        private final int rows;
+        private final long minTs;
+        private final long maxTs;
+        private final String minDevice;
+        private final String maxDevice;
+        private final float minRssi;
+        private final long[] offsets;
+        private final int[] lengths;
+        private final int[] rawLengths;
+
+        Block(ByteBuffer in, int columnCount, int version) throws IOException {
+            rows = in.getInt();
+            minTs = in.getLong();
+            maxTs = in.getLong();
+            boolean hasDevice = in.get() != 0;
+            minDevice = hasDevice ? SegmentFormat.readString(in, version) : null;
+            maxDevice = hasDevice ? SegmentFormat.readString(in, version) : null;
+            minRssi = in.getFloat();
+            // 최대 RSSI (rssi <= maxRssi 조건에는 최소값만 필요)
+            in.getFloat();
+            offsets = new long[columnCount];
+            lengths = new int[columnCount];
+            rawLengths = new int[columnCount];
+            for (int c = 0; c < columnCount; c++) {
+                offsets[c] = in.getLong();
+                lengths[c] = in.getInt();
+                rawLengths[c] = in.getInt();
+            }
+        }
+
+        boolean mayContain(String deviceId, Float maxRssi) {
+            if (deviceId != null && (minDevice == null ||
+                    deviceId.compareTo(minDevice) < 0 || deviceId.compareTo(maxDevice) > 0)) {
+                return false;
+            }
+            // RSSI가 모두 null이면 minRssi는 NaN이라 비교가 거짓
+            return maxRssi == null || minRssi <= maxRssi;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.lora.dashboard.segment;
+
+import com.lora.dashboard.repository.UplinkMessageProjectionRepository.ProjectedRow;
+import com.lora.dashboard.repository.projection.UplinkMessageField;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * 업링크 메시지 행을 (timestamp_ms, id) 순으로 받아 콜드 세그먼트 파일을 기록
+ * 행은 블록 하나 분량만 메모리에 두고, 블록이 차면 컬럼별로 인코딩/압축해 바로 파일에 쓴다.
+ * 모든 UplinkMessageField 컬럼을 저장하며 finish()에서 footer를 쓰고 fsync한다.
+ */
+public class SegmentWriter implements Closeable {
+
+    private static final List<UplinkMessageField> COLUMNS = UplinkMessageField.all();
+
+    private final FileOutputStream file;
+    private final DataOutputStream out;
+    private final int blockRows;
+    private final Object[][] block;
+    private final byte[] compressed = new byte[64 * 1024];
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+    private final ByteArrayOutputStream footer = new ByteArrayOutputStream();
+    private final DataOutputStream footerOut = new DataOutputStream(footer);
+    private final int timestampColumn = COLUMNS.indexOf(UplinkMessageField.TIMESTAMP_MS);
+    private final int deviceColumn = COLUMNS.indexOf(UplinkMessageField.DEVICE_ID);
+    private final int rssiColumn = COLUMNS.indexOf(UplinkMessageField.RSSI);
+
+    private long position;
+    private int rows;
+    private long rowCount;
+    private int blockCount;
+
+    public SegmentWriter(Path path, int blockRows) throws IOException {
+        this.file = new FileOutputStream(path.toFile());
+        this.out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024));
+        this.blockRows = blockRows;
+        this.block = new Object[COLUMNS.size()][blockRows];
+        out.writeInt(SegmentFormat.MAGIC);
+        out.writeInt(SegmentFormat.VERSION);
+        position = SegmentFormat.HEADER_LENGTH;
+    }
+
+    /**
+     * 모든 필드를 조회한 행 추가 (이전 행보다 (timestamp_ms, id)가 커야 함)
+     */
+    public void append(ProjectedRow row) throws IOException {
+        for (int c = 0; c < COLUMNS.size(); c++) {
+            block[c][rows] = row.getValues().get(COLUMNS.get(c).getName());
+        }
+        rows++;
+        rowCount++;
+        if (rows == blockRows) {
+            flushBlock();
+        }
+    }
+
+    /**
+     * 남은 블록과 footer를 기록하고 디스크에 동기화한 뒤 파일 크기를 반환
+     */
+    public long finish() throws IOException {
+        if (rows > 0) {
+            flushBlock();
+        }
+        ByteArrayOutputStream footerBytes = new ByteArrayOutputStream();
+        DataOutputStream footerHeader = new DataOutputStream(footerBytes);
+        footerHeader.writeInt(COLUMNS.size());
+        for (UplinkMessageField column : COLUMNS) {
+            footerHeader.write(SegmentFormat.encodeString(column.getName()));
+        }
+        footerHeader.writeLong(rowCount);
+        footerHeader.writeInt(blockCount);
+        footer.writeTo(footerHeader);
+        footerHeader.flush();
+
+        long footerOffset = position;
+        footerBytes.writeTo(out);
+        out.writeLong(footerOffset);
+        out.writeInt(footerBytes.size());
+        out.writeInt(SegmentFormat.MAGIC);
+        out.flush();
+        file.getFD().sync();
+        close();
+        return footerOffset + footerBytes.size() + SegmentFormat.TRAILER_LENGTH;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public int getBlockCount() {
+        return blockCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        out.close();
+    }
+
+    // 블록 통계와 컬럼 청크를 기록
+    private void flushBlock() throws IOException {
+        String minDevice = null;
+        String maxDevice = null;
+        float minRssi = Float.NaN;
+        float maxRssi = Float.NaN;
+        for (int i = 0; i < rows; i++) {
+            String device = (String) block[deviceColumn][i];
+            if (device != null) {
+                minDevice = minDevice == null || device.compareTo(minDevice) < 0 ? device : minDevice;
+                maxDevice = maxDevice == null || device.compareTo(maxDevice) > 0 ? device : maxDevice;
+            }
+            Object rssi = block[rssiColumn][i];
+            if (rssi != null) {
+                float value = ((Number) rssi).floatValue();
+                minRssi = Float.isNaN(minRssi) || value < minRssi ? value : minRssi;
+                maxRssi = Float.isNaN(maxRssi) || value > maxRssi ? value : maxRssi;
+            }
+        }
+        // 행이 시각 순이므로 첫/마지막 행이 시각 최소/최대
+        footerOut.writeInt(rows);
+        footerOut.writeLong(((Number) block[timestampColumn][0]).longValue());
+        footerOut.writeLong(((Number) block[timestampColumn][rows - 1]).longValue());
+        footerOut.writeBoolean(minDevice != null);
+        if (minDevice != null) {
+            footerOut.write(SegmentFormat.encodeString(minDevice));
+            footerOut.write(SegmentFormat.encodeString(maxDevice));
+        }
+        footerOut.writeFloat(minRssi);
+        footerOut.writeFloat(maxRssi);
+
+        for (int c = 0; c < COLUMNS.size(); c++) {
+            byte[] raw = SegmentFormat.encodeColumn(COLUMNS.get(c).getType(), block[c], rows);
+            deflater.reset();
+            deflater.setInput(raw);
+            deflater.finish();
+            long offset = position;
+            while (!deflater.finished()) {
+                int length = deflater.deflate(compressed);
+                out.write(compressed, 0, length);
+                position += length;
+            }
+            footerOut.writeLong(offset);
+            footerOut.writeInt((int) (position - offset));
+            footerOut.writeInt(raw.length);
+            Arrays.fill(block[c], 0, rows, null);
+        }
+        rows = 0;
+        blockCount++;
+    }
+}
@@ -0,0 +1,369 @@
+package com.lora.dashboard.service;
+
+import com.lora.dashboard.repository.ColdSegmentRepository;
+import com.lora.dashboard.repository.ColdSegmentRepository.ColdSegment;
+import com.lora.dashboard.repository.UplinkMessageProjectionRepository;
+import com.lora.dashboard.repository.UplinkMessageProjectionRepository.ProjectedRow;
+import com.lora.dashboard.repository.UplinkMessageRepository;
+import com.lora.dashboard.repository.projection.UplinkMessageField;
+import com.lora.dashboard.segment.SegmentReader;
+import com.lora.dashboard.segment.SegmentWriter;
+import com.lora.dashboard.util.TimestampUtils;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 지난 달의 업링크 메시지를 월별 콜드 세그먼트 파일로 봉인하고, 시간 범위 조회에서 세그먼트와 DB를 합쳐 읽음
+ * 봉인은 한 읽기 전용 트랜잭션(WAL 스냅샷) 안에서 그 시점의 최대 id 이하 행을 기록하므로, 봉인 후 같은 달에
+ * 늦게 들어온 행(id > max_id)은 DB에 남아 조회시 함께 읽는다. 봉인된 행은 보존 기간 정리의 SEGMENT 모드에서만
+ * DB에서 지워지며, 그 전까지 세그먼트는 같은 행의 압축 사본이다.
+ */
+@Service
+@DependsOn("schemaMigrator")
+public class ColdSegmentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColdSegmentService.class);
+
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final String FILE_PREFIX = "uplink_messages-";
+    private static final String FILE_SUFFIX = ".seg";
+    private static final String TMP_SUFFIX = ".tmp";
+
+    @Autowired
+    private ColdSegmentRepository coldSegmentRepository;
+
+    @Autowired
+    private UplinkMessageRepository uplinkMessageRepository;
+
+    @Autowired
+    private UplinkMessageProjectionRepository projectionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // 봉인 작업 여부 (이미 봉인된 세그먼트는 설정과 관계없이 조회에 사용)
+    @Value("${dashboard.cold-segments.enabled:false}")
+    private boolean enabled;
+
+    @Value("${dashboard.cold-segments.dir:segments}")
+    private String dir;
+
+    @Value("${dashboard.cold-segments.block-rows:4096}")
+    private int blockRows;
+
+    // 달이 끝나고 이 일수가 지나야 봉인 (늦게 들어오는 행을 줄임)
+    @Value("${dashboard.cold-segments.seal-delay-days:3}")
+    private int sealDelayDays;
+
+    @Value("${dashboard.cold-segments.fetch-size:1000}")
+    private int fetchSize;
+
+    // from_ms 순 (봉인시 교체)
+    private volatile TreeMap<Long, Sealed> segments = new TreeMap<>();
+    private volatile Map<String, Object> lastRun = Map.of();
+
+    @PostConstruct
+    public void start() {
+        Path directory = Paths.get(dir);
+        if (Files.isDirectory(directory)) {
+            // 봉인 중에 중단된 임시 파일
+            try (DirectoryStream<Path> tmpFiles = Files.newDirectoryStream(directory, "*" + TMP_SUFFIX)) {
+                for (Path tmp : tmpFiles) {
+                    Files.deleteIfExists(tmp);
+                }
+            } catch (IOException e) {
+                logger.warn("세그먼트 임시 파일 정리 실패: {}", e.getMessage());
+            }
+        }
+
+        TreeMap<Long, Sealed> loaded = new TreeMap<>();
+        for (ColdSegment segment : coldSegmentRepository.findAll()) {
+            try {
+                loaded.put(segment.getFromMs(),
+                        new Sealed(segment, new SegmentReader(directory.resolve(segment.getFileName()))));
+            } catch (IOException e) {
+                // 조회와 보존 기간 정리에서 제외 (해당 달은 DB 행만 사용)
+                logger.error("콜드 세그먼트 {}를 열 수 없음: {}", segment.getMonth(), e.getMessage());
+            }
+        }
+        segments = loaded;
+        if (!loaded.isEmpty()) {
+            logger.info("콜드 세그먼트 {}개 로드 ({} ~ {})", loaded.size(),
+                    loaded.firstEntry().getValue().segment.getMonth(), loaded.lastEntry().getValue().segment.getMonth());
+        }
+    }
+
+    /**
+     * 봉인 지연이 지난 달 중 아직 봉인되지 않은 달을 오래된 순으로 봉인
+     * timestamp_ms 백필이 끝나지 않았으면 월 경계가 확정되지 않으므로 다음 주기로 미룬다.
+     */
+    @Scheduled(fixedDelayString = "${dashboard.cold-segments.interval-ms:3600000}",
+            initialDelayString = "${dashboard.cold-segments.initial-delay-ms:120000}")
+    public void seal() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("startedAt", startedAt);
+        try {
+            if (uplinkMessageRepository.existsByTimestampMsIsNull()) {
+                result.put("skipped", "timestamp_ms backfill in progress");
+            } else {
+                result.put("sealedMonths", sealClosedMonths(startedAt));
+            }
+        } catch (Exception e) {
+            logger.error("콜드 세그먼트 봉인 실패: {}", e.getMessage());
+            result.put("error", e.getMessage());
+        }
+        result.put("elapsedMs", System.currentTimeMillis() - startedAt);
+        lastRun = result;
+    }
+
+    /**
+     * [fromMs, toMs] 구간이 봉인된 세그먼트와 겹치는지
+     */
+    public boolean overlaps(long fromMs, long toMs) {
+        for (Sealed sealed : segments.values()) {
+            if (sealed.segment.getFromMs() <= toMs && sealed.segment.getToMs() > fromMs) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * [fromMs, toMs] 구간의 업링크를 (timestamp_ms, id) 순으로 최대 limit개
+     * 봉인된 달은 세그먼트(블록 건너뛰기, 필요한 컬럼만 해제)와 DB의 늦은 행을 병합하고, 나머지 구간은 DB에서 읽는다.
+     * deviceId, maxRssi(rssi 이하)는 null이면 조건 없음
+     */
+    @Transactional(readOnly = true)
+    public List<ProjectedRow> findRange(List<UplinkMessageField> fields, long fromMs, long toMs,
+                                        String deviceId, Float maxRssi, int limit) {
+        List<ProjectedRow> result = new ArrayList<>();
+        long position = fromMs;
+        for (Sealed sealed : segments.values()) {
+            ColdSegment segment = sealed.segment;
+            if (segment.getToMs() <= position) {
+                continue;
+            }
+            if (segment.getFromMs() > toMs || result.size() >= limit) {
+                break;
+            }
+            if (position < segment.getFromMs()) {
+                // 세그먼트 사이의 봉인되지 않은 구간
+                result.addAll(projectionRepository.findRange(fields, position, segment.getFromMs() - 1, null,
+                        deviceId, maxRssi, limit - result.size()));
+                position = segment.getFromMs();
+                if (result.size() >= limit) {
+                    break;
+                }
+            }
+
+            long end = Math.min(toMs, segment.getToMs() - 1);
+            int remaining = limit - result.size();
+            List<ProjectedRow> cold = new ArrayList<>();
+            sealed.reader.scan(position, end, deviceId, maxRssi, fields, row -> {
+                cold.add(row);
+                return cold.size() < remaining;
+            });
+            List<ProjectedRow> late = projectionRepository.findRange(fields, position, end, segment.getMaxId(),
+                    deviceId, maxRssi, remaining);
+            merge(cold, late, remaining, result);
+            position = segment.getToMs();
+        }
+        if (result.size() < limit && position <= toMs) {
+            result.addAll(projectionRepository.findRange(fields, position, toMs, null, deviceId, maxRssi,
+                    limit - result.size()));
+        }
+        return result;
+    }
+
+    /**
+     * 열려 있는 세그먼트 목록 (오래된 순)
+     */
+    public List<ColdSegment> getSealedSegments() {
+        List<ColdSegment> sealed = new ArrayList<>();
+        for (Sealed entry : segments.values()) {
+            sealed.add(entry.segment);
+        }
+        return sealed;
+    }
+
+    /**
+     * 설정, 세그먼트별 크기와 블록 건너뛰기 통계, 마지막 봉인 결과
+     */
+    public Map<String, Object> getStatus() {
+        List<Map<String, Object>> list = new ArrayList<>();
+        long rows = 0;
+        long bytes = 0;
+        for (Sealed sealed : segments.values()) {
+            ColdSegment segment = sealed.segment;
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("month", segment.getMonth());
+            entry.put("fileName", segment.getFileName());
+            entry.put("rowCount", segment.getRowCount());
+            entry.put("blockCount", segment.getBlockCount());
+            entry.put("fileBytes", segment.getFileBytes());
+            entry.put("maxId", segment.getMaxId());
+            entry.put("sealedAt", segment.getSealedAt());
+            entry.put("blocksScanned", sealed.reader.getBlocksScanned());
+            entry.put("blocksSkipped", sealed.reader.getBlocksSkipped());
+            list.add(entry);
+            rows += segment.getRowCount();
+            bytes += segment.getFileBytes();
+        }
+
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("dir", dir);
+        status.put("blockRows", blockRows);
+        status.put("sealDelayDays", sealDelayDays);
+        status.put("totalRows", rows);
+        status.put("totalBytes", bytes);
+        status.put("segments", list);
+        status.put("lastRun", lastRun);
+        return status;
+    }
+
+    private List<String> sealClosedMonths(long now) throws IOException {
+        List<String> sealedMonths = new ArrayList<>();
+        Long minTimestampMs = uplinkMessageRepository.findMinTimestampMs();
+        if (minTimestampMs == null) {
+            return sealedMonths;
+        }
+        YearMonth last = YearMonth.from(Instant.ofEpochMilli(now - sealDelayDays * TimestampUtils.DAY_MILLIS)
+                .atZone(TimestampUtils.KST)).minusMonths(1);
+        YearMonth month = YearMonth.from(Instant.ofEpochMilli(minTimestampMs).atZone(TimestampUtils.KST));
+        for (; !month.isAfter(last); month = month.plusMonths(1)) {
+            if (segments.containsKey(startOf(month))) {
+                continue;
+            }
+            ColdSegment segment = sealMonth(month);
+            if (segment != null) {
+                sealedMonths.add(segment.getMonth());
+            }
+        }
+        return sealedMonths;
+    }
+
+    // 한 달을 임시 파일에 기록한 뒤 원자적으로 옮기고 목록에 추가 (행이 없으면 null)
+    private ColdSegment sealMonth(YearMonth month) throws IOException {
+        long fromMs = startOf(month);
+        long toMs = startOf(month.plusMonths(1));
+        String name = month.format(MONTH);
+        String fileName = FILE_PREFIX + name + FILE_SUFFIX;
+        Path directory = Paths.get(dir);
+        Files.createDirectories(directory);
+        Path file = directory.resolve(fileName);
+        Path tmp = directory.resolve(fileName + TMP_SUFFIX);
+
+        long startedAt = System.currentTimeMillis();
+        long[] maxId = {0};
+        long fileBytes;
+        SegmentWriter writer = new SegmentWriter(tmp, blockRows);
+        try {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+            transactionTemplate.executeWithoutResult(status -> {
+                // 같은 스냅샷의 최대 id (이후 행은 늦은 행으로 DB에서 읽음)
+                Long max = uplinkMessageRepository.findMaxId();
+                maxId[0] = max != null ? max : 0L;
+                projectionRepository.stream(UplinkMessageField.all(), fromMs, toMs, maxId[0], fetchSize, row -> {
+                    try {
+                        writer.append(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            });
+            if (writer.getRowCount() == 0) {
+                writer.close();
+                Files.deleteIfExists(tmp);
+                return null;
+            }
+            fileBytes = writer.finish();
+        } catch (UncheckedIOException e) {
+            writer.close();
+            Files.deleteIfExists(tmp);
+            throw e.getCause();
+        } catch (RuntimeException | IOException e) {
+            writer.close();
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        ColdSegment segment = new ColdSegment(name, fileName, fromMs, toMs, maxId[0], writer.getRowCount(),
+                writer.getBlockCount(), fileBytes, System.currentTimeMillis());
+        SegmentReader reader = new SegmentReader(file);
+        coldSegmentRepository.insert(segment);
+
+        TreeMap<Long, Sealed> updated = new TreeMap<>(segments);
+        updated.put(fromMs, new Sealed(segment, reader));
+        segments = updated;
+        logger.info("콜드 세그먼트 봉인: {} {}행, {}블록, {}KB, {}ms", name, segment.getRowCount(),
+                segment.getBlockCount(), fileBytes / 1024, System.currentTimeMillis() - startedAt);
+        return segment;
+    }
+
+    // 두 정렬된 목록을 (timestamp_ms, id) 순으로 최대 limit개까지 result에 추가
+    private static void merge(List<ProjectedRow> left, List<ProjectedRow> right, int limit, List<ProjectedRow> result) {
+        int i = 0;
+        int j = 0;
+        for (int added = 0; added < limit && (i < left.size() || j < right.size()); added++) {
+            if (j >= right.size() || (i < left.size() && compare(left.get(i), right.get(j)) <= 0)) {
+                result.add(left.get(i++));
+            } else {
+                result.add(right.get(j++));
+            }
+        }
+    }
+
+    private static int compare(ProjectedRow a, ProjectedRow b) {
+        int byTime = Long.compare(a.getTimestampMs(), b.getTimestampMs());
+        return byTime != 0 ? byTime : Long.compare(a.getId(), b.getId());
+    }
+
+    private static long startOf(YearMonth month) {
+        return month.atDay(1).atStartOfDay(TimestampUtils.KST).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 목록 행과 열린 리더
+     */
+    private static class Sealed {
+        private final ColdSegment segment;
+        private final SegmentReader reader;
+
+        Sealed(ColdSegment segment, SegmentReader reader) {
+            this.segment = segment;
+            this.reader = reader;
+        }
+    }
+}
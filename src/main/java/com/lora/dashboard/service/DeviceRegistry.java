@@ -0,0 +1,505 @@
+package com.lora.dashboard.service;
+
+import com.lora.dashboard.dto.DeviceDto;
+import com.lora.dashboard.entity.DeviceSummary;
+import com.lora.dashboard.entity.IngestWatermark;
+import com.lora.dashboard.entity.JoinEvent;
+import com.lora.dashboard.entity.SignalQuality;
+import com.lora.dashboard.entity.UplinkMessage;
+import com.lora.dashboard.event.JoinEventsReceivedEvent;
+import com.lora.dashboard.event.UplinkMessagesReceivedEvent;
+import com.lora.dashboard.repository.DeviceSummaryRepository;
+import com.lora.dashboard.repository.IngestWatermarkRepository;
+import com.lora.dashboard.repository.JoinEventRepository;
+import com.lora.dashboard.repository.RetentionRepository.PurgedRow;
+import com.lora.dashboard.repository.UplinkMessageRepository;
+import com.lora.dashboard.repository.projection.DeviceJoinAggregateView;
+import com.lora.dashboard.repository.projection.DeviceLastRowView;
+import com.lora.dashboard.repository.projection.DeviceUplinkAggregateView;
+import com.lora.dashboard.util.SignalQualityClassifier;
+import com.lora.dashboard.util.TimestampUtils;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 디바이스 레지스트리
+ * 디바이스별 처음/마지막 수신 시각, 메시지 수, 마지막 프레임 카운터, RSSI/SNR 누적 통계를
+ * 메모리에 두고 MessageTailer 이벤트로 증분 갱신한다. 변경분은 주기적으로 dashboard_devices 테이블에
+ * 워터마크와 함께 저장하여, 재시작시 테이블을 다시 스캔하지 않고 복원한다.
+ */
+@Service
+public class DeviceRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeviceRegistry.class);
+
+    static final String UPLINK_WATERMARK = "devices:uplink_messages";
+    static final String JOIN_WATERMARK = "devices:join_events";
+
+    @Autowired
+    private UplinkMessageRepository uplinkMessageRepository;
+
+    @Autowired
+    private JoinEventRepository joinEventRepository;
+
+    @Autowired
+    private DeviceSummaryRepository deviceSummaryRepository;
+
+    @Autowired
+    private IngestWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${dashboard.statistics.batch-size:1000}")
+    private int batchSize;
+
+    // 마지막 수신이 이 시간 안이면 활성 디바이스
+    @Value("${dashboard.devices.active-window-hours:24}")
+    private long activeWindowHours;
+
+    private final Map<String, DeviceSummary> devices = new HashMap<>();
+    private final Set<String> dirtyDevices = new HashSet<>();
+
+    // 레지스트리에 반영된 마지막 id
+    private long uplinkWatermark;
+    private long joinWatermark;
+    private volatile boolean initialized = false;
+
+    @PostConstruct
+    public void start() {
+        try {
+            initialize();
+        } catch (Exception e) {
+            // 다음 persist 주기에서 재시도
+            logger.error("디바이스 레지스트리 초기화 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 변경된 디바이스와 워터마크를 주기적으로 저장 (초기화 실패시 재시도)
+     */
+    @Scheduled(fixedDelayString = "${dashboard.devices.persist-interval-ms:5000}")
+    public void persistChanges() {
+        try {
+            synchronized (this) {
+                if (!initialized) {
+                    initialize();
+                    return;
+                }
+                if (!dirtyDevices.isEmpty()) {
+                    persist();
+                }
+            }
+        } catch (Exception e) {
+            logger.error("디바이스 레지스트리 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public synchronized void onUplinkMessages(UplinkMessagesReceivedEvent event) {
+        if (!initialized) {
+            return;
+        }
+        if (uplinkWatermark < event.getPreviousWatermark()) {
+            catchUpUplinks();
+        }
+        for (UplinkMessage message : event.getMessages()) {
+            if (message.getId() > uplinkWatermark) {
+                applyUplink(message);
+            }
+        }
+    }
+
+    @EventListener
+    public synchronized void onJoinEvents(JoinEventsReceivedEvent event) {
+        if (!initialized) {
+            return;
+        }
+        if (joinWatermark < event.getPreviousWatermark()) {
+            catchUpJoinEvents();
+        }
+        for (JoinEvent joinEvent : event.getJoinEvents()) {
+            if (joinEvent.getId() > joinWatermark) {
+                applyJoinEvent(joinEvent);
+            }
+        }
+    }
+
+    /**
+     * 디바이스 목록 (디바이스 ID순)
+     * @param applicationId null이면 전체
+     * @param activeOnly true면 활성 디바이스만
+     */
+    public synchronized List<DeviceDto> getDevices(String applicationId, boolean activeOnly) {
+        long activeSince = activeSince();
+        return devices.values().stream()
+                .filter(summary -> applicationId == null || applicationId.equals(summary.getApplicationId()))
+                .filter(summary -> !activeOnly || isActive(summary, activeSince))
+                .sorted(Comparator.comparing(DeviceSummary::getDeviceId))
+                .map(summary -> new DeviceDto(summary, isActive(summary, activeSince)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 디바이스 하나 (없으면 null)
+     */
+    public synchronized DeviceDto getDevice(String deviceId) {
+        DeviceSummary summary = devices.get(deviceId);
+        return summary != null ? new DeviceDto(summary, isActive(summary, activeSince())) : null;
+    }
+
+    /**
+     * 활성 디바이스 수 (마지막 수신이 활성 구간 안인 디바이스)
+     */
+    public synchronized long getActiveDeviceCount() {
+        long activeSince = activeSince();
+        return devices.values().stream().filter(summary -> isActive(summary, activeSince)).count();
+    }
+
+    /**
+     * 디바이스별 업링크 수 (메시지 많은 순, 업링크가 없는 디바이스 제외)
+     */
+    public synchronized Map<String, Long> getMessageCounts() {
+        return devices.values().stream()
+                .filter(summary -> summary.getMessageCount() > 0)
+                .sorted(Comparator.comparing(DeviceSummary::getMessageCount).reversed()
+                        .thenComparing(DeviceSummary::getDeviceId))
+                .collect(Collectors.toMap(DeviceSummary::getDeviceId, DeviceSummary::getMessageCount,
+                        (a, b) -> a, LinkedHashMap::new));
+    }
+
+    /**
+     * 디바이스의 업링크 수 (Slice 응답의 근사 전체 개수용)
+     */
+    public synchronized long getMessageCount(String deviceId) {
+        DeviceSummary summary = devices.get(deviceId);
+        return summary != null ? summary.getMessageCount() : 0L;
+    }
+
+    /**
+     * 전체 업링크의 SignalQuality 구간별 수 (SignalQuality 코드 순)
+     * @param applicationId null이면 모든 디바이스 합계
+     */
+    public synchronized long[] getSignalQualityTotals(String applicationId) {
+        long[] totals = new long[SignalQuality.values().length];
+        for (DeviceSummary summary : devices.values()) {
+            if (applicationId == null || applicationId.equals(summary.getApplicationId())) {
+                long[] counts = qualityCounts(summary);
+                for (int i = 0; i < totals.length; i++) {
+                    totals[i] += counts[i];
+                }
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * 디바이스 전체 업링크의 SignalQuality 구간별 수 (없는 디바이스면 null)
+     */
+    public synchronized long[] getSignalQualityCounts(String deviceId) {
+        DeviceSummary summary = devices.get(deviceId);
+        return summary != null ? qualityCounts(summary) : null;
+    }
+
+    /**
+     * 보존 기간 정리로 삭제된 업링크를 디바이스별 메시지 수와 신호 품질 구간별 수에서 뺀다
+     * 워터마크 이후의 행은 아직 반영 전이고 따라잡기에서도 보이지 않으므로 빼지 않는다.
+     * 처음/마지막 수신 시각과 RSSI/SNR 통계는 전체 기간 값으로 유지한다.
+     */
+    public synchronized void removeUplinks(List<PurgedRow> rows) {
+        for (PurgedRow row : rows) {
+            DeviceSummary summary = row.getId() <= uplinkWatermark ? devices.get(row.getDeviceId()) : null;
+            if (summary == null) {
+                continue;
+            }
+            summary.setMessageCount(Math.max(0, summary.getMessageCount() - 1));
+            addQuality(summary, SignalQualityClassifier.resolve(
+                    row.getSignalQualityCode(), row.getRssi(), row.getSnr()), -1);
+            dirtyDevices.add(summary.getDeviceId());
+        }
+    }
+
+    /**
+     * 보존 기간 정리로 삭제된 JOIN 이벤트를 디바이스별 JOIN 수에서 뺀다
+     */
+    public synchronized void removeJoinEvents(List<PurgedRow> rows) {
+        for (PurgedRow row : rows) {
+            DeviceSummary summary = row.getId() <= joinWatermark ? devices.get(row.getDeviceId()) : null;
+            if (summary == null) {
+                continue;
+            }
+            summary.setJoinCount(Math.max(0, summary.getJoinCount() - 1));
+            dirtyDevices.add(summary.getDeviceId());
+        }
+    }
+
+    /**
+     * 레지스트리에 반영된 마지막 [업링크 id, JOIN id] (캐시 버전용)
+     */
+    public synchronized long[] getWatermarks() {
+        return new long[] {uplinkWatermark, joinWatermark};
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    private synchronized void initialize() {
+        long startNanos = System.nanoTime();
+        devices.clear();
+        dirtyDevices.clear();
+
+        Long uplinkMaxId = uplinkMessageRepository.findMaxId();
+        Long joinMaxId = joinEventRepository.findMaxId();
+        long uplinkMax = uplinkMaxId != null ? uplinkMaxId : 0L;
+        long joinMax = joinMaxId != null ? joinMaxId : 0L;
+
+        IngestWatermark uplinkMark = watermarkRepository.findById(UPLINK_WATERMARK).orElse(null);
+        IngestWatermark joinMark = watermarkRepository.findById(JOIN_WATERMARK).orElse(null);
+
+        // 워터마크가 현재 최대 id보다 크면 DB 파일이 교체된 것이므로 다시 구성
+        List<DeviceSummary> stored = uplinkMark != null && joinMark != null
+                && uplinkMark.getLastId() <= uplinkMax && joinMark.getLastId() <= joinMax
+                ? deviceSummaryRepository.findAll() : null;
+        // 신호 품질 카운터가 없던 때 저장된 행이 있어도 다시 구성
+        if (stored != null && stored.stream().allMatch(summary -> summary.getPoorCount() != null)) {
+            for (DeviceSummary summary : stored) {
+                devices.put(summary.getDeviceId(), summary);
+            }
+            uplinkWatermark = uplinkMark.getLastId();
+            joinWatermark = joinMark.getLastId();
+            logger.info("디바이스 레지스트리 복원: 디바이스 {}개, uplink 워터마크={}, join 워터마크={}",
+                    devices.size(), uplinkWatermark, joinWatermark);
+        } else {
+            rebuild(uplinkMax, joinMax);
+            logger.info("디바이스 레지스트리 재구성: 디바이스 {}개, uplink 워터마크={}, join 워터마크={}",
+                    devices.size(), uplinkWatermark, joinWatermark);
+        }
+
+        catchUpUplinks();
+        catchUpJoinEvents();
+        persist();
+        initialized = true;
+        logger.info("디바이스 레지스트리 준비 완료 ({}ms)", (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    // 워터마크 이하 행을 디바이스별 GROUP BY 집계로 한 번에 구성 (기존 저장분은 통째로 교체)
+    private void rebuild(long uplinkMax, long joinMax) {
+        for (DeviceUplinkAggregateView row : uplinkMessageRepository.aggregateByDeviceIdUpTo(uplinkMax)) {
+            DeviceSummary summary = summaryFor(row.getDeviceId());
+            summary.setMessageCount(row.getCount());
+            extendSeen(summary, row.getFirstSeenMs());
+            extendSeen(summary, row.getLastSeenMs());
+            summary.setRssiSamples(row.getRssiSamples());
+            summary.setRssiSum(row.getRssiSum() != null ? row.getRssiSum() : 0.0);
+            summary.setRssiMin(toFloat(row.getRssiMin()));
+            summary.setRssiMax(toFloat(row.getRssiMax()));
+            summary.setSnrSamples(row.getSnrSamples());
+            summary.setSnrSum(row.getSnrSum() != null ? row.getSnrSum() : 0.0);
+            summary.setSnrMin(toFloat(row.getSnrMin()));
+            summary.setSnrMax(toFloat(row.getSnrMax()));
+            summary.setExcellentCount(row.getExcellentCount());
+            summary.setGoodCount(row.getGoodCount());
+            summary.setFairCount(row.getFairCount());
+            summary.setPoorCount(row.getPoorCount());
+        }
+        for (DeviceLastRowView row : uplinkMessageRepository.findLastRowPerDeviceUpTo(uplinkMax)) {
+            DeviceSummary summary = summaryFor(row.getDeviceId());
+            summary.setLastMessageId(row.getId());
+            summary.setLastFrameCount(row.getFrameCount());
+            updateIdentity(summary, row.getDevEui(), row.getApplicationId(), true);
+        }
+        for (DeviceJoinAggregateView row : joinEventRepository.aggregateByDeviceIdUpTo(joinMax)) {
+            DeviceSummary summary = summaryFor(row.getDeviceId());
+            summary.setJoinCount(row.getCount());
+            summary.setLastJoinMs(row.getLastSeenMs());
+            extendSeen(summary, row.getFirstSeenMs());
+            extendSeen(summary, row.getLastSeenMs());
+        }
+        for (DeviceLastRowView row : joinEventRepository.findLastRowPerDeviceUpTo(joinMax)) {
+            updateIdentity(summaryFor(row.getDeviceId()), row.getDevEui(), row.getApplicationId(), false);
+        }
+
+        // 워터마크도 같은 트랜잭션에서 지워, 새 행과 워터마크가 저장되기 전에 중단되면 다음 시작에서 다시 구성
+        // (빈 테이블과 이전 워터마크가 남으면 비어 있는 레지스트리를 복원하게 됨)
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            deviceSummaryRepository.deleteAllInBatch();
+            watermarkRepository.deleteAllByIdInBatch(List.of(UPLINK_WATERMARK, JOIN_WATERMARK));
+        });
+        dirtyDevices.addAll(devices.keySet());
+        uplinkWatermark = uplinkMax;
+        joinWatermark = joinMax;
+    }
+
+    // 워터마크 이후의 행을 id 순으로 반영
+    private void catchUpUplinks() {
+        while (true) {
+            List<UplinkMessage> rows = uplinkMessageRepository.findByIdGreaterThanOrderByIdAsc(
+                    uplinkWatermark, PageRequest.of(0, batchSize));
+            rows.forEach(this::applyUplink);
+            if (rows.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private void catchUpJoinEvents() {
+        while (true) {
+            List<JoinEvent> rows = joinEventRepository.findByIdGreaterThanOrderByIdAsc(
+                    joinWatermark, PageRequest.of(0, batchSize));
+            rows.forEach(this::applyJoinEvent);
+            if (rows.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private void applyUplink(UplinkMessage message) {
+        uplinkWatermark = message.getId();
+        if (message.getDeviceId() == null) {
+            return;
+        }
+        DeviceSummary summary = summaryFor(message.getDeviceId());
+        summary.setMessageCount(summary.getMessageCount() + 1);
+        extendSeen(summary, epochMillisOf(message.getTimestampMs(), message.getTimestamp()));
+        if (summary.getLastMessageId() == null || message.getId() > summary.getLastMessageId()) {
+            summary.setLastMessageId(message.getId());
+            summary.setLastFrameCount(message.getFrameCount());
+            updateIdentity(summary, message.getDevEui(), message.getApplicationId(), true);
+        }
+
+        addQuality(summary, SignalQualityClassifier.resolve(
+                message.getSignalQualityCode(), message.getRssi(), message.getSnr()), 1);
+
+        Float rssi = message.getRssi();
+        if (rssi != null) {
+            summary.setRssiSamples(summary.getRssiSamples() + 1);
+            summary.setRssiSum(summary.getRssiSum() + rssi);
+            summary.setRssiMin(summary.getRssiMin() == null ? rssi : Math.min(summary.getRssiMin(), rssi));
+            summary.setRssiMax(summary.getRssiMax() == null ? rssi : Math.max(summary.getRssiMax(), rssi));
+        }
+        Float snr = message.getSnr();
+        if (snr != null) {
+            summary.setSnrSamples(summary.getSnrSamples() + 1);
+            summary.setSnrSum(summary.getSnrSum() + snr);
+            summary.setSnrMin(summary.getSnrMin() == null ? snr : Math.min(summary.getSnrMin(), snr));
+            summary.setSnrMax(summary.getSnrMax() == null ? snr : Math.max(summary.getSnrMax(), snr));
+        }
+        dirtyDevices.add(summary.getDeviceId());
+    }
+
+    private void applyJoinEvent(JoinEvent joinEvent) {
+        joinWatermark = joinEvent.getId();
+        if (joinEvent.getDeviceId() == null) {
+            return;
+        }
+        DeviceSummary summary = summaryFor(joinEvent.getDeviceId());
+        summary.setJoinCount(summary.getJoinCount() + 1);
+        Long epochMillis = epochMillisOf(joinEvent.getTimestampMs(), joinEvent.getTimestamp());
+        extendSeen(summary, epochMillis);
+        if (epochMillis != null && (summary.getLastJoinMs() == null || epochMillis > summary.getLastJoinMs())) {
+            summary.setLastJoinMs(epochMillis);
+        }
+        updateIdentity(summary, joinEvent.getDevEui(), joinEvent.getApplicationId(), false);
+        dirtyDevices.add(summary.getDeviceId());
+    }
+
+    // 변경된 디바이스와 워터마크를 한 트랜잭션으로 저장 (중복 집계 방지)
+    private void persist() {
+        List<DeviceSummary> changed = new ArrayList<>(dirtyDevices.size());
+        for (String deviceId : dirtyDevices) {
+            changed.add(devices.get(deviceId));
+        }
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            deviceSummaryRepository.saveAll(changed);
+            watermarkRepository.save(new IngestWatermark(UPLINK_WATERMARK, uplinkWatermark));
+            watermarkRepository.save(new IngestWatermark(JOIN_WATERMARK, joinWatermark));
+        });
+        dirtyDevices.clear();
+    }
+
+    private static void addQuality(DeviceSummary summary, SignalQuality quality, long delta) {
+        switch (quality) {
+            case EXCELLENT:
+                summary.setExcellentCount(Math.max(0, summary.getExcellentCount() + delta));
+                break;
+            case GOOD:
+                summary.setGoodCount(Math.max(0, summary.getGoodCount() + delta));
+                break;
+            case FAIR:
+                summary.setFairCount(Math.max(0, summary.getFairCount() + delta));
+                break;
+            case POOR:
+            default:
+                summary.setPoorCount(Math.max(0, summary.getPoorCount() + delta));
+        }
+    }
+
+    private static long[] qualityCounts(DeviceSummary summary) {
+        return new long[] {summary.getExcellentCount(), summary.getGoodCount(),
+                summary.getFairCount(), summary.getPoorCount()};
+    }
+
+    private DeviceSummary summaryFor(String deviceId) {
+        return devices.computeIfAbsent(deviceId, DeviceSummary::new);
+    }
+
+    private long activeSince() {
+        return System.currentTimeMillis() - activeWindowHours * TimestampUtils.HOUR_MILLIS;
+    }
+
+    private static boolean isActive(DeviceSummary summary, long activeSince) {
+        return summary.getLastSeenMs() != null && summary.getLastSeenMs() >= activeSince;
+    }
+
+    private static void extendSeen(DeviceSummary summary, Long epochMillis) {
+        if (epochMillis == null) {
+            return;
+        }
+        if (summary.getFirstSeenMs() == null || epochMillis < summary.getFirstSeenMs()) {
+            summary.setFirstSeenMs(epochMillis);
+        }
+        if (summary.getLastSeenMs() == null || epochMillis > summary.getLastSeenMs()) {
+            summary.setLastSeenMs(epochMillis);
+        }
+    }
+
+    // 업링크 값이 우선하고, JOIN 이벤트는 비어 있는 값만 채움
+    private static void updateIdentity(DeviceSummary summary, String devEui, String applicationId, boolean overwrite) {
+        if (devEui != null && (overwrite || summary.getDevEui() == null)) {
+            summary.setDevEui(devEui);
+        }
+        if (applicationId != null && (overwrite || summary.getApplicationId() == null)) {
+            summary.setApplicationId(applicationId);
+        }
+    }
+
+    // 백필 전인 새 행은 문자열에서 계산
+    private static Long epochMillisOf(Long timestampMs, String timestamp) {
+        return timestampMs != null ? timestampMs : TimestampUtils.parseEpochMillis(timestamp);
+    }
+
+    private static Float toFloat(Double value) {
+        return value != null ? value.floatValue() : null;
+    }
+}
@@ -0,0 +1,261 @@
+package com.lora.dashboard.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lora.dashboard.repository.ExportRepository;
+import com.lora.dashboard.repository.TimeSeriesRollupRepository.Source;
+import com.lora.dashboard.util.TimestampUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 업링크/JOIN 이벤트 원본 행 내보내기 (CSV, NDJSON)
+ * 하나의 읽기 전용 트랜잭션(읽기 풀, WAL 스냅샷) 안에서 전진 전용 커서를 따라 한 행씩 응답 스트림에 기록한다.
+ * 컬럼은 DB 컬럼명 그대로이며 NDJSON 한 줄은 보존 기간 정리의 보관 파일과 같은 형식이다.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private ExportRepository exportRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // 드라이버가 한 번에 가져오는 행 수 힌트
+    @Value("${dashboard.export.fetch-size:1000}")
+    private int fetchSize;
+
+    /**
+     * 내보내기 형식
+     */
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public static Format parse(String format) {
+            for (Format value : values()) {
+                if (value.extension.equalsIgnoreCase(format)) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("지원하지 않는 형식: " + format);
+        }
+    }
+
+    /**
+     * 요청 파라미터를 검증한 내보내기 범위 (응답을 시작하기 전에 만들어 잘못된 요청은 400으로 응답)
+     * from/to는 epoch ms 또는 ISO 시각이며, 시각 구간이나 id 구간 중 하나는 지정해야 한다.
+     */
+    public ExportQuery createQuery(Source source, String from, String to, Long afterId, Long toId,
+                                   String deviceId, String applicationId) {
+        if (from == null && to == null && afterId == null && toId == null) {
+            throw new IllegalArgumentException("from/to 또는 afterId/toId 중 하나는 지정해야 합니다");
+        }
+        if (deviceId != null && applicationId != null) {
+            throw new IllegalArgumentException("deviceId와 applicationId는 함께 지정할 수 없습니다");
+        }
+        Long fromMs = from != null ? TimestampUtils.parseTimeParameter(from) : null;
+        Long toMs = to != null ? TimestampUtils.parseTimeParameter(to) : null;
+        if (fromMs != null && toMs != null && fromMs >= toMs) {
+            throw new IllegalArgumentException("from은 to보다 앞서야 합니다");
+        }
+        if (afterId != null && toId != null && afterId >= toId) {
+            throw new IllegalArgumentException("afterId는 toId보다 작아야 합니다");
+        }
+        return new ExportQuery(source, fromMs, toMs, afterId, toId, deviceId, applicationId);
+    }
+
+    /**
+     * 다운로드 파일명 (예: uplink_messages-20250801-135222.csv.gz)
+     */
+    public String fileName(ExportQuery query, Format format, boolean gzip) {
+        return query.source.getTable() + "-" + ZonedDateTime.now(TimestampUtils.KST).format(FILE_TIME) +
+                "." + format.extension + (gzip ? ".gz" : "");
+    }
+
+    /**
+     * 범위의 행을 output에 기록하고 행 수를 반환 (output은 닫지 않음)
+     * 클라이언트가 연결을 끊으면 쓰기 예외로 커서와 트랜잭션이 바로 정리된다.
+     */
+    public long write(ExportQuery query, Format format, boolean gzip, OutputStream output) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        OutputStream target = new NonClosingOutputStream(output);
+        if (gzip) {
+            target = new GZIPOutputStream(target, BUFFER_SIZE);
+        }
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        Long rows;
+        try {
+            rows = transactionTemplate.execute(status -> exportRepository.stream(query.source.getTable(),
+                    query.fromMs, query.toMs, query.afterId, query.toId, query.deviceId, query.applicationId,
+                    fetchSize, rs -> format == Format.CSV ? writeCsv(rs, writer) : writeNdjson(rs, writer)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        // gzip 트레일러까지 기록
+        writer.close();
+
+        logger.info("{} 내보내기 완료: {}행, {}ms", query.source.getTable(), rows, System.currentTimeMillis() - startedAt);
+        return rows != null ? rows : 0L;
+    }
+
+    // 첫 줄은 컬럼명, NULL은 빈 칸
+    private static long writeCsv(ResultSet rs, Writer writer) throws SQLException {
+        try {
+            ResultSetMetaData metaData = rs.getMetaData();
+            int columns = metaData.getColumnCount();
+            for (int i = 1; i <= columns; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                writeCsvValue(writer, metaData.getColumnLabel(i));
+            }
+            writer.write("\r\n");
+
+            long rows = 0;
+            while (rs.next()) {
+                for (int i = 1; i <= columns; i++) {
+                    if (i > 1) {
+                        writer.write(',');
+                    }
+                    String value = rs.getString(i);
+                    if (value != null) {
+                        writeCsvValue(writer, value);
+                    }
+                }
+                writer.write("\r\n");
+                rows++;
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 쉼표, 따옴표, 줄바꿈이 있는 값만 따옴표로 감쌈 (RFC 4180)
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    // 한 줄에 한 행의 JSON 객체 (컬럼명: 값, SQLite 저장 타입 그대로)
+    private long writeNdjson(ResultSet rs, Writer writer) throws SQLException {
+        try {
+            ResultSetMetaData metaData = rs.getMetaData();
+            int columns = metaData.getColumnCount();
+            String[] names = new String[columns];
+            for (int i = 1; i <= columns; i++) {
+                names[i - 1] = metaData.getColumnLabel(i);
+            }
+
+            long rows = 0;
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                while (rs.next()) {
+                    generator.writeStartObject();
+                    for (int i = 1; i <= columns; i++) {
+                        generator.writeFieldName(names[i - 1]);
+                        generator.writeObject(rs.getObject(i));
+                    }
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                    rows++;
+                }
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 검증된 내보내기 범위
+     */
+    public static class ExportQuery {
+        private final Source source;
+        private final Long fromMs;
+        private final Long toMs;
+        private final Long afterId;
+        private final Long toId;
+        private final String deviceId;
+        private final String applicationId;
+
+        ExportQuery(Source source, Long fromMs, Long toMs, Long afterId, Long toId,
+                    String deviceId, String applicationId) {
+            this.source = source;
+            this.fromMs = fromMs;
+            this.toMs = toMs;
+            this.afterId = afterId;
+            this.toId = toId;
+            this.deviceId = deviceId;
+            this.applicationId = applicationId;
+        }
+    }
+
+    // gzip/writer를 닫아도 응답 스트림은 닫지 않음 (컨테이너가 정리)
+    private static class NonClosingOutputStream extends FilterOutputStream {
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.lora.dashboard.service;
+
+import com.lora.dashboard.dto.JoinEventDto;
+import com.lora.dashboard.dto.UplinkMessageDto;
+import com.lora.dashboard.entity.JoinEvent;
+import com.lora.dashboard.entity.UplinkMessage;
+import com.lora.dashboard.event.JoinEventsReceivedEvent;
+import com.lora.dashboard.event.UplinkMessagesReceivedEvent;
+import com.lora.dashboard.repository.JoinEventRepository;
+import com.lora.dashboard.repository.RetentionRepository.PurgedRow;
+import com.lora.dashboard.repository.UplinkMessageRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 디바이스별 최신 업링크/JOIN 이벤트 메모리 인덱스
+ * 시작시 윈도 함수 쿼리 한 번으로 적재하고, 이후 MessageTailer 이벤트로 갱신한다.
+ * latest 엔드포인트는 DB 조회 없이 이 맵에서 응답한다.
+ * 보존 기간 정리로 캐시된 행이 삭제되면 그 디바이스만 DB에서 다시 읽는다.
+ */
+@Service
+public class LatestDeviceIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(LatestDeviceIndex.class);
+
+    private static final int CATCH_UP_BATCH_SIZE = 500;
+
+    @Autowired
+    private UplinkMessageRepository uplinkMessageRepository;
+
+    @Autowired
+    private JoinEventRepository joinEventRepository;
+
+    private final Map<String, UplinkMessageDto> latestUplinks = new ConcurrentHashMap<>();
+    private final Map<String, JoinEventDto> latestJoinEvents = new ConcurrentHashMap<>();
+
+    // 인덱스에 반영된 마지막 id (tailer 이벤트와의 공백 확인용)
+    private long uplinkIndexedUpTo;
+    private long joinIndexedUpTo;
+    private volatile boolean initialized = false;
+
+    @PostConstruct
+    public void start() {
+        try {
+            initialize();
+        } catch (Exception e) {
+            // 다음 이벤트에서 재시도, 그동안 latest 조회는 DB 사용
+            logger.error("최신 행 인덱스 초기화 실패: {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public synchronized void onUplinkMessages(UplinkMessagesReceivedEvent event) {
+        if (!initialized) {
+            initialize();
+            return;
+        }
+        if (uplinkIndexedUpTo < event.getPreviousWatermark()) {
+            uplinkIndexedUpTo = catchUp(uplinkIndexedUpTo, event.getPreviousWatermark(),
+                    uplinkMessageRepository::findByIdGreaterThanOrderByIdAsc, UplinkMessage::getId, this::offerUplink);
+        }
+        for (UplinkMessage message : event.getMessages()) {
+            offerUplink(message);
+            uplinkIndexedUpTo = Math.max(uplinkIndexedUpTo, message.getId());
+        }
+    }
+
+    @EventListener
+    public synchronized void onJoinEvents(JoinEventsReceivedEvent event) {
+        if (!initialized) {
+            initialize();
+            return;
+        }
+        if (joinIndexedUpTo < event.getPreviousWatermark()) {
+            joinIndexedUpTo = catchUp(joinIndexedUpTo, event.getPreviousWatermark(),
+                    joinEventRepository::findByIdGreaterThanOrderByIdAsc, JoinEvent::getId, this::offerJoinEvent);
+        }
+        for (JoinEvent joinEvent : event.getJoinEvents()) {
+            offerJoinEvent(joinEvent);
+            joinIndexedUpTo = Math.max(joinIndexedUpTo, joinEvent.getId());
+        }
+    }
+
+    /**
+     * 디바이스의 최신 업링크 (없으면 null)
+     */
+    public UplinkMessageDto getLatestMessage(String deviceId) {
+        return latestUplinks.get(deviceId);
+    }
+
+    /**
+     * 디바이스의 최신 JOIN 이벤트 (없으면 null)
+     */
+    public JoinEventDto getLatestJoinEvent(String deviceId) {
+        return latestJoinEvents.get(deviceId);
+    }
+
+    /**
+     * 보존 기간 정리로 삭제된 업링크가 디바이스의 최신 행이면 남은 행 중 최신으로 교체
+     */
+    public synchronized void removeUplinks(List<PurgedRow> rows) {
+        evict(rows, latestUplinks, UplinkMessageDto::getId, deviceId -> {
+            UplinkMessage message = uplinkMessageRepository.findFirstByDeviceIdOrderByTimestampMsDescIdDesc(deviceId);
+            return message != null ? new UplinkMessageDto(message) : null;
+        });
+    }
+
+    /**
+     * 보존 기간 정리로 삭제된 JOIN 이벤트가 디바이스의 최신 행이면 남은 행 중 최신으로 교체
+     */
+    public synchronized void removeJoinEvents(List<PurgedRow> rows) {
+        evict(rows, latestJoinEvents, JoinEventDto::getId, deviceId -> {
+            JoinEvent joinEvent = joinEventRepository.findFirstByDeviceIdOrderByTimestampMsDescIdDesc(deviceId);
+            return joinEvent != null ? new JoinEventDto(joinEvent) : null;
+        });
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    private synchronized void initialize() {
+        long startNanos = System.nanoTime();
+
+        // 적재 쿼리보다 먼저 최대 id를 읽어, 그 사이 들어온 행은 tailer 이벤트 처리시 보충
+        Long uplinkMaxId = uplinkMessageRepository.findMaxId();
+        Long joinMaxId = joinEventRepository.findMaxId();
+
+        latestUplinks.clear();
+        latestJoinEvents.clear();
+        uplinkMessageRepository.findLatestPerDevice().forEach(this::offerUplink);
+        joinEventRepository.findLatestPerDevice().forEach(this::offerJoinEvent);
+
+        uplinkIndexedUpTo = uplinkMaxId != null ? uplinkMaxId : 0L;
+        joinIndexedUpTo = joinMaxId != null ? joinMaxId : 0L;
+        initialized = true;
+        logger.info("최신 행 인덱스 적재: 업링크 디바이스 {}개, JOIN 디바이스 {}개 ({}ms)",
+                latestUplinks.size(), latestJoinEvents.size(), (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    // (fromId, toId] 구간을 id 순으로 읽어 반영하고 마지막으로 반영한 id를 반환
+    private <E> long catchUp(long fromId, long toId, BiFunction<Long, Pageable, List<E>> fetchAfter,
+                             Function<E, Long> idOf, Consumer<E> offer) {
+        long cursor = fromId;
+        while (cursor < toId) {
+            List<E> rows = fetchAfter.apply(cursor, PageRequest.of(0, CATCH_UP_BATCH_SIZE));
+            if (rows.isEmpty()) {
+                break;
+            }
+            rows.forEach(offer);
+            cursor = idOf.apply(rows.get(rows.size() - 1));
+        }
+        return cursor;
+    }
+
+    // 캐시된 행이 삭제된 디바이스를 DB에서 다시 읽음 (남은 행이 없으면 제거)
+    private <D> void evict(List<PurgedRow> rows, Map<String, D> latest, Function<D, Long> idOf,
+                           Function<String, D> reload) {
+        if (!initialized) {
+            return;
+        }
+        Set<String> stale = new HashSet<>();
+        for (PurgedRow row : rows) {
+            D current = row.getDeviceId() != null ? latest.get(row.getDeviceId()) : null;
+            if (current != null && idOf.apply(current) == row.getId()) {
+                stale.add(row.getDeviceId());
+            }
+        }
+        for (String deviceId : stale) {
+            D replacement = reload.apply(deviceId);
+            if (replacement != null) {
+                latest.put(deviceId, replacement);
+            } else {
+                latest.remove(deviceId);
+            }
+        }
+    }
+
+    private void offerUplink(UplinkMessage message) {
+        if (message.getDeviceId() == null) {
+            return;
+        }
+        UplinkMessageDto candidate = new UplinkMessageDto(message);
+        latestUplinks.merge(message.getDeviceId(), candidate, (current, offered) ->
+                isNewer(offered.getTimestampMs(), offered.getId(), current.getTimestampMs(), current.getId())
+                        ? offered : current);
+    }
+
+    private void offerJoinEvent(JoinEvent joinEvent) {
+        if (joinEvent.getDeviceId() == null) {
+            return;
+        }
+        JoinEventDto candidate = new JoinEventDto(joinEvent);
+        latestJoinEvents.merge(joinEvent.getDeviceId(), candidate, (current, offered) ->
+                isNewer(offered.getTimestampMs(), offered.getId(), current.getTimestampMs(), current.getId())
+                        ? offered : current);
+    }
+
+    // (timestampMs, id) 내림차순 정렬과 같은 기준으로 비교
+    private static boolean isNewer(Long timestampMs, Long id, Long currentTimestampMs, Long currentId) {
+        long ts = timestampMs != null ? timestampMs : Long.MIN_VALUE;
+        long currentTs = currentTimestampMs != null ? currentTimestampMs : Long.MIN_VALUE;
+        if (ts != currentTs) {
+            return ts > currentTs;
+        }
+        return id > currentId;
+    }
+}
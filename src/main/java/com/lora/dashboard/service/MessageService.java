@@ -1,257 +1,485 @@
 package com.lora.dashboard.service;
 
+import com.lora.dashboard.cache.WatermarkCache;
+import com.lora.dashboard.dto.CursorPageDto;
+import com.lora.dashboard.dto.JoinEventDto;
+import com.lora.dashboard.dto.SliceDto;
 import com.lora.dashboard.dto.StatisticsDto;
+import com.lora.dashboard.dto.TimeSeriesDto;
 import com.lora.dashboard.dto.UplinkMessageDto;
+import com.lora.dashboard.entity.SignalQuality;
 import com.lora.dashboard.entity.UplinkMessage;
 import com.lora.dashboard.entity.JoinEvent;
 import com.lora.dashboard.repository.UplinkMessageRepository;
 import com.lora.dashboard.repository.JoinEventRepository;
+import com.lora.dashboard.repository.TimeSeriesRollupRepository;
+import com.lora.dashboard.repository.UplinkMessageProjectionRepository;
+import com.lora.dashboard.repository.UplinkMessageProjectionRepository.ProjectedRow;
+import com.lora.dashboard.repository.UplinkMessageProjectionRepository.Scope;
+import com.lora.dashboard.repository.projection.UplinkMessageField;
+import com.lora.dashboard.repository.projection.HourlyCountView;
+import com.lora.dashboard.util.KeysetCursor;
+import com.lora.dashboard.util.TimestampUtils;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 import java.util.stream.Collectors;
 
+// 모든 public 메서드의 수행 시간을 dashboard.service 타이머로 기록 (tag: class, method, exception)
+@Timed("dashboard.service")
 @Service
 public class MessageService {
 
+    private static final DateTimeFormatter HOUR_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:00");
+    private static final String SIGNAL_QUALITY_WINDOW_ALL = "all";
+    private static final int MAX_CURSOR_PAGE_SIZE = 500;
+    private static final int MAX_RANGE_LIMIT = 10_000;
+
     @Autowired
     private UplinkMessageRepository uplinkMessageRepository;
 
+    @Autowired
+    private UplinkMessageProjectionRepository projectionRepository;
+
     @Autowired
     private JoinEventRepository joinEventRepository;
 
+    @Autowired
+    private StatisticsEngine statisticsEngine;
+
+    @Autowired
+    private WatermarkCache watermarkCache;
+
+    @Autowired
+    private LatestDeviceIndex latestDeviceIndex;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @Autowired
+    private SignalQualityTracker signalQualityTracker;
+
+    @Autowired
+    private TimeSeriesRollupService timeSeriesRollupService;
+
+    @Autowired
+    private ColdSegmentService coldSegmentService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public Page<UplinkMessage> getAllMessages(Pageable pageable) {
-        return uplinkMessageRepository.findAllByOrderByTimestampDesc(pageable);
+        return uplinkMessageRepository.findAllByOrderByTimestampMsDescIdDesc(pageable);
     }
 
     public Page<UplinkMessageDto> getAllMessagesDto(Pageable pageable) {
-        Page<UplinkMessage> messages = uplinkMessageRepository.findAllByOrderByTimestampDesc(pageable);
+        Page<UplinkMessage> messages = uplinkMessageRepository.findAllByOrderByTimestampMsDescIdDesc(pageable);
         List<UplinkMessageDto> dtoList = messages.getContent().stream()
                 .map(UplinkMessageDto::new)
                 .collect(Collectors.toList());
         return new PageImpl<>(dtoList, pageable, messages.getTotalElements());
     }
 
+    // COUNT 없는 Slice 조회 (approximateTotal 요청시 통계 엔진 카운터 사용)
+    public SliceDto<UplinkMessageDto> getAllMessagesSlice(Pageable pageable, boolean approximateTotal) {
+        Slice<UplinkMessage> messages = uplinkMessageRepository.findSliceByOrderByTimestampMsDescIdDesc(pageable);
+        Long total = approximateTotal ? statisticsEngine.getSnapshot().getTotalMessages() : null;
+        return toSliceDto(messages, total);
+    }
+
     public Page<UplinkMessage> getMessagesByDevice(String deviceId, Pageable pageable) {
-        return uplinkMessageRepository.findByDeviceIdOrderByTimestampDesc(deviceId, pageable);
+        return uplinkMessageRepository.findByDeviceIdOrderByTimestampMsDescIdDesc(deviceId, pageable);
     }
 
     public Page<UplinkMessageDto> getMessagesByDeviceDto(String deviceId, Pageable pageable) {
-        Page<UplinkMessage> messages = uplinkMessageRepository.findByDeviceIdOrderByTimestampDesc(deviceId, pageable);
+        Page<UplinkMessage> messages = uplinkMessageRepository.findByDeviceIdOrderByTimestampMsDescIdDesc(deviceId, pageable);
         List<UplinkMessageDto> dtoList = messages.getContent().stream()
                 .map(UplinkMessageDto::new)
                 .collect(Collectors.toList());
         return new PageImpl<>(dtoList, pageable, messages.getTotalElements());
     }
 
+    public SliceDto<UplinkMessageDto> getMessagesByDeviceSlice(String deviceId, Pageable pageable, boolean approximateTotal) {
+        Slice<UplinkMessage> messages = uplinkMessageRepository.findSliceByDeviceIdOrderByTimestampMsDescIdDesc(deviceId, pageable);
+        Long total = approximateTotal ? deviceRegistry.getMessageCount(deviceId) : null;
+        return toSliceDto(messages, total);
+    }
+
+    public List<UplinkMessageDto> getMessagesInRange(long fromMs, long toMs, int limit) {
+        return uplinkMessageRepository.findByTimestampMsBetweenOrderByTimestampMsAscIdAsc(fromMs, toMs, PageRequest.of(0, rangeLimit(limit)))
+                .stream()
+                .map(UplinkMessageDto::new)
+                .collect(Collectors.toList());
+    }
+
     public Page<UplinkMessage> getMessagesByApplication(String applicationId, Pageable pageable) {
-        return uplinkMessageRepository.findByApplicationIdOrderByTimestampDesc(applicationId, pageable);
+        return uplinkMessageRepository.findByApplicationIdOrderByTimestampMsDescIdDesc(applicationId, pageable);
+    }
+
+    /**
+     * 요청 필드만 조회하는 OFFSET 페이지 (scope가 ALL이면 scopeValue는 무시)
+     */
+    public Page<Map<String, Object>> getMessagesProjected(Scope scope, String scopeValue,
+                                                          List<UplinkMessageField> fields, Pageable pageable) {
+        List<ProjectedRow> rows = projectionRepository.findPage(fields, scope, scopeValue,
+                pageable.getPageSize(), pageable.getOffset());
+        return new PageImpl<>(valuesOf(rows), pageable, projectionRepository.count(scope, scopeValue));
+    }
+
+    public SliceDto<Map<String, Object>> getMessagesProjectedSlice(Scope scope, String scopeValue,
+                                                                   List<UplinkMessageField> fields, Pageable pageable,
+                                                                   boolean approximateTotal) {
+        List<ProjectedRow> rows = projectionRepository.findPage(fields, scope, scopeValue,
+                pageable.getPageSize() + 1, pageable.getOffset());
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        Long total = null;
+        if (approximateTotal) {
+            total = scope == Scope.DEVICE
+                    ? deviceRegistry.getMessageCount(scopeValue) : statisticsEngine.getSnapshot().getTotalMessages();
+        }
+        return new SliceDto<>(valuesOf(hasNext ? rows.subList(0, pageable.getPageSize()) : rows),
+                pageable.getPageNumber(), pageable.getPageSize(), hasNext, total);
+    }
+
+    public CursorPageDto<Map<String, Object>> getMessagesPageProjected(Scope scope, String scopeValue,
+                                                                      List<UplinkMessageField> fields,
+                                                                      KeysetCursor cursor, int size) {
+        List<ProjectedRow> rows = projectionRepository.findPageBefore(fields, scope, scopeValue,
+                cursor.getTimestampMs(), cursor.getId(), cursorLimit(size));
+        return toCursorPage(rows, size, ProjectedRow::getValues, ProjectedRow::getTimestampMs, ProjectedRow::getId);
+    }
+
+    /**
+     * 요청 필드만 조회하는 시간 범위 목록 (봉인된 달은 콜드 세그먼트에서 읽음, deviceId/maxRssi는 null이면 조건 없음)
+     */
+    public List<Map<String, Object>> getMessagesInRangeProjected(List<UplinkMessageField> fields, long fromMs, long toMs,
+                                                                 String deviceId, Float maxRssi, int limit) {
+        return valuesOf(coldSegmentService.findRange(fields, fromMs, toMs, deviceId, maxRssi, rangeLimit(limit)));
+    }
+
+    /**
+     * 구간이 콜드 세그먼트와 겹치는지 (겹치면 엔티티 조회로는 봉인 후 DB에서 지워진 행을 읽을 수 없음)
+     */
+    public boolean isColdRange(long fromMs, long toMs) {
+        return coldSegmentService.overlaps(fromMs, toMs);
     }
 
     public Page<JoinEvent> getAllJoinEvents(Pageable pageable) {
-        return joinEventRepository.findAllByOrderByTimestampDesc(pageable);
+        return joinEventRepository.findAllByOrderByTimestampMsDescIdDesc(pageable);
     }
 
     public Page<JoinEvent> getJoinEventsByDevice(String deviceId, Pageable pageable) {
-        return joinEventRepository.findByDeviceIdOrderByTimestampDesc(deviceId, pageable);
+        return joinEventRepository.findByDeviceIdOrderByTimestampMsDescIdDesc(deviceId, pageable);
     }
 
     public Page<JoinEvent> getJoinEventsByApplication(String applicationId, Pageable pageable) {
-        return joinEventRepository.findByApplicationIdOrderByTimestampDesc(applicationId, pageable);
+        return joinEventRepository.findByApplicationIdOrderByTimestampMsDescIdDesc(applicationId, pageable);
+    }
+
+    // 키셋 페이지 조회 (커서 기반, COUNT 쿼리 없음)
+    public CursorPageDto<UplinkMessageDto> getMessagesPage(KeysetCursor cursor, int size) {
+        List<UplinkMessage> rows = uplinkMessageRepository.findPageBefore(
+                cursor.getTimestampMs(), cursor.getId(), cursorLimit(size));
+        return toCursorPage(rows, size, UplinkMessageDto::new, UplinkMessage::getTimestampMs, UplinkMessage::getId);
+    }
+
+    public CursorPageDto<UplinkMessageDto> getMessagesPageByDevice(String deviceId, KeysetCursor cursor, int size) {
+        List<UplinkMessage> rows = uplinkMessageRepository.findPageByDeviceIdBefore(
+                deviceId, cursor.getTimestampMs(), cursor.getId(), cursorLimit(size));
+        return toCursorPage(rows, size, UplinkMessageDto::new, UplinkMessage::getTimestampMs, UplinkMessage::getId);
+    }
+
+    public CursorPageDto<UplinkMessageDto> getMessagesPageByApplication(String applicationId, KeysetCursor cursor, int size) {
+        List<UplinkMessage> rows = uplinkMessageRepository.findPageByApplicationIdBefore(
+                applicationId, cursor.getTimestampMs(), cursor.getId(), cursorLimit(size));
+        return toCursorPage(rows, size, UplinkMessageDto::new, UplinkMessage::getTimestampMs, UplinkMessage::getId);
+    }
+
+    public CursorPageDto<JoinEvent> getJoinEventsPage(KeysetCursor cursor, int size) {
+        List<JoinEvent> rows = joinEventRepository.findPageBefore(
+                cursor.getTimestampMs(), cursor.getId(), cursorLimit(size));
+        return toCursorPage(rows, size, Function.identity(), JoinEvent::getTimestampMs, JoinEvent::getId);
+    }
+
+    public CursorPageDto<JoinEvent> getJoinEventsPageByDevice(String deviceId, KeysetCursor cursor, int size) {
+        List<JoinEvent> rows = joinEventRepository.findPageByDeviceIdBefore(
+                deviceId, cursor.getTimestampMs(), cursor.getId(), cursorLimit(size));
+        return toCursorPage(rows, size, Function.identity(), JoinEvent::getTimestampMs, JoinEvent::getId);
+    }
+
+    public CursorPageDto<JoinEvent> getJoinEventsPageByApplication(String applicationId, KeysetCursor cursor, int size) {
+        List<JoinEvent> rows = joinEventRepository.findPageByApplicationIdBefore(
+                applicationId, cursor.getTimestampMs(), cursor.getId(), cursorLimit(size));
+        return toCursorPage(rows, size, Function.identity(), JoinEvent::getTimestampMs, JoinEvent::getId);
     }
 
+    /**
+     * 통계 (테이블 최대 id, 통계 엔진/디바이스 레지스트리의 워터마크, 현재 분이 모두 같으면 캐시된 결과 사용)
+     */
     public StatisticsDto getStatistics() {
+        StatisticsEngine.Snapshot snapshot = statisticsEngine.getSnapshot();
+        long[] registryWatermarks = deviceRegistry.getWatermarks();
+        long[] version = {uplinkWatermark(), joinWatermark(),
+                snapshot.getUplinkWatermark(), snapshot.getJoinWatermark(),
+                registryWatermarks[0], registryWatermarks[1],
+                System.currentTimeMillis() / TimestampUtils.MINUTE_MILLIS};
+        return watermarkCache.get("statistics", version, this::computeStatistics);
+    }
+
+    private StatisticsDto computeStatistics() {
         StatisticsDto stats = new StatisticsDto();
+        StatisticsEngine.Snapshot snapshot = statisticsEngine.getSnapshot();
 
-        // 기본 통계
-        stats.setTotalMessages(uplinkMessageRepository.count());
-        stats.setTotalJoinEvents(joinEventRepository.count());
-        
-        // 간단한 통계 
-        stats.setLast24HourMessages(calculateLast24HourMessages());
-        stats.setActiveDevices(1L); // 현재 1개 디바이스 활성
+        // 기본 통계 (통계 엔진의 증분 카운터 사용)
+        stats.setTotalMessages(snapshot.getTotalMessages());
+        stats.setTotalJoinEvents(snapshot.getTotalJoinEvents());
         
-        // JOIN 이벤트는 적으므로 실제 계산 (최근 24시간)
-        long recentJoinEvents = calculateRecentJoinEvents();
-        stats.setRecentJoinEvents(recentJoinEvents);
+        // 최근 24시간 통계
+        stats.setLast24HourMessages(snapshot.getLast24HourMessages());
+        stats.setActiveDevices(deviceRegistry.getActiveDeviceCount());
+        stats.setRecentJoinEvents(snapshot.getRecentJoinEvents());
         
-        // 디바이스별 메시지 수 (간단 버전)
-        java.util.List<StatisticsDto.DeviceCountDto> deviceCounts = new java.util.ArrayList<>();
-        // 전체 디바이스 목록을 가져와서 각각의 메시지 수를 계산
-        java.util.List<String> deviceIds = uplinkMessageRepository.findDistinctDeviceIds();
-        for (String deviceId : deviceIds) {
-            Long count = uplinkMessageRepository.countByDeviceId(deviceId);
-            deviceCounts.add(new StatisticsDto.DeviceCountDto(deviceId, count));
-        }
-        // 메시지 많은 순으로 정렬
-        deviceCounts.sort((a, b) -> Long.compare(b.getCount(), a.getCount()));
+        // 디바이스별 메시지 수 (디바이스 레지스트리 카운터, 메시지 많은 순)
+        List<StatisticsDto.DeviceCountDto> deviceCounts = deviceRegistry.getMessageCounts().entrySet().stream()
+                .map(entry -> new StatisticsDto.DeviceCountDto(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
         stats.setDeviceCounts(deviceCounts);
         
-        // 시간별 메시지 수 (최근 12시간만)
-        java.util.List<StatisticsDto.HourlyCountDto> hourlyCounts = calculateSimpleHourlyCounts();
-        stats.setHourlyCounts(hourlyCounts);
+        // 시간별 메시지 수 (최근 24시간) - 엔진 초기화 전에는 SQL 집계 사용
+        if (statisticsEngine.isInitialized()) {
+            stats.setHourlyCounts(snapshot.getHourlyCounts());
+        } else {
+            stats.setHourlyCounts(queryHourlyCounts());
+        }
         
-        // 신호 품질 기본값
-        StatisticsDto.SignalQualityStatsDto signalQuality = new StatisticsDto.SignalQualityStatsDto(0L, 0L, 0L, 0L);
-        stats.setSignalQuality(signalQuality);
+        // 신호 품질 분포 (디바이스 레지스트리의 구간별 카운터 합계)
+        stats.setSignalQuality(toSignalQualityStats(deviceRegistry.getSignalQualityTotals(null)));
 
         return stats;
     }
 
+    /**
+     * 신호 품질 분포 (deviceId 또는 applicationId 범위, 둘 다 없으면 전체)
+     * @param window 최근 구간 (예: 1h, 24h, 7d) 또는 all(전체 기간)
+     */
+    public StatisticsDto.SignalQualityStatsDto getSignalQualityDistribution(String deviceId, String applicationId,
+                                                                            String window) {
+        if (SIGNAL_QUALITY_WINDOW_ALL.equals(window)) {
+            long[] counts = deviceId != null
+                    ? deviceRegistry.getSignalQualityCounts(deviceId)
+                    : deviceRegistry.getSignalQualityTotals(applicationId);
+            return toSignalQualityStats(counts != null ? counts : new long[SignalQuality.values().length]);
+        }
+
+        int windowHours = parseWindowHours(window);
+        if (windowHours > signalQualityTracker.getRetentionHours()) {
+            throw new IllegalArgumentException("신호 품질 구간은 최대 " + signalQualityTracker.getRetentionHours() + "시간입니다");
+        }
+        return toSignalQualityStats(signalQualityTracker.getDistribution(deviceId, applicationId, windowHours));
+    }
+
+    /**
+     * 롤업 테이블 기반 시계열 (from/to는 ISO 시각 또는 epoch ms, 생략시 최근 24시간)
+     * @param bucket 버킷 크기 (예: 5m, 1h, 1d), null이면 구간 길이에 따라 자동 선택
+     */
+    public TimeSeriesDto getTimeSeries(TimeSeriesRollupRepository.Source source, String from, String to,
+                                       String bucket, String deviceId, String applicationId) {
+        long toMs = to != null ? TimestampUtils.parseTimeParameter(to) : System.currentTimeMillis();
+        long fromMs = from != null ? TimestampUtils.parseTimeParameter(from) : toMs - TimestampUtils.DAY_MILLIS;
+        return timeSeriesRollupService.getTimeSeries(source, fromMs, toMs, bucket, deviceId, applicationId);
+    }
+
+    // 1h, 24h, 7d 형식의 구간을 시간 수로 변환
+    private static int parseWindowHours(String window) {
+        if (window == null || window.length() < 2) {
+            throw new IllegalArgumentException("잘못된 구간: " + window);
+        }
+        char unit = window.charAt(window.length() - 1);
+        int value;
+        try {
+            value = Integer.parseInt(window.substring(0, window.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 구간: " + window);
+        }
+        if (value <= 0 || (unit != 'h' && unit != 'd')) {
+            throw new IllegalArgumentException("잘못된 구간: " + window);
+        }
+        return unit == 'd' ? value * 24 : value;
+    }
+
+    private static StatisticsDto.SignalQualityStatsDto toSignalQualityStats(long[] counts) {
+        return new StatisticsDto.SignalQualityStatsDto(
+                counts[SignalQuality.EXCELLENT.getCode()],
+                counts[SignalQuality.GOOD.getCode()],
+                counts[SignalQuality.FAIR.getCode()],
+                counts[SignalQuality.POOR.getCode()]);
+    }
+
+
+    // 최신 행은 메모리 인덱스에서 조회 (인덱스 초기화 전에만 DB 사용)
+    public UplinkMessageDto getLatestMessageByDevice(String deviceId) {
+        if (latestDeviceIndex.isInitialized()) {
+            return latestDeviceIndex.getLatestMessage(deviceId);
+        }
+        UplinkMessage message = uplinkMessageRepository.findFirstByDeviceIdOrderByTimestampMsDescIdDesc(deviceId);
+        return message != null ? new UplinkMessageDto(message) : null;
+    }
+
+    /**
+     * 여러 디바이스의 최신 메시지를 디바이스 ID순으로 sink에 전달 (없는 디바이스는 생략)
+     */
+    public void streamLatestMessagesByDevices(Collection<String> deviceIds, Consumer<UplinkMessageDto> sink) {
+        if (latestDeviceIndex.isInitialized()) {
+            for (String deviceId : new TreeSet<>(deviceIds)) {
+                UplinkMessageDto latest = latestDeviceIndex.getLatestMessage(deviceId);
+                if (latest != null) {
+                    sink.accept(latest);
+                }
+            }
+            return;
+        }
+        streamLatest(() -> uplinkMessageRepository.streamLatestByDeviceIdIn(deviceIds), sink);
+    }
 
-    public UplinkMessage getLatestMessageByDevice(String deviceId) {
-        return uplinkMessageRepository.findFirstByDeviceIdOrderByTimestampDesc(deviceId);
+    /**
+     * 애플리케이션에 속한 디바이스별 최신 메시지를 디바이스 ID순으로 sink에 전달
+     */
+    public void streamLatestMessagesByApplication(String applicationId, Consumer<UplinkMessageDto> sink) {
+        streamLatest(() -> uplinkMessageRepository.streamLatestByApplicationId(applicationId), sink);
     }
 
-    public JoinEvent getLatestJoinEventByDevice(String deviceId) {
-        return joinEventRepository.findFirstByDeviceIdOrderByTimestampDesc(deviceId);
+    // 윈도 함수 쿼리 결과를 커서로 읽으며 한 행씩 변환 (영속성 컨텍스트에 쌓이지 않도록 detach)
+    private void streamLatest(Supplier<Stream<UplinkMessage>> query, Consumer<UplinkMessageDto> sink) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<UplinkMessage> rows = query.get()) {
+                rows.forEach(message -> {
+                    entityManager.detach(message);
+                    sink.accept(new UplinkMessageDto(message));
+                });
+            }
+        });
+    }
+
+    public JoinEventDto getLatestJoinEventByDevice(String deviceId) {
+        if (latestDeviceIndex.isInitialized()) {
+            return latestDeviceIndex.getLatestJoinEvent(deviceId);
+        }
+        JoinEvent joinEvent = joinEventRepository.findFirstByDeviceIdOrderByTimestampMsDescIdDesc(deviceId);
+        return joinEvent != null ? new JoinEventDto(joinEvent) : null;
     }
 
     public Long getMessageCount() {
-        return uplinkMessageRepository.count();
+        return watermarkCache.get("messages.count", new long[]{uplinkWatermark()}, uplinkMessageRepository::count);
     }
 
     public List<String> getAllApplicationIds() {
-        return uplinkMessageRepository.findDistinctApplicationIds();
+        return watermarkCache.get("messages.applications", new long[]{uplinkWatermark()},
+                uplinkMessageRepository::findDistinctApplicationIds);
     }
 
     public List<String> getAllJoinEventApplicationIds() {
-        return joinEventRepository.findDistinctApplicationIds();
+        return watermarkCache.get("join-events.applications", new long[]{joinWatermark()},
+                joinEventRepository::findDistinctApplicationIds);
+    }
+
+    // 캐시 버전으로 쓰는 테이블 최대 id (기본키 B-tree 끝 조회라 행 수와 무관)
+    private long uplinkWatermark() {
+        Long maxId = uplinkMessageRepository.findMaxId();
+        return maxId != null ? maxId : 0L;
+    }
+
+    private long joinWatermark() {
+        Long maxId = joinEventRepository.findMaxId();
+        return maxId != null ? maxId : 0L;
     }
     
-    // 최근 24시간 메시지 수 계산
-    private long calculateLast24HourMessages() {
-        try {
-            // KST 현재 시간 기준으로 24시간 전
-            java.time.ZonedDateTime nowKst = java.time.ZonedDateTime.now(java.time.ZoneId.of("Asia/Seoul"));
-            java.time.ZonedDateTime yesterdayKst = nowKst.minusHours(24);
-            
-            // 모든 메시지를 가져와서 최근 24시간 내의 메시지만 카운트
-            List<UplinkMessage> allMessages = uplinkMessageRepository.findAll();
-            
-            long count = 0;
-            for (UplinkMessage message : allMessages) {
-                String timestampString = message.getTimestamp();
-                if (timestampString != null && !timestampString.isEmpty()) {
-                    try {
-                        // Timezone 정보가 포함된 timestamp 파싱
-                        java.time.ZonedDateTime kstTime = java.time.ZonedDateTime.parse(
-                            timestampString, 
-                            java.time.format.DateTimeFormatter.ISO_OFFSET_DATE_TIME
-                        );
-                        
-                        if (kstTime.isAfter(yesterdayKst)) {
-                            count++;
-                        }
-                    } catch (Exception e) {
-                        // 파싱 실패시 무시
-                    }
-                }
-            }
-            
-            return count;
-        } catch (Exception e) {
-            // 에러 발생시 0 반환
-            return 0L;
+    // 시간별 메시지 수 SQL 집계 (KST 기준 24개 시간대, 빈 시간대는 0)
+    private List<StatisticsDto.HourlyCountDto> queryHourlyCounts() {
+        ZonedDateTime nowKst = ZonedDateTime.now(TimestampUtils.KST);
+        ZonedDateTime startTime = nowKst.minusHours(23).withMinute(0).withSecond(0).withNano(0);
+        
+        Map<String, Long> hourlyMap = new LinkedHashMap<>();
+        for (int i = 0; i < 24; i++) {
+            hourlyMap.put(startTime.plusHours(i).format(HOUR_FORMAT), 0L);
+        }
+        
+        long sinceMs = startTime.toInstant().toEpochMilli();
+        for (HourlyCountView row : uplinkMessageRepository.countGroupByHourSince(sinceMs)) {
+            hourlyMap.computeIfPresent(row.getHour(), (hour, count) -> row.getCount());
         }
+        
+        return hourlyMap.entrySet().stream()
+                .map(entry -> new StatisticsDto.HourlyCountDto(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
     }
     
-    // 최근 JOIN 이벤트 계산 (24시간 내)
-    private long calculateRecentJoinEvents() {
-        try {
-            // JOIN 이벤트가 적으므로 모두 가져와서 확인
-            List<JoinEvent> allJoinEvents = joinEventRepository.findAll();
-            
-            // KST 현재 시간에서 24시간 전
-            java.time.ZonedDateTime nowKst = java.time.ZonedDateTime.now(java.time.ZoneId.of("Asia/Seoul"));
-            java.time.ZonedDateTime yesterdayKst = nowKst.minusHours(24);
-            
-            long count = 0;
-            for (JoinEvent event : allJoinEvents) {
-                String timestampString = event.getTimestamp();
-                if (timestampString != null && !timestampString.isEmpty()) {
-                    try {
-                        // Timezone 정보가 포함된 timestamp 파싱 (예: 2025-08-01T13:52:22.048925+09:00)
-                        java.time.ZonedDateTime kstEventTime = java.time.ZonedDateTime.parse(
-                            timestampString, 
-                            java.time.format.DateTimeFormatter.ISO_OFFSET_DATE_TIME
-                        );
-                        
-                        if (kstEventTime.isAfter(yesterdayKst)) {
-                            count++;
-                        }
-                    } catch (Exception e) {
-                        // 파싱 실패시 무시
-                    }
-                }
-            }
-            
-            return count;
-        } catch (Exception e) {
-            // 에러 발생시 0 반환
-            return 0L;
-        }
+    private static List<Map<String, Object>> valuesOf(List<ProjectedRow> rows) {
+        return rows.stream().map(ProjectedRow::getValues).collect(Collectors.toList());
     }
     
-    // 시간별 메시지 수 계산 (최근 24시간)
-    private java.util.List<StatisticsDto.HourlyCountDto> calculateSimpleHourlyCounts() {
-        try {
-            // KST 현재 시간 기준으로 24시간 전부터 시작
-            java.time.ZonedDateTime nowKst = java.time.ZonedDateTime.now(java.time.ZoneId.of("Asia/Seoul"));
-            java.time.ZonedDateTime startTime = nowKst.minusHours(23).withMinute(0).withSecond(0).withNano(0);
-            
-            // 24시간 동안의 모든 시간대를 미리 생성 (0으로 초기화)
-            java.util.Map<String, Long> hourlyMap = new java.util.LinkedHashMap<>();
-            for (int i = 0; i < 24; i++) {
-                java.time.ZonedDateTime hourTime = startTime.plusHours(i);
-                String hourKey = hourTime.format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:00"));
-                hourlyMap.put(hourKey, 0L);
-            }
-            
-            // 모든 메시지를 가져와서 최근 24시간 내의 메시지만 필터링
-            List<UplinkMessage> allMessages = uplinkMessageRepository.findAll();
-            
-            int processedCount = 0;
-            for (UplinkMessage message : allMessages) {
-                String timestampString = message.getTimestamp();
-                if (timestampString != null && !timestampString.isEmpty()) {
-                    try {
-                        // Timezone 정보가 포함된 timestamp 파싱 (예: 2025-08-01T13:52:22.048925+09:00)
-                        java.time.ZonedDateTime kstTime = java.time.ZonedDateTime.parse(
-                            timestampString, 
-                            java.time.format.DateTimeFormatter.ISO_OFFSET_DATE_TIME
-                        );
-                        
-                        String hourKey = kstTime.format(
-                            java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:00")
-                        );
-                        
-                        // 24시간 범위 확인 (단순하게 startTime 이후, nowKst 이전)  
-                        if (kstTime.isAfter(startTime.minusMinutes(1)) && kstTime.isBefore(nowKst.plusMinutes(1))) {
-                            if (hourlyMap.containsKey(hourKey)) {
-                                hourlyMap.put(hourKey, hourlyMap.get(hourKey) + 1);
-                                processedCount++;
-                            }
-                        }
-                    } catch (Exception e) {
-                        // 파싱 실패시 무시 (로그 제거)
-                    }
-                }
-            }
-            
-            // 결과를 리스트로 변환 (시간 순서대로 정렬됨)
-            return hourlyMap.entrySet().stream()
-                .map(entry -> new StatisticsDto.HourlyCountDto(entry.getKey(), entry.getValue()))
+    private static SliceDto<UplinkMessageDto> toSliceDto(Slice<UplinkMessage> messages, Long approximateTotal) {
+        List<UplinkMessageDto> dtoList = messages.getContent().stream()
+                .map(UplinkMessageDto::new)
                 .collect(Collectors.toList());
-                
-        } catch (Exception e) {
-            // 에러 발생시 빈 리스트 반환
-            return new java.util.ArrayList<>();
-        }
+        return new SliceDto<>(dtoList, messages.getNumber(), messages.getSize(), messages.hasNext(), approximateTotal);
     }
     
+    // 커서 페이지 크기 확인 (0이나 음수면 LIMIT이 깨지고, 너무 크면 한 요청이 테이블을 통째로 읽음) 후 조회 건수 size+1 반환
+    private static int cursorLimit(int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("size는 1~" + MAX_CURSOR_PAGE_SIZE + " 사이여야 합니다: " + size);
+        }
+        return size + 1;
+    }
+
+    // 시간 범위 조회의 최대 행 수 (SQLite의 LIMIT -1은 무제한이므로 범위를 벗어나면 400)
+    private static int rangeLimit(int limit) {
+        if (limit < 1 || limit > MAX_RANGE_LIMIT) {
+            throw new IllegalArgumentException("limit은 1~" + MAX_RANGE_LIMIT + " 사이여야 합니다: " + limit);
+        }
+        return limit;
+    }
+
+    // size+1개를 조회한 결과로 다음 페이지 존재 여부와 커서를 결정
+    private static <E, T> CursorPageDto<T> toCursorPage(List<E> rows, int size, Function<E, T> mapper,
+                                                         Function<E, Long> timestampOf, Function<E, Long> idOf) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        
+        String nextCursor = null;
+        if (hasNext) {
+            E last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new KeysetCursor(timestampOf.apply(last), idOf.apply(last)).encode();
+        }
+        
+        List<T> content = pageRows.stream().map(mapper).collect(Collectors.toList());
+        return new CursorPageDto<>(content, size, hasNext, nextCursor);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,183 @@
+package com.lora.dashboard.service;
+
+import com.lora.dashboard.entity.JoinEvent;
+import com.lora.dashboard.entity.UplinkMessage;
+import com.lora.dashboard.event.JoinEventsReceivedEvent;
+import com.lora.dashboard.event.UplinkMessagesReceivedEvent;
+import com.lora.dashboard.repository.JoinEventRepository;
+import com.lora.dashboard.repository.UplinkMessageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * id 워터마크 기반 새 행 감지기
+ * 마지막으로 본 uplink_messages.id / join_events.id 이후의 행만 기본키 범위로 조회하여
+ * 이벤트로 발행하고 WebSocket으로 브로드캐스트한다. 클라이언트 수와 무관하게 주기당 테이블별 쿼리 1회.
+ * 새 행이 있으면 최소 주기로, 없으면 최대 주기까지 간격을 두 배씩 늘린다.
+ */
+@Service
+public class MessageTailer implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageTailer.class);
+
+    @Autowired
+    private UplinkMessageRepository uplinkMessageRepository;
+
+    @Autowired
+    private JoinEventRepository joinEventRepository;
+
+    @Autowired
+    private RealtimeService realtimeService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Value("${dashboard.realtime.tailer.min-interval-ms:200}")
+    private long minIntervalMs;
+
+    @Value("${dashboard.realtime.tailer.max-interval-ms:5000}")
+    private long maxIntervalMs;
+
+    @Value("${dashboard.realtime.tailer.batch-size:500}")
+    private int batchSize;
+
+    private volatile boolean running = false;
+    private volatile ScheduledFuture<?> nextTick;
+
+    // -1: 아직 기준점을 잡지 않음 (첫 주기에 현재 최대 id로 설정, 과거 행은 브로드캐스트하지 않음)
+    private volatile long uplinkWatermark = -1;
+    private volatile long joinWatermark = -1;
+    private volatile long idleDelayMs;
+
+    @Override
+    public void start() {
+        running = true;
+        idleDelayMs = minIntervalMs;
+        schedule(0);
+        logger.info("실시간 tailer 시작: {}~{}ms 간격, 배치 {}행", minIntervalMs, maxIntervalMs, batchSize);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        ScheduledFuture<?> tick = nextTick;
+        if (tick != null) {
+            tick.cancel(false);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getUplinkWatermark() {
+        return uplinkWatermark;
+    }
+
+    public long getJoinWatermark() {
+        return joinWatermark;
+    }
+
+    public long getCurrentIntervalMs() {
+        return idleDelayMs;
+    }
+
+    private void tick() {
+        if (realtimeService.isBacklogged()) {
+            // 브로드캐스트가 밀려 있으면 워터마크를 그대로 두고 다음 주기에 조회 (새 행은 DB에 남음)
+            logger.debug("브로드캐스트 대기 {}건, 새 행 조회 연기", realtimeService.getPendingCount());
+            schedule(minIntervalMs);
+            return;
+        }
+        long delay;
+        try {
+            int uplinks = pollUplinks();
+            int joins = pollJoins();
+
+            if (uplinks + joins > 0) {
+                idleDelayMs = minIntervalMs;
+            } else {
+                idleDelayMs = Math.min(idleDelayMs * 2, maxIntervalMs);
+            }
+            // 배치가 가득 찼으면 밀린 행이 있으므로 바로 다음 배치 조회
+            delay = (uplinks == batchSize || joins == batchSize) ? 0 : idleDelayMs;
+        } catch (Exception e) {
+            logger.error("새 메시지 확인 실패: {}", e.getMessage());
+            delay = maxIntervalMs;
+        }
+        schedule(delay);
+    }
+
+    private int pollUplinks() {
+        if (uplinkWatermark < 0) {
+            Long maxId = uplinkMessageRepository.findMaxId();
+            uplinkWatermark = maxId != null ? maxId : 0L;
+            return 0;
+        }
+
+        List<UplinkMessage> messages =
+                uplinkMessageRepository.findByIdGreaterThanOrderByIdAsc(uplinkWatermark, PageRequest.of(0, batchSize));
+        if (messages.isEmpty()) {
+            return 0;
+        }
+
+        long previousWatermark = uplinkWatermark;
+        uplinkWatermark = messages.get(messages.size() - 1).getId();
+        realtimeService.broadcastNewMessages(messages);
+        publish(new UplinkMessagesReceivedEvent(previousWatermark, messages));
+        return messages.size();
+    }
+
+    private int pollJoins() {
+        if (joinWatermark < 0) {
+            Long maxId = joinEventRepository.findMaxId();
+            joinWatermark = maxId != null ? maxId : 0L;
+            return 0;
+        }
+
+        List<JoinEvent> joinEvents =
+                joinEventRepository.findByIdGreaterThanOrderByIdAsc(joinWatermark, PageRequest.of(0, batchSize));
+        if (joinEvents.isEmpty()) {
+            return 0;
+        }
+
+        long previousWatermark = joinWatermark;
+        joinWatermark = joinEvents.get(joinEvents.size() - 1).getId();
+        realtimeService.broadcastNewJoinEvents(joinEvents);
+        publish(new JoinEventsReceivedEvent(previousWatermark, joinEvents));
+        return joinEvents.size();
+    }
+
+    /**
+     * 리스너(통계, 디바이스 레지스트리 등)는 자기 워터마크부터 따라잡으므로, 리스너 하나가 실패해도
+     * 실시간 피드와 워터마크는 그대로 진행하고 빠진 행은 다음 이벤트에서 리스너가 다시 읽는다.
+     */
+    private void publish(Object event) {
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (Exception e) {
+            logger.warn("새 행 이벤트 처리 실패 (다음 이벤트에서 따라잡음): {}", e.getMessage());
+        }
+    }
+
+    private void schedule(long delayMs) {
+        if (running) {
+            nextTick = taskScheduler.schedule(this::tick, Instant.now().plusMillis(delayMs));
+        }
+    }
+}
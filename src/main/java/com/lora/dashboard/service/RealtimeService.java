@@ -1,52 +1,157 @@
 package com.lora.dashboard.service;
 
+import com.lora.dashboard.entity.JoinEvent;
 import com.lora.dashboard.entity.UplinkMessage;
-import com.lora.dashboard.repository.UplinkMessageRepository;
 import com.lora.dashboard.websocket.MessageWebSocketHandler;
+import com.lora.dashboard.websocket.SessionSendQueue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.Executor;
 
+/**
+ * 새 메시지/JOIN 이벤트의 실시간 브로드캐스트
+ * 호출 스레드(MessageTailer)는 대기 목록에 넣기만 하고, 브로드캐스트는 taskExecutor에서 한 번에 하나의 작업이 순서대로 수행한다.
+ * 작업이 이미 예약되어 있으면 새 배치는 그 작업에 합쳐지므로(coalesce) executor 큐가 차서 거부되는 일이 없다.
+ * 대기 건수가 max-pending을 넘으면 MessageTailer가 조회를 미뤄(역압) 행은 DB에 남고 유실되지 않는다.
+ */
 @Service
-@EnableAsync
 public class RealtimeService {
 
     private static final Logger logger = LoggerFactory.getLogger(RealtimeService.class);
 
     @Autowired
-    private UplinkMessageRepository uplinkMessageRepository;
+    private MessageWebSocketHandler webSocketHandler;
 
     @Autowired
-    private MessageWebSocketHandler webSocketHandler;
+    @Qualifier("taskExecutor")
+    private Executor taskExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${dashboard.realtime.broadcast.max-pending:5000}")
+    private int maxPending;
 
+    // UplinkMessage 또는 JoinEvent (DB에서 읽은 순서)
+    private final Deque<Object> pending = new ArrayDeque<>();
+    private boolean draining;
+    private Counter coalesced;
+
+    @PostConstruct
+    public void init() {
+        coalesced = Counter.builder("dashboard.realtime.broadcast.coalesced")
+                .description("이미 예약된 브로드캐스트 작업에 합쳐진 배치 수")
+                .register(meterRegistry);
+        Gauge.builder("dashboard.realtime.broadcast.pending", this, RealtimeService::getPendingCount)
+                .description("브로드캐스트 대기 중인 메시지/JOIN 이벤트 수")
+                .register(meterRegistry);
+    }
 
     /**
      * 새로운 메시지를 웹소켓으로 브로드캐스트
      */
-    @Async("taskExecutor")
     public void broadcastNewMessage(UplinkMessage message) {
-        try {
-            webSocketHandler.broadcastMessage(message);
-            logger.debug("실시간 메시지 브로드캐스트: {}", message.getDeviceId());
-        } catch (Exception e) {
-            logger.error("실시간 브로드캐스트 실패: {}", e.getMessage());
-        }
+        enqueue(List.of(message));
+    }
+
+    /**
+     * MessageTailer가 감지한 새 메시지 배치를 순서대로 브로드캐스트
+     */
+    public void broadcastNewMessages(List<UplinkMessage> messages) {
+        enqueue(messages);
+    }
+
+    /**
+     * MessageTailer가 감지한 새 JOIN 이벤트 배치를 브로드캐스트
+     */
+    public void broadcastNewJoinEvents(List<JoinEvent> joinEvents) {
+        enqueue(joinEvents);
     }
 
     /**
-     * 주기적으로 새로운 메시지를 확인하여 브로드캐스트
-     * 현재 timestamp를 String으로 변경했으므로 이 기능은 임시로 비활성화
+     * 브로드캐스트 대기 건수
      */
-    // @Scheduled(fixedRate = 5000) // 5초마다 실행
-    public void checkForNewMessages() {
-        // 현재 비활성화됨 - timestamp 필드가 String으로 변경되어 시간 비교가 복잡함
-        logger.debug("실시간 메시지 확인 기능은 현재 비활성화됨");
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * 대기 건수가 한도 이상이면 true (MessageTailer는 새 행 조회를 미룸)
+     */
+    public boolean isBacklogged() {
+        return getPendingCount() >= maxPending;
+    }
+
+    private void enqueue(List<?> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            pending.addAll(items);
+            if (draining) {
+                coalesced.increment();
+                return;
+            }
+            draining = true;
+        }
+        submitDrain();
+    }
+
+    private void submitDrain() {
+        try {
+            taskExecutor.execute(this::drain);
+        } catch (RuntimeException e) {
+            // 종료 중 등 (대기 목록은 다음 enqueue에서 다시 예약)
+            logger.error("실시간 브로드캐스트 예약 실패: {}", e.getMessage());
+            synchronized (this) {
+                draining = false;
+            }
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            List<Object> batch;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    draining = false;
+                    return;
+                }
+                batch = new ArrayList<>(pending);
+                pending.clear();
+            }
+
+            int uplinks = 0;
+            int joins = 0;
+            for (Object item : batch) {
+                try {
+                    if (item instanceof UplinkMessage message) {
+                        webSocketHandler.broadcastMessage(message);
+                        uplinks++;
+                    } else if (item instanceof JoinEvent joinEvent) {
+                        webSocketHandler.broadcastJoinEvent(joinEvent);
+                        joins++;
+                    }
+                } catch (Exception e) {
+                    logger.error("실시간 브로드캐스트 실패: {}", e.getMessage());
+                }
+            }
+            logger.debug("실시간 브로드캐스트: 메시지 {}건, JOIN 이벤트 {}건", uplinks, joins);
+        }
     }
 
     /**
@@ -57,6 +162,12 @@ public class RealtimeService {
         int sessionCount = webSocketHandler.getSessionCount();
         if (sessionCount > 0) {
             logger.info("활성 WebSocket 세션: {}개", sessionCount);
+            for (SessionSendQueue.Stats stats : webSocketHandler.getSessionStats()) {
+                if (stats.getDropped() > 0 || stats.getQueuedMessages() > 0) {
+                    logger.info("WebSocket 세션 {}: 대기 {}건, 누락 {}건, 최대 지연 {}ms",
+                            stats.getSessionId(), stats.getQueuedMessages(), stats.getDropped(), stats.getMaxLagMs());
+                }
+            }
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,364 @@
+package com.lora.dashboard.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lora.dashboard.cache.WatermarkCache;
+import com.lora.dashboard.repository.ColdSegmentRepository.ColdSegment;
+import com.lora.dashboard.repository.JoinEventRepository;
+import com.lora.dashboard.repository.RetentionRepository;
+import com.lora.dashboard.repository.RetentionRepository.PurgedRow;
+import com.lora.dashboard.repository.TimeSeriesRollupRepository.Resolution;
+import com.lora.dashboard.repository.TimeSeriesRollupRepository.Source;
+import com.lora.dashboard.repository.UplinkMessageRepository;
+import com.lora.dashboard.util.TimestampUtils;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 원본 행 보존 기간 정리와 롤업 다운샘플링
+ * 애플리케이션별 보존 일수가 지난 업링크/JOIN 이벤트를 작은 배치로 삭제(또는 보관 파일에 기록 후 삭제)한다.
+ * 롤업 커서 이하의 행만 지우므로 집계는 항상 롤업에 먼저 남고, 배치마다 짧은 트랜잭션으로 커밋한 뒤 잠시 쉬어
+ * Gateway Logger의 INSERT가 쓰기 잠금을 오래 기다리지 않게 한다. 끝나면 빈 페이지를 incremental vacuum으로 회수한다.
+ * SEGMENT 모드에서는 콜드 세그먼트에 봉인된 업링크만 지워 DB에는 최근 달과 늦게 들어온 행만 남는다.
+ */
+@Service
+@DependsOn("schemaMigrator")
+public class RetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetentionService.class);
+
+    private static final int AUTO_VACUUM_INCREMENTAL = 2;
+    private static final DateTimeFormatter ARCHIVE_MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    /**
+     * 보존 기간이 지난 원본 행 처리 방식
+     */
+    public enum Mode {
+        DELETE,
+        ARCHIVE,
+        // 업링크는 콜드 세그먼트에 봉인된 행만 삭제 (JOIN 이벤트는 DELETE와 같음)
+        SEGMENT
+    }
+
+    @Autowired
+    private RetentionRepository retentionRepository;
+
+    @Autowired
+    private UplinkMessageRepository uplinkMessageRepository;
+
+    @Autowired
+    private JoinEventRepository joinEventRepository;
+
+    @Autowired
+    private TimeSeriesRollupService rollupService;
+
+    @Autowired
+    private ColdSegmentService coldSegmentService;
+
+    @Autowired
+    private StatisticsEngine statisticsEngine;
+
+    @Autowired
+    private DeviceRegistry deviceRegistry;
+
+    @Autowired
+    private LatestDeviceIndex latestDeviceIndex;
+
+    @Autowired
+    private WatermarkCache watermarkCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // 원본 행 정리 여부 (DB는 Gateway Logger 소유이므로 기본은 꺼 둠, 롤업 다운샘플링은 항상 수행)
+    @Value("${dashboard.retention.enabled:false}")
+    private boolean enabled;
+
+    @Value("${dashboard.retention.mode:DELETE}")
+    private Mode mode;
+
+    // 애플리케이션별 설정이 없을 때의 보존 일수 (0이면 보존)
+    @Value("${dashboard.retention.default-days:0}")
+    private int defaultDays;
+
+    // 애플리케이션별 보존 일수 (예: app1=30,app2=7)
+    @Value("${dashboard.retention.application-days:}")
+    private String applicationDaysSpec;
+
+    @Value("${dashboard.retention.archive-dir:archive}")
+    private String archiveDir;
+
+    @Value("${dashboard.retention.batch-size:500}")
+    private int batchSize;
+
+    @Value("${dashboard.retention.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    // 배치 사이 대기 시간 (그동안 다른 연결이 쓰기 잠금을 얻음)
+    @Value("${dashboard.retention.batch-pause-ms:50}")
+    private long batchPauseMs;
+
+    // 한 주기에 회수할 최대 빈 페이지 수
+    @Value("${dashboard.retention.vacuum-pages:2000}")
+    private int vacuumPages;
+
+    private final Map<String, Integer> applicationDays = new HashMap<>();
+    private volatile Map<String, Object> lastRun = Map.of();
+    private boolean autoVacuumWarned = false;
+
+    @PostConstruct
+    public void start() {
+        if (applicationDaysSpec.isBlank()) {
+            return;
+        }
+        for (String entry : applicationDaysSpec.split(",")) {
+            String[] pair = entry.split("=");
+            if (pair.length != 2) {
+                throw new IllegalStateException("잘못된 dashboard.retention.application-days 항목: " + entry);
+            }
+            applicationDays.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+        }
+    }
+
+    /**
+     * 주기적으로 롤업 다운샘플링, 원본 행 정리, 공간 회수를 차례로 수행
+     */
+    @Scheduled(fixedDelayString = "${dashboard.retention.interval-ms:60000}",
+            initialDelayString = "${dashboard.retention.initial-delay-ms:60000}")
+    public void run() {
+        long startedAt = System.currentTimeMillis();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("startedAt", startedAt);
+        try {
+            int[] budget = {maxBatchesPerRun};
+            result.put("rollupRowsPruned", pruneRollups(budget));
+
+            // 레지스트리가 준비되기 전에 지우면 저장된 디바이스별 수에서 뺄 수 없으므로 다음 주기로 미룸
+            if (enabled && deviceRegistry.isInitialized()) {
+                Map<String, Long> uplinkRows = purge(Source.UPLINK, uplinkMessageRepository::findDistinctApplicationIds,
+                        startedAt, budget);
+                Map<String, Long> joinRows = purge(Source.JOIN, joinEventRepository::findDistinctApplicationIds,
+                        startedAt, budget);
+                result.put("uplinkRows", uplinkRows);
+                result.put("joinRows", joinRows);
+                if (!uplinkRows.isEmpty() || !joinRows.isEmpty()) {
+                    // 최대 id가 그대로라 워터마크 캐시가 감지하지 못하는 변경
+                    statisticsEngine.recountTotals();
+                    watermarkCache.invalidateAll();
+                }
+            }
+
+            result.put("vacuumedPages", vacuum());
+            result.put("freelistPages", retentionRepository.getFreelistCount());
+        } catch (Exception e) {
+            logger.error("보존 기간 정리 실패: {}", e.getMessage());
+            result.put("error", e.getMessage());
+        }
+        result.put("elapsedMs", System.currentTimeMillis() - startedAt);
+        lastRun = result;
+    }
+
+    /**
+     * 설정과 마지막 실행 결과
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("mode", mode);
+        status.put("defaultDays", defaultDays);
+        status.put("applicationDays", new TreeMap<>(applicationDays));
+        status.put("lastRun", lastRun);
+        return status;
+    }
+
+    // 보존 기간이 지난 분/시간 롤업 삭제
+    private long pruneRollups(int[] budget) {
+        long pruned = 0;
+        for (Resolution resolution : new Resolution[] {Resolution.MINUTE, Resolution.HOUR}) {
+            while (budget[0] > 0) {
+                int deleted = rollupService.pruneExpired(resolution, batchSize);
+                budget[0]--;
+                pruned += deleted;
+                if (deleted < batchSize) {
+                    break;
+                }
+                pause();
+            }
+        }
+        return pruned;
+    }
+
+    // 애플리케이션별로 보존 일수가 지난 원본 행을 배치 단위로 정리하고 애플리케이션별 행 수를 반환
+    private Map<String, Long> purge(Source source, Supplier<List<String>> applicationIds, long now, int[] budget) {
+        Map<String, Long> purged = new TreeMap<>();
+        // 롤업에 반영된 행까지만 삭제
+        long maxId = rollupService.getRolledUpTo(source);
+        for (String applicationId : applicationIds.get()) {
+            int days = applicationDays.getOrDefault(applicationId, defaultDays);
+            if (days <= 0) {
+                continue;
+            }
+            long beforeMs = now - days * TimestampUtils.DAY_MILLIS;
+            long count = 0;
+            for (long[] window : windows(source, beforeMs, maxId)) {
+                count += purgeWindow(source, applicationId, window[0], window[1], window[2], budget);
+            }
+            if (count > 0) {
+                purged.put(applicationId, count);
+                logger.info("{} 보존 기간 정리: {} {}행 ({}일 이전, {})",
+                        source.getTable(), applicationId, count, days, mode);
+            }
+        }
+        return purged;
+    }
+
+    // 삭제할 [fromMs, beforeMs) 구간과 최대 id 목록 (SEGMENT 모드의 업링크는 봉인된 세그먼트 구간으로 제한)
+    private List<long[]> windows(Source source, long beforeMs, long maxId) {
+        List<long[]> windows = new ArrayList<>();
+        if (mode != Mode.SEGMENT || source != Source.UPLINK) {
+            windows.add(new long[] {Long.MIN_VALUE, beforeMs, maxId});
+            return windows;
+        }
+        for (ColdSegment segment : coldSegmentService.getSealedSegments()) {
+            if (segment.getFromMs() >= beforeMs) {
+                break;
+            }
+            // 봉인 후 늦게 들어온 행(id > max_id)은 세그먼트에 없으므로 남김
+            windows.add(new long[] {segment.getFromMs(), Math.min(beforeMs, segment.getToMs()),
+                    Math.min(maxId, segment.getMaxId())});
+        }
+        return windows;
+    }
+
+    // 한 구간을 배치 단위로 정리하고 삭제한 행 수를 반환
+    private long purgeWindow(Source source, String applicationId, long fromMs, long beforeMs, long maxId,
+                             int[] budget) {
+        long count = 0;
+        while (budget[0] > 0) {
+            List<Long> ids = retentionRepository.findExpiredIds(source.getTable(), applicationId, fromMs, beforeMs,
+                    maxId, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            if (mode == Mode.ARCHIVE) {
+                archive(source.getTable(), applicationId, retentionRepository.findRows(source.getTable(), ids));
+            }
+            List<PurgedRow> purgedRows = source == Source.UPLINK
+                    ? retentionRepository.findPurgedUplinks(ids) : retentionRepository.findPurgedJoinEvents(ids);
+            count += new TransactionTemplate(transactionManager).execute(
+                    status -> retentionRepository.deleteByIds(source.getTable(), ids));
+            // 디바이스별 메시지/JOIN 수를 DB에 남은 행 기준으로 유지 (근사 전체 개수, /devices)
+            // 삭제된 행이 latest 응답에 남지 않도록 최신 행 인덱스도 갱신
+            if (source == Source.UPLINK) {
+                deviceRegistry.removeUplinks(purgedRows);
+                latestDeviceIndex.removeUplinks(purgedRows);
+            } else {
+                deviceRegistry.removeJoinEvents(purgedRows);
+                latestDeviceIndex.removeJoinEvents(purgedRows);
+            }
+            budget[0]--;
+            if (ids.size() < batchSize) {
+                break;
+            }
+            pause();
+        }
+        return count;
+    }
+
+    // 삭제 전에 월별 gzip NDJSON 파일에 덧붙이고 디스크에 기록 (중간에 실패하면 다음 주기에 같은 행이 다시 기록될 수 있음)
+    private void archive(String table, String applicationId, List<Map<String, Object>> rows) {
+        Map<String, List<Map<String, Object>>> byMonth = new TreeMap<>();
+        for (Map<String, Object> row : rows) {
+            long epochMillis = ((Number) row.get("timestamp_ms")).longValue();
+            String month = Instant.ofEpochMilli(epochMillis).atZone(TimestampUtils.KST).format(ARCHIVE_MONTH);
+            byMonth.computeIfAbsent(month, k -> new ArrayList<>()).add(row);
+        }
+        try {
+            Path directory = Paths.get(archiveDir, table, applicationId.replaceAll("[^A-Za-z0-9._-]", "_"));
+            Files.createDirectories(directory);
+            for (Map.Entry<String, List<Map<String, Object>>> entry : byMonth.entrySet()) {
+                // gzip 멤버를 이어 붙인 파일은 zcat 등에서 하나의 스트림으로 읽힘
+                FileOutputStream file = new FileOutputStream(
+                        directory.resolve(entry.getKey() + ".ndjson.gz").toFile(), true);
+                try (GZIPOutputStream gzip = new GZIPOutputStream(file)) {
+                    for (Map<String, Object> row : entry.getValue()) {
+                        gzip.write(objectMapper.writeValueAsBytes(row));
+                        gzip.write('\n');
+                    }
+                    gzip.finish();
+                    file.getFD().sync();
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("보관 파일 기록 실패: " + e.getMessage(), e);
+        }
+    }
+
+    // auto_vacuum=INCREMENTAL일 때만 빈 페이지를 파일 끝에서 잘라냄
+    private long vacuum() {
+        if (retentionRepository.getAutoVacuumMode() != AUTO_VACUUM_INCREMENTAL) {
+            if (enabled && !autoVacuumWarned) {
+                autoVacuumWarned = true;
+                logger.warn("auto_vacuum이 INCREMENTAL이 아니어서 삭제한 공간은 재사용만 되고 파일 크기는 줄지 않음 " +
+                        "(점검 시간에 PRAGMA auto_vacuum = INCREMENTAL; VACUUM; 한 번 실행 필요)");
+            }
+            return 0;
+        }
+        long freelist = retentionRepository.getFreelistCount();
+        if (freelist == 0) {
+            return 0;
+        }
+        // 배치 크기만큼씩 나누어 커밋하여 쓰기 잠금을 짧게 유지
+        long remaining = Math.min(freelist, vacuumPages);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        while (remaining > 0) {
+            int pages = (int) Math.min(remaining, batchSize);
+            transactionTemplate.executeWithoutResult(status -> retentionRepository.incrementalVacuum(pages));
+            remaining -= pages;
+            if (remaining > 0) {
+                pause();
+            }
+        }
+        long reclaimed = freelist - retentionRepository.getFreelistCount();
+        logger.debug("incremental vacuum: {}페이지 회수 ({}KB)", reclaimed,
+                reclaimed * retentionRepository.getPageSize() / 1024);
+        return reclaimed;
+    }
+
+    private void pause() {
+        if (batchPauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(batchPauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.lora.dashboard.service;
+
+import com.lora.dashboard.entity.SignalQuality;
+import com.lora.dashboard.entity.UplinkMessage;
+import com.lora.dashboard.event.UplinkMessagesReceivedEvent;
+import com.lora.dashboard.repository.UplinkMessageRepository;
+import com.lora.dashboard.repository.projection.DeviceSignalQualityView;
+import com.lora.dashboard.util.SignalQualityClassifier;
+import com.lora.dashboard.util.TimestampUtils;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 최근 구간 신호 품질 분포
+ * 전체, 애플리케이션별, 디바이스별로 시간 단위 버킷에 SignalQuality 구간별 업링크 수를 두고
+ * MessageTailer 이벤트로 증분 갱신한다. 조회는 요청한 구간의 버킷만 합산한다.
+ * 보존 구간만 메모리에 두므로 저장하지 않고, 시작시 timestamp_ms 인덱스 범위의 GROUP BY 한 번으로 적재한다.
+ */
+@Service
+public class SignalQualityTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(SignalQualityTracker.class);
+
+    private static final String GLOBAL_KEY = "*";
+    private static final String APPLICATION_PREFIX = "application:";
+    private static final String DEVICE_PREFIX = "device:";
+
+    @Autowired
+    private UplinkMessageRepository uplinkMessageRepository;
+
+    @Value("${dashboard.statistics.batch-size:1000}")
+    private int batchSize;
+
+    // 조회할 수 있는 최대 구간 (시간)
+    @Value("${dashboard.signal-quality.retention-hours:168}")
+    private int retentionHours;
+
+    // 범위 키 -> (시간 시작 시각(epoch ms) -> SignalQuality 코드별 수)
+    private final Map<String, NavigableMap<Long, long[]>> buckets = new HashMap<>();
+
+    private long watermark;
+    private volatile boolean initialized = false;
+
+    @PostConstruct
+    public void start() {
+        try {
+            initialize();
+        } catch (Exception e) {
+            // 다음 prune 주기에서 재시도
+            logger.error("신호 품질 분포 초기화 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 보존 구간 밖의 버킷 제거 (초기화 실패시 재시도)
+     */
+    @Scheduled(fixedDelayString = "${dashboard.signal-quality.prune-interval-ms:60000}")
+    public void prune() {
+        try {
+            synchronized (this) {
+                if (!initialized) {
+                    initialize();
+                    return;
+                }
+                long retentionStart = retentionStart(System.currentTimeMillis());
+                Iterator<NavigableMap<Long, long[]>> iterator = buckets.values().iterator();
+                while (iterator.hasNext()) {
+                    NavigableMap<Long, long[]> scopeBuckets = iterator.next();
+                    scopeBuckets.headMap(retentionStart, false).clear();
+                    if (scopeBuckets.isEmpty()) {
+                        iterator.remove();
+                    }
+                }
+            }
+        } catch (Exception e) {
+            logger.error("신호 품질 분포 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public synchronized void onUplinkMessages(UplinkMessagesReceivedEvent event) {
+        if (!initialized) {
+            return;
+        }
+        if (watermark < event.getPreviousWatermark()) {
+            catchUp();
+        }
+        long retentionStart = retentionStart(System.currentTimeMillis());
+        for (UplinkMessage message : event.getMessages()) {
+            if (message.getId() > watermark) {
+                apply(message, retentionStart);
+            }
+        }
+    }
+
+    /**
+     * 최근 windowHours 시간 동안의 SignalQuality 구간별 업링크 수 (SignalQuality 코드 순)
+     * 현재 시간대를 포함하여 시간 단위로 집계하며, deviceId와 applicationId가 모두 null이면 전체
+     */
+    public synchronized long[] getDistribution(String deviceId, String applicationId, int windowHours) {
+        long[] totals = new long[SignalQuality.values().length];
+        NavigableMap<Long, long[]> scopeBuckets = buckets.get(scopeKey(deviceId, applicationId));
+        if (scopeBuckets == null) {
+            return totals;
+        }
+        long since = TimestampUtils.floorToHour(System.currentTimeMillis()) - (windowHours - 1) * TimestampUtils.HOUR_MILLIS;
+        for (long[] counts : scopeBuckets.tailMap(since, true).values()) {
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += counts[i];
+            }
+        }
+        return totals;
+    }
+
+    public int getRetentionHours() {
+        return retentionHours;
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    private synchronized void initialize() {
+        long startNanos = System.nanoTime();
+        buckets.clear();
+
+        // 적재 쿼리보다 먼저 최대 id를 읽어, 그 이후 행은 id 순 조회로 보충
+        Long maxId = uplinkMessageRepository.findMaxId();
+        watermark = maxId != null ? maxId : 0L;
+        long retentionStart = retentionStart(System.currentTimeMillis());
+        for (DeviceSignalQualityView row
+                : uplinkMessageRepository.countSignalQualityGroupByDeviceAndHour(retentionStart, watermark)) {
+            add(row.getDeviceId(), row.getApplicationId(), row.getHourStart(),
+                    SignalQuality.fromCode(row.getQuality()), row.getCount());
+        }
+
+        catchUp();
+        initialized = true;
+        logger.info("신호 품질 분포 적재: 범위 {}개, 워터마크={} ({}ms)",
+                buckets.size(), watermark, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    // 워터마크 이후의 행을 id 순으로 반영
+    private void catchUp() {
+        long retentionStart = retentionStart(System.currentTimeMillis());
+        while (true) {
+            List<UplinkMessage> rows = uplinkMessageRepository.findByIdGreaterThanOrderByIdAsc(
+                    watermark, PageRequest.of(0, batchSize));
+            for (UplinkMessage message : rows) {
+                apply(message, retentionStart);
+            }
+            if (rows.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    private void apply(UplinkMessage message, long retentionStart) {
+        watermark = message.getId();
+        // 백필 전인 새 행은 문자열에서 계산
+        Long epochMillis = message.getTimestampMs() != null
+                ? message.getTimestampMs() : TimestampUtils.parseEpochMillis(message.getTimestamp());
+        if (message.getDeviceId() == null || epochMillis == null || epochMillis < retentionStart) {
+            return;
+        }
+        SignalQuality quality = SignalQualityClassifier.resolve(
+                message.getSignalQualityCode(), message.getRssi(), message.getSnr());
+        add(message.getDeviceId(), message.getApplicationId(), TimestampUtils.floorToHour(epochMillis), quality, 1);
+    }
+
+    // 전체, 애플리케이션, 디바이스 범위에 같은 수를 더함
+    private void add(String deviceId, String applicationId, long hourStart, SignalQuality quality, long count) {
+        if (quality == null) {
+            return;
+        }
+        increment(GLOBAL_KEY, hourStart, quality, count);
+        if (applicationId != null) {
+            increment(APPLICATION_PREFIX + applicationId, hourStart, quality, count);
+        }
+        increment(DEVICE_PREFIX + deviceId, hourStart, quality, count);
+    }
+
+    private void increment(String key, long hourStart, SignalQuality quality, long count) {
+        buckets.computeIfAbsent(key, k -> new TreeMap<>())
+                .computeIfAbsent(hourStart, k -> new long[SignalQuality.values().length])[quality.getCode()] += count;
+    }
+
+    private static String scopeKey(String deviceId, String applicationId) {
+        if (deviceId != null) {
+            return DEVICE_PREFIX + deviceId;
+        }
+        if (applicationId != null) {
+            return APPLICATION_PREFIX + applicationId;
+        }
+        return GLOBAL_KEY;
+    }
+
+    private long retentionStart(long now) {
+        return TimestampUtils.floorToHour(now) - (retentionHours - 1) * TimestampUtils.HOUR_MILLIS;
+    }
+}
@@ -0,0 +1,462 @@
+package com.lora.dashboard.service;
+
+import com.lora.dashboard.dto.StatisticsDto;
+import com.lora.dashboard.entity.IngestWatermark;
+import com.lora.dashboard.entity.JoinEvent;
+import com.lora.dashboard.entity.StatisticsBucket;
+import com.lora.dashboard.entity.UplinkMessage;
+import com.lora.dashboard.event.JoinEventsReceivedEvent;
+import com.lora.dashboard.event.UplinkMessagesReceivedEvent;
+import com.lora.dashboard.repository.IngestWatermarkRepository;
+import com.lora.dashboard.repository.JoinEventRepository;
+import com.lora.dashboard.repository.StatisticsBucketRepository;
+import com.lora.dashboard.repository.UplinkMessageRepository;
+import com.lora.dashboard.util.TimestampUtils;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 증분 통계 엔진
+ * 워터마크(마지막 처리 id) 이후의 행만 읽어 분 단위 카운터를 갱신하고,
+ * 요청시에는 미리 계산된 스냅샷을 반환한다. 새 행은 MessageTailer 이벤트로 즉시 반영되고,
+ * 주기적인 refresh는 누락분 보정, 윈도우 이동, 저장을 담당한다.
+ */
+@Service
+public class StatisticsEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsEngine.class);
+
+    static final String UPLINK_WATERMARK = "statistics:uplink_messages";
+    static final String JOIN_WATERMARK = "statistics:join_events";
+
+    private static final int UPLINK = 0;
+    private static final int JOIN = 1;
+
+    // 최근 24시간 집계 구간
+    private static final long WINDOW_MILLIS = 24 * TimestampUtils.HOUR_MILLIS;
+    // 시간별 차트의 첫 시간대가 윈도우보다 조금 앞서므로 한 시간 더 보관
+    private static final long RETENTION_MILLIS = 25 * TimestampUtils.HOUR_MILLIS;
+
+    private static final DateTimeFormatter HOUR_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:00");
+
+    @Autowired
+    private UplinkMessageRepository uplinkMessageRepository;
+
+    @Autowired
+    private JoinEventRepository joinEventRepository;
+
+    @Autowired
+    private StatisticsBucketRepository bucketRepository;
+
+    @Autowired
+    private IngestWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${dashboard.statistics.batch-size:1000}")
+    private int batchSize;
+
+    // 분 시작 시각(epoch ms) -> [uplink 수, join 수]
+    private final NavigableMap<Long, long[]> buckets = new TreeMap<>();
+    private final Set<Long> dirtyBuckets = new HashSet<>();
+
+    private final TableCursor[] cursors = new TableCursor[2];
+
+    private volatile boolean initialized = false;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @PostConstruct
+    public void start() {
+        cursors[UPLINK] = new TableCursor(
+                uplinkMessageRepository::findMaxId,
+                uplinkMessageRepository::countByIdLessThanEqual,
+                uplinkMessageRepository::findIdAndTimestampAfter,
+                uplinkMessageRepository::findIdAndTimestampBefore);
+        cursors[JOIN] = new TableCursor(
+                joinEventRepository::findMaxId,
+                joinEventRepository::countByIdLessThanEqual,
+                joinEventRepository::findIdAndTimestampAfter,
+                joinEventRepository::findIdAndTimestampBefore);
+        try {
+            initialize();
+        } catch (Exception e) {
+            // 다음 refresh 주기에서 재시도
+            logger.error("통계 엔진 초기화 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 주기적으로 워터마크 이후의 새 행을 반영하고 스냅샷을 갱신
+     */
+    @Scheduled(fixedDelayString = "${dashboard.statistics.refresh-interval-ms:2000}")
+    public void refresh() {
+        try {
+            if (!initialized) {
+                initialize();
+                return;
+            }
+            synchronized (this) {
+                catchUp(UPLINK);
+                catchUp(JOIN);
+                long retentionStart = retentionStart(System.currentTimeMillis());
+                boolean pruned = !buckets.headMap(retentionStart, false).isEmpty();
+                buckets.headMap(retentionStart, false).clear();
+                // 이벤트 경로에서 반영한 버킷/워터마크도 이 주기에 저장 (재시작시 다시 읽는 구간을 줄임)
+                if (pruned || !dirtyBuckets.isEmpty() || hasUnsavedWatermark()) {
+                    persist(retentionStart);
+                }
+                rebuildSnapshot();
+            }
+        } catch (Exception e) {
+            logger.error("통계 갱신 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * MessageTailer가 감지한 새 uplink를 즉시 반영 (저장은 refresh 주기에 수행)
+     */
+    @EventListener
+    public void onUplinkMessages(UplinkMessagesReceivedEvent event) {
+        synchronized (this) {
+            if (!initialized) {
+                return;
+            }
+            applyReceived(UPLINK, event.getPreviousWatermark(), event.getMessages(),
+                    UplinkMessage::getId, UplinkMessage::getTimestampMs, UplinkMessage::getTimestamp);
+        }
+    }
+
+    /**
+     * MessageTailer가 감지한 새 JOIN 이벤트를 즉시 반영
+     */
+    @EventListener
+    public void onJoinEvents(JoinEventsReceivedEvent event) {
+        synchronized (this) {
+            if (!initialized) {
+                return;
+            }
+            applyReceived(JOIN, event.getPreviousWatermark(), event.getJoinEvents(),
+                    JoinEvent::getId, JoinEvent::getTimestampMs, JoinEvent::getTimestamp);
+        }
+    }
+
+    /**
+     * 보존 정리로 워터마크 이전 행이 삭제된 뒤 전체 건수를 다시 셈 (최근 구간 버킷은 그대로 유지)
+     */
+    public synchronized void recountTotals() {
+        if (!initialized) {
+            return;
+        }
+        for (TableCursor cursor : cursors) {
+            Long total = cursor.countUpTo.apply(cursor.watermark);
+            cursor.total = total != null ? total : 0L;
+        }
+        rebuildSnapshot();
+    }
+
+    /**
+     * 현재 통계 스냅샷 (요청 경로에서는 DB를 조회하지 않음)
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    private synchronized void initialize() {
+        long now = System.currentTimeMillis();
+        long retentionStart = retentionStart(now);
+        buckets.clear();
+        dirtyBuckets.clear();
+
+        IngestWatermark uplinkMark = watermarkRepository.findById(UPLINK_WATERMARK).orElse(null);
+        IngestWatermark joinMark = watermarkRepository.findById(JOIN_WATERMARK).orElse(null);
+
+        // 워터마크가 현재 최대 id보다 크면 DB 파일이 교체된 것이므로 다시 적재
+        if (uplinkMark != null && joinMark != null
+                && isValidWatermark(uplinkMark, cursors[UPLINK]) && isValidWatermark(joinMark, cursors[JOIN])) {
+            // 저장된 워터마크와 버킷에서 복원
+            for (StatisticsBucket bucket : bucketRepository.findByBucketStartGreaterThanEqual(retentionStart)) {
+                buckets.put(bucket.getBucketStart(), new long[] {bucket.getUplinkCount(), bucket.getJoinCount()});
+            }
+            cursors[UPLINK].watermark = uplinkMark.getLastId();
+            cursors[JOIN].watermark = joinMark.getLastId();
+            logger.info("통계 엔진 복원: uplink 워터마크={}, join 워터마크={}, 버킷 {}개",
+                    uplinkMark.getLastId(), joinMark.getLastId(), buckets.size());
+        } else {
+            // 최초 실행: 최근 구간만 id 역순으로 읽어 버킷 구성
+            cursors[UPLINK].watermark = seed(UPLINK, retentionStart);
+            cursors[JOIN].watermark = seed(JOIN, retentionStart);
+            dirtyBuckets.addAll(buckets.keySet());
+            logger.info("통계 엔진 초기 적재: uplink 워터마크={}, join 워터마크={}, 버킷 {}개",
+                    cursors[UPLINK].watermark, cursors[JOIN].watermark, buckets.size());
+        }
+
+        for (TableCursor cursor : cursors) {
+            Long total = cursor.countUpTo.apply(cursor.watermark);
+            cursor.total = total != null ? total : 0L;
+        }
+
+        catchUp(UPLINK);
+        catchUp(JOIN);
+        persist(retentionStart);
+        rebuildSnapshot();
+        initialized = true;
+    }
+
+    private static boolean isValidWatermark(IngestWatermark mark, TableCursor cursor) {
+        Long maxId = cursor.maxId.get();
+        return mark.getLastId() <= (maxId != null ? maxId : 0L);
+    }
+
+    // 엔진 워터마크가 배치 시작보다 뒤처져 있으면 사이 구간을 직접 조회한 뒤 나머지를 반영
+    private <T> void applyReceived(int kind, long previousWatermark, List<T> rows,
+                                   Function<T, Long> idOf, Function<T, Long> timestampMsOf,
+                                   Function<T, String> timestampOf) {
+        if (cursors[kind].watermark < previousWatermark) {
+            catchUp(kind);
+        }
+        long retentionStart = retentionStart(System.currentTimeMillis());
+        for (T row : rows) {
+            long id = idOf.apply(row);
+            if (id <= cursors[kind].watermark) {
+                continue;
+            }
+            Long epochMillis = timestampMsOf.apply(row) != null
+                    ? timestampMsOf.apply(row) : TimestampUtils.parseEpochMillis(timestampOf.apply(row));
+            apply(kind, id, epochMillis, retentionStart);
+        }
+        rebuildSnapshot();
+    }
+
+    // 최대 id부터 역순으로 읽다가 한 배치 전체가 보관 구간 밖이면 중단
+    private long seed(int kind, long retentionStart) {
+        TableCursor cursor = cursors[kind];
+        Long maxId = cursor.maxId.get();
+        if (maxId == null) {
+            return 0L;
+        }
+
+        long beforeId = maxId + 1;
+        while (true) {
+            List<Object[]> rows = cursor.fetchBefore.apply(beforeId, PageRequest.of(0, batchSize));
+            if (rows.isEmpty()) {
+                break;
+            }
+            boolean anyInWindow = false;
+            for (Object[] row : rows) {
+                beforeId = ((Number) row[0]).longValue();
+                Long epochMillis = epochMillisOf(row);
+                if (epochMillis != null && epochMillis >= retentionStart) {
+                    increment(kind, epochMillis, false);
+                    anyInWindow = true;
+                }
+            }
+            if (!anyInWindow) {
+                break;
+            }
+        }
+        return maxId;
+    }
+
+    // 워터마크 이후의 행을 배치 단위로 반영
+    private void catchUp(int kind) {
+        TableCursor cursor = cursors[kind];
+        long retentionStart = retentionStart(System.currentTimeMillis());
+
+        while (true) {
+            List<Object[]> rows = cursor.fetchAfter.apply(cursor.watermark, PageRequest.of(0, batchSize));
+            for (Object[] row : rows) {
+                apply(kind, ((Number) row[0]).longValue(), epochMillisOf(row), retentionStart);
+            }
+            if (rows.size() < batchSize) {
+                return;
+            }
+        }
+    }
+
+    // 새 행 하나를 카운터에 반영하고 워터마크 전진
+    private void apply(int kind, long id, Long epochMillis, long retentionStart) {
+        TableCursor cursor = cursors[kind];
+        cursor.watermark = id;
+        cursor.total++;
+        if (epochMillis != null && epochMillis >= retentionStart) {
+            increment(kind, epochMillis, true);
+        }
+    }
+
+    private void increment(int kind, long epochMillis, boolean markDirty) {
+        long minute = TimestampUtils.floorToMinute(epochMillis);
+        buckets.computeIfAbsent(minute, k -> new long[2])[kind]++;
+        if (markDirty) {
+            dirtyBuckets.add(minute);
+        }
+    }
+
+    // 변경된 버킷과 워터마크를 한 트랜잭션으로 저장 (중복 집계 방지)
+    private void persist(long retentionStart) {
+        List<StatisticsBucket> changed = new ArrayList<>();
+        for (Long minute : dirtyBuckets) {
+            long[] counts = buckets.get(minute);
+            if (counts != null) {
+                changed.add(new StatisticsBucket(minute, counts[UPLINK], counts[JOIN]));
+            }
+        }
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            bucketRepository.saveAll(changed);
+            bucketRepository.deleteOlderThan(retentionStart);
+            watermarkRepository.save(new IngestWatermark(UPLINK_WATERMARK, cursors[UPLINK].watermark));
+            watermarkRepository.save(new IngestWatermark(JOIN_WATERMARK, cursors[JOIN].watermark));
+        });
+        dirtyBuckets.clear();
+        for (TableCursor cursor : cursors) {
+            cursor.savedWatermark = cursor.watermark;
+        }
+    }
+
+    // 보관 구간 밖의 행만 반영해 버킷은 그대로여도 워터마크는 저장
+    private boolean hasUnsavedWatermark() {
+        for (TableCursor cursor : cursors) {
+            if (cursor.watermark != cursor.savedWatermark) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void rebuildSnapshot() {
+        long now = System.currentTimeMillis();
+
+        // 최근 24시간 (분 단위 정밀도)
+        long last24HourMessages = 0;
+        long recentJoinEvents = 0;
+        for (long[] counts : buckets.tailMap(TimestampUtils.floorToMinute(now - WINDOW_MILLIS), true).values()) {
+            last24HourMessages += counts[UPLINK];
+            recentJoinEvents += counts[JOIN];
+        }
+
+        // 시간별 메시지 수 (KST 기준 24개 시간대)
+        ZonedDateTime nowKst = Instant.ofEpochMilli(now).atZone(TimestampUtils.KST);
+        ZonedDateTime startTime = nowKst.minusHours(23).withMinute(0).withSecond(0).withNano(0);
+        List<StatisticsDto.HourlyCountDto> hourlyCounts = new ArrayList<>(24);
+        for (int i = 0; i < 24; i++) {
+            ZonedDateTime hourTime = startTime.plusHours(i);
+            long hourStart = hourTime.toInstant().toEpochMilli();
+            long count = 0;
+            for (long[] counts : buckets.subMap(hourStart, true, hourStart + TimestampUtils.HOUR_MILLIS, false).values()) {
+                count += counts[UPLINK];
+            }
+            hourlyCounts.add(new StatisticsDto.HourlyCountDto(hourTime.format(HOUR_FORMAT), count));
+        }
+
+        snapshot = new Snapshot(cursors[UPLINK].total, cursors[JOIN].total,
+                last24HourMessages, recentJoinEvents, Collections.unmodifiableList(hourlyCounts),
+                cursors[UPLINK].watermark, cursors[JOIN].watermark);
+    }
+
+    // 백필된 timestamp_ms를 우선 사용하고, 아직 비어 있으면 문자열 파싱
+    private static Long epochMillisOf(Object[] row) {
+        if (row[2] != null) {
+            return ((Number) row[2]).longValue();
+        }
+        return TimestampUtils.parseEpochMillis((String) row[1]);
+    }
+
+    private static long retentionStart(long now) {
+        return TimestampUtils.floorToMinute(now - RETENTION_MILLIS);
+    }
+
+    /**
+     * 테이블별 워터마크와 조회 함수
+     */
+    private static final class TableCursor {
+        private final Supplier<Long> maxId;
+        private final Function<Long, Long> countUpTo;
+        private final BiFunction<Long, Pageable, List<Object[]>> fetchAfter;
+        private final BiFunction<Long, Pageable, List<Object[]>> fetchBefore;
+        private long watermark;
+        // 마지막으로 저장한 워터마크
+        private long savedWatermark;
+        private long total;
+
+        private TableCursor(Supplier<Long> maxId,
+                            Function<Long, Long> countUpTo,
+                            BiFunction<Long, Pageable, List<Object[]>> fetchAfter,
+                            BiFunction<Long, Pageable, List<Object[]>> fetchBefore) {
+            this.maxId = maxId;
+            this.countUpTo = countUpTo;
+            this.fetchAfter = fetchAfter;
+            this.fetchBefore = fetchBefore;
+        }
+    }
+
+    /**
+     * 요청 경로에서 공유하는 불변 통계 스냅샷
+     */
+    public static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(0L, 0L, 0L, 0L, Collections.emptyList(), 0L, 0L);
+
+        private final long totalMessages;
+        private final long totalJoinEvents;
+        private final long last24HourMessages;
+        private final long recentJoinEvents;
+        private final List<StatisticsDto.HourlyCountDto> hourlyCounts;
+        // 스냅샷에 반영된 마지막 id
+        private final long uplinkWatermark;
+        private final long joinWatermark;
+
+        Snapshot(long totalMessages, long totalJoinEvents, long last24HourMessages,
+                 long recentJoinEvents, List<StatisticsDto.HourlyCountDto> hourlyCounts,
+                 long uplinkWatermark, long joinWatermark) {
+            this.totalMessages = totalMessages;
+            this.totalJoinEvents = totalJoinEvents;
+            this.last24HourMessages = last24HourMessages;
+            this.recentJoinEvents = recentJoinEvents;
+            this.hourlyCounts = hourlyCounts;
+            this.uplinkWatermark = uplinkWatermark;
+            this.joinWatermark = joinWatermark;
+        }
+
+        public long getTotalMessages() { return totalMessages; }
+
+        public long getTotalJoinEvents() { return totalJoinEvents; }
+
+        public long getLast24HourMessages() { return last24HourMessages; }
+
+        public long getRecentJoinEvents() { return recentJoinEvents; }
+
+        public List<StatisticsDto.HourlyCountDto> getHourlyCounts() { return hourlyCounts; }
+
+        public long getUplinkWatermark() { return uplinkWatermark; }
+
+        public long getJoinWatermark() { return joinWatermark; }
+    }
+}
@@ -0,0 +1,350 @@
+package com.lora.dashboard.service;
+
+import com.lora.dashboard.dto.TimeSeriesDto;
+import com.lora.dashboard.entity.IngestWatermark;
+import com.lora.dashboard.entity.JoinEvent;
+import com.lora.dashboard.entity.UplinkMessage;
+import com.lora.dashboard.event.JoinEventsReceivedEvent;
+import com.lora.dashboard.event.UplinkMessagesReceivedEvent;
+import com.lora.dashboard.repository.IngestWatermarkRepository;
+import com.lora.dashboard.repository.JoinEventRepository;
+import com.lora.dashboard.repository.TimeSeriesRollupRepository;
+import com.lora.dashboard.repository.TimeSeriesRollupRepository.Resolution;
+import com.lora.dashboard.repository.TimeSeriesRollupRepository.RollupRow;
+import com.lora.dashboard.repository.TimeSeriesRollupRepository.Source;
+import com.lora.dashboard.repository.UplinkMessageRepository;
+import com.lora.dashboard.util.TimestampUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 분/시간/일 시계열 롤업 유지와 구간 조회
+ * 원본 테이블을 id 커서(dashboard_watermarks)를 따라 청크 단위로 집계해 롤업 테이블에 더한다.
+ * 기존 행은 주기 작업이 청크씩 채우고, 따라잡은 뒤에는 MessageTailer 이벤트마다 새 id 구간만 반영한다.
+ * 조회는 요청 버킷을 나누어떨어지게 하는 가장 굵은 해상도를 골라 그 롤업 행만 합산한다.
+ */
+@Service
+@DependsOn("schemaMigrator")
+public class TimeSeriesRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimeSeriesRollupService.class);
+
+    static final String UPLINK_CURSOR = "rollups:uplink_messages";
+    static final String JOIN_CURSOR = "rollups:join_events";
+
+    // bucket을 지정하지 않았을 때 고르는 후보 (작은 순)와 목표 포인트 수
+    private static final long[] AUTO_BUCKETS = {
+            TimestampUtils.MINUTE_MILLIS, 5 * TimestampUtils.MINUTE_MILLIS, 15 * TimestampUtils.MINUTE_MILLIS,
+            TimestampUtils.HOUR_MILLIS, 6 * TimestampUtils.HOUR_MILLIS, TimestampUtils.DAY_MILLIS,
+            7 * TimestampUtils.DAY_MILLIS
+    };
+    private static final int AUTO_TARGET_POINTS = 500;
+
+    @Autowired
+    private TimeSeriesRollupRepository rollupRepository;
+
+    @Autowired
+    private UplinkMessageRepository uplinkMessageRepository;
+
+    @Autowired
+    private JoinEventRepository joinEventRepository;
+
+    @Autowired
+    private IngestWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${dashboard.rollups.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${dashboard.rollups.max-chunks-per-run:20}")
+    private int maxChunksPerRun;
+
+    // 한 번에 반환할 수 있는 최대 버킷 수
+    @Value("${dashboard.rollups.max-points:5000}")
+    private int maxPoints;
+
+    // 분/시간 롤업 보존 기간 (일 롤업은 계속 보존, 0이면 삭제하지 않음)
+    @Value("${dashboard.rollups.minute-retention-days:14}")
+    private int minuteRetentionDays;
+
+    @Value("${dashboard.rollups.hour-retention-days:365}")
+    private int hourRetentionDays;
+
+    // 원본 테이블별 롤업에 반영된 마지막 id (처음 사용할 때 dashboard_watermarks에서 읽음)
+    private final Map<Source, Long> cursors = new EnumMap<>(Source.class);
+
+    /**
+     * 주기적으로 커서 이후의 행을 롤업에 반영 (기존 행 초기 집계 포함)
+     */
+    @Scheduled(fixedDelayString = "${dashboard.rollups.interval-ms:1000}")
+    public void rollUp() {
+        try {
+            advance(Source.UPLINK, uplinkMessageRepository.findMaxId(), maxChunksPerRun);
+            advance(Source.JOIN, joinEventRepository.findMaxId(), maxChunksPerRun);
+        } catch (Exception e) {
+            logger.error("시계열 롤업 실패: {}", e.getMessage());
+        }
+    }
+
+    @EventListener
+    public void onUplinkMessages(UplinkMessagesReceivedEvent event) {
+        List<UplinkMessage> messages = event.getMessages();
+        if (!messages.isEmpty()) {
+            advanceIfCaughtUp(Source.UPLINK, event.getPreviousWatermark(), messages.get(messages.size() - 1).getId());
+        }
+    }
+
+    @EventListener
+    public void onJoinEvents(JoinEventsReceivedEvent event) {
+        List<JoinEvent> joinEvents = event.getJoinEvents();
+        if (!joinEvents.isEmpty()) {
+            advanceIfCaughtUp(Source.JOIN, event.getPreviousWatermark(), joinEvents.get(joinEvents.size() - 1).getId());
+        }
+    }
+
+    /**
+     * 원본 테이블에서 롤업에 반영된 마지막 id (이 id 이하의 행은 지워도 롤업에 집계가 남음)
+     */
+    public synchronized long getRolledUpTo(Source source) {
+        return cursorOf(source);
+    }
+
+    /**
+     * 보존 기간이 지난 분/시간 롤업을 최대 batchSize행 삭제하고 삭제한 행 수를 반환 (다운샘플링)
+     */
+    public int pruneExpired(Resolution resolution, int batchSize) {
+        long retentionStart = retentionStart(resolution, System.currentTimeMillis());
+        if (retentionStart == Long.MIN_VALUE) {
+            return 0;
+        }
+        // 경계 근처 조회가 잘리지 않도록 하루 여유를 두고 삭제
+        return rollupRepository.deleteBefore(resolution, retentionStart - TimestampUtils.DAY_MILLIS, batchSize);
+    }
+
+    /**
+     * [fromMs, toMs) 구간의 시계열
+     * bucket은 15m, 1h, 1d 형식이며 null이면 포인트 수가 적당하도록 자동 선택한다.
+     * 구간 양 끝은 버킷 경계(일 이상은 KST 자정)로 확장되며, deviceId와 applicationId가 모두 null이면 전체
+     * 구간 시작이 해상도의 보존 기간보다 오래되면 더 굵은 버킷이 필요하다.
+     */
+    public TimeSeriesDto getTimeSeries(Source source, long fromMs, long toMs, String bucket,
+                                       String deviceId, String applicationId) {
+        if (fromMs >= toMs) {
+            throw new IllegalArgumentException("from은 to보다 앞서야 합니다");
+        }
+        long now = System.currentTimeMillis();
+        long bucketMillis = bucket != null ? parseBucketMillis(bucket) : autoBucketMillis(fromMs, toMs, now);
+        long start = TimestampUtils.floorToBucket(fromMs, bucketMillis);
+        long end = TimestampUtils.floorToBucket(toMs - 1, bucketMillis) + bucketMillis;
+        if ((end - start) / bucketMillis > maxPoints) {
+            throw new IllegalArgumentException("버킷 수는 최대 " + maxPoints + "개입니다");
+        }
+
+        Resolution resolution = resolutionFor(bucketMillis);
+        if (start + bucketMillis <= retentionStart(resolution, now)) {
+            throw new IllegalArgumentException(resolution.name().toLowerCase() + " 롤업 보존 기간보다 오래된 구간입니다");
+        }
+        List<RollupRow> rows = rollupRepository.findRange(source, resolution,
+                applicationId != null && deviceId == null ? applicationId : TimeSeriesRollupRepository.ALL,
+                deviceId != null ? deviceId : TimeSeriesRollupRepository.ALL,
+                start, end);
+
+        // 롤업 행은 bucket_start 순이므로 같은 버킷끼리 연속으로 합산
+        List<TimeSeriesDto.PointDto> points = new ArrayList<>();
+        Accumulator current = null;
+        for (RollupRow row : rows) {
+            long bucketStart = TimestampUtils.floorToBucket(row.getBucketStart(), bucketMillis);
+            if (current == null || current.bucketStart != bucketStart) {
+                if (current != null) {
+                    points.add(current.toPoint());
+                }
+                current = new Accumulator(bucketStart);
+            }
+            current.add(row);
+        }
+        if (current != null) {
+            points.add(current.toPoint());
+        }
+        return new TimeSeriesDto(start, end, bucketMillis, resolution.name().toLowerCase(), points);
+    }
+
+    // 원본 이벤트 직전까지 반영된 상태일 때만 이벤트 구간을 바로 반영 (밀린 구간은 주기 작업이 처리)
+    private void advanceIfCaughtUp(Source source, long previousWatermark, long toId) {
+        try {
+            synchronized (this) {
+                if (cursorOf(source) >= previousWatermark) {
+                    advance(source, toId, 1);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("시계열 롤업 실패 ({}): {}", source.getTable(), e.getMessage());
+        }
+    }
+
+    // 커서부터 maxId까지 청크마다 세 해상도와 커서를 한 트랜잭션으로 커밋하여 쓰기 잠금을 짧게 유지
+    private synchronized void advance(Source source, Long maxId, int maxChunks) {
+        if (maxId == null) {
+            return;
+        }
+        long afterId = cursorOf(source);
+        int chunks = 0;
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        while (afterId < maxId && chunks < maxChunks) {
+            long fromId = afterId;
+            long toId = Math.min(afterId + chunkSize, maxId);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Resolution resolution : Resolution.values()) {
+                    rollupRepository.rollUp(source, resolution, fromId, toId);
+                }
+                IngestWatermark cursor = new IngestWatermark(cursorName(source), toId);
+                cursor.setUpdatedAt(System.currentTimeMillis());
+                watermarkRepository.save(cursor);
+            });
+            afterId = toId;
+            cursors.put(source, afterId);
+            chunks++;
+        }
+        if (chunks > 1) {
+            logger.debug("{} 롤업: 커서={}/{}", source.getTable(), afterId, maxId);
+        }
+    }
+
+    private long cursorOf(Source source) {
+        Long cursor = cursors.get(source);
+        if (cursor == null) {
+            cursor = watermarkRepository.findById(cursorName(source)).map(IngestWatermark::getLastId).orElse(0L);
+            cursors.put(source, cursor);
+        }
+        return cursor;
+    }
+
+    private static String cursorName(Source source) {
+        return source == Source.UPLINK ? UPLINK_CURSOR : JOIN_CURSOR;
+    }
+
+    // 버킷 크기를 나누어떨어지게 하는 가장 굵은 해상도 (일 이상 버킷도 KST 자정 기준이라 경계가 맞음)
+    private static Resolution resolutionFor(long bucketMillis) {
+        for (Resolution resolution : Resolution.values()) {
+            if (bucketMillis % resolution.getMillis() == 0) {
+                return resolution;
+            }
+        }
+        throw new IllegalArgumentException("버킷은 1분 단위여야 합니다");
+    }
+
+    // 포인트 수가 목표 이하이고 해상도 보존 기간 안에 구간이 들어가는 가장 작은 후보
+    private long autoBucketMillis(long fromMs, long toMs, long now) {
+        for (long candidate : AUTO_BUCKETS) {
+            if ((toMs - fromMs) / candidate <= AUTO_TARGET_POINTS
+                    && TimestampUtils.floorToBucket(fromMs, candidate) + candidate > retentionStart(resolutionFor(candidate), now)) {
+                return candidate;
+            }
+        }
+        return AUTO_BUCKETS[AUTO_BUCKETS.length - 1];
+    }
+
+    // 해상도별 보존 시작 시각 (제한이 없으면 Long.MIN_VALUE)
+    private long retentionStart(Resolution resolution, long now) {
+        int retentionDays;
+        switch (resolution) {
+            case MINUTE:
+                retentionDays = minuteRetentionDays;
+                break;
+            case HOUR:
+                retentionDays = hourRetentionDays;
+                break;
+            default:
+                retentionDays = 0;
+                break;
+        }
+        return retentionDays > 0 ? now - retentionDays * TimestampUtils.DAY_MILLIS : Long.MIN_VALUE;
+    }
+
+    // 15m, 1h, 1d 형식의 버킷을 밀리초로 변환
+    private static long parseBucketMillis(String bucket) {
+        if (bucket.length() < 2) {
+            throw new IllegalArgumentException("잘못된 버킷: " + bucket);
+        }
+        char unit = bucket.charAt(bucket.length() - 1);
+        int value;
+        try {
+            value = Integer.parseInt(bucket.substring(0, bucket.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 버킷: " + bucket);
+        }
+        if (value <= 0) {
+            throw new IllegalArgumentException("잘못된 버킷: " + bucket);
+        }
+        switch (unit) {
+            case 'm':
+                return value * TimestampUtils.MINUTE_MILLIS;
+            case 'h':
+                return value * TimestampUtils.HOUR_MILLIS;
+            case 'd':
+                return value * TimestampUtils.DAY_MILLIS;
+            default:
+                throw new IllegalArgumentException("잘못된 버킷: " + bucket);
+        }
+    }
+
+    // 요청 버킷 하나에 들어가는 롤업 행 합산
+    private static class Accumulator {
+        private final long bucketStart;
+        private long count;
+        private long payloadBytes;
+        private long rssiSamples;
+        private double rssiSum;
+        private Double rssiMin;
+        private Double rssiMax;
+        private long snrSamples;
+        private double snrSum;
+        private Double snrMin;
+        private Double snrMax;
+
+        Accumulator(long bucketStart) {
+            this.bucketStart = bucketStart;
+        }
+
+        void add(RollupRow row) {
+            count += row.getCount();
+            payloadBytes += row.getPayloadBytes();
+            rssiSamples += row.getRssiSamples();
+            rssiSum += row.getRssiSum();
+            rssiMin = min(rssiMin, row.getRssiMin());
+            rssiMax = max(rssiMax, row.getRssiMax());
+            snrSamples += row.getSnrSamples();
+            snrSum += row.getSnrSum();
+            snrMin = min(snrMin, row.getSnrMin());
+            snrMax = max(snrMax, row.getSnrMax());
+        }
+
+        TimeSeriesDto.PointDto toPoint() {
+            return new TimeSeriesDto.PointDto(bucketStart, count, payloadBytes,
+                    rssiSamples > 0 ? rssiSum / rssiSamples : null, rssiMin, rssiMax,
+                    snrSamples > 0 ? snrSum / snrSamples : null, snrMin, snrMax);
+        }
+
+        private static Double min(Double current, Double value) {
+            return current == null || (value != null && value < current) ? value : current;
+        }
+
+        private static Double max(Double current, Double value) {
+            return current == null || (value != null && value > current) ? value : current;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.lora.dashboard.service;
+
+import com.lora.dashboard.entity.IngestWatermark;
+import com.lora.dashboard.repository.IngestWatermarkRepository;
+import com.lora.dashboard.repository.JoinEventRepository;
+import com.lora.dashboard.repository.UplinkMessageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * timestamp_ms, signal_quality 컬럼 백필
+ * Gateway Logger는 문자열 timestamp와 rssi/snr만 저장하므로, id 커서를 따라 짧은 청크 단위로
+ * epoch millisecond 값과 신호 품질 코드를 채운다. 커서는 dashboard_watermarks에 저장되어 재시작 후 이어서 진행한다.
+ * 컬럼마다 커서가 따로 있어 나중에 추가된 컬럼도 기존 행부터 채운다.
+ */
+@Service
+public class TimestampBackfillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimestampBackfillService.class);
+
+    static final String UPLINK_CURSOR = "backfill:uplink_messages";
+    static final String JOIN_CURSOR = "backfill:join_events";
+    static final String UPLINK_QUALITY_CURSOR = "backfill:signal_quality:uplink_messages";
+    static final String JOIN_QUALITY_CURSOR = "backfill:signal_quality:join_events";
+
+    @Autowired
+    private UplinkMessageRepository uplinkMessageRepository;
+
+    @Autowired
+    private JoinEventRepository joinEventRepository;
+
+    @Autowired
+    private IngestWatermarkRepository watermarkRepository;
+
+    @Value("${dashboard.timestamp-backfill.chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${dashboard.timestamp-backfill.max-chunks-per-run:20}")
+    private int maxChunksPerRun;
+
+    /**
+     * 주기적으로 커서 이후의 행에 timestamp_ms와 signal_quality를 채움 (새로 들어온 행 포함)
+     */
+    @Scheduled(fixedDelayString = "${dashboard.timestamp-backfill.interval-ms:1000}")
+    public void backfill() {
+        try {
+            backfillTable(UPLINK_CURSOR, uplinkMessageRepository::findMaxId,
+                    uplinkMessageRepository::backfillTimestampMs);
+            backfillTable(JOIN_CURSOR, joinEventRepository::findMaxId,
+                    joinEventRepository::backfillTimestampMs);
+            backfillTable(UPLINK_QUALITY_CURSOR, uplinkMessageRepository::findMaxId,
+                    uplinkMessageRepository::backfillSignalQuality);
+            backfillTable(JOIN_QUALITY_CURSOR, joinEventRepository::findMaxId,
+                    joinEventRepository::backfillSignalQuality);
+        } catch (Exception e) {
+            logger.error("파생 컬럼 백필 실패: {}", e.getMessage());
+        }
+    }
+
+    private void backfillTable(String cursorName, Supplier<Long> maxIdSupplier,
+                               BiFunction<Long, Long, Integer> stamp) {
+        Long maxId = maxIdSupplier.get();
+        if (maxId == null) {
+            return;
+        }
+
+        IngestWatermark cursor = watermarkRepository.findById(cursorName)
+                .orElseGet(() -> new IngestWatermark(cursorName, 0L));
+        long afterId = cursor.getLastId();
+        long updated = 0;
+        int chunks = 0;
+
+        // 청크마다 별도 트랜잭션으로 커밋하여 쓰기 잠금을 짧게 유지
+        while (afterId < maxId && chunks < maxChunksPerRun) {
+            long toId = Math.min(afterId + chunkSize, maxId);
+            updated += stamp.apply(afterId, toId);
+            afterId = toId;
+            chunks++;
+
+            cursor.setLastId(afterId);
+            cursor.setUpdatedAt(System.currentTimeMillis());
+            watermarkRepository.save(cursor);
+        }
+
+        if (chunks > 0) {
+            logger.debug("{} 백필: {}행 갱신, 커서={}/{}", cursorName, updated, afterId, maxId);
+        }
+    }
+}
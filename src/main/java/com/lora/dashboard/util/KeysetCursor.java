@@ -0,0 +1,52 @@
+package com.lora.dashboard.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * (timestamp_ms, id) 기준 키셋 페이지네이션 커서
+ * 클라이언트에는 Base64URL 문자열로 전달되며 내용은 해석하지 않는 것을 전제로 한다.
+ */
+public final class KeysetCursor {
+
+    // 첫 페이지: 모든 행보다 큰 키
+    public static final KeysetCursor FIRST = new KeysetCursor(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private final long timestampMs;
+    private final long id;
+
+    public KeysetCursor(long timestampMs, long id) {
+        this.timestampMs = timestampMs;
+        this.id = id;
+    }
+
+    /**
+     * 커서 문자열 해석 (null/빈 값은 첫 페이지, 형식 오류는 IllegalArgumentException)
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return FIRST;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            return new KeysetCursor(Long.parseLong(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 커서: " + cursor, e);
+        }
+    }
+
+    public String encode() {
+        String raw = timestampMs + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public long getTimestampMs() {
+        return timestampMs;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
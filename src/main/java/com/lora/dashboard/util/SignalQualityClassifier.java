@@ -0,0 +1,53 @@
+package com.lora.dashboard.util;
+
+import com.lora.dashboard.entity.SignalQuality;
+
+/**
+ * RSSI/SNR 신호 품질 분류 기준
+ * Java 분류와 SQL 식(백필, 집계 쿼리)이 같은 상수에서 만들어지므로 구간 기준은 이 클래스에서만 바꾼다.
+ * RSSI/SNR 중 하나라도 없으면 POOR로 분류한다.
+ */
+public final class SignalQualityClassifier {
+
+    public static final int EXCELLENT_RSSI = -70;
+    public static final int EXCELLENT_SNR = 10;
+    public static final int GOOD_RSSI = -85;
+    public static final int GOOD_SNR = 5;
+    public static final int FAIR_RSSI = -100;
+    public static final int FAIR_SNR = 0;
+
+    /**
+     * rssi, snr 컬럼을 SignalQuality 코드로 바꾸는 SQL 식 (NULL 비교는 거짓이므로 ELSE가 POOR)
+     * 컴파일 시점 상수이므로 @Query 문자열에 그대로 연결할 수 있다.
+     */
+    public static final String SQL_CODE_EXPRESSION =
+            "(CASE WHEN rssi > " + EXCELLENT_RSSI + " AND snr > " + EXCELLENT_SNR + " THEN 0 " +
+            "WHEN rssi > " + GOOD_RSSI + " AND snr > " + GOOD_SNR + " THEN 1 " +
+            "WHEN rssi > " + FAIR_RSSI + " AND snr > " + FAIR_SNR + " THEN 2 ELSE 3 END)";
+
+    private SignalQualityClassifier() {}
+
+    public static SignalQuality classify(Float rssi, Float snr) {
+        if (rssi == null || snr == null) {
+            return SignalQuality.POOR;
+        }
+        if (rssi > EXCELLENT_RSSI && snr > EXCELLENT_SNR) {
+            return SignalQuality.EXCELLENT;
+        }
+        if (rssi > GOOD_RSSI && snr > GOOD_SNR) {
+            return SignalQuality.GOOD;
+        }
+        if (rssi > FAIR_RSSI && snr > FAIR_SNR) {
+            return SignalQuality.FAIR;
+        }
+        return SignalQuality.POOR;
+    }
+
+    /**
+     * 저장된 코드가 있으면 사용하고, 아직 백필 전이면 분류
+     */
+    public static SignalQuality resolve(Integer storedCode, Float rssi, Float snr) {
+        SignalQuality stored = SignalQuality.fromCode(storedCode);
+        return stored != null ? stored : classify(rssi, snr);
+    }
+}
@@ -0,0 +1,88 @@
+package com.lora.dashboard.util;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Gateway Logger가 저장하는 문자열 timestamp 처리 유틸리티
+ */
+public final class TimestampUtils {
+
+    // 대시보드 표시 기준 시간대
+    public static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    public static final long MINUTE_MILLIS = 60_000L;
+    public static final long HOUR_MILLIS = 3_600_000L;
+    public static final long DAY_MILLIS = 86_400_000L;
+
+    // KST는 일광절약시간이 없으므로 고정 오프셋으로 일 단위 버킷을 나눔
+    public static final long KST_OFFSET_MILLIS = 9 * HOUR_MILLIS;
+
+    /**
+     * timestamp 컬럼을 epoch millisecond로 바꾸는 SQL 식 (parseEpochMillis와 같은 값)
+     * offset이 없는 값은 KST로 간주하고, SQLite가 시각을 파싱하면서 ms 미만을 반올림하므로 Java 쪽도 반올림한다.
+     * 컴파일 시점 상수이므로 @Query 문자열에 그대로 연결할 수 있다.
+     */
+    public static final String SQL_EPOCH_MILLIS_EXPRESSION =
+            "CAST(ROUND((julianday(timestamp, CASE WHEN timestamp LIKE '%Z' OR substr(timestamp, -6, 1) IN ('+', '-') " +
+            "THEN '+0 hours' ELSE '-9 hours' END) - 2440587.5) * 86400000.0) AS INTEGER)";
+
+    private TimestampUtils() {}
+
+    /**
+     * timestamp 문자열을 epoch millisecond로 변환 (예: 2025-08-01T13:52:22.048925+09:00)
+     * offset이 없는 값은 KST로 간주하고 ms 미만은 반올림 (SQL_EPOCH_MILLIS_EXPRESSION과 같음), 파싱 실패시 null 반환
+     */
+    public static Long parseEpochMillis(String timestamp) {
+        if (timestamp == null || timestamp.isEmpty()) {
+            return null;
+        }
+        try {
+            return roundToMillis(OffsetDateTime.parse(timestamp, DateTimeFormatter.ISO_OFFSET_DATE_TIME).toInstant());
+        } catch (DateTimeParseException e) {
+            try {
+                return roundToMillis(LocalDateTime.parse(timestamp.replace(' ', 'T'), DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+                        .atZone(KST).toInstant());
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    private static long roundToMillis(Instant instant) {
+        return instant.getEpochSecond() * 1000 + (instant.getNano() + 500_000) / 1_000_000;
+    }
+
+    /**
+     * 요청 파라미터의 시각 (epoch ms 숫자 또는 ISO 시각), 잘못된 값이면 IllegalArgumentException
+     */
+    public static long parseTimeParameter(String value) {
+        if (!value.isEmpty() && value.chars().allMatch(Character::isDigit)) {
+            return Long.parseLong(value);
+        }
+        Long epochMillis = parseEpochMillis(value);
+        if (epochMillis == null) {
+            throw new IllegalArgumentException("잘못된 시각: " + value);
+        }
+        return epochMillis;
+    }
+
+    public static long floorToMinute(long epochMillis) {
+        return Math.floorDiv(epochMillis, MINUTE_MILLIS) * MINUTE_MILLIS;
+    }
+
+    public static long floorToHour(long epochMillis) {
+        return Math.floorDiv(epochMillis, HOUR_MILLIS) * HOUR_MILLIS;
+    }
+
+    /**
+     * KST 기준으로 bucketMillis 단위 내림 (일 이상 버킷은 KST 자정에 맞춰짐)
+     */
+    public static long floorToBucket(long epochMillis, long bucketMillis) {
+        return Math.floorDiv(epochMillis + KST_OFFSET_MILLIS, bucketMillis) * bucketMillis - KST_OFFSET_MILLIS;
+    }
+}
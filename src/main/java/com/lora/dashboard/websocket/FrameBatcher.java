@@ -0,0 +1,138 @@
+package com.lora.dashboard.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.socket.TextMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * 배치 모드 세션용 프레임 묶음
+ * 창(window) 동안 또는 최대 건수에 도달할 때까지 이미 직렬화된 메시지를 모았다가,
+ * 같은 메시지 목록을 받는 세션끼리 하나의 JSON 배열 프레임을 공유하여 전송한다.
+ */
+public class FrameBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(FrameBatcher.class);
+
+    private final TaskScheduler taskScheduler;
+    private final long windowMs;
+    private final int maxMessages;
+
+    private final Object lock = new Object();
+    private List<Item> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public FrameBatcher(TaskScheduler taskScheduler, long windowMs, int maxMessages) {
+        this.taskScheduler = taskScheduler;
+        this.windowMs = windowMs;
+        this.maxMessages = maxMessages;
+    }
+
+    /**
+     * 직렬화된 메시지를 받는 세션 목록과 함께 추가한다. 창의 첫 메시지면 flush를 예약한다.
+     */
+    public void add(byte[] payload, List<SessionSendQueue> recipients) {
+        synchronized (lock) {
+            pending.add(new Item(payload, recipients));
+            if (pending.size() >= maxMessages) {
+                send(takePending());
+            } else if (scheduledFlush == null) {
+                scheduledFlush = taskScheduler.schedule(this::flush, Instant.now().plusMillis(windowMs));
+            }
+        }
+    }
+
+    public long getWindowMs() {
+        return windowMs;
+    }
+
+    public int getMaxMessages() {
+        return maxMessages;
+    }
+
+    private void flush() {
+        // 큐에 넣기만 하므로 lock 안에서 보내도 짧고, 배치 간 순서가 뒤바뀌지 않는다
+        synchronized (lock) {
+            scheduledFlush = null;
+            send(takePending());
+        }
+    }
+
+    private List<Item> takePending() {
+        List<Item> ready = pending;
+        pending = new ArrayList<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return ready;
+    }
+
+    private void send(List<Item> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+
+        try {
+            // 세션별 메시지 목록 (순서 유지)
+            Map<SessionSendQueue, List<byte[]>> perSession = new LinkedHashMap<>();
+            for (Item item : items) {
+                for (SessionSendQueue sendQueue : item.recipients) {
+                    perSession.computeIfAbsent(sendQueue, k -> new ArrayList<>()).add(item.payload);
+                }
+            }
+
+            // 같은 목록을 받는 세션은 프레임 하나를 공유 (byte[]는 동일 인스턴스 비교)
+            Map<List<byte[]>, List<SessionSendQueue>> byContent = new LinkedHashMap<>();
+            perSession.forEach((sendQueue, payloads) ->
+                    byContent.computeIfAbsent(payloads, k -> new ArrayList<>()).add(sendQueue));
+
+            byContent.forEach((payloads, sessions) -> {
+                TextMessage frame = new TextMessage(toJsonArray(payloads));
+                for (SessionSendQueue sendQueue : sessions) {
+                    sendQueue.enqueue(frame);
+                }
+            });
+
+            logger.debug("배치 프레임 전송: 메시지 {}건, 프레임 {}종, 세션 {}개",
+                    items.size(), byContent.size(), perSession.size());
+        } catch (Exception e) {
+            logger.error("배치 프레임 전송 실패: {}", e.getMessage());
+        }
+    }
+
+    private static byte[] toJsonArray(List<byte[]> payloads) {
+        int size = payloads.size() + 1;
+        for (byte[] payload : payloads) {
+            size += payload.length;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+        out.write('[');
+        for (int i = 0; i < payloads.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(payloads.get(i));
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    private static class Item {
+        private final byte[] payload;
+        private final List<SessionSendQueue> recipients;
+
+        private Item(byte[] payload, List<SessionSendQueue> recipients) {
+            this.payload = payload;
+            this.recipients = recipients;
+        }
+    }
+}
@@ -1,48 +1,169 @@
 package com.lora.dashboard.websocket;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lora.dashboard.dto.JoinEventDto;
+import com.lora.dashboard.dto.UplinkMessageDto;
+import com.lora.dashboard.entity.JoinEvent;
 import com.lora.dashboard.entity.UplinkMessage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.*;
+import org.springframework.web.util.UriComponentsBuilder;
 
-import java.io.IOException;
-import java.util.Set;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
+/**
+ * 실시간 메시지 WebSocket 핸들러
+ * 메시지는 한 번만 직렬화하여 세션별 송신 큐({@link SessionSendQueue})에 넣으므로,
+ * 브로드캐스트 비용은 가장 느린 클라이언트와 무관하다.
+ * 클라이언트는 subscribe/unsubscribe 메시지로 애플리케이션, 디바이스, JOIN 이벤트를 골라 받을 수 있으며
+ * 구독 전에는 모든 메시지를 받는다.
+ * 연결 URL에 batch=true를 붙인 세션은 창 단위로 묶인 JSON 배열 프레임({@link FrameBatcher})으로 받는다.
+ */
 @Component
 public class MessageWebSocketHandler implements WebSocketHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(MessageWebSocketHandler.class);
+
+    private static final TextMessage CONNECTED_MESSAGE =
+            new TextMessage("{\"type\":\"connected\",\"message\":\"WebSocket 연결 성공\"}");
+    private static final String BATCH_PARAMETER = "batch";
     
-    private final Set<WebSocketSession> sessions = new CopyOnWriteArraySet<>();
+    private final Map<String, SessionSendQueue> sessions = new ConcurrentHashMap<>();
+    private final SubscriptionIndex subscriptionIndex = new SubscriptionIndex();
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    @Autowired
+    @Qualifier("webSocketSendExecutor")
+    private Executor sendExecutor;
+
+    @Autowired
+    @Qualifier("webSocketCloseExecutor")
+    private Executor closeExecutor;
+
+    @Value("${dashboard.websocket.send-queue.message-limit:1000}")
+    private int messageLimit;
+
+    @Value("${dashboard.websocket.send-queue.buffer-size-limit:524288}")
+    private int bufferSizeLimit;
+
+    @Value("${dashboard.websocket.send-queue.send-time-limit-ms:10000}")
+    private long sendTimeLimitMs;
+
+    @Value("${dashboard.websocket.send-queue.overflow-policy:DROP_OLDEST}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${dashboard.websocket.batch.window-ms:100}")
+    private long batchWindowMs;
+
+    @Value("${dashboard.websocket.batch.max-messages:200}")
+    private int batchMaxMessages;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private FrameBatcher frameBatcher;
+    private WebSocketMetrics metrics;
+
+    @PostConstruct
+    public void init() {
+        frameBatcher = new FrameBatcher(taskScheduler, batchWindowMs, batchMaxMessages);
+        metrics = new WebSocketMetrics(meterRegistry);
+        Gauge.builder("dashboard.websocket.sessions", sessions, Map::size)
+                .description("연결된 WebSocket 세션 수")
+                .register(meterRegistry);
+    }
+
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
-        sessions.add(session);
-        logger.info("WebSocket 연결 설정됨: {}", session.getId());
+        boolean batching = isBatchRequested(session);
+        SessionSendQueue sendQueue = new SessionSendQueue(session, sendExecutor, closeExecutor, messageLimit,
+                bufferSizeLimit, sendTimeLimitMs, overflowPolicy, batching, metrics);
+        sessions.put(session.getId(), sendQueue);
+        subscriptionIndex.register(sendQueue);
+        logger.info("WebSocket 연결 설정됨: {}{}", session.getId(), batching ? " (배치 모드)" : "");
         
-        // 연결 확인 메시지 전송
-        session.sendMessage(new TextMessage("{\"type\":\"connected\",\"message\":\"WebSocket 연결 성공\"}"));
+        // 연결 확인 메시지 전송 (브로드캐스트와 동시에 보내지 않도록 같은 큐를 거침)
+        if (batching) {
+            Map<String, Object> connected = new LinkedHashMap<>();
+            connected.put("type", "connected");
+            connected.put("message", "WebSocket 연결 성공");
+            connected.put("batch", true);
+            connected.put("batchWindowMs", frameBatcher.getWindowMs());
+            connected.put("batchMaxMessages", frameBatcher.getMaxMessages());
+            sendQueue.enqueue(new TextMessage(objectMapper.writeValueAsBytes(connected)));
+        } else {
+            sendQueue.enqueue(CONNECTED_MESSAGE);
+        }
     }
 
     @Override
     public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
         logger.debug("WebSocket 메시지 수신: {}", message.getPayload());
-        // 클라이언트에서 온 메시지 처리 (필요시)
+
+        SessionSendQueue sendQueue = sessions.get(session.getId());
+        if (sendQueue == null || !(message instanceof TextMessage)) {
+            return;
+        }
+
+        // {"action":"subscribe|unsubscribe","all":bool,"applicationIds":[],"deviceIds":[],"joinEvents":bool}
+        try {
+            JsonNode request = objectMapper.readTree(((TextMessage) message).getPayload());
+            String action = request.path("action").asText();
+            boolean all = request.path("all").asBoolean(false);
+            List<String> applicationIds = textValues(request.path("applicationIds"));
+            List<String> deviceIds = textValues(request.path("deviceIds"));
+            JsonNode joinEvents = request.path("joinEvents");
+
+            SubscriptionIndex.Subscription subscription;
+            if ("subscribe".equals(action)) {
+                subscription = subscriptionIndex.subscribe(sendQueue, all, applicationIds, deviceIds,
+                        joinEvents.isBoolean() ? joinEvents.asBoolean() : null);
+            } else if ("unsubscribe".equals(action)) {
+                subscription = subscriptionIndex.unsubscribe(sendQueue, all, applicationIds, deviceIds,
+                        joinEvents.asBoolean(false));
+            } else {
+                sendError(sendQueue, "알 수 없는 action: " + action);
+                return;
+            }
+
+            Map<String, Object> reply = new LinkedHashMap<>();
+            reply.put("type", "subscription");
+            reply.put("data", subscription);
+            sendQueue.enqueue(new TextMessage(objectMapper.writeValueAsBytes(reply)));
+        } catch (Exception e) {
+            sendError(sendQueue, "잘못된 구독 요청: " + e.getMessage());
+        }
     }
 
     @Override
     public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
         logger.error("WebSocket 전송 오류: {}", exception.getMessage());
-        sessions.remove(session);
+        removeSession(session);
     }
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
-        sessions.remove(session);
+        removeSession(session);
         logger.info("WebSocket 연결 종료됨: {} - {}", session.getId(), closeStatus);
     }
 
@@ -52,43 +173,134 @@ public class MessageWebSocketHandler implements WebSocketHandler {
     }
 
     /**
-     * 모든 연결된 클라이언트에게 새로운 메시지를 브로드캐스트
+     * 메시지의 애플리케이션/디바이스를 구독한 클라이언트에게 새로운 메시지를 브로드캐스트
      */
     public void broadcastMessage(UplinkMessage message) {
-        if (sessions.isEmpty()) {
+        long startNanos = System.nanoTime();
+        List<SessionSendQueue> recipients =
+                subscriptionIndex.uplinkRecipients(message.getApplicationId(), message.getDeviceId());
+        if (recipients.isEmpty()) {
             return;
         }
 
         try {
-            String jsonMessage = objectMapper.writeValueAsString(message);
-            TextMessage textMessage = new TextMessage(jsonMessage);
-            
-            // 연결이 끊어진 세션을 제거하면서 메시지 전송
-            sessions.removeIf(session -> {
-                try {
-                    if (session.isOpen()) {
-                        session.sendMessage(textMessage);
-                        return false; // 세션 유지
-                    } else {
-                        return true; // 세션 제거
-                    }
-                } catch (IOException e) {
-                    logger.warn("메시지 전송 실패: {}", e.getMessage());
-                    return true; // 세션 제거
-                }
-            });
-            
-            logger.debug("메시지를 {}개 세션에 브로드캐스트", sessions.size());
-            
+            broadcast(recipients, objectMapper.writeValueAsBytes(new UplinkMessageDto(message)));
+            metrics.recordUplinkBroadcast(startNanos, recipients.size());
         } catch (Exception e) {
             logger.error("메시지 브로드캐스트 실패: {}", e.getMessage());
         }
     }
 
+    /**
+     * JOIN 이벤트를 구독한 클라이언트에게 브로드캐스트 ({"type":"join","data":{...}})
+     */
+    public void broadcastJoinEvent(JoinEvent joinEvent) {
+        long startNanos = System.nanoTime();
+        List<SessionSendQueue> recipients =
+                subscriptionIndex.joinRecipients(joinEvent.getApplicationId(), joinEvent.getDeviceId());
+        if (recipients.isEmpty()) {
+            return;
+        }
+
+        try {
+            Map<String, Object> envelope = new LinkedHashMap<>();
+            envelope.put("type", "join");
+            envelope.put("data", new JoinEventDto(joinEvent));
+            broadcast(recipients, objectMapper.writeValueAsBytes(envelope));
+            metrics.recordJoinBroadcast(startNanos, recipients.size());
+        } catch (Exception e) {
+            logger.error("JOIN 이벤트 브로드캐스트 실패: {}", e.getMessage());
+        }
+    }
+
+    private void broadcast(List<SessionSendQueue> recipients, byte[] payload) {
+        // 큐에 넣기만 하고 전송은 세션별로 송신 executor에서 수행
+        TextMessage textMessage = null;
+        List<SessionSendQueue> batchRecipients = null;
+        for (SessionSendQueue sendQueue : recipients) {
+            if (sendQueue.isBatching()) {
+                if (batchRecipients == null) {
+                    batchRecipients = new ArrayList<>();
+                }
+                batchRecipients.add(sendQueue);
+            } else {
+                if (textMessage == null) {
+                    textMessage = new TextMessage(payload);
+                }
+                sendQueue.enqueue(textMessage);
+            }
+        }
+        if (batchRecipients != null) {
+            frameBatcher.add(payload, batchRecipients);
+        }
+        
+        logger.debug("메시지를 {}개 세션 큐에 추가", recipients.size());
+    }
+
+    private static boolean isBatchRequested(WebSocketSession session) {
+        if (session.getUri() == null) {
+            return false;
+        }
+        String batch = UriComponentsBuilder.fromUri(session.getUri()).build()
+                .getQueryParams().getFirst(BATCH_PARAMETER);
+        return "true".equalsIgnoreCase(batch) || "1".equals(batch);
+    }
+
+    private void sendError(SessionSendQueue sendQueue, String errorMessage) {
+        try {
+            Map<String, Object> reply = new LinkedHashMap<>();
+            reply.put("type", "error");
+            reply.put("message", errorMessage);
+            sendQueue.enqueue(new TextMessage(objectMapper.writeValueAsBytes(reply)));
+        } catch (Exception e) {
+            logger.warn("WebSocket 오류 응답 실패: {}", e.getMessage());
+        }
+    }
+
+    private static List<String> textValues(JsonNode node) {
+        if (!node.isArray()) {
+            return Collections.emptyList();
+        }
+        List<String> values = new ArrayList<>();
+        for (JsonNode value : node) {
+            values.add(value.asText());
+        }
+        return values;
+    }
+
+    /**
+     * 새 브로드캐스트가 없어도 전송이 막힌 세션을 정리하도록 주기적으로 송신 시간 한도 확인
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void checkSendTimeLimits() {
+        for (SessionSendQueue sendQueue : sessions.values()) {
+            sendQueue.checkSendTimeLimit();
+        }
+    }
+
+    private void removeSession(WebSocketSession session) {
+        SessionSendQueue sendQueue = sessions.remove(session.getId());
+        if (sendQueue != null) {
+            subscriptionIndex.unregister(sendQueue);
+            sendQueue.close();
+        }
+    }
+
     /**
      * 연결된 세션 수 반환
      */
     public int getSessionCount() {
         return sessions.size();
     }
-}
\ No newline at end of file
+
+    /**
+     * 세션별 송신 큐 길이와 지연 통계
+     */
+    public List<SessionSendQueue.Stats> getSessionStats() {
+        List<SessionSendQueue.Stats> stats = new ArrayList<>();
+        for (SessionSendQueue sendQueue : sessions.values()) {
+            stats.add(sendQueue.getStats());
+        }
+        return stats;
+    }
+}
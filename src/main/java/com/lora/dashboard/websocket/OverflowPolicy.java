@@ -0,0 +1,10 @@
+package com.lora.dashboard.websocket;
+
+/**
+ * 세션 송신 큐가 가득 찼을 때의 처리 방식
+ */
+public enum OverflowPolicy {
+    DROP_OLDEST,   // 가장 오래된 대기 메시지를 버리고 새 메시지를 넣음
+    DROP_NEWEST,   // 새 메시지를 버림
+    DISCONNECT     // 세션 연결을 끊음
+}
@@ -0,0 +1,325 @@
+package com.lora.dashboard.websocket;
+
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 세션별 비동기 송신 큐
+ * 브로드캐스트 스레드는 큐에 넣기만 하고, 송신 전용 executor가 세션당 한 번에 하나씩 비동기 전송(RemoteEndpoint.Async)을
+ * 시작한다. 전송 완료는 컨테이너가 콜백으로 알려 주므로 느린 클라이언트가 공유 송신 스레드를 붙잡지 않는다.
+ * 메시지 수/버퍼 크기 한도를 넘으면 {@link OverflowPolicy}를 적용하고,
+ * 한 번의 전송이 송신 시간 한도를 넘기면 연결을 끊는다 (세션 종료는 막힐 수 있어 별도 executor에서 수행).
+ */
+public class SessionSendQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionSendQueue.class);
+
+    private final WebSocketSession session;
+    private final RemoteEndpoint.Async remote;
+    private final Executor sendExecutor;
+    private final Executor closeExecutor;
+    private final int messageLimit;
+    private final int bufferSizeLimit;
+    private final long sendTimeLimitNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final boolean batching;
+    private final WebSocketMetrics metrics;
+
+    private final Deque<Pending> queue = new ArrayDeque<>();
+    private final long connectedAt = System.currentTimeMillis();
+    private long bufferedBytes;
+    private boolean draining;
+    private boolean closed;
+    private volatile long sendStartedNanos;
+
+    private long enqueuedCount;
+    private long sentCount;
+    private long droppedCount;
+    private long lastLagMs;
+    private long maxLagMs;
+    private long totalLagMs;
+
+    public SessionSendQueue(WebSocketSession session, Executor sendExecutor, Executor closeExecutor, int messageLimit,
+                            int bufferSizeLimit, long sendTimeLimitMs, OverflowPolicy overflowPolicy,
+                            boolean batching, WebSocketMetrics metrics) {
+        this.session = session;
+        this.remote = asyncRemote(session);
+        // 컨테이너도 같은 한도로 막힌 전송을 실패 처리하고 연결을 닫음
+        this.remote.setSendTimeout(sendTimeLimitMs);
+        this.sendExecutor = sendExecutor;
+        this.closeExecutor = closeExecutor;
+        this.messageLimit = messageLimit;
+        this.bufferSizeLimit = bufferSizeLimit;
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeLimitMs);
+        this.overflowPolicy = overflowPolicy;
+        this.batching = batching;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 메시지를 큐에 넣고 필요하면 전송을 예약한다. 호출 스레드에서는 전송하지 않는다.
+     */
+    public void enqueue(TextMessage message) {
+        int bytes = message.getPayloadLength();
+        boolean scheduleDrain = false;
+
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+
+            if (checkSendTimeLimit()) {
+                return;
+            }
+
+            if (queue.size() >= messageLimit || bufferedBytes + bytes > bufferSizeLimit) {
+                switch (overflowPolicy) {
+                    case DROP_NEWEST:
+                        droppedCount++;
+                        metrics.recordDropped(1);
+                        return;
+                    case DISCONNECT:
+                        logger.warn("WebSocket 송신 큐 초과 ({}건, {}바이트), 연결 종료: {}",
+                                queue.size(), bufferedBytes, session.getId());
+                        disconnect(CloseStatus.SESSION_NOT_RELIABLE);
+                        return;
+                    case DROP_OLDEST:
+                    default:
+                        if (bytes > bufferSizeLimit) {
+                            // 메시지 하나가 버퍼 한도보다 크면 넣을 수 없음 (대기 중인 메시지는 그대로 둠)
+                            droppedCount++;
+                            metrics.recordDropped(1);
+                            return;
+                        }
+                        while (!queue.isEmpty()
+                                && (queue.size() >= messageLimit || bufferedBytes + bytes > bufferSizeLimit)) {
+                            bufferedBytes -= queue.pollFirst().bytes;
+                            droppedCount++;
+                            metrics.recordDropped(1);
+                        }
+                }
+            }
+
+            queue.addLast(new Pending(message, bytes, System.nanoTime()));
+            bufferedBytes += bytes;
+            enqueuedCount++;
+
+            if (!draining) {
+                draining = true;
+                scheduleDrain = true;
+            }
+        }
+
+        if (scheduleDrain) {
+            submitDrain();
+        }
+    }
+
+    /**
+     * 진행 중인 전송이 송신 시간 한도를 넘겼으면 연결을 끊는다
+     * @return 연결을 끊었으면 true
+     */
+    public synchronized boolean checkSendTimeLimit() {
+        long started = sendStartedNanos;
+        if (closed || started == 0 || System.nanoTime() - started <= sendTimeLimitNanos) {
+            return false;
+        }
+        logger.warn("WebSocket 송신 시간 한도 초과, 연결 종료: {}", session.getId());
+        disconnect(CloseStatus.SESSION_NOT_RELIABLE);
+        return true;
+    }
+
+    /**
+     * 세션이 닫혔을 때 대기 중인 메시지를 버린다
+     */
+    public synchronized void close() {
+        closed = true;
+        queue.clear();
+        bufferedBytes = 0;
+    }
+
+    public WebSocketSession getSession() {
+        return session;
+    }
+
+    /**
+     * 연결시 배치 모드(JSON 배열 프레임)를 협상했는지 여부
+     */
+    public boolean isBatching() {
+        return batching;
+    }
+
+    public synchronized Stats getStats() {
+        Pending oldest = queue.peekFirst();
+        long oldestWaitMs = oldest != null
+                ? TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest.enqueuedNanos)
+                : 0;
+        long averageLagMs = sentCount > 0 ? totalLagMs / sentCount : 0;
+        return new Stats(session.getId(), connectedAt, batching, queue.size(), bufferedBytes, enqueuedCount, sentCount,
+                droppedCount, oldestWaitMs, lastLagMs, maxLagMs, averageLagMs);
+    }
+
+    private void submitDrain() {
+        try {
+            sendExecutor.execute(this::sendNext);
+        } catch (RuntimeException e) {
+            logger.error("WebSocket 송신 예약 실패: {}", e.getMessage());
+            synchronized (this) {
+                draining = false;
+            }
+        }
+    }
+
+    // 다음 메시지의 비동기 전송을 시작 (완료 콜백에서 그다음 전송을 예약)
+    private void sendNext() {
+        Pending next;
+        synchronized (this) {
+            next = closed ? null : queue.pollFirst();
+            if (next == null) {
+                draining = false;
+                return;
+            }
+            bufferedBytes -= next.bytes;
+            sendStartedNanos = System.nanoTime();
+        }
+
+        try {
+            if (!session.isOpen()) {
+                close();
+                return;
+            }
+            remote.sendText(next.message.getPayload(), result -> onSendComplete(next, result));
+        } catch (Exception e) {
+            onSendFailed(e);
+        }
+    }
+
+    // 컨테이너 스레드에서 호출되므로 다음 전송은 송신 executor로 넘김 (즉시 완료된 전송이 재귀하지 않도록)
+    private void onSendComplete(Pending sent, SendResult result) {
+        sendStartedNanos = 0;
+        if (!result.isOK()) {
+            onSendFailed(result.getException());
+            return;
+        }
+
+        long lagNanos = System.nanoTime() - sent.enqueuedNanos;
+        long lagMs = TimeUnit.NANOSECONDS.toMillis(lagNanos);
+        metrics.recordSent(sent.bytes, lagNanos);
+        synchronized (this) {
+            sentCount++;
+            lastLagMs = lagMs;
+            maxLagMs = Math.max(maxLagMs, lagMs);
+            totalLagMs += lagMs;
+        }
+        submitDrain();
+    }
+
+    private void onSendFailed(Throwable e) {
+        sendStartedNanos = 0;
+        synchronized (this) {
+            draining = false;
+            if (closed) {
+                return;
+            }
+        }
+        logger.warn("메시지 전송 실패: {} - {}", session.getId(), String.valueOf(e));
+        metrics.recordSendFailure();
+        disconnect(CloseStatus.SERVER_ERROR);
+    }
+
+    private void disconnect(CloseStatus status) {
+        close();
+        // 막힌 세션의 close는 전송 중인 프레임을 기다리며 블로킹될 수 있으므로 송신/브로드캐스트 스레드가 아닌 곳에서 닫는다
+        try {
+            closeExecutor.execute(() -> {
+                try {
+                    session.close(status);
+                } catch (Exception e) {
+                    logger.debug("WebSocket 세션 종료 실패: {} - {}", session.getId(), e.getMessage());
+                }
+            });
+        } catch (RuntimeException e) {
+            logger.warn("WebSocket 세션 종료 예약 실패: {} - {}", session.getId(), e.getMessage());
+        }
+    }
+
+    private static RemoteEndpoint.Async asyncRemote(WebSocketSession session) {
+        Session nativeSession = session instanceof NativeWebSocketSession
+                ? ((NativeWebSocketSession) session).getNativeSession(Session.class) : null;
+        if (nativeSession == null) {
+            throw new IllegalArgumentException("비동기 송신을 지원하지 않는 WebSocket 세션: " + session.getClass().getName());
+        }
+        return nativeSession.getAsyncRemote();
+    }
+
+    private static class Pending {
+        private final TextMessage message;
+        private final int bytes;
+        private final long enqueuedNanos;
+
+        private Pending(TextMessage message, int bytes, long enqueuedNanos) {
+            this.message = message;
+            this.bytes = bytes;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+    }
+
+    /**
+     * 세션별 송신 지연 통계 (lag: 큐에 들어간 시점부터 전송 완료까지)
+     */
+    public static class Stats {
+        private final String sessionId;
+        private final long connectedAt;
+        private final boolean batching;
+        private final int queuedMessages;
+        private final long bufferedBytes;
+        private final long enqueued;
+        private final long sent;
+        private final long dropped;
+        private final long oldestQueuedMs;
+        private final long lastLagMs;
+        private final long maxLagMs;
+        private final long averageLagMs;
+
+        public Stats(String sessionId, long connectedAt, boolean batching, int queuedMessages, long bufferedBytes,
+                     long enqueued, long sent, long dropped, long oldestQueuedMs, long lastLagMs, long maxLagMs, long averageLagMs) {
+            this.sessionId = sessionId;
+            this.connectedAt = connectedAt;
+            this.batching = batching;
+            this.queuedMessages = queuedMessages;
+            this.bufferedBytes = bufferedBytes;
+            this.enqueued = enqueued;
+            this.sent = sent;
+            this.dropped = dropped;
+            this.oldestQueuedMs = oldestQueuedMs;
+            this.lastLagMs = lastLagMs;
+            this.maxLagMs = maxLagMs;
+            this.averageLagMs = averageLagMs;
+        }
+
+        public String getSessionId() { return sessionId; }
+        public long getConnectedAt() { return connectedAt; }
+        public boolean isBatching() { return batching; }
+        public int getQueuedMessages() { return queuedMessages; }
+        public long getBufferedBytes() { return bufferedBytes; }
+        public long getEnqueued() { return enqueued; }
+        public long getSent() { return sent; }
+        public long getDropped() { return dropped; }
+        public long getOldestQueuedMs() { return oldestQueuedMs; }
+        public long getLastLagMs() { return lastLagMs; }
+        public long getMaxLagMs() { return maxLagMs; }
+        public long getAverageLagMs() { return averageLagMs; }
+    }
+}
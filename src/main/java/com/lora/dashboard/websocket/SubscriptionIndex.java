@@ -0,0 +1,228 @@
+package com.lora.dashboard.websocket;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WebSocket 구독 인덱스 (키 → 세션)
+ * 메시지마다 applicationId/deviceId로 관심 세션만 조회하므로 팬아웃 비용은 일치하는 구독자 수에 비례한다.
+ * 구독하지 않은 세션은 기존과 같이 모든 메시지를 받는다 (전체 구독 모드).
+ */
+public class SubscriptionIndex {
+
+    private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private final Set<SessionSendQueue> allSubscribers = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<SessionSendQueue>> byApplication = new ConcurrentHashMap<>();
+    private final Map<String, Set<SessionSendQueue>> byDevice = new ConcurrentHashMap<>();
+    // JOIN 이벤트 구독 중 키 필터가 없는 세션
+    private final Set<SessionSendQueue> allJoinSubscribers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 새 세션 등록 (전체 구독 모드로 시작)
+     */
+    public synchronized void register(SessionSendQueue sendQueue) {
+        Subscription subscription = new Subscription();
+        subscriptions.put(sendQueue.getSession().getId(), subscription);
+        reindex(sendQueue, null, subscription);
+    }
+
+    public synchronized void unregister(SessionSendQueue sendQueue) {
+        Subscription subscription = subscriptions.remove(sendQueue.getSession().getId());
+        if (subscription != null) {
+            reindex(sendQueue, subscription, null);
+        }
+    }
+
+    /**
+     * 구독 추가. 처음 구독하면 전체 구독 모드에서 필터 모드로 바뀐다.
+     */
+    public synchronized Subscription subscribe(SessionSendQueue sendQueue, boolean all,
+                                               Collection<String> applicationIds, Collection<String> deviceIds,
+                                               Boolean joinEvents) {
+        Subscription current = subscriptions.get(sendQueue.getSession().getId());
+        if (current == null) {
+            return null;
+        }
+
+        Subscription updated = all ? new Subscription() : current.copy(false);
+        if (!all) {
+            updated.applicationIds.addAll(applicationIds);
+            updated.deviceIds.addAll(deviceIds);
+            if (joinEvents != null) {
+                updated.joinEvents = joinEvents;
+            }
+        }
+        return replace(sendQueue, current, updated);
+    }
+
+    /**
+     * 구독 해제. all이면 모든 구독을 해제하여 아무 메시지도 받지 않는다.
+     */
+    public synchronized Subscription unsubscribe(SessionSendQueue sendQueue, boolean all,
+                                                 Collection<String> applicationIds, Collection<String> deviceIds,
+                                                 boolean joinEvents) {
+        Subscription current = subscriptions.get(sendQueue.getSession().getId());
+        if (current == null) {
+            return null;
+        }
+
+        Subscription updated = current.copy(false);
+        if (all) {
+            updated.applicationIds.clear();
+            updated.deviceIds.clear();
+            updated.joinEvents = false;
+        } else {
+            updated.applicationIds.removeAll(applicationIds);
+            updated.deviceIds.removeAll(deviceIds);
+            if (joinEvents) {
+                updated.joinEvents = false;
+            }
+        }
+        return replace(sendQueue, current, updated);
+    }
+
+    /**
+     * 업링크 메시지를 받을 세션
+     */
+    public List<SessionSendQueue> uplinkRecipients(String applicationId, String deviceId) {
+        return collect(allSubscribers, lookup(byApplication, applicationId), lookup(byDevice, deviceId), false);
+    }
+
+    /**
+     * JOIN 이벤트를 받을 세션
+     */
+    public List<SessionSendQueue> joinRecipients(String applicationId, String deviceId) {
+        List<SessionSendQueue> recipients = collect(allSubscribers, allJoinSubscribers, Collections.emptySet(), false);
+        List<SessionSendQueue> keyed = collect(lookup(byApplication, applicationId), lookup(byDevice, deviceId),
+                Collections.emptySet(), true);
+        if (keyed.isEmpty()) {
+            return recipients;
+        }
+        Set<SessionSendQueue> merged = new LinkedHashSet<>(recipients);
+        merged.addAll(keyed);
+        return new ArrayList<>(merged);
+    }
+
+    public Subscription getSubscription(String sessionId) {
+        return subscriptions.get(sessionId);
+    }
+
+    private Subscription replace(SessionSendQueue sendQueue, Subscription current, Subscription updated) {
+        reindex(sendQueue, current, null);
+        subscriptions.put(sendQueue.getSession().getId(), updated);
+        reindex(sendQueue, null, updated);
+        return updated;
+    }
+
+    private void reindex(SessionSendQueue sendQueue, Subscription removed, Subscription added) {
+        if (removed != null) {
+            allSubscribers.remove(sendQueue);
+            allJoinSubscribers.remove(sendQueue);
+            for (String applicationId : removed.applicationIds) {
+                removeKey(byApplication, applicationId, sendQueue);
+            }
+            for (String deviceId : removed.deviceIds) {
+                removeKey(byDevice, deviceId, sendQueue);
+            }
+        }
+        if (added != null) {
+            if (added.all) {
+                allSubscribers.add(sendQueue);
+            } else if (added.joinEvents && !added.hasKeys()) {
+                allJoinSubscribers.add(sendQueue);
+            }
+            for (String applicationId : added.applicationIds) {
+                byApplication.computeIfAbsent(applicationId, k -> ConcurrentHashMap.newKeySet()).add(sendQueue);
+            }
+            for (String deviceId : added.deviceIds) {
+                byDevice.computeIfAbsent(deviceId, k -> ConcurrentHashMap.newKeySet()).add(sendQueue);
+            }
+        }
+    }
+
+    private static void removeKey(Map<String, Set<SessionSendQueue>> index, String key, SessionSendQueue sendQueue) {
+        Set<SessionSendQueue> sessions = index.get(key);
+        if (sessions != null) {
+            sessions.remove(sendQueue);
+            if (sessions.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static Set<SessionSendQueue> lookup(Map<String, Set<SessionSendQueue>> index, String key) {
+        if (key == null) {
+            return Collections.emptySet();
+        }
+        Set<SessionSendQueue> sessions = index.get(key);
+        return sessions != null ? sessions : Collections.emptySet();
+    }
+
+    private List<SessionSendQueue> collect(Set<SessionSendQueue> first, Set<SessionSendQueue> second,
+                                           Set<SessionSendQueue> third, boolean joinOnly) {
+        int expected = first.size() + second.size() + third.size();
+        if (expected == 0) {
+            return Collections.emptyList();
+        }
+        // 애플리케이션과 디바이스를 모두 구독한 세션이 중복 수신하지 않도록 합집합
+        Set<SessionSendQueue> recipients = new LinkedHashSet<>(expected * 2);
+        for (Set<SessionSendQueue> sessions : List.of(first, second, third)) {
+            for (SessionSendQueue sendQueue : sessions) {
+                if (!joinOnly || isJoinSubscriber(sendQueue)) {
+                    recipients.add(sendQueue);
+                }
+            }
+        }
+        return new ArrayList<>(recipients);
+    }
+
+    private boolean isJoinSubscriber(SessionSendQueue sendQueue) {
+        Subscription subscription = subscriptions.get(sendQueue.getSession().getId());
+        return subscription != null && subscription.joinEvents;
+    }
+
+    /**
+     * 세션 구독 상태
+     * all: 전체 구독 모드 (구독 요청 전 기본값)
+     * joinEvents: JOIN 이벤트 수신 여부. 키 구독이 있으면 해당 애플리케이션/디바이스의 JOIN만 받는다.
+     */
+    public static class Subscription {
+        private final boolean all;
+        private final Set<String> applicationIds = new TreeSet<>();
+        private final Set<String> deviceIds = new TreeSet<>();
+        private boolean joinEvents;
+
+        private Subscription() {
+            this(true);
+        }
+
+        private Subscription(boolean all) {
+            this.all = all;
+            this.joinEvents = all;
+        }
+
+        private Subscription copy(boolean all) {
+            Subscription copy = new Subscription(all);
+            copy.applicationIds.addAll(applicationIds);
+            copy.deviceIds.addAll(deviceIds);
+            copy.joinEvents = !this.all && joinEvents;
+            return copy;
+        }
+
+        private boolean hasKeys() {
+            return !applicationIds.isEmpty() || !deviceIds.isEmpty();
+        }
+
+        public boolean isAll() { return all; }
+        public Set<String> getApplicationIds() { return Collections.unmodifiableSet(applicationIds); }
+        public Set<String> getDeviceIds() { return Collections.unmodifiableSet(deviceIds); }
+        public boolean isJoinEvents() { return joinEvents; }
+    }
+}
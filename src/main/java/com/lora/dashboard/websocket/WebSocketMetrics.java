@@ -0,0 +1,92 @@
+package com.lora.dashboard.websocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebSocket 브로드캐스트/송신 메트릭
+ * 세션별 수치는 {@link SessionSendQueue.Stats}(health 응답)로 보고, 여기서는 전체 합계만 기록한다.
+ * - dashboard.websocket.broadcast: 브로드캐스트 한 건의 직렬화 + 큐 적재 시간 (tag type=uplink|join)
+ * - dashboard.websocket.broadcast.recipients: 브로드캐스트 한 건의 수신 세션 수
+ * - dashboard.websocket.sent / sent.bytes: 전송 완료한 프레임 수/페이로드 바이트
+ * - dashboard.websocket.send.lag: 큐 적재부터 전송 완료까지
+ * - dashboard.websocket.send.failures: 전송 예외로 연결을 끊은 건수
+ * - dashboard.websocket.dropped: 송신 큐 초과로 버린 프레임 수
+ */
+public class WebSocketMetrics {
+
+    private final Timer uplinkBroadcast;
+    private final Timer joinBroadcast;
+    private final DistributionSummary uplinkRecipients;
+    private final DistributionSummary joinRecipients;
+    private final Counter sent;
+    private final Counter sentBytes;
+    private final Timer sendLag;
+    private final Counter sendFailures;
+    private final Counter dropped;
+
+    public WebSocketMetrics(MeterRegistry registry) {
+        this.uplinkBroadcast = broadcastTimer(registry, "uplink");
+        this.joinBroadcast = broadcastTimer(registry, "join");
+        this.uplinkRecipients = recipientsSummary(registry, "uplink");
+        this.joinRecipients = recipientsSummary(registry, "join");
+        this.sent = Counter.builder("dashboard.websocket.sent")
+                .description("전송 완료한 WebSocket 프레임 수")
+                .register(registry);
+        this.sentBytes = Counter.builder("dashboard.websocket.sent.bytes")
+                .description("전송 완료한 WebSocket 페이로드 바이트")
+                .baseUnit("bytes")
+                .register(registry);
+        this.sendLag = Timer.builder("dashboard.websocket.send.lag")
+                .description("송신 큐 적재부터 전송 완료까지")
+                .register(registry);
+        this.sendFailures = Counter.builder("dashboard.websocket.send.failures")
+                .description("전송 실패로 끊은 세션 수")
+                .register(registry);
+        this.dropped = Counter.builder("dashboard.websocket.dropped")
+                .description("송신 큐 초과로 버린 프레임 수")
+                .register(registry);
+    }
+
+    public void recordUplinkBroadcast(long startNanos, int recipients) {
+        uplinkBroadcast.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        uplinkRecipients.record(recipients);
+    }
+
+    public void recordJoinBroadcast(long startNanos, int recipients) {
+        joinBroadcast.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        joinRecipients.record(recipients);
+    }
+
+    public void recordSent(int bytes, long lagNanos) {
+        sent.increment();
+        sentBytes.increment(bytes);
+        sendLag.record(lagNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSendFailure() {
+        sendFailures.increment();
+    }
+
+    public void recordDropped(int frames) {
+        dropped.increment(frames);
+    }
+
+    private static Timer broadcastTimer(MeterRegistry registry, String type) {
+        return Timer.builder("dashboard.websocket.broadcast")
+                .description("브로드캐스트 한 건의 직렬화와 세션 큐 적재 시간")
+                .tag("type", type)
+                .register(registry);
+    }
+
+    private static DistributionSummary recipientsSummary(MeterRegistry registry, String type) {
+        return DistributionSummary.builder("dashboard.websocket.broadcast.recipients")
+                .description("브로드캐스트 한 건의 수신 세션 수")
+                .tag("type", type)
+                .register(registry);
+    }
+}
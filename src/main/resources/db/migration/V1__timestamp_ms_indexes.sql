@@ -0,0 +1,3 @@
+-- timestamp_ms 범위 조회용 단일 컬럼 인덱스
+CREATE INDEX IF NOT EXISTS idx_uplink_messages_timestamp_ms ON uplink_messages(timestamp_ms);
+CREATE INDEX IF NOT EXISTS idx_join_events_timestamp_ms ON join_events(timestamp_ms);
@@ -0,0 +1,13 @@
+-- 디바이스/애플리케이션/DevEUI별 최신순 조회용 복합 인덱스
+-- (id는 rowid이므로 인덱스 끝에 자동으로 포함되어 timestamp_ms 동률 정렬까지 처리됨)
+CREATE INDEX IF NOT EXISTS idx_uplink_messages_device_ts ON uplink_messages(device_id, timestamp_ms);
+CREATE INDEX IF NOT EXISTS idx_uplink_messages_application_ts ON uplink_messages(application_id, timestamp_ms);
+CREATE INDEX IF NOT EXISTS idx_uplink_messages_dev_eui_ts ON uplink_messages(dev_eui, timestamp_ms);
+
+CREATE INDEX IF NOT EXISTS idx_join_events_device_ts ON join_events(device_id, timestamp_ms);
+CREATE INDEX IF NOT EXISTS idx_join_events_application_ts ON join_events(application_id, timestamp_ms);
+CREATE INDEX IF NOT EXISTS idx_join_events_dev_eui_ts ON join_events(dev_eui, timestamp_ms);
+
+-- 쿼리 플래너 통계 갱신 (샘플링으로 대용량 테이블에서도 짧게 끝나도록 제한)
+PRAGMA analysis_limit = 1000;
+ANALYZE;
@@ -0,0 +1,57 @@
+-- 분/시간/일 단위 시계열 롤업 (kind: 0 업링크, 1 JOIN 이벤트)
+-- 범위별로 한 행씩 둔다: 전체 ('*', '*'), 애플리케이션 (application_id, '*'), 디바이스 ('*', device_id)
+-- 기본키 순서로 저장되는 WITHOUT ROWID 테이블이라 한 범위의 구간 조회가 연속 읽기로 끝남
+-- bucket_start: 분/시간은 epoch ms 내림, 일은 KST 자정
+CREATE TABLE IF NOT EXISTS dashboard_rollup_minute (
+    kind INTEGER NOT NULL,
+    application_id TEXT NOT NULL,
+    device_id TEXT NOT NULL,
+    bucket_start INTEGER NOT NULL,
+    count INTEGER NOT NULL,
+    payload_bytes INTEGER NOT NULL,
+    rssi_samples INTEGER NOT NULL,
+    rssi_sum REAL NOT NULL,
+    rssi_min REAL,
+    rssi_max REAL,
+    snr_samples INTEGER NOT NULL,
+    snr_sum REAL NOT NULL,
+    snr_min REAL,
+    snr_max REAL,
+    PRIMARY KEY (kind, application_id, device_id, bucket_start)
+) WITHOUT ROWID;
+
+CREATE TABLE IF NOT EXISTS dashboard_rollup_hour (
+    kind INTEGER NOT NULL,
+    application_id TEXT NOT NULL,
+    device_id TEXT NOT NULL,
+    bucket_start INTEGER NOT NULL,
+    count INTEGER NOT NULL,
+    payload_bytes INTEGER NOT NULL,
+    rssi_samples INTEGER NOT NULL,
+    rssi_sum REAL NOT NULL,
+    rssi_min REAL,
+    rssi_max REAL,
+    snr_samples INTEGER NOT NULL,
+    snr_sum REAL NOT NULL,
+    snr_min REAL,
+    snr_max REAL,
+    PRIMARY KEY (kind, application_id, device_id, bucket_start)
+) WITHOUT ROWID;
+
+CREATE TABLE IF NOT EXISTS dashboard_rollup_day (
+    kind INTEGER NOT NULL,
+    application_id TEXT NOT NULL,
+    device_id TEXT NOT NULL,
+    bucket_start INTEGER NOT NULL,
+    count INTEGER NOT NULL,
+    payload_bytes INTEGER NOT NULL,
+    rssi_samples INTEGER NOT NULL,
+    rssi_sum REAL NOT NULL,
+    rssi_min REAL,
+    rssi_max REAL,
+    snr_samples INTEGER NOT NULL,
+    snr_sum REAL NOT NULL,
+    snr_min REAL,
+    snr_max REAL,
+    PRIMARY KEY (kind, application_id, device_id, bucket_start)
+) WITHOUT ROWID;
@@ -0,0 +1,4 @@
+-- 보존 기간이 지난 분/시간 롤업을 bucket_start 순으로 조금씩 지우기 위한 인덱스
+-- (기본키가 범위별로 묶여 있어 bucket_start만으로는 전체 스캔이 됨, 일 롤업은 삭제하지 않음)
+CREATE INDEX IF NOT EXISTS idx_dashboard_rollup_minute_bucket ON dashboard_rollup_minute(bucket_start);
+CREATE INDEX IF NOT EXISTS idx_dashboard_rollup_hour_bucket ON dashboard_rollup_hour(bucket_start);
@@ -0,0 +1,13 @@
+-- 봉인된 월별 업링크 콜드 세그먼트 목록 (month: KST 'yyyy-MM', [from_ms, to_ms) 구간)
+-- max_id: 봉인할 때의 최대 id. 이후 같은 구간에 늦게 들어온 행(id > max_id)은 DB에서 함께 조회한다.
+CREATE TABLE IF NOT EXISTS dashboard_cold_segments (
+    month TEXT PRIMARY KEY,
+    file_name TEXT NOT NULL,
+    from_ms INTEGER NOT NULL,
+    to_ms INTEGER NOT NULL,
+    max_id INTEGER NOT NULL,
+    row_count INTEGER NOT NULL,
+    block_count INTEGER NOT NULL,
+    file_bytes INTEGER NOT NULL,
+    sealed_at INTEGER NOT NULL
+);
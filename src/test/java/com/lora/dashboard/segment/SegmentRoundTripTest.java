@@ -0,0 +1,210 @@
+package com.lora.dashboard.segment;
+
+import com.lora.dashboard.entity.SignalQuality;
+import com.lora.dashboard.repository.UplinkMessageProjectionRepository.ProjectedRow;
+import com.lora.dashboard.repository.projection.UplinkMessageField;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 세그먼트 기록 → 읽기 왕복과 블록 건너뛰기
+ * 1000행을 블록당 64행(16블록, 마지막 블록 40행)으로 기록한다.
+ * - 디바이스: 100행마다 바뀌고 321~384행(블록 5)은 모두 null, 901행부터는 NUL과 보조 문자가 들어간 ID
+ * - RSSI: 640행(블록 0~9)까지 -60~-51, 이후 -110~-101, 129~192행(블록 2)은 모두 null
+ * - 그 밖의 컬럼은 타입마다 null이 섞임
+ */
+class SegmentRoundTripTest {
+
+    private static final int ROWS = 1000;
+    private static final int BLOCK_ROWS = 64;
+    private static final long BASE_MS = 1_782_831_600_000L;
+    private static final String UNICODE_DEVICE = "dev-09-\u0000-😀-한글";
+
+    @TempDir
+    Path tempDir;
+
+    private List<ProjectedRow> rows;
+    private SegmentReader reader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        rows = new ArrayList<>();
+        for (int i = 1; i <= ROWS; i++) {
+            rows.add(row(i));
+        }
+        Path file = tempDir.resolve("segment.seg");
+        try (SegmentWriter writer = new SegmentWriter(file, BLOCK_ROWS)) {
+            for (ProjectedRow row : rows) {
+                writer.append(row);
+            }
+            writer.finish();
+        }
+        reader = new SegmentReader(file);
+    }
+
+    @Test
+    void readsBackEveryRowAndColumn() {
+        assertThat(reader.getRowCount()).isEqualTo(ROWS);
+        assertThat(reader.getBlockCount()).isEqualTo(16);
+
+        List<ProjectedRow> read = scan(Long.MIN_VALUE, Long.MAX_VALUE, null, null);
+
+        assertThat(read).hasSize(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            assertThat(read.get(i).getId()).isEqualTo(rows.get(i).getId());
+            assertThat(read.get(i).getTimestampMs()).isEqualTo(rows.get(i).getTimestampMs());
+            assertThat(read.get(i).getValues()).isEqualTo(rows.get(i).getValues());
+        }
+        assertThat(reader.getBlocksSkipped()).isZero();
+    }
+
+    @Test
+    void everyColumnTypeKeepsNulls() {
+        for (UplinkMessageField.Type type : UplinkMessageField.Type.values()) {
+            Object[] values = new Object[11];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = i % 3 == 0 ? null : sample(type, i);
+            }
+            byte[] encoded = SegmentFormat.encodeColumn(type, values, values.length);
+
+            Object[] decoded = SegmentFormat.decodeColumn(type, ByteBuffer.wrap(encoded), values.length);
+
+            assertThat(decoded).as(type.name()).containsExactly(values);
+        }
+        for (UplinkMessageField field : UplinkMessageField.all()) {
+            if (field != UplinkMessageField.ID && field != UplinkMessageField.TIMESTAMP_MS) {
+                assertThat(rows).as(field.getName()).anyMatch(row -> row.getValues().get(field.getName()) == null);
+            }
+        }
+    }
+
+    @Test
+    void skipsBlocksOutsideTimeRange() {
+        // 200~260행: 블록 3(193~256), 블록 4(257~320)
+        List<ProjectedRow> read = scan(timestampOf(200), timestampOf(260), null, null);
+
+        assertThat(ids(read)).isEqualTo(expectedIds(row -> row.getId() >= 200 && row.getId() <= 260));
+        assertThat(reader.getBlocksScanned()).isEqualTo(2);
+        // 블록 0~2는 구간 앞이라 건너뛰고, 블록 4에서 구간 끝을 지나면 이후 블록은 보지 않음
+        assertThat(reader.getBlocksSkipped()).isEqualTo(3);
+    }
+
+    @Test
+    void skipsBlocksByDevice() {
+        // dev-02(201~300행)는 블록 3, 4에만 있음
+        List<ProjectedRow> read = scan(Long.MIN_VALUE, Long.MAX_VALUE, "dev-02", null);
+
+        assertThat(read).hasSize(100);
+        assertThat(ids(read)).isEqualTo(expectedIds(row -> "dev-02".equals(row.getValues().get("deviceId"))));
+        assertThat(reader.getBlocksScanned()).isEqualTo(2);
+    }
+
+    @Test
+    void skipsBlocksByUnicodeDevice() {
+        // footer 디바이스 최소/최대가 그대로 복원되어야 블록 14, 15를 찾음
+        List<ProjectedRow> read = scan(Long.MIN_VALUE, Long.MAX_VALUE, UNICODE_DEVICE, null);
+
+        assertThat(read).hasSize(100);
+        assertThat(read).allMatch(row -> UNICODE_DEVICE.equals(row.getValues().get("deviceId")));
+        assertThat(reader.getBlocksScanned()).isEqualTo(2);
+    }
+
+    @Test
+    void skipsAllBlocksForUnknownDevice() {
+        assertThat(scan(Long.MIN_VALUE, Long.MAX_VALUE, "dev-99", null)).isEmpty();
+        assertThat(reader.getBlocksScanned()).isZero();
+    }
+
+    @Test
+    void skipsBlocksByRssi() {
+        // 블록 0~9는 RSSI가 모두 -51 이상이거나 null
+        List<ProjectedRow> read = scan(Long.MIN_VALUE, Long.MAX_VALUE, null, -105f);
+
+        assertThat(ids(read)).isEqualTo(expectedIds(row -> {
+            Float rssi = (Float) row.getValues().get("rssi");
+            return rssi != null && rssi <= -105f;
+        }));
+        assertThat(reader.getBlocksScanned()).isEqualTo(6);
+        assertThat(reader.getBlocksSkipped()).isEqualTo(10);
+    }
+
+    @Test
+    void combinesFiltersAndStopsWhenVisitorDeclines() {
+        List<ProjectedRow> read = new ArrayList<>();
+        reader.scan(timestampOf(650), Long.MAX_VALUE, "dev-07", -100f,
+                List.of(UplinkMessageField.DEVICE_ID, UplinkMessageField.RSSI), row -> {
+                    read.add(row);
+                    return read.size() < 5;
+                });
+
+        List<Long> expected = expectedIds(row -> row.getId() >= 650 &&
+                "dev-07".equals(row.getValues().get("deviceId")) &&
+                row.getValues().get("rssi") != null && (Float) row.getValues().get("rssi") <= -100f);
+        assertThat(ids(read)).isEqualTo(expected.subList(0, 5));
+        assertThat(read.get(0).getValues()).containsOnlyKeys("deviceId", "rssi");
+    }
+
+    private List<ProjectedRow> scan(long fromMs, long toMs, String deviceId, Float maxRssi) {
+        List<ProjectedRow> read = new ArrayList<>();
+        reader.scan(fromMs, toMs, deviceId, maxRssi, UplinkMessageField.all(), row -> {
+            read.add(row);
+            return true;
+        });
+        return read;
+    }
+
+    private List<Long> expectedIds(Predicate<ProjectedRow> filter) {
+        return ids(rows.stream().filter(filter).toList());
+    }
+
+    private static List<Long> ids(List<ProjectedRow> rows) {
+        return rows.stream().map(ProjectedRow::getId).toList();
+    }
+
+    private static long timestampOf(long id) {
+        return BASE_MS + id * 60_000L;
+    }
+
+    private static ProjectedRow row(int id) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (UplinkMessageField field : UplinkMessageField.all()) {
+            boolean isNull = (id + field.ordinal()) % 7 == 0;
+            values.put(field.getName(), isNull ? null : sample(field.getType(), id + field.ordinal()));
+        }
+        values.put("id", (long) id);
+        values.put("timestampMs", timestampOf(id));
+        values.put("deviceId", id > 320 && id <= 384 ? null
+                : id > 900 ? UNICODE_DEVICE
+                : String.format("dev-%02d", (id - 1) / 100));
+        Float rssi = id <= 640 ? Float.valueOf(-60 + id % 10) : Float.valueOf(-110 + id % 10);
+        values.put("rssi", id > 128 && id <= 192 || id % 11 == 0 ? null : rssi);
+        return new ProjectedRow(id, timestampOf(id), values);
+    }
+
+    private static Object sample(UplinkMessageField.Type type, int seed) {
+        switch (type) {
+            case LONG:
+                return seed % 2 == 0 ? 1_782_831_600_000L + seed * 977L : -seed * 31L;
+            case INTEGER:
+                return seed % 2 == 0 ? 868_100_000 + seed : -seed;
+            case FLOAT:
+                return seed % 2 == 0 ? seed * 0.25f : -seed / 3f;
+            case SIGNAL_QUALITY:
+                return SignalQuality.values()[seed % SignalQuality.values().length].name();
+            default:
+                return seed % 5 == 0 ? "" : "값-" + seed + "-📡" + "x".repeat(seed % 40);
+        }
+    }
+}
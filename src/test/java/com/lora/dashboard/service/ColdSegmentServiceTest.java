@@ -0,0 +1,200 @@
+package com.lora.dashboard.service;
+
+import com.lora.dashboard.repository.ColdSegmentRepository;
+import com.lora.dashboard.repository.ColdSegmentRepository.ColdSegment;
+import com.lora.dashboard.repository.UplinkMessageProjectionRepository;
+import com.lora.dashboard.repository.UplinkMessageProjectionRepository.ProjectedRow;
+import com.lora.dashboard.repository.projection.UplinkMessageField;
+import com.lora.dashboard.segment.SegmentWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * findRange가 봉인된 세그먼트, 봉인 후 늦게 들어온 행(id > max_id), 세그먼트 밖 구간의 DB 행을
+ * DB만 읽었을 때와 같은 (timestamp_ms, id) 순서와 개수로 돌려주는지
+ * DB는 메모리 목록으로 흉내내고 (UplinkMessageProjectionRepository.findRange와 같은 조건/정렬/limit),
+ * 세그먼트에 들어간 행도 DB에 그대로 남아 있다 (SEGMENT 모드 정리 전 상태).
+ */
+class ColdSegmentServiceTest {
+
+    private static final long FROM_MS = 1_782_831_600_000L;
+    private static final long TO_MS = FROM_MS + 30 * 86_400_000L;
+    private static final long MAX_ID = 1000;
+    private static final long MINUTE = 60_000L;
+
+    @TempDir
+    Path tempDir;
+
+    private final List<ProjectedRow> database = new ArrayList<>();
+    private ColdSegmentService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        List<ProjectedRow> sealed = new ArrayList<>();
+        // 세그먼트 달: id 1~300, 2시간 간격
+        for (int i = 1; i <= 300; i++) {
+            sealed.add(row(i, FROM_MS + (i - 1) * 120 * MINUTE));
+        }
+        database.addAll(sealed);
+        // 늦은 행: 같은 달에 흩어지고 일부는 봉인된 행과 시각이 같음 (id로 순서 결정)
+        for (int i = 0; i < 40; i++) {
+            long timestampMs = i % 4 == 0 ? FROM_MS + i * 7 * 120 * MINUTE : FROM_MS + i * 17 * 61 * MINUTE;
+            database.add(row(MAX_ID + 1 + i, timestampMs));
+        }
+        // 세그먼트 앞/뒤 구간의 행 (봉인되지 않은 달)
+        for (int i = 0; i < 20; i++) {
+            database.add(row(2001 + i, FROM_MS - (20 - i) * 90 * MINUTE));
+            database.add(row(3001 + i, TO_MS + i * 90 * MINUTE));
+        }
+        // 달 경계 행: to_ms는 다음 달이라 세그먼트에 들어가지 않음
+        database.add(row(4001, TO_MS));
+        database.add(row(4002, FROM_MS - 1));
+
+        String fileName = "uplink_messages-test.seg";
+        long rowCount;
+        int blockCount;
+        long fileBytes;
+        try (SegmentWriter writer = new SegmentWriter(tempDir.resolve(fileName), 16)) {
+            for (ProjectedRow row : sealed) {
+                writer.append(row);
+            }
+            fileBytes = writer.finish();
+            rowCount = writer.getRowCount();
+            blockCount = writer.getBlockCount();
+        }
+
+        ColdSegmentRepository coldSegmentRepository = mock(ColdSegmentRepository.class);
+        when(coldSegmentRepository.findAll()).thenReturn(List.of(new ColdSegment("test", fileName, FROM_MS, TO_MS,
+                MAX_ID, rowCount, blockCount, fileBytes, FROM_MS)));
+        UplinkMessageProjectionRepository projectionRepository = mock(UplinkMessageProjectionRepository.class);
+        when(projectionRepository.findRange(anyList(), anyLong(), anyLong(), any(), any(), any(), anyInt()))
+                .thenAnswer(invocation -> query(invocation.getArgument(0), invocation.getArgument(1),
+                        invocation.getArgument(2), invocation.getArgument(3), invocation.getArgument(4),
+                        invocation.getArgument(5), invocation.getArgument(6)));
+
+        service = new ColdSegmentService();
+        ReflectionTestUtils.setField(service, "coldSegmentRepository", coldSegmentRepository);
+        ReflectionTestUtils.setField(service, "projectionRepository", projectionRepository);
+        ReflectionTestUtils.setField(service, "dir", tempDir.toString());
+        service.start();
+    }
+
+    @Test
+    void loadsSealedSegment() {
+        assertThat(service.getSealedSegments()).hasSize(1);
+        assertThat(service.overlaps(FROM_MS - MINUTE, FROM_MS)).isTrue();
+        assertThat(service.overlaps(TO_MS, TO_MS + MINUTE)).isFalse();
+    }
+
+    @Test
+    void mergesColdAndLateRowsLikeDatabase() {
+        List<UplinkMessageField> fields = UplinkMessageField.all();
+        long from = FROM_MS - 30 * 90 * MINUTE;
+        long to = TO_MS + 30 * 90 * MINUTE;
+
+        assertSameAsDatabase(fields, from, to, null, null, 10_000);
+        // 세그먼트 안에서 시작/끝나는 구간
+        assertSameAsDatabase(fields, FROM_MS + 100 * MINUTE, FROM_MS + 9000 * MINUTE, null, null, 10_000);
+        // 세그먼트 앞에서 시작해 세그먼트 안에서 끝나는 구간
+        assertSameAsDatabase(fields, from, FROM_MS + 600 * MINUTE, null, null, 10_000);
+    }
+
+    @Test
+    void appliesLimitAcrossGapSegmentAndTail() {
+        List<UplinkMessageField> fields = List.of(UplinkMessageField.ID, UplinkMessageField.DEVICE_ID);
+        long from = FROM_MS - 30 * 90 * MINUTE;
+        long to = TO_MS + 30 * 90 * MINUTE;
+
+        // 앞 구간 안, 세그먼트 첫 행, 세그먼트/늦은 행 병합 중간, 세그먼트 끝 직후, 뒤 구간 안
+        for (int limit : new int[]{1, 5, 21, 22, 23, 150, 361, 362, 363, 370}) {
+            assertSameAsDatabase(fields, from, to, null, null, limit);
+        }
+    }
+
+    @Test
+    void filtersByDeviceAndRssi() {
+        List<UplinkMessageField> fields = List.of(UplinkMessageField.ID, UplinkMessageField.DEVICE_ID,
+                UplinkMessageField.RSSI, UplinkMessageField.SNR);
+        long from = FROM_MS - 30 * 90 * MINUTE;
+        long to = TO_MS + 30 * 90 * MINUTE;
+
+        assertSameAsDatabase(fields, from, to, "dev-3", null, 10_000);
+        assertSameAsDatabase(fields, from, to, null, -100f, 10_000);
+        assertSameAsDatabase(fields, from, to, "dev-1", -95f, 10_000);
+        assertSameAsDatabase(fields, from, to, "dev-1", -95f, 17);
+        assertSameAsDatabase(fields, from, to, "dev-unknown", null, 10_000);
+    }
+
+    private void assertSameAsDatabase(List<UplinkMessageField> fields, long fromMs, long toMs, String deviceId,
+                                      Float maxRssi, int limit) {
+        List<ProjectedRow> expected = query(fields, fromMs, toMs, null, deviceId, maxRssi, limit);
+
+        List<ProjectedRow> actual = service.findRange(fields, fromMs, toMs, deviceId, maxRssi, limit);
+
+        String description = "device=" + deviceId + " maxRssi=" + maxRssi + " limit=" + limit;
+        assertThat(actual.stream().map(ProjectedRow::getId).toList()).as(description)
+                .isEqualTo(expected.stream().map(ProjectedRow::getId).toList());
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i).getTimestampMs()).isEqualTo(expected.get(i).getTimestampMs());
+            assertThat(actual.get(i).getValues()).isEqualTo(expected.get(i).getValues());
+        }
+    }
+
+    // UplinkMessageProjectionRepository.findRange와 같은 조건
+    private List<ProjectedRow> query(List<UplinkMessageField> fields, long fromMs, long toMs, Long afterId,
+                                     String deviceId, Float maxRssi, int limit) {
+        return database.stream()
+                .filter(row -> row.getTimestampMs() >= fromMs && row.getTimestampMs() <= toMs)
+                .filter(row -> afterId == null || row.getId() > afterId)
+                .filter(row -> deviceId == null || deviceId.equals(row.getValues().get("deviceId")))
+                .filter(row -> maxRssi == null ||
+                        row.getValues().get("rssi") != null && (Float) row.getValues().get("rssi") <= maxRssi)
+                .sorted(Comparator.comparing(ProjectedRow::getTimestampMs).thenComparing(ProjectedRow::getId))
+                .limit(limit)
+                .map(row -> project(row, fields))
+                .toList();
+    }
+
+    private static ProjectedRow project(ProjectedRow row, List<UplinkMessageField> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (UplinkMessageField field : fields) {
+            values.put(field.getName(), row.getValues().get(field.getName()));
+        }
+        return new ProjectedRow(row.getId(), row.getTimestampMs(), values);
+    }
+
+    private static ProjectedRow row(long id, long timestampMs) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (UplinkMessageField field : UplinkMessageField.all()) {
+            values.put(field.getName(), null);
+        }
+        values.put("id", id);
+        values.put("timestampMs", timestampMs);
+        values.put("applicationId", "1");
+        values.put("deviceId", id % 13 == 0 ? null : "dev-" + id % 5);
+        values.put("frameCount", (int) id);
+        values.put("rssi", id % 7 == 0 ? null : (float) (-60 - id % 50));
+        values.put("snr", id % 3 == 0 ? null : (float) (id % 20) / 2f - 5f);
+        values.put("payloadText", id % 4 == 0 ? null : "payload-" + id);
+        values.put("signalQuality", id % 9 == 0 ? null : "GOOD");
+        return new ProjectedRow(id, timestampMs, values);
+    }
+}
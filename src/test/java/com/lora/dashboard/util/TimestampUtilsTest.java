@@ -0,0 +1,61 @@
+package com.lora.dashboard.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * parseEpochMillis와 SQL_EPOCH_MILLIS_EXPRESSION이 같은 문자열에 같은 값을 내는지
+ * (@PrePersist/이벤트 경로는 Java, 백필 전 행의 조회와 백필은 SQL을 씀)
+ */
+class TimestampUtilsTest {
+
+    private static final String[] TIMESTAMPS = {
+            "2025-08-01T13:52:22.048925+09:00",
+            "2025-08-01T13:52:22.999999+09:00",
+            "2025-08-01T13:52:22.9995+09:00",
+            "2025-08-01T13:52:22.0004+09:00",
+            "2025-08-01T13:52:22+09:00",
+            "2025-08-01T04:52:22.123456Z",
+            "2025-08-01T04:52:22.5-03:30",
+            "2025-12-31T23:59:59.9999999+09:00",
+            "2025-08-01T13:52:22.048925",
+            "2025-08-01 13:52:22.999999",
+            "2025-08-01T00:00:00",
+    };
+
+    @Test
+    void javaAndSqlAgree() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite::memory:");
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT " + TimestampUtils.SQL_EPOCH_MILLIS_EXPRESSION + " FROM (SELECT ? AS timestamp)")) {
+            for (String timestamp : TIMESTAMPS) {
+                statement.setString(1, timestamp);
+                try (ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                    assertThat(TimestampUtils.parseEpochMillis(timestamp)).as(timestamp).isEqualTo(rs.getLong(1));
+                }
+            }
+        }
+    }
+
+    @Test
+    void roundsToNearestMillisecond() {
+        assertThat(TimestampUtils.parseEpochMillis("2025-08-01T13:52:22.999999+09:00"))
+                .isEqualTo(TimestampUtils.parseEpochMillis("2025-08-01T13:52:23+09:00"));
+        assertThat(TimestampUtils.parseEpochMillis("2025-08-01T13:52:22.0004+09:00"))
+                .isEqualTo(TimestampUtils.parseEpochMillis("2025-08-01T13:52:22+09:00"));
+    }
+
+    @Test
+    void treatsMissingOffsetAsKst() {
+        assertThat(TimestampUtils.parseEpochMillis("2025-08-01T13:52:22.048"))
+                .isEqualTo(TimestampUtils.parseEpochMillis("2025-08-01T13:52:22.048+09:00"));
+    }
+}
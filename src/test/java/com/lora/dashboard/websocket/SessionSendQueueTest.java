@@ -0,0 +1,181 @@
+package com.lora.dashboard.websocket;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.websocket.RemoteEndpoint;
+import jakarta.websocket.SendHandler;
+import jakarta.websocket.SendResult;
+import jakarta.websocket.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.adapter.NativeWebSocketSession;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 멈춘 클라이언트가 공유 송신 스레드를 붙잡지 않는지
+ * 송신 executor는 스레드 하나뿐이고, 멈춘 세션은 전송 완료 콜백이 오지 않으며 close도 블로킹된다.
+ */
+class SessionSendQueueTest {
+
+    private static final long SEND_TIME_LIMIT_MS = 100;
+
+    private final ExecutorService sendExecutor = Executors.newSingleThreadExecutor();
+    private final ExecutorService closeExecutor = Executors.newCachedThreadPool();
+    private final CountDownLatch releaseClose = new CountDownLatch(1);
+    private final WebSocketMetrics metrics = new WebSocketMetrics(new SimpleMeterRegistry());
+
+    private FakeSession stalled;
+    private FakeSession healthy;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        stalled = new FakeSession("stalled", false);
+        healthy = new FakeSession("healthy", true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseClose.countDown();
+        sendExecutor.shutdownNow();
+        closeExecutor.shutdownNow();
+    }
+
+    @Test
+    void stalledSessionDoesNotBlockOtherSessions() throws Exception {
+        SessionSendQueue stalledQueue = queue(stalled, 1000, OverflowPolicy.DROP_OLDEST);
+        SessionSendQueue healthyQueue = queue(healthy, 1000, OverflowPolicy.DROP_OLDEST);
+
+        for (int i = 0; i < 50; i++) {
+            TextMessage message = new TextMessage("m" + i);
+            stalledQueue.enqueue(message);
+            healthyQueue.enqueue(message);
+        }
+
+        healthy.awaitSent(50);
+        assertThat(healthy.sent).hasSize(50).startsWith("m0", "m1").endsWith("m49");
+        // 멈춘 세션은 첫 전송만 시작하고 나머지는 큐에서 대기
+        assertThat(stalled.sent).containsExactly("m0");
+        assertThat(stalledQueue.getStats().getQueuedMessages()).isEqualTo(49);
+        verify(stalled.remote).setSendTimeout(SEND_TIME_LIMIT_MS);
+    }
+
+    @Test
+    void closesStalledSessionAfterSendTimeLimit() throws Exception {
+        SessionSendQueue stalledQueue = queue(stalled, 1000, OverflowPolicy.DROP_OLDEST);
+        SessionSendQueue healthyQueue = queue(healthy, 1000, OverflowPolicy.DROP_OLDEST);
+        stalledQueue.enqueue(new TextMessage("first"));
+        stalledQueue.enqueue(new TextMessage("second"));
+
+        assertThat(stalledQueue.checkSendTimeLimit()).isFalse();
+        Thread.sleep(SEND_TIME_LIMIT_MS * 2);
+        assertThat(stalledQueue.checkSendTimeLimit()).isTrue();
+
+        // close가 막혀 있어도 송신 스레드는 다른 세션 전송을 계속함
+        verify(stalled.session, timeout(1000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        for (int i = 0; i < 10; i++) {
+            healthyQueue.enqueue(new TextMessage("h" + i));
+        }
+        healthy.awaitSent(10);
+        assertThat(stalledQueue.getStats().getQueuedMessages()).isZero();
+        stalledQueue.enqueue(new TextMessage("after-close"));
+        assertThat(stalled.sent).containsExactly("first");
+    }
+
+    @Test
+    void disconnectPolicyClosesWithoutWaitingForSendThread() throws Exception {
+        SessionSendQueue stalledQueue = queue(stalled, 5, OverflowPolicy.DISCONNECT);
+        SessionSendQueue healthyQueue = queue(healthy, 5, OverflowPolicy.DISCONNECT);
+
+        for (int i = 0; i < 10; i++) {
+            stalledQueue.enqueue(new TextMessage("s" + i));
+        }
+
+        verify(stalled.session, timeout(1000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        healthyQueue.enqueue(new TextMessage("still-delivered"));
+        healthy.awaitSent(1);
+        assertThat(healthy.sent).containsExactly("still-delivered");
+    }
+
+    @Test
+    void failedSendClosesSession() throws Exception {
+        SessionSendQueue stalledQueue = queue(stalled, 1000, OverflowPolicy.DROP_OLDEST);
+        stalledQueue.enqueue(new TextMessage("lost"));
+        stalledQueue.enqueue(new TextMessage("queued"));
+        SendHandler pending = stalled.awaitHandler();
+
+        // 컨테이너의 송신 타임아웃 등으로 실패한 전송
+        pending.onResult(new SendResult(new IOException("write timeout")));
+
+        verify(stalled.session, timeout(1000)).close(CloseStatus.SERVER_ERROR);
+        assertThat(stalledQueue.getStats().getQueuedMessages()).isZero();
+        assertThat(stalled.sent).containsExactly("lost");
+    }
+
+    private SessionSendQueue queue(FakeSession fake, int messageLimit, OverflowPolicy overflowPolicy) {
+        return new SessionSendQueue(fake.session, sendExecutor, closeExecutor, messageLimit, 512 * 1024,
+                SEND_TIME_LIMIT_MS, overflowPolicy, false, metrics);
+    }
+
+    /**
+     * 비동기 전송을 바로 완료하거나(정상) 완료하지 않는(멈춤) 세션
+     */
+    private class FakeSession {
+        private final NativeWebSocketSession session = mock(NativeWebSocketSession.class);
+        private final RemoteEndpoint.Async remote = mock(RemoteEndpoint.Async.class);
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private final List<SendHandler> handlers = new CopyOnWriteArrayList<>();
+
+        FakeSession(String id, boolean completes) throws IOException {
+            Session nativeSession = mock(Session.class);
+            when(nativeSession.getAsyncRemote()).thenReturn(remote);
+            when(session.getNativeSession(Session.class)).thenReturn(nativeSession);
+            when(session.getId()).thenReturn(id);
+            when(session.isOpen()).thenReturn(true);
+            doAnswer(invocation -> {
+                sent.add(invocation.getArgument(0));
+                SendHandler handler = invocation.getArgument(1);
+                handlers.add(handler);
+                if (completes) {
+                    handler.onResult(new SendResult());
+                }
+                return null;
+            }).when(remote).sendText(anyString(), any(SendHandler.class));
+            doAnswer(invocation -> {
+                // 실제 컨테이너처럼 전송 중인 프레임이 끝날 때까지 블로킹
+                releaseClose.await();
+                return null;
+            }).when(session).close(any(CloseStatus.class));
+        }
+
+        void awaitSent(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (sent.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(sent).hasSizeGreaterThanOrEqualTo(count);
+        }
+
+        SendHandler awaitHandler() throws InterruptedException {
+            awaitSent(1);
+            return handlers.get(0);
+        }
+    }
+}